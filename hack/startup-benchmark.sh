@@ -0,0 +1,77 @@
+#!/usr/bin/env bash
+# Measures the startup of the JVM image: time to ready (readiness probe up) and time to the first
+# processed advisory (POST /v1/errata-tool/generate answered), as the median of several starts.
+# Fails when a median exceeds its budget, so that it can guard against startup regressions.
+#
+# Usage: ./hack/startup-benchmark.sh <image> [runs]
+#
+# The image runs with the 'training' profile, no UMB broker, Kafka or registry is needed.
+# Environment:
+#   MAX_READY_MS          budget of the time to ready (default 5000)
+#   MAX_FIRST_MESSAGE_MS  budget of the time to the first processed advisory (default 8000)
+#   EXTRA_JAVA_OPTS       appended JVM options, e.g. "-Xshare:off" to compare without the archive
+#   CONTAINER_ENGINE      podman or docker (default podman)
+
+set -euo pipefail
+
+IMAGE=${1:?Usage: $0 <image> [runs]}
+RUNS=${2:-5}
+MAX_READY_MS=${MAX_READY_MS:-5000}
+MAX_FIRST_MESSAGE_MS=${MAX_FIRST_MESSAGE_MS:-8000}
+EXTRA_JAVA_OPTS=${EXTRA_JAVA_OPTS:-}
+ENGINE=${CONTAINER_ENGINE:-podman}
+PORT=${PORT:-18080}
+TIMEOUT_MS=60000
+
+now_ms() {
+    date +%s%3N
+}
+
+median() {
+    sort -n | awk '{ values[NR] = $1 } END { print values[int((NR + 1) / 2)] }'
+}
+
+ready_times=()
+first_message_times=()
+
+for run in $(seq 1 "$RUNS"); do
+    start=$(now_ms)
+    container=$($ENGINE run -d --rm -p "$PORT:8080" \
+        -e JAVA_OPTS_APPEND="-Dquarkus.http.host=0.0.0.0 -Djava.util.logging.manager=org.jboss.logmanager.LogManager -XX:SharedArchiveFile=/deployments/app-cds.jsa -Xshare:auto -Dquarkus.profile=training $EXTRA_JAVA_OPTS" \
+        "$IMAGE")
+    trap '$ENGINE rm -f "$container" >/dev/null 2>&1 || true' EXIT
+
+    ready=""
+    while [ -z "$ready" ]; do
+        if curl -sf -o /dev/null "http://localhost:$PORT/q/health/ready"; then
+            ready=$(( $(now_ms) - start ))
+        elif [ $(( $(now_ms) - start )) -gt $TIMEOUT_MS ]; then
+            echo "Run $run: not ready within ${TIMEOUT_MS} ms" >&2
+            $ENGINE logs "$container" >&2 || true
+            exit 1
+        else
+            sleep 0.05
+        fi
+    done
+
+    curl -sf -o /dev/null -X POST -H "Content-Type: application/json" -d '{"advisoryId": "1234"}' \
+        "http://localhost:$PORT/v1/errata-tool/generate"
+    first_message=$(( $(now_ms) - start ))
+
+    $ENGINE rm -f "$container" >/dev/null
+    trap - EXIT
+
+    echo "Run $run: ready in ${ready} ms, first advisory processed in ${first_message} ms"
+    ready_times+=("$ready")
+    first_message_times+=("$first_message")
+done
+
+ready_median=$(printf '%s\n' "${ready_times[@]}" | median)
+first_message_median=$(printf '%s\n' "${first_message_times[@]}" | median)
+echo "Median of $RUNS runs: ready in ${ready_median} ms (budget ${MAX_READY_MS} ms)," \
+    "first advisory processed in ${first_message_median} ms (budget ${MAX_FIRST_MESSAGE_MS} ms)"
+
+if [ "$ready_median" -gt "$MAX_READY_MS" ] || [ "$first_message_median" -gt "$MAX_FIRST_MESSAGE_MS" ]; then
+    echo "Startup budget exceeded" >&2
+    exit 1
+fi
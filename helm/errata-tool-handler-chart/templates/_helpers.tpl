@@ -60,3 +60,11 @@ Create the name of the service account to use
 {{- default "default" .Values.serviceAccount.name }}
 {{- end }}
 {{- end }}
+
+{{/*
+Kind of the workload, sharded UMB consumption needs the stable pod ordinals of a StatefulSet and
+persistent data a volume claim per pod
+*/}}
+{{- define "errata-tool-handler-chart.workloadKind" -}}
+{{- if or (eq .Values.umb.consumption.mode "sharded") .Values.persistence.enabled }}StatefulSet{{ else }}Deployment{{ end }}
+{{- end }}
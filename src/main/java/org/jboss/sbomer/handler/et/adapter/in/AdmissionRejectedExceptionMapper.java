@@ -0,0 +1,27 @@
+package org.jboss.sbomer.handler.et.adapter.in;
+
+import org.jboss.sbomer.handler.et.adapter.in.AdvisoryProcessingExceptionMapper.ErrorResponse;
+import org.jboss.sbomer.handler.et.core.domain.exception.AdmissionRejectedException;
+
+import jakarta.ws.rs.core.HttpHeaders;
+import jakarta.ws.rs.core.Response;
+import jakarta.ws.rs.ext.ExceptionMapper;
+import jakarta.ws.rs.ext.Provider;
+
+/**
+ * Answers rejected triggers with {@code 429 Too Many Requests} and a
+ * {@code Retry-After} estimate.
+ */
+@Provider
+public class AdmissionRejectedExceptionMapper implements ExceptionMapper<AdmissionRejectedException> {
+
+    @Override
+    public Response toResponse(AdmissionRejectedException exception) {
+        long retryAfterSeconds = Math.max(1, (exception.getRetryAfter().toMillis() + 999) / 1000);
+
+        return Response.status(Response.Status.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, retryAfterSeconds)
+                .entity(new ErrorResponse(exception.getMessage()))
+                .build();
+    }
+}
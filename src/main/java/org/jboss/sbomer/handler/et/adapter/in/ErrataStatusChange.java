@@ -0,0 +1,22 @@
+package org.jboss.sbomer.handler.et.adapter.in;
+
+import org.jboss.sbomer.handler.et.core.domain.advisory.Trigger;
+
+/**
+ * Status change of an advisory received via UMB.
+ *
+ * @param advisoryId The advisory ID.
+ * @param status The new status.
+ * @param occurredAt Epoch milliseconds at which the message was created,
+ *        {@code 0} if the sender did not set it.
+ */
+public record ErrataStatusChange(String advisoryId, String status, long occurredAt) {
+
+    public ErrataStatusChange(String advisoryId, String status) {
+        this(advisoryId, status, 0);
+    }
+
+    public Trigger trigger() {
+        return Trigger.umb(status, occurredAt);
+    }
+}
@@ -0,0 +1,182 @@
+package org.jboss.sbomer.handler.et.adapter.in;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.jboss.sbomer.handler.et.adapter.in.dto.RecordingRequest;
+import org.jboss.sbomer.handler.et.adapter.in.dto.RecordingStatus;
+import org.jboss.sbomer.handler.et.core.utility.StageEvents;
+
+import jakarta.annotation.PreDestroy;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import jakarta.ws.rs.BadRequestException;
+import jakarta.ws.rs.ClientErrorException;
+import jakarta.ws.rs.NotFoundException;
+import jakarta.ws.rs.core.Response;
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+import jdk.jfr.RecordingState;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * <p>
+ * On-demand JDK Flight Recorder recordings, started from
+ * {@link RestProfilingHandler}.
+ * </p>
+ *
+ * <p>
+ * Recordings are time-boxed: they stop by themselves after their duration, at
+ * most {@code max-duration}, and are bounded in size. Stopped recordings are
+ * kept for download until deleted, or until a new recording needs their
+ * place.
+ * </p>
+ */
+@ApplicationScoped
+@Slf4j
+public class JfrRecordings {
+
+    private record Entry(Recording recording, String settings) {
+    }
+
+    private final Duration maxDuration;
+    private final long maxSize;
+    private final int maxRecordings;
+    private final Map<Long, Entry> recordings = new LinkedHashMap<>();
+
+    @Inject
+    public JfrRecordings(
+            @ConfigProperty(name = "sbomer.profiling.recordings.max-duration", defaultValue = "PT10M") Duration maxDuration,
+            @ConfigProperty(name = "sbomer.profiling.recordings.max-size", defaultValue = "104857600") long maxSize,
+            @ConfigProperty(name = "sbomer.profiling.recordings.max-recordings", defaultValue = "3") int maxRecordings) {
+        this.maxDuration = maxDuration;
+        this.maxSize = maxSize;
+        this.maxRecordings = maxRecordings;
+    }
+
+    public synchronized RecordingStatus start(RecordingRequest request) {
+        if (request.duration().isNegative() || request.duration().isZero()
+                || request.duration().compareTo(maxDuration) > 0) {
+            throw new BadRequestException("The duration must be positive and at most " + maxDuration);
+        }
+
+        Configuration configuration;
+        try {
+            configuration = Configuration.getConfiguration(request.settings());
+        } catch (IOException | ParseException e) {
+            throw new BadRequestException("Unknown recording settings '" + request.settings() + "'");
+        }
+
+        makeRoom();
+
+        Recording recording = new Recording(configuration);
+        recording.setName("errata-tool-handler-" + recording.getId());
+        recording.setDuration(request.duration());
+        recording.setMaxSize(maxSize);
+        recording.setToDisk(true);
+        // Not part of the JDK settings
+        StageEvents.ALL.forEach(event -> recording.enable(event).withoutThreshold());
+        recording.start();
+        Entry entry = new Entry(recording, request.settings());
+        recordings.put(recording.getId(), entry);
+
+        log.info("Started recording '{}' with settings '{}' for {}", recording.getName(), request.settings(),
+                request.duration());
+        return status(entry);
+    }
+
+    public synchronized List<RecordingStatus> list() {
+        return recordings.values().stream().map(JfrRecordings::status).toList();
+    }
+
+    public synchronized RecordingStatus stop(long id) {
+        Entry entry = find(id);
+        Recording recording = entry.recording();
+        if (recording.getState() == RecordingState.RUNNING) {
+            recording.stop();
+            log.info("Stopped recording '{}'", recording.getName());
+        }
+        return status(entry);
+    }
+
+    /**
+     * Writes the data recorded so far to a temporary file, to be deleted by the
+     * caller.
+     */
+    public Path dump(long id) throws IOException {
+        Recording recording;
+        synchronized (this) {
+            recording = find(id).recording();
+        }
+
+        Path file = Files.createTempFile(recording.getName() + "-", ".jfr");
+        try {
+            recording.dump(file);
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(file);
+            throw e;
+        }
+        return file;
+    }
+
+    public synchronized void delete(long id) {
+        Recording recording = find(id).recording();
+        recordings.remove(id);
+        recording.close();
+        log.info("Deleted recording '{}'", recording.getName());
+    }
+
+    @PreDestroy
+    synchronized void close() {
+        recordings.values().forEach(entry -> entry.recording().close());
+        recordings.clear();
+    }
+
+    private Entry find(long id) {
+        Entry entry = recordings.get(id);
+        if (entry == null) {
+            throw new NotFoundException("Unknown recording " + id);
+        }
+        return entry;
+    }
+
+    /**
+     * Deletes the oldest stopped recordings over the maximum number.
+     */
+    private void makeRoom() {
+        List<Recording> stopped = new ArrayList<>();
+        for (Entry entry : recordings.values()) {
+            RecordingState state = entry.recording().getState();
+            if (state != RecordingState.RUNNING && state != RecordingState.DELAYED) {
+                stopped.add(entry.recording());
+            }
+        }
+
+        for (Recording recording : stopped) {
+            if (recordings.size() < maxRecordings) {
+                return;
+            }
+            recordings.remove(recording.getId());
+            recording.close();
+        }
+
+        if (recordings.size() >= maxRecordings) {
+            throw new ClientErrorException(maxRecordings + " recordings are running, stop one first",
+                    Response.Status.CONFLICT);
+        }
+    }
+
+    private static RecordingStatus status(Entry entry) {
+        Recording recording = entry.recording();
+        return new RecordingStatus(recording.getId(), recording.getName(), entry.settings(),
+                recording.getState().name(), recording.getStartTime(), recording.getDuration(), recording.getSize());
+    }
+}
@@ -3,6 +3,7 @@ package org.jboss.sbomer.handler.et.adapter.in;
 import org.eclipse.microprofile.config.inject.ConfigProperty;
 import org.jboss.sbomer.handler.et.adapter.in.dto.AdvisoryRequest;
 import org.jboss.sbomer.handler.et.adapter.in.dto.AdvisoryRequestResponse;
+import org.jboss.sbomer.handler.et.core.domain.advisory.Trigger;
 import org.jboss.sbomer.handler.et.core.domain.generation.GenerationRequest;
 import org.jboss.sbomer.handler.et.core.port.api.AdvisoryHandler;
 
@@ -50,7 +51,9 @@ public class RestAdvisoryHandler {
         log.debug("Submitted a REST request to handle update of advisory info: {}", advisoryInfo);
 
         // Request generations for the advisory
-        GenerationRequest generationRequest = advisoryHandler.requestGenerations(advisoryInfo.advisoryId());
+        // Rejected with 429 when too many advisories are waiting, see AdmissionRejectedExceptionMapper
+        GenerationRequest generationRequest = advisoryHandler.requestGenerations(advisoryInfo.advisoryId(),
+                advisoryInfo.force(), Trigger.rest());
 
         // Return a response containing generation request details
         return new AdvisoryRequestResponse(generationRequest);
@@ -0,0 +1,70 @@
+package org.jboss.sbomer.handler.et.adapter.in;
+
+import java.util.List;
+
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.jboss.sbomer.handler.et.adapter.in.dto.DeadLetterReplayRequest;
+import org.jboss.sbomer.handler.et.adapter.in.dto.DeadLetterReplayResponse;
+import org.jboss.sbomer.handler.et.core.domain.advisory.RetryState;
+import org.jboss.sbomer.handler.et.core.port.api.DeadLetterHandler;
+
+import dev.openfeature.sdk.Client;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import jakarta.ws.rs.Consumes;
+import jakarta.ws.rs.GET;
+import jakarta.ws.rs.POST;
+import jakarta.ws.rs.Path;
+import jakarta.ws.rs.Produces;
+import jakarta.ws.rs.core.MediaType;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Lists the advisories which exhausted their retry attempts, and replays them
+ * once the cause of the failures is fixed.
+ */
+@Slf4j
+@Path("/v1/errata-tool/dead-letters")
+@Produces(MediaType.APPLICATION_JSON)
+@Consumes(MediaType.APPLICATION_JSON)
+@ApplicationScoped
+public class RestDeadLetterHandler {
+
+    private final DeadLetterHandler deadLetterHandler;
+    private final Client featureClient;
+    private final boolean restDefaultEnabled;
+
+    @Inject
+    public RestDeadLetterHandler(DeadLetterHandler deadLetterHandler, Client featureClient,
+            @ConfigProperty(name = "sbomer.features.rest.enabled.openfeature.default") boolean restDefaultEnabled) {
+        this.deadLetterHandler = deadLetterHandler;
+        this.featureClient = featureClient;
+        this.restDefaultEnabled = restDefaultEnabled;
+    }
+
+    @GET
+    public List<RetryState> list() {
+        boolean featureEnabled = featureClient.getBooleanValue("rest.handler.enabled", restDefaultEnabled);
+        if (!featureEnabled) {
+            log.debug("REST Handler disabled via feature flag.");
+            return null;
+        }
+
+        return deadLetterHandler.deadLetters();
+    }
+
+    @POST
+    @Path("/replay")
+    public DeadLetterReplayResponse replay(DeadLetterReplayRequest request) {
+        boolean featureEnabled = featureClient.getBooleanValue("rest.handler.enabled", restDefaultEnabled);
+        if (!featureEnabled) {
+            log.debug("REST Handler disabled via feature flag.");
+            return null;
+        }
+
+        List<String> advisoryIds = request == null ? List.of() : request.advisoryIds();
+        log.info("Replaying dead letters: {}", advisoryIds.isEmpty() ? "all" : advisoryIds);
+
+        return new DeadLetterReplayResponse(deadLetterHandler.replay(advisoryIds));
+    }
+}
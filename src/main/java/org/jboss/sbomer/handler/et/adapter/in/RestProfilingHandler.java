@@ -0,0 +1,147 @@
+package org.jboss.sbomer.handler.et.adapter.in;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.security.MessageDigest;
+import java.util.List;
+import java.util.Optional;
+
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.jboss.sbomer.handler.et.adapter.in.dto.RecordingRequest;
+import org.jboss.sbomer.handler.et.adapter.in.dto.RecordingStatus;
+import org.jboss.sbomer.handler.et.adapter.in.dto.StageTiming;
+
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import jakarta.ws.rs.Consumes;
+import jakarta.ws.rs.DELETE;
+import jakarta.ws.rs.DefaultValue;
+import jakarta.ws.rs.GET;
+import jakarta.ws.rs.HeaderParam;
+import jakarta.ws.rs.NotAuthorizedException;
+import jakarta.ws.rs.NotFoundException;
+import jakarta.ws.rs.POST;
+import jakarta.ws.rs.Path;
+import jakarta.ws.rs.PathParam;
+import jakarta.ws.rs.Produces;
+import jakarta.ws.rs.QueryParam;
+import jakarta.ws.rs.core.HttpHeaders;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Response;
+import jakarta.ws.rs.core.StreamingOutput;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * <p>
+ * Admin endpoint to find out where the time of a misbehaving pod goes: the
+ * most recent stages of the advisories (see {@link StageTimings}), and
+ * time-boxed JDK Flight Recorder recordings to start, stop and download (see
+ * {@link JfrRecordings}).
+ * </p>
+ *
+ * <p>
+ * Requests must carry the admin token as {@code Authorization: Bearer <token>}.
+ * The endpoint is disabled unless {@code sbomer.admin.token} is set.
+ * </p>
+ */
+@Slf4j
+@Path("/v1/errata-tool/admin/profiling")
+@Produces(MediaType.APPLICATION_JSON)
+@Consumes(MediaType.APPLICATION_JSON)
+@ApplicationScoped
+public class RestProfilingHandler {
+
+    private static final String BEARER = "Bearer ";
+
+    private final StageTimings stageTimings;
+    private final JfrRecordings recordings;
+    private final Optional<String> token;
+
+    @Inject
+    public RestProfilingHandler(StageTimings stageTimings, JfrRecordings recordings,
+            @ConfigProperty(name = "sbomer.admin.token") Optional<String> token) {
+        this.stageTimings = stageTimings;
+        this.recordings = recordings;
+        this.token = token.filter(t -> !t.isBlank());
+    }
+
+    /**
+     * @return The most recent stages of the advisory, or of all advisories, the
+     *         newest first.
+     */
+    @GET
+    @Path("/stages")
+    public List<StageTiming> stages(@HeaderParam(HttpHeaders.AUTHORIZATION) String authorization,
+            @QueryParam("advisoryId") String advisoryId, @QueryParam("limit") @DefaultValue("100") int limit) {
+        authorize(authorization);
+        return stageTimings.recent(advisoryId, limit);
+    }
+
+    @GET
+    @Path("/recordings")
+    public List<RecordingStatus> recordings(@HeaderParam(HttpHeaders.AUTHORIZATION) String authorization) {
+        authorize(authorization);
+        return recordings.list();
+    }
+
+    @POST
+    @Path("/recordings")
+    public RecordingStatus start(@HeaderParam(HttpHeaders.AUTHORIZATION) String authorization,
+            RecordingRequest request) {
+        authorize(authorization);
+        return recordings.start(request == null ? new RecordingRequest(null, null) : request);
+    }
+
+    @POST
+    @Path("/recordings/{id}/stop")
+    public RecordingStatus stop(@HeaderParam(HttpHeaders.AUTHORIZATION) String authorization,
+            @PathParam("id") long id) {
+        authorize(authorization);
+        return recordings.stop(id);
+    }
+
+    /**
+     * Downloads the data recorded so far, the recording may still be running.
+     */
+    @GET
+    @Path("/recordings/{id}")
+    @Produces(MediaType.APPLICATION_OCTET_STREAM)
+    public Response download(@HeaderParam(HttpHeaders.AUTHORIZATION) String authorization,
+            @PathParam("id") long id) throws IOException {
+        authorize(authorization);
+        java.nio.file.Path file = recordings.dump(id);
+
+        StreamingOutput output = out -> {
+            try {
+                Files.copy(file, out);
+            } finally {
+                Files.deleteIfExists(file);
+            }
+        };
+        return Response.ok(output)
+                .header("Content-Disposition", "attachment; filename=\"recording-" + id + ".jfr\"")
+                .build();
+    }
+
+    @DELETE
+    @Path("/recordings/{id}")
+    public void delete(@HeaderParam(HttpHeaders.AUTHORIZATION) String authorization, @PathParam("id") long id) {
+        authorize(authorization);
+        recordings.delete(id);
+    }
+
+    private void authorize(String authorization) {
+        if (token.isEmpty()) {
+            throw new NotFoundException("Profiling is disabled");
+        }
+
+        byte[] expected = (BEARER + token.get()).getBytes(StandardCharsets.UTF_8);
+        byte[] actual = authorization == null ? new byte[0] : authorization.getBytes(StandardCharsets.UTF_8);
+        // Constant time, the token cannot be guessed from the response times
+        if (!MessageDigest.isEqual(expected, actual)) {
+            log.warn("Rejected unauthorized profiling request");
+            throw new NotAuthorizedException("Invalid admin token", BEARER.trim());
+        }
+    }
+}
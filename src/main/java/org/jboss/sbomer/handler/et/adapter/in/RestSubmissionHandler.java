@@ -0,0 +1,155 @@
+package org.jboss.sbomer.handler.et.adapter.in;
+
+import java.time.Duration;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.jboss.sbomer.handler.et.adapter.in.dto.AdvisoryRequest;
+import org.jboss.sbomer.handler.et.adapter.in.dto.SubmissionStatus;
+import org.jboss.sbomer.handler.et.core.domain.advisory.Trigger;
+import org.jboss.sbomer.handler.et.core.domain.exception.AdmissionRejectedException;
+import org.jboss.sbomer.handler.et.core.domain.generation.GenerationRequest;
+import org.jboss.sbomer.handler.et.core.port.api.AdvisoryHandler;
+import org.jboss.sbomer.handler.et.core.utility.NamedThreadFactory;
+import org.jboss.sbomer.handler.et.core.utility.TsidUtility;
+
+import dev.openfeature.sdk.Client;
+import jakarta.annotation.PreDestroy;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import jakarta.validation.Valid;
+import jakarta.ws.rs.Consumes;
+import jakarta.ws.rs.GET;
+import jakarta.ws.rs.NotFoundException;
+import jakarta.ws.rs.POST;
+import jakarta.ws.rs.Path;
+import jakarta.ws.rs.PathParam;
+import jakarta.ws.rs.Produces;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Response;
+import jakarta.ws.rs.core.UriBuilder;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * <p>
+ * Asynchronous counterpart of {@link RestAdvisoryHandler}.
+ * </p>
+ *
+ * <p>
+ * A submission is answered right away with {@code 202 Accepted} and its
+ * submission ID, the advisory is handled in the background and the status
+ * (and, once completed, the resulting generation request) can be looked up at
+ * the returned location. The number of submissions not finished yet is bounded,
+ * over it submissions are rejected with {@code 429 Too Many Requests}. So are
+ * submissions the {@link org.jboss.sbomer.handler.et.core.service.AdvisoryScheduler}
+ * would not admit, counting the submissions accepted but not scheduled yet.
+ * </p>
+ */
+@Slf4j
+@Path("/v1/errata-tool/submissions")
+@Produces(MediaType.APPLICATION_JSON)
+@Consumes(MediaType.APPLICATION_JSON)
+@ApplicationScoped
+public class RestSubmissionHandler {
+
+    private final AdvisoryHandler advisoryHandler;
+    private final Client featureClient;
+    private final SubmissionStore store;
+    private final boolean restDefaultEnabled;
+    private final int maxPending;
+    private final Duration retryAfter;
+    private final AtomicInteger pending = new AtomicInteger();
+    // No more threads than advisories the scheduler lets in, the others wait in the queue
+    private final ThreadPoolExecutor executor;
+
+    @Inject
+    public RestSubmissionHandler(AdvisoryHandler advisoryHandler, Client featureClient, SubmissionStore store,
+            @ConfigProperty(name = "sbomer.features.rest.enabled.openfeature.default") boolean restDefaultEnabled,
+            @ConfigProperty(name = "sbomer.scheduler.max-concurrent", defaultValue = "8") int maxConcurrent,
+            @ConfigProperty(name = "sbomer.rest.submissions.max-pending", defaultValue = "1000") int maxPending,
+            @ConfigProperty(name = "sbomer.rest.submissions.retry-after", defaultValue = "PT30S") Duration retryAfter) {
+        this.advisoryHandler = advisoryHandler;
+        this.featureClient = featureClient;
+        this.store = store;
+        this.restDefaultEnabled = restDefaultEnabled;
+        this.maxPending = maxPending;
+        this.retryAfter = retryAfter;
+        this.executor = new ThreadPoolExecutor(maxConcurrent, maxConcurrent, 0, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>(maxPending), new NamedThreadFactory("rest-submission"));
+    }
+
+    @POST
+    public Response submit(@Valid AdvisoryRequest advisoryInfo) {
+        boolean featureEnabled = featureClient.getBooleanValue("rest.handler.enabled", restDefaultEnabled);
+        if (!featureEnabled) {
+            log.debug("REST Handler disabled via feature flag.");
+            return null;
+        }
+
+        if (pending.incrementAndGet() > maxPending) {
+            pending.decrementAndGet();
+            throw new AdmissionRejectedException("Too many submissions are pending, retry later", retryAfter);
+        }
+
+        try {
+            advisoryHandler.admit(Trigger.restAsync(), executor.getQueue().size());
+        } catch (RuntimeException e) {
+            pending.decrementAndGet();
+            throw e;
+        }
+
+        SubmissionStatus status = SubmissionStatus.accepted(TsidUtility.createUniqueSubmissionId(),
+                advisoryInfo.advisoryId(), advisoryInfo.force());
+        store.put(status);
+
+        try {
+            executor.execute(() -> process(status));
+        } catch (RejectedExecutionException e) {
+            pending.decrementAndGet();
+            store.put(status.failed("Shutting down"));
+            throw new AdmissionRejectedException("Not accepting submissions, retry later", retryAfter);
+        }
+
+        log.debug("Accepted submission '{}' for advisory info: {}", status.submissionId(), advisoryInfo);
+
+        return Response.accepted(status)
+                .location(UriBuilder.fromResource(RestSubmissionHandler.class).path(status.submissionId()).build())
+                .build();
+    }
+
+    @GET
+    @Path("/{submissionId}")
+    public SubmissionStatus status(@PathParam("submissionId") String submissionId) {
+        boolean featureEnabled = featureClient.getBooleanValue("rest.handler.enabled", restDefaultEnabled);
+        if (!featureEnabled) {
+            log.debug("REST Handler disabled via feature flag.");
+            return null;
+        }
+
+        return store.find(submissionId)
+                .orElseThrow(() -> new NotFoundException("Unknown submission '" + submissionId + "'"));
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private void process(SubmissionStatus status) {
+        try {
+            store.put(status.running());
+            GenerationRequest generationRequest = advisoryHandler.requestGenerations(status.advisoryId(),
+                    status.force(), Trigger.restAsync());
+            store.put(status.completed(generationRequest));
+        } catch (RuntimeException e) {
+            // Already logged and reported by the advisory service
+            store.put(status.failed(e.getMessage()));
+        } finally {
+            pending.decrementAndGet();
+        }
+    }
+}
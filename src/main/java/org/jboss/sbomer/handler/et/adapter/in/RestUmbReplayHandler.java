@@ -0,0 +1,103 @@
+package org.jboss.sbomer.handler.et.adapter.in;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.jboss.sbomer.handler.et.adapter.in.dto.UmbReplayRequest;
+
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import jakarta.ws.rs.BadRequestException;
+import jakarta.ws.rs.Consumes;
+import jakarta.ws.rs.GET;
+import jakarta.ws.rs.NotFoundException;
+import jakarta.ws.rs.POST;
+import jakarta.ws.rs.Produces;
+import jakarta.ws.rs.core.MediaType;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * <p>
+ * Replays captured UMB traffic through {@link UmbAdvisoryHandler}, against
+ * the ports this instance is wired with, and reports the throughput and the
+ * latencies (see {@link UmbReplayer}).
+ * </p>
+ *
+ * <p>
+ * Meant for test environments, disabled unless {@code sbomer.umb.replay.enabled}
+ * is set. The replay runs within the request, long captures should be replayed
+ * sped up.
+ * </p>
+ */
+@Slf4j
+@jakarta.ws.rs.Path("/v1/errata-tool/umb-replay")
+@Produces(MediaType.APPLICATION_JSON)
+@Consumes(MediaType.APPLICATION_JSON)
+@ApplicationScoped
+public class RestUmbReplayHandler {
+
+    private final UmbAdvisoryHandler umbAdvisoryHandler;
+    private final UmbTrafficCapture capture;
+    private final boolean enabled;
+
+    @Inject
+    public RestUmbReplayHandler(UmbAdvisoryHandler umbAdvisoryHandler, UmbTrafficCapture capture,
+            @ConfigProperty(name = "sbomer.umb.replay.enabled", defaultValue = "false") boolean enabled) {
+        this.umbAdvisoryHandler = umbAdvisoryHandler;
+        this.capture = capture;
+        this.enabled = enabled;
+    }
+
+    /**
+     * @return The names of the capture files, oldest first.
+     */
+    @GET
+    public List<String> files() throws IOException {
+        checkEnabled();
+        return capture.files().stream().map(file -> file.getFileName().toString()).toList();
+    }
+
+    @POST
+    public UmbReplayer.Report replay(UmbReplayRequest request) throws IOException, InterruptedException {
+        checkEnabled();
+        UmbReplayRequest replay = request == null ? new UmbReplayRequest(null, null, null) : request;
+
+        List<Path> files = replay.files().isEmpty() ? capture.files() : resolve(replay.files());
+        if (files.isEmpty()) {
+            throw new NotFoundException("No UMB capture files to replay");
+        }
+
+        log.info("Replaying {} UMB capture files at speed {} with concurrency {}", files.size(), replay.speed(),
+                replay.concurrency());
+        try {
+            return new UmbReplayer(umbAdvisoryHandler::handle, replay.speed(), replay.concurrency()).replay(files);
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestException(e.getMessage());
+        }
+    }
+
+    private void checkEnabled() {
+        if (!enabled) {
+            throw new NotFoundException("UMB replay is disabled");
+        }
+    }
+
+    private List<Path> resolve(List<String> names) {
+        List<Path> files = new ArrayList<>();
+        for (String name : names) {
+            Path file = capture.directory().resolve(name).normalize();
+            // Only plain file names of capture files in the capture directory
+            if (!Objects.equals(file.getParent(), capture.directory().normalize()) || !UmbTrafficCapture.isCaptureFile(file)
+                    || !Files.isRegularFile(file)) {
+                throw new NotFoundException("Unknown UMB capture file '" + name + "'");
+            }
+            files.add(file);
+        }
+        return files;
+    }
+}
@@ -0,0 +1,105 @@
+package org.jboss.sbomer.handler.et.adapter.in;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.jboss.sbomer.handler.et.adapter.in.dto.StageTiming;
+import org.jboss.sbomer.handler.et.core.utility.StageEvents;
+
+import io.quarkus.runtime.Startup;
+import jakarta.annotation.PreDestroy;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import jdk.jfr.EventType;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingStream;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * <p>
+ * Keeps the most recent stages of the advisories in a ring buffer, to tell
+ * where the time of a slow advisory went without a recording.
+ * </p>
+ *
+ * <p>
+ * The {@link StageEvents} are consumed in-process from a JDK Flight Recorder
+ * stream with only these events enabled, which the stages pay nothing extra
+ * for. The stream is flushed about once a second, the most recent stages show
+ * up with that delay.
+ * </p>
+ */
+@ApplicationScoped
+@Startup
+@Slf4j
+public class StageTimings {
+
+    private final int capacity;
+    private final AtomicReferenceArray<StageTiming> ring;
+    private final AtomicLong written = new AtomicLong();
+    private RecordingStream stream;
+
+    @Inject
+    public StageTimings(
+            @ConfigProperty(name = "sbomer.profiling.stage-timings.enabled", defaultValue = "true") boolean enabled,
+            @ConfigProperty(name = "sbomer.profiling.stage-timings.capacity", defaultValue = "4096") int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("capacity must be positive");
+        }
+        this.capacity = capacity;
+        this.ring = new AtomicReferenceArray<>(capacity);
+
+        if (enabled) {
+            start();
+            log.info("Keeping the last {} advisory stage timings", capacity);
+        }
+    }
+
+    private void start() {
+        stream = new RecordingStream();
+        // Only the chunks not consumed yet are kept
+        stream.setMaxAge(Duration.ofMinutes(1));
+        for (Class<? extends StageEvents.AdvisoryStage> event : StageEvents.ALL) {
+            String name = EventType.getEventType(event).getName();
+            stream.enable(name).withoutThreshold();
+            stream.onEvent(name, this::add);
+        }
+        stream.startAsync();
+    }
+
+    private void add(RecordedEvent event) {
+        StageTiming timing = new StageTiming(event.getEventType().getLabel(), event.getString("advisoryId"),
+                event.getString("requestId"), event.getStartTime(), event.getDuration(), event.getBoolean("failed"));
+        // Called by the stream thread only, readers see the entry once counted
+        ring.set((int) (written.get() % capacity), timing);
+        written.incrementAndGet();
+    }
+
+    /**
+     * @param advisoryId The advisory, {@code null} for the stages of all
+     *        advisories.
+     * @param limit The maximum number of stages returned.
+     * @return The most recent stages, the newest first.
+     */
+    public List<StageTiming> recent(String advisoryId, int limit) {
+        List<StageTiming> timings = new ArrayList<>();
+        long newest = written.get() - 1;
+        for (long index = newest; index >= 0 && index > newest - capacity && timings.size() < limit; index--) {
+            StageTiming timing = ring.get((int) (index % capacity));
+            if (advisoryId == null || advisoryId.equals(timing.advisoryId())) {
+                timings.add(timing);
+            }
+        }
+        return timings;
+    }
+
+    @PreDestroy
+    public void close() {
+        if (stream != null) {
+            stream.close();
+        }
+    }
+}
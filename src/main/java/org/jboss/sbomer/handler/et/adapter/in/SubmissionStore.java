@@ -0,0 +1,189 @@
+package org.jboss.sbomer.handler.et.adapter.in;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.regex.Pattern;
+
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.jboss.sbomer.handler.et.adapter.in.dto.SubmissionStatus;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * <p>
+ * Keeps the status of asynchronous REST submissions.
+ * </p>
+ *
+ * <p>
+ * The most recently used statuses are kept in memory, up to the maximum
+ * number of entries. Older statuses are spilled to disk, one JSON file per
+ * submission, and read back on lookup. Spilled statuses are deleted once they
+ * are older than the retention, so that memory and disk usage both stay
+ * bounded.
+ * </p>
+ */
+@ApplicationScoped
+@Slf4j
+public class SubmissionStore {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper().findAndRegisterModules();
+    // Submission IDs are Tsids, anything else must not reach the file system
+    private static final Pattern SUBMISSION_ID = Pattern.compile("S[0-9A-Z]{13}");
+    private static final String SUFFIX = ".json";
+
+    private final int maxEntries;
+    private final Path directory;
+    private final Duration retention;
+    private final Map<String, SubmissionStatus> entries;
+    private final List<SubmissionStatus> evicted = new ArrayList<>();
+
+    private int spilledSincePurge;
+
+    @Inject
+    public SubmissionStore(
+            @ConfigProperty(name = "sbomer.rest.submissions.max-entries", defaultValue = "10000") int maxEntries,
+            @ConfigProperty(name = "sbomer.rest.submissions.directory") String directory,
+            @ConfigProperty(name = "sbomer.rest.submissions.retention", defaultValue = "P1D") Duration retention) {
+        this.maxEntries = maxEntries;
+        this.directory = Path.of(directory);
+        this.retention = retention;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, SubmissionStatus> eldest) {
+                if (size() > SubmissionStore.this.maxEntries) {
+                    evicted.add(eldest.getValue());
+                    return true;
+                }
+                return false;
+            }
+        };
+
+        try {
+            Files.createDirectories(this.directory);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to open the submission store in '" + directory + "'", e);
+        }
+        purge();
+    }
+
+    /**
+     * Stores the status, replacing the previous status of the submission.
+     */
+    public void put(SubmissionStatus status) {
+        List<SubmissionStatus> spill;
+        boolean cached;
+
+        synchronized (this) {
+            cached = entries.put(status.submissionId(), status) != null;
+            spill = evicted.isEmpty() ? List.of() : List.copyOf(evicted);
+            evicted.clear();
+        }
+
+        if (!cached && status.state() != SubmissionStatus.State.ACCEPTED) {
+            // The submission was spilled while it was running, the file is outdated
+            delete(file(status.submissionId()));
+        }
+
+        spill.forEach(this::spill);
+    }
+
+    /**
+     * @return The status of the submission, or empty if it is unknown or expired.
+     */
+    public Optional<SubmissionStatus> find(String submissionId) {
+        synchronized (this) {
+            SubmissionStatus status = entries.get(submissionId);
+            if (status != null) {
+                return Optional.of(status);
+            }
+        }
+
+        if (!SUBMISSION_ID.matcher(submissionId).matches()) {
+            return Optional.empty();
+        }
+
+        try {
+            return Optional.of(MAPPER.readValue(Files.readAllBytes(file(submissionId)), SubmissionStatus.class));
+        } catch (NoSuchFileException e) {
+            return Optional.empty();
+        } catch (IOException e) {
+            log.warn("Unable to read status of submission '{}'", submissionId, e);
+            return Optional.empty();
+        }
+    }
+
+    private void spill(SubmissionStatus status) {
+        Path file = file(status.submissionId());
+        Path tmp = file.resolveSibling(file.getFileName() + ".tmp");
+
+        try {
+            Files.write(tmp, MAPPER.writeValueAsBytes(status));
+            Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            // Only lookups of this old submission are affected
+            log.warn("Failed to spill status of submission '{}'", status.submissionId(), e);
+        }
+
+        boolean purgeNow;
+        synchronized (this) {
+            purgeNow = ++spilledSincePurge >= maxEntries;
+            if (purgeNow) {
+                spilledSincePurge = 0;
+            }
+        }
+        if (purgeNow) {
+            purge();
+        }
+    }
+
+    /**
+     * Deletes spilled statuses older than the retention.
+     */
+    void purge() {
+        Instant cutoff = Instant.now().minus(retention);
+        int purged = 0;
+
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, "*" + SUFFIX)) {
+            for (Path file : files) {
+                if (Files.getLastModifiedTime(file).toInstant().isBefore(cutoff)) {
+                    delete(file);
+                    purged++;
+                }
+            }
+        } catch (IOException e) {
+            log.warn("Failed to purge expired submissions in '{}'", directory, e);
+        }
+
+        if (purged > 0) {
+            log.debug("Purged {} expired submissions", purged);
+        }
+    }
+
+    private Path file(String submissionId) {
+        return directory.resolve(submissionId + SUFFIX);
+    }
+
+    private void delete(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            log.warn("Failed to delete '{}'", file, e);
+        }
+    }
+}
@@ -0,0 +1,119 @@
+package org.jboss.sbomer.handler.et.adapter.in;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Optional;
+
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+import io.quarkus.runtime.Quarkus;
+import io.quarkus.runtime.StartupEvent;
+import io.vertx.core.json.JsonObject;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import jakarta.inject.Inject;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * <p>
+ * Training run of the JVM image: once started, replays UMB traffic through
+ * {@link UmbAdvisoryHandler#handle(org.eclipse.microprofile.reactive.messaging.Message)}
+ * with {@link UmbReplayer} and exits, so that the classes loaded and the code
+ * run on the way to the generation requests can be archived (AppCDS) for
+ * faster starts of the image, see {@code src/main/docker/Dockerfile.jvm}.
+ * </p>
+ *
+ * <p>
+ * The traffic is read from the configured capture files (see
+ * {@link UmbTrafficCapture}), or generated: status changes of distinct
+ * advisories, replayed twice so that the second round goes through the
+ * handling of unchanged advisories.
+ * </p>
+ */
+@ApplicationScoped
+@Slf4j
+public class TrainingRun {
+
+    private static final JsonObject PROPERTIES = new JsonObject().put("subject", "errata.activity.status");
+
+    @ConfigProperty(name = "sbomer.training.enabled", defaultValue = "false")
+    boolean enabled;
+
+    @ConfigProperty(name = "sbomer.training.messages", defaultValue = "200")
+    int messages;
+
+    @ConfigProperty(name = "sbomer.training.concurrency", defaultValue = "8")
+    int concurrency;
+
+    @ConfigProperty(name = "sbomer.training.capture-files")
+    Optional<List<String>> captureFiles;
+
+    @Inject
+    UmbAdvisoryHandler umbAdvisoryHandler;
+
+    void onStart(@Observes StartupEvent event) {
+        if (!enabled) {
+            return;
+        }
+
+        // Let the startup complete, the run is part of the training as well
+        Thread thread = new Thread(this::run, "training-run");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    void run() {
+        int exitCode = 0;
+        Path generated = null;
+        try {
+            List<Path> files;
+            if (captureFiles.isPresent()) {
+                files = captureFiles.get().stream().map(Path::of).toList();
+            } else {
+                generated = generate();
+                files = List.of(generated);
+            }
+
+            UmbReplayer.Report report = new UmbReplayer(umbAdvisoryHandler::handle, 0, concurrency).replay(files);
+            log.info("Training run replayed {} UMB messages ({} failed) in {} ms", report.messages(),
+                    report.failed(), report.elapsed().toMillis());
+        } catch (IOException | RuntimeException e) {
+            log.error("Training run failed", e);
+            exitCode = 1;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            exitCode = 1;
+        } finally {
+            if (generated != null) {
+                try {
+                    Files.deleteIfExists(generated);
+                } catch (IOException e) {
+                    log.debug("Unable to delete '{}'", generated, e);
+                }
+            }
+        }
+
+        Quarkus.asyncExit(exitCode);
+    }
+
+    private Path generate() throws IOException {
+        Path file = Files.createTempFile("training-", UmbTrafficCapture.FILE_SUFFIX);
+        Files.delete(file);
+
+        long now = System.currentTimeMillis();
+        try (UmbCaptureFile.Writer writer = new UmbCaptureFile.Writer(file)) {
+            for (int round = 0; round < 2; round++) {
+                for (int i = 0; i < messages; i++) {
+                    String status = i % 4 == 0 ? "SHIPPED_LIVE" : "QE";
+                    byte[] payload = ("{\"errata_id\":" + (900000 + i) + ",\"errata_status\":\"" + status + "\"}")
+                            .getBytes(StandardCharsets.UTF_8);
+                    writer.append(new UmbCaptureFile.Entry(now, PROPERTIES, payload));
+                }
+            }
+        }
+        return file;
+    }
+}
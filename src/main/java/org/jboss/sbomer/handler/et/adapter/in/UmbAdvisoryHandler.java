@@ -1,19 +1,33 @@
 package org.jboss.sbomer.handler.et.adapter.in;
 
+import java.io.IOException;
 import java.nio.charset.StandardCharsets;
+import java.time.Duration;
 import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.CompletionStage;
+import java.util.concurrent.TimeUnit;
 
 import org.eclipse.microprofile.config.inject.ConfigProperty;
 import org.eclipse.microprofile.reactive.messaging.Incoming;
 import org.eclipse.microprofile.reactive.messaging.Message;
 import org.jboss.sbomer.handler.et.core.port.api.AdvisoryHandler;
+import org.jboss.sbomer.handler.et.core.utility.StageEvents;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
 
 import dev.openfeature.sdk.Client;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import io.smallrye.reactive.messaging.amqp.IncomingAmqpMetadata;
 import io.smallrye.reactive.messaging.annotations.Blocking;
 import io.vertx.core.json.JsonObject;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
 import lombok.extern.slf4j.Slf4j;
@@ -27,26 +41,113 @@ import lombok.extern.slf4j.Slf4j;
 public class UmbAdvisoryHandler {
     private static final String SUBJECT_ERRATA_ACTIVITY = "errata.activity.status";
     private static final Set<String> RELEVANT_STATUSES = Set.of("QE", "SHIPPED_LIVE");
+    private static final JsonFactory JSON = new JsonFactory();
     private final AdvisoryHandler advisoryHandler;
 
     private final Client featureClient;
 
+    private final UmbTrafficCapture capture;
+
+    private final Timer messageAge;
+
     @ConfigProperty(name = "sbomer.features.umb.enabled.openfeature.default")
     boolean umbDefaultEnabled;
 
+    @ConfigProperty(name = "sbomer.umb.batch.enabled", defaultValue = "false")
+    boolean batchEnabled;
+
+    @ConfigProperty(name = "sbomer.umb.batch.max-size", defaultValue = "100")
+    int batchMaxSize;
+
+    @ConfigProperty(name = "sbomer.umb.batch.max-wait", defaultValue = "PT0.5S")
+    Duration batchMaxWait;
+
+    @ConfigProperty(name = "sbomer.umb.batch.parallelism", defaultValue = "4")
+    int batchParallelism;
+
+    @ConfigProperty(name = "sbomer.umb.sharding.enabled", defaultValue = "false")
+    boolean shardingEnabled;
+
+    @ConfigProperty(name = "sbomer.umb.sharding.count", defaultValue = "1")
+    int shardCount;
+
+    /**
+     * Defaults to the ordinal of the StatefulSet pod.
+     */
+    @ConfigProperty(name = "sbomer.umb.sharding.index")
+    Optional<Integer> shardIndex;
+
+    private UmbMessageBatcher batcher;
+
+    private UmbShard shard = UmbShard.ALL;
+
+    public UmbAdvisoryHandler(AdvisoryHandler advisoryHandler, Client featureClient) {
+        this(advisoryHandler, featureClient, UmbTrafficCapture.disabled());
+    }
+
+    public UmbAdvisoryHandler(AdvisoryHandler advisoryHandler, Client featureClient, UmbTrafficCapture capture) {
+        this(advisoryHandler, featureClient, capture, new SimpleMeterRegistry());
+    }
+
     @Inject
-    UmbAdvisoryHandler(AdvisoryHandler advisoryHandler, Client featureClient) {
+    public UmbAdvisoryHandler(AdvisoryHandler advisoryHandler, Client featureClient, UmbTrafficCapture capture,
+            MeterRegistry registry) {
         this.advisoryHandler = advisoryHandler;
         this.featureClient = featureClient;
+        this.capture = capture;
+        this.messageAge = Timer.builder("sbomer.umb.message-age")
+                .description("Time from the creation of a UMB message until a worker started handling it")
+                .register(registry);
+    }
+
+    @PostConstruct
+    void init() {
+        if (shardingEnabled) {
+            int index = shardIndex.or(() -> UmbShard.ordinalOf(System.getenv("HOSTNAME")))
+                    .orElseThrow(() -> new IllegalStateException(
+                            "UMB sharding is enabled, but the shard index is not set and cannot be derived from the host name"));
+            shard = new UmbShard(shardCount, index);
+            log.info("UMB sharding enabled, handling shard {} of {}", shard.index(), shard.count());
+        }
+
+        if (batchEnabled) {
+            log.info("UMB batch mode enabled, max size: {}, max wait: {}, parallelism: {}", batchMaxSize,
+                    batchMaxWait, batchParallelism);
+            batcher = new UmbMessageBatcher(batchMaxSize, batchMaxWait, batchParallelism, this::relevantStatusChange,
+                    advisoryHandler);
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        if (batcher != null) {
+            batcher.close();
+        }
     }
 
     /**
      * Listens to the UMB 'errata' channel for advisory phase triggers.
-     * It extracts the ID and invokes the domain handler.
+     * It extracts the ID and invokes the domain handler. In batch mode the
+     * message is acknowledged once its batch was handled. Messages are captured
+     * first if enabled, see {@link UmbTrafficCapture}.
      */
     @Incoming("errata")
-    @Blocking(ordered = false)
+    // Bounded pool, when advisories wait in the scheduler no more messages are requested
+    @Blocking(value = "umb-worker", ordered = false)
     public CompletionStage<Void> process(Message<byte[]> message) {
+        capture.record(message);
+        return handle(message);
+    }
+
+    /**
+     * Handles the message like {@link #process(Message)}, without capturing it,
+     * e.g. when replaying captured traffic. The age of the message is recorded
+     * if the sender set its AMQP creation time, which replayed messages do not
+     * have.
+     */
+    public CompletionStage<Void> handle(Message<byte[]> message) {
+        recordAge(message);
+
         boolean featureEnabled = featureClient.getBooleanValue("umb.handler.enabled", umbDefaultEnabled);
         if (!featureEnabled) {
             log.debug("Handler disabled via feature flag.");
@@ -54,41 +155,96 @@ public class UmbAdvisoryHandler {
         }
         log.debug("Received new Errata tool status change notification");
 
+        if (batcher != null) {
+            return batcher.submit(message);
+        }
+
+        relevantStatusChange(message).ifPresent(
+                change -> advisoryHandler.requestGenerations(change.advisoryId(), false, change.trigger()));
+
+        return message.ack();
+    }
+
+    /**
+     * Validates the message and extracts the status change if the advisory
+     * changed to a status that triggers generations.
+     */
+    Optional<ErrataStatusChange> relevantStatusChange(Message<byte[]> message) {
+        StageEvents.UmbFilter event = new StageEvents.UmbFilter();
+        return StageEvents.timed(event, () -> {
+            Optional<ErrataStatusChange> change = relevantStatusChange(message, event);
+            event.relevant = change.isPresent();
+            return change;
+        });
+    }
+
+    private Optional<ErrataStatusChange> relevantStatusChange(Message<byte[]> message, StageEvents.UmbFilter event) {
         // 1. Validate Subject via Metadata
         if (!isValidSubject(message)) {
             log.warn("Received UMB message with invalid or missing subject, skipping.");
-            return message.ack();
+            return Optional.empty();
         }
 
-        // 2. Decode the message payload
-        String payload = new String(message.getPayload(), StandardCharsets.UTF_8);
-        JsonObject json;
-        try {
-            json = new JsonObject(payload);
-        } catch (Exception e) {
-            log.error("Failed to parse UMB message payload. Raw payload: {}", payload, e);
-            return message.ack();
+        // 2. Decode the message payload, reading only the fields needed to decide
+        // whether the message is relevant
+        byte[] payload = message.getPayload();
+        Long errataId = null;
+        String status = null;
+        try (JsonParser parser = JSON.createParser(payload)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                throw new JsonParseException(parser, "Expected a JSON object");
+            }
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.currentName();
+                JsonToken value = parser.nextToken();
+                if ("errata_id".equals(field) && value.isNumeric()) {
+                    errataId = parser.getLongValue();
+                } else if ("errata_status".equals(field) && value == JsonToken.VALUE_STRING) {
+                    status = parser.getText();
+                } else {
+                    parser.skipChildren();
+                }
+            }
+        } catch (IOException e) {
+            log.error("Failed to parse UMB message payload. Raw payload: {}", new String(payload, StandardCharsets.UTF_8),
+                    e);
+            return Optional.empty();
         }
 
         // 3. Check for relevant status (QE or SHIPPED_LIVE)
-        Long errataId = json.getLong("errata_id");
         if (errataId == null) {
             log.error("Errata id not found");
-            return message.ack();
+            return Optional.empty();
         }
-
-        String status = json.getString("errata_status");
+        event.advisoryId = String.valueOf(errataId);
 
         if (status == null || !RELEVANT_STATUSES.contains(status)) {
             log.debug("Skipping message for errata {} with status {}", errataId, status);
-            return message.ack();
+            return Optional.empty();
+        }
+
+        if (!shard.accepts(errataId)) {
+            log.debug("Skipping message for errata {}, handled by another shard", errataId);
+            return Optional.empty();
         }
 
         // 4. Invoke Business Logic
         log.info("Triggering generation for advisory {} based on status change to {}", errataId, status);
-        advisoryHandler.requestGenerations(String.valueOf(errataId));
+        return Optional.of(new ErrataStatusChange(String.valueOf(errataId), status, createdAt(message)));
+    }
 
-        return message.ack();
+    private static long createdAt(Message<byte[]> message) {
+        return message.getMetadata(IncomingAmqpMetadata.class)
+                .map(IncomingAmqpMetadata::getCreationTime)
+                .orElse(0L);
+    }
+
+    private void recordAge(Message<byte[]> message) {
+        long createdAt = createdAt(message);
+        if (createdAt > 0) {
+            // Clocks of the sender and the pod may differ slightly
+            messageAge.record(Math.max(0, System.currentTimeMillis() - createdAt), TimeUnit.MILLISECONDS);
+        }
     }
 
     private boolean isValidSubject(Message<byte[]> message) {
@@ -0,0 +1,189 @@
+package org.jboss.sbomer.handler.et.adapter.in;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+import org.eclipse.microprofile.reactive.messaging.Message;
+import org.eclipse.microprofile.reactive.messaging.Metadata;
+
+import io.smallrye.reactive.messaging.amqp.IncomingAmqpMetadata;
+import io.vertx.amqp.AmqpMessage;
+import io.vertx.core.json.JsonObject;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * <p>
+ * Binary file of captured UMB messages, written by {@link UmbTrafficCapture}
+ * and read by {@link UmbReplayer}.
+ * </p>
+ *
+ * <p>
+ * The file starts with a magic number and a version, followed by one entry
+ * per message: the arrival time (epoch milliseconds), the AMQP application
+ * properties as JSON and the raw payload, each length-prefixed. A partially
+ * written last entry (e.g. after a crash) is ignored when reading.
+ * </p>
+ */
+@Slf4j
+public final class UmbCaptureFile {
+
+    static final int MAGIC = 0x554D4243; // "UMBC"
+    static final int VERSION = 1;
+    // Far above any UMB message, guards against reading garbage lengths
+    static final int MAX_FIELD_SIZE = 16 * 1024 * 1024;
+
+    /**
+     * A captured message.
+     *
+     * @param arrivedAt Epoch milliseconds when the message was received.
+     * @param properties The AMQP application properties, e.g. the subject.
+     * @param payload The raw payload.
+     */
+    public record Entry(long arrivedAt, JsonObject properties, byte[] payload) {
+
+        /**
+         * @return A message equivalent to the captured one, as received from
+         *         the AMQP connector.
+         */
+        public Message<byte[]> toMessage() {
+            AmqpMessage amqpMessage = AmqpMessage.create().applicationProperties(properties).build();
+            return Message.of(payload, Metadata.of(new IncomingAmqpMetadata(amqpMessage)));
+        }
+    }
+
+    private UmbCaptureFile() {
+    }
+
+    /**
+     * Appends entries to a new capture file.
+     */
+    public static final class Writer implements Closeable {
+        private final DataOutputStream out;
+        private long size;
+
+        public Writer(Path file) throws IOException {
+            this.out = new DataOutputStream(new BufferedOutputStream(
+                    Files.newOutputStream(file, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE)));
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.flush();
+            size = out.size();
+        }
+
+        /**
+         * Appends the entry and flushes it to the file.
+         */
+        public void append(Entry entry) throws IOException {
+            byte[] properties = entry.properties() == null ? new byte[0]
+                    : entry.properties().encode().getBytes(StandardCharsets.UTF_8);
+            out.writeLong(entry.arrivedAt());
+            out.writeInt(properties.length);
+            out.write(properties);
+            out.writeInt(entry.payload().length);
+            out.write(entry.payload());
+            out.flush();
+            size = out.size();
+        }
+
+        /**
+         * @return The size of the file in bytes.
+         */
+        public long size() {
+            return size;
+        }
+
+        @Override
+        public void close() throws IOException {
+            out.close();
+        }
+    }
+
+    /**
+     * Reads the entries of a capture file in order.
+     */
+    public static final class Reader implements Iterator<Entry>, Closeable {
+        private final Path file;
+        private final DataInputStream in;
+        private Entry next;
+
+        public Reader(Path file) throws IOException {
+            this.file = file;
+            this.in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)));
+            try {
+                if (in.readInt() != MAGIC || in.readInt() != VERSION) {
+                    throw new IOException("'" + file + "' is not a UMB capture file of version " + VERSION);
+                }
+            } catch (IOException e) {
+                in.close();
+                throw e;
+            }
+            this.next = read();
+        }
+
+        @Override
+        public boolean hasNext() {
+            return next != null;
+        }
+
+        @Override
+        public Entry next() {
+            if (next == null) {
+                throw new NoSuchElementException();
+            }
+            Entry entry = next;
+            next = read();
+            return entry;
+        }
+
+        @Override
+        public void close() throws IOException {
+            in.close();
+        }
+
+        private Entry read() {
+            long arrivedAt;
+            try {
+                arrivedAt = in.readLong();
+            } catch (EOFException e) {
+                return null;
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+
+            try {
+                byte[] properties = readBytes();
+                byte[] payload = readBytes();
+                return new Entry(arrivedAt,
+                        properties.length == 0 ? null : new JsonObject(new String(properties, StandardCharsets.UTF_8)),
+                        payload);
+            } catch (EOFException e) {
+                log.warn("Ignoring the truncated last entry of '{}'", file);
+                return null;
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        private byte[] readBytes() throws IOException {
+            int length = in.readInt();
+            if (length < 0 || length > MAX_FIELD_SIZE) {
+                throw new IOException("Corrupted entry in '" + file + "', field of " + length + " bytes");
+            }
+            byte[] bytes = new byte[length];
+            in.readFully(bytes);
+            return bytes;
+        }
+    }
+}
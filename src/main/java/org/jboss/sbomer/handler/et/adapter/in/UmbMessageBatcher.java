@@ -0,0 +1,183 @@
+package org.jboss.sbomer.handler.et.adapter.in;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+import org.eclipse.microprofile.reactive.messaging.Message;
+import org.jboss.sbomer.handler.et.core.port.api.AdvisoryHandler;
+import org.jboss.sbomer.handler.et.core.utility.NamedThreadFactory;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * <p>
+ * Processes UMB messages in batches.
+ * </p>
+ *
+ * <p>
+ * Messages are collected until the batch is full or the first message of the
+ * batch waited for the maximum time. The batch is then filtered and
+ * deduplicated in one pass, the remaining advisories are handled with bounded
+ * parallelism and, once the resulting generation requests were flushed, all
+ * messages of the batch are acknowledged together. Messages of an advisory
+ * which failed are nacked.
+ * </p>
+ */
+@Slf4j
+public final class UmbMessageBatcher {
+
+    private record Entry(Message<byte[]> message, CompletableFuture<Void> done) {
+    }
+
+    private final int maxSize;
+    private final long maxWaitNanos;
+    private final Function<Message<byte[]>, Optional<ErrataStatusChange>> filter;
+    private final AdvisoryHandler advisoryHandler;
+    private final ScheduledExecutorService timer = Executors
+            .newSingleThreadScheduledExecutor(new NamedThreadFactory("umb-batch-timer"));
+    private final ExecutorService workers;
+
+    private List<Entry> pending;
+
+    /**
+     * @param maxSize Maximum number of messages in a batch.
+     * @param maxWait Maximum time the first message of a batch waits for more
+     *        messages.
+     * @param parallelism Maximum number of advisories handled concurrently.
+     * @param filter Returns the status change to handle for a message, or empty
+     *        if the message is not relevant.
+     * @param advisoryHandler Handles the advisories.
+     */
+    public UmbMessageBatcher(int maxSize, Duration maxWait, int parallelism,
+            Function<Message<byte[]>, Optional<ErrataStatusChange>> filter, AdvisoryHandler advisoryHandler) {
+        this.maxSize = maxSize;
+        this.maxWaitNanos = maxWait.toNanos();
+        this.filter = filter;
+        this.advisoryHandler = advisoryHandler;
+        this.workers = Executors.newFixedThreadPool(parallelism, new NamedThreadFactory("umb-batch"));
+    }
+
+    /**
+     * Adds the message to the current batch.
+     *
+     * @return A stage completed once the message was acknowledged (or nacked).
+     */
+    public CompletionStage<Void> submit(Message<byte[]> message) {
+        Entry entry = new Entry(message, new CompletableFuture<>());
+        List<Entry> full = null;
+
+        synchronized (this) {
+            if (pending == null) {
+                List<Entry> batch = new ArrayList<>(maxSize);
+                try {
+                    timer.schedule(() -> dispatchIfCurrent(batch), maxWaitNanos, TimeUnit.NANOSECONDS);
+                } catch (RejectedExecutionException e) {
+                    return message.nack(e);
+                }
+                pending = batch;
+            }
+
+            pending.add(entry);
+            if (pending.size() >= maxSize) {
+                full = pending;
+                pending = null;
+            }
+        }
+
+        if (full != null) {
+            dispatch(full);
+        }
+        return entry.done();
+    }
+
+    public void close() {
+        timer.shutdownNow();
+        workers.shutdownNow();
+    }
+
+    private void dispatchIfCurrent(List<Entry> batch) {
+        synchronized (this) {
+            // Already dispatched because it got full
+            if (pending != batch) {
+                return;
+            }
+            pending = null;
+        }
+        dispatch(batch);
+    }
+
+    private void dispatch(List<Entry> batch) {
+        // Filter and deduplicate, irrelevant messages are acknowledged right away.
+        // The latest status change of an advisory determines its priority.
+        Map<String, List<Entry>> byAdvisory = new LinkedHashMap<>();
+        Map<String, ErrataStatusChange> changes = new HashMap<>();
+        for (Entry entry : batch) {
+            Optional<ErrataStatusChange> change = filter.apply(entry.message());
+            if (change.isPresent()) {
+                byAdvisory.computeIfAbsent(change.get().advisoryId(), id -> new ArrayList<>()).add(entry);
+                changes.put(change.get().advisoryId(), change.get());
+            } else {
+                complete(entry, null);
+            }
+        }
+
+        if (byAdvisory.isEmpty()) {
+            return;
+        }
+
+        log.info("Triggering generations for {} advisories from a batch of {} UMB messages", byAdvisory.size(),
+                batch.size());
+
+        // Each stage completes with the failure of the advisory, or null
+        Map<String, CompletableFuture<Throwable>> handled = new LinkedHashMap<>();
+        byAdvisory.keySet().forEach(advisoryId -> handled.put(advisoryId, handle(changes.get(advisoryId))));
+
+        CompletableFuture.allOf(handled.values().toArray(CompletableFuture[]::new))
+                .thenCompose(v -> advisoryHandler.flush())
+                .whenComplete((v, flushFailure) -> byAdvisory.forEach((advisoryId, entries) -> {
+                    Throwable failure = handled.get(advisoryId).join();
+                    for (Entry entry : entries) {
+                        complete(entry, failure != null ? failure : flushFailure);
+                    }
+                }));
+    }
+
+    private CompletableFuture<Throwable> handle(ErrataStatusChange change) {
+        try {
+            return CompletableFuture.supplyAsync(() -> {
+                try {
+                    advisoryHandler.requestGenerations(change.advisoryId(), false, change.trigger());
+                    return null;
+                } catch (RuntimeException e) {
+                    return e;
+                }
+            }, workers);
+        } catch (RejectedExecutionException e) {
+            return CompletableFuture.completedFuture(e);
+        }
+    }
+
+    private void complete(Entry entry, Throwable failure) {
+        CompletionStage<Void> settled = failure == null ? entry.message().ack() : entry.message().nack(failure);
+        settled.whenComplete((v, t) -> {
+            if (t != null) {
+                entry.done().completeExceptionally(t);
+            } else {
+                entry.done().complete(null);
+            }
+        });
+    }
+}
@@ -0,0 +1,172 @@
+package org.jboss.sbomer.handler.et.adapter.in;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import org.eclipse.microprofile.reactive.messaging.Message;
+import org.jboss.sbomer.handler.et.core.utility.NamedThreadFactory;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * <p>
+ * Feeds captured UMB traffic (see {@link UmbTrafficCapture}) back through a
+ * message handler, usually {@link UmbAdvisoryHandler#process(Message)}, and
+ * reports the throughput and the latencies.
+ * </p>
+ *
+ * <p>
+ * Messages are dispatched at their captured arrival times, scaled by the
+ * speed: {@code 1} replays in real time, {@code N} compresses the gaps N
+ * times, {@code 0} dispatches as fast as possible. Dispatched messages are
+ * handled by a fixed number of workers, like the UMB worker pool, so that
+ * bursts queue up as they would in production. The latency of a message is
+ * measured from its scheduled dispatch until the stage returned by the handler
+ * completes (for batched messages, once the batch was handled), so it includes
+ * the time waiting for a worker.
+ * </p>
+ */
+@Slf4j
+public class UmbReplayer {
+
+    /**
+     * Result of a replay.
+     *
+     * @param messages Number of replayed messages.
+     * @param failed Number of messages whose handling failed.
+     * @param elapsed Wall-clock time of the replay.
+     * @param throughput Messages handled per second.
+     * @param latencyP50 Median latency.
+     * @param latencyP95 95th percentile of the latency.
+     * @param latencyP99 99th percentile of the latency.
+     * @param latencyMax Maximum latency.
+     */
+    public record Report(int messages, int failed, Duration elapsed, double throughput, Duration latencyP50,
+            Duration latencyP95, Duration latencyP99, Duration latencyMax) {
+    }
+
+    private final Function<Message<byte[]>, CompletionStage<Void>> handler;
+    private final double speed;
+    private final int concurrency;
+
+    /**
+     * @param handler Handles a message, the returned stage completes once it was
+     *        handled.
+     * @param speed Speed-up of the replay, {@code 0} for maximum speed.
+     * @param concurrency Number of messages handled at once.
+     */
+    public UmbReplayer(Function<Message<byte[]>, CompletionStage<Void>> handler, double speed, int concurrency) {
+        if (speed < 0) {
+            throw new IllegalArgumentException("speed must not be negative");
+        }
+        if (concurrency <= 0) {
+            throw new IllegalArgumentException("concurrency must be positive");
+        }
+        this.handler = handler;
+        this.speed = speed;
+        this.concurrency = concurrency;
+    }
+
+    /**
+     * Replays the capture files in the given order, as one continuous capture.
+     */
+    public Report replay(List<Path> files) throws IOException, InterruptedException {
+        ExecutorService workers = Executors.newFixedThreadPool(concurrency, new NamedThreadFactory("umb-replay"));
+        ConcurrentLinkedQueue<Long> latencies = new ConcurrentLinkedQueue<>();
+        AtomicInteger failed = new AtomicInteger();
+        AtomicInteger pending = new AtomicInteger(1);
+        CountDownLatch done = new CountDownLatch(1);
+
+        long start = System.nanoTime();
+        long firstArrival = -1;
+        int messages = 0;
+
+        try {
+            for (Path file : files) {
+                log.info("Replaying UMB capture '{}'", file);
+                try (UmbCaptureFile.Reader reader = new UmbCaptureFile.Reader(file)) {
+                    while (reader.hasNext()) {
+                        UmbCaptureFile.Entry entry = reader.next();
+                        if (firstArrival < 0) {
+                            firstArrival = entry.arrivedAt();
+                        }
+
+                        long scheduledAt = start + offsetNanos(entry.arrivedAt() - firstArrival);
+                        long delay = scheduledAt - System.nanoTime();
+                        if (delay > 0) {
+                            TimeUnit.NANOSECONDS.sleep(delay);
+                        }
+
+                        messages++;
+                        pending.incrementAndGet();
+                        workers.execute(() -> handle(entry, scheduledAt, latencies, failed, pending, done));
+                    }
+                }
+            }
+
+            if (pending.decrementAndGet() == 0) {
+                done.countDown();
+            }
+            done.await();
+        } finally {
+            workers.shutdownNow();
+        }
+
+        long elapsed = System.nanoTime() - start;
+        long[] sorted = latencies.stream().mapToLong(Long::longValue).sorted().toArray();
+        Report report = new Report(messages, failed.get(), Duration.ofNanos(elapsed),
+                elapsed == 0 ? 0 : messages * 1e9 / elapsed, percentile(sorted, 0.50), percentile(sorted, 0.95),
+                percentile(sorted, 0.99), percentile(sorted, 1.0));
+        log.info("Replayed {} UMB messages: {}", messages, report);
+        return report;
+    }
+
+    private long offsetNanos(long offsetMillis) {
+        if (speed == 0) {
+            return 0;
+        }
+        return (long) (TimeUnit.MILLISECONDS.toNanos(offsetMillis) / speed);
+    }
+
+    private void handle(UmbCaptureFile.Entry entry, long scheduledAt, ConcurrentLinkedQueue<Long> latencies,
+            AtomicInteger failed, AtomicInteger pending, CountDownLatch done) {
+        CompletionStage<Void> handled;
+        try {
+            // The worker is busy while the handler runs, as the blocking UMB listener is
+            handled = handler.apply(entry.toMessage());
+        } catch (RuntimeException e) {
+            handled = CompletableFuture.failedFuture(e);
+        }
+
+        // Batched messages complete later, without holding the worker
+        handled.whenComplete((ignored, failure) -> {
+            if (failure != null) {
+                failed.incrementAndGet();
+                log.debug("Replayed UMB message failed", failure);
+            }
+            latencies.add(System.nanoTime() - scheduledAt);
+            if (pending.decrementAndGet() == 0) {
+                done.countDown();
+            }
+        });
+    }
+
+    private static Duration percentile(long[] sorted, double percentile) {
+        if (sorted.length == 0) {
+            return Duration.ZERO;
+        }
+        int index = (int) Math.ceil(percentile * sorted.length) - 1;
+        return Duration.ofNanos(sorted[Math.max(0, Math.min(index, sorted.length - 1))]);
+    }
+}
@@ -0,0 +1,74 @@
+package org.jboss.sbomer.handler.et.adapter.in;
+
+import java.util.Optional;
+
+/**
+ * <p>
+ * Shard of the errata events handled by this replica.
+ * </p>
+ *
+ * <p>
+ * Used when every replica receives every event (a {@code topic://}
+ * subscription): each replica only accepts the events whose {@code errata_id}
+ * hashes to its own shard, so that the replicas split the work instead of
+ * repeating it.
+ * </p>
+ *
+ * @param count The number of shards (replicas).
+ * @param index The shard of this replica, from {@code 0} to {@code count - 1}.
+ */
+public record UmbShard(int count, int index) {
+
+    /**
+     * Accepts all events, used when sharding is disabled.
+     */
+    public static final UmbShard ALL = new UmbShard(1, 0);
+
+    public UmbShard {
+        if (count <= 0) {
+            throw new IllegalArgumentException("Shard count must be positive, got " + count);
+        }
+        if (index < 0 || index >= count) {
+            throw new IllegalArgumentException("Shard index must be between 0 and " + (count - 1) + ", got " + index);
+        }
+    }
+
+    /**
+     * @param errataId The advisory ID of the event.
+     * @return {@code true} if the event belongs to this shard.
+     */
+    public boolean accepts(long errataId) {
+        if (count == 1) {
+            return true;
+        }
+
+        // Advisory IDs are sequential, mix them so that shards get a similar share
+        long hash = errataId * 0x9e3779b97f4a7c15L;
+        hash ^= hash >>> 32;
+        return Math.floorMod(hash, count) == index;
+    }
+
+    /**
+     * Extracts the ordinal of a StatefulSet pod from its host name, e.g.
+     * {@code 2} from {@code errata-tool-handler-2}.
+     *
+     * @param hostname The host (pod) name.
+     * @return The ordinal, or empty if the host name does not end with one.
+     */
+    public static Optional<Integer> ordinalOf(String hostname) {
+        if (hostname == null) {
+            return Optional.empty();
+        }
+
+        int separator = hostname.lastIndexOf('-');
+        if (separator < 0 || separator == hostname.length() - 1) {
+            return Optional.empty();
+        }
+
+        try {
+            return Optional.of(Integer.parseInt(hostname.substring(separator + 1)));
+        } catch (NumberFormatException e) {
+            return Optional.empty();
+        }
+    }
+}
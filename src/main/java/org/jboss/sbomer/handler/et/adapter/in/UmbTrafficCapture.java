@@ -0,0 +1,158 @@
+package org.jboss.sbomer.handler.et.adapter.in;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.eclipse.microprofile.reactive.messaging.Message;
+
+import io.smallrye.reactive.messaging.amqp.IncomingAmqpMetadata;
+import jakarta.annotation.PreDestroy;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * <p>
+ * Captures the UMB messages received by {@link UmbAdvisoryHandler}, to be
+ * replayed later with {@link UmbReplayer}, e.g. to check a tuning change
+ * against the traffic of a release day.
+ * </p>
+ *
+ * <p>
+ * Every message is appended, with its AMQP properties and arrival time, to a
+ * {@link UmbCaptureFile} in the capture directory. Once the file grows over
+ * the maximum size a new one is started, and the oldest files over the
+ * maximum count are deleted. Failing to capture never affects the handling of
+ * the message.
+ * </p>
+ */
+@ApplicationScoped
+@Slf4j
+public class UmbTrafficCapture {
+
+    static final String FILE_PREFIX = "umb-";
+    static final String FILE_SUFFIX = ".capture";
+
+    private final boolean enabled;
+    private final Path directory;
+    private final long maxFileSize;
+    private final int maxFiles;
+
+    private UmbCaptureFile.Writer writer;
+
+    @Inject
+    public UmbTrafficCapture(
+            @ConfigProperty(name = "sbomer.umb.capture.enabled", defaultValue = "false") boolean enabled,
+            @ConfigProperty(name = "sbomer.umb.capture.directory") String directory,
+            @ConfigProperty(name = "sbomer.umb.capture.max-file-size", defaultValue = "67108864") long maxFileSize,
+            @ConfigProperty(name = "sbomer.umb.capture.max-files", defaultValue = "10") int maxFiles) {
+        this.enabled = enabled;
+        this.directory = Path.of(directory);
+        this.maxFileSize = maxFileSize;
+        this.maxFiles = maxFiles;
+
+        if (enabled) {
+            log.info("Capturing UMB traffic to '{}', {} files of at most {} bytes", directory, maxFiles, maxFileSize);
+        }
+    }
+
+    /**
+     * @return A capture which does not capture anything.
+     */
+    public static UmbTrafficCapture disabled() {
+        return new UmbTrafficCapture(false, ".", 0, 0);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * @return The directory of the capture files.
+     */
+    public Path directory() {
+        return directory;
+    }
+
+    /**
+     * Appends the message to the current capture file.
+     */
+    public void record(Message<byte[]> message) {
+        if (!enabled) {
+            return;
+        }
+
+        long arrivedAt = System.currentTimeMillis();
+        Optional<IncomingAmqpMetadata> metadata = message.getMetadata(IncomingAmqpMetadata.class);
+        UmbCaptureFile.Entry entry = new UmbCaptureFile.Entry(arrivedAt,
+                metadata.map(IncomingAmqpMetadata::getProperties).orElse(null), message.getPayload());
+
+        synchronized (this) {
+            try {
+                if (writer == null || writer.size() >= maxFileSize) {
+                    rotate(arrivedAt);
+                }
+                writer.append(entry);
+            } catch (IOException e) {
+                log.warn("Failed to capture UMB message", e);
+            }
+        }
+    }
+
+    /**
+     * @return The capture files, the oldest first.
+     */
+    public List<Path> files() throws IOException {
+        if (Files.notExists(directory)) {
+            return List.of();
+        }
+
+        try (Stream<Path> files = Files.list(directory)) {
+            // The names contain the zero-padded start time and sequence
+            return files.filter(UmbTrafficCapture::isCaptureFile).sorted().toList();
+        }
+    }
+
+    @PreDestroy
+    synchronized void close() {
+        if (writer == null) {
+            return;
+        }
+
+        try {
+            writer.close();
+        } catch (IOException e) {
+            log.warn("Failed to close the UMB capture file", e);
+        }
+        writer = null;
+    }
+
+    static boolean isCaptureFile(Path file) {
+        String name = file.getFileName().toString();
+        return name.startsWith(FILE_PREFIX) && name.endsWith(FILE_SUFFIX);
+    }
+
+    private void rotate(long now) throws IOException {
+        close();
+        Files.createDirectories(directory);
+
+        // The sequence orders several rotations within a millisecond
+        Path file;
+        int sequence = 0;
+        do {
+            file = directory.resolve(String.format("%s%013d-%04d%s", FILE_PREFIX, now, sequence++, FILE_SUFFIX));
+        } while (Files.exists(file));
+        writer = new UmbCaptureFile.Writer(file);
+        log.debug("Capturing UMB traffic to '{}'", file);
+
+        List<Path> files = files();
+        for (int i = 0; i < files.size() - maxFiles; i++) {
+            Files.deleteIfExists(files.get(i));
+        }
+    }
+}
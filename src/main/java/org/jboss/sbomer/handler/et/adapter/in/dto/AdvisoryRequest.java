@@ -6,7 +6,13 @@ import jakarta.validation.constraints.NotEmpty;
  * DTO representing the advisory information received via REST API. It is the
  * body of the request.
  * 
+ * Set {@code force} to request generations even if the advisory did not change
+ * since it was last processed.
+ * 
  */
-public record AdvisoryRequest(@NotEmpty String advisoryId) {
+public record AdvisoryRequest(@NotEmpty String advisoryId, boolean force) {
 
+    public AdvisoryRequest(String advisoryId) {
+        this(advisoryId, false);
+    }
 }
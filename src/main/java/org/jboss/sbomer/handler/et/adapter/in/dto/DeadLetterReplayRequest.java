@@ -0,0 +1,17 @@
+package org.jboss.sbomer.handler.et.adapter.in.dto;
+
+import java.util.List;
+
+/**
+ * DTO representing the dead letters to replay, received via REST API. It is
+ * the body of the request.
+ * 
+ * Leave {@code advisoryIds} empty to replay all dead letters.
+ * 
+ */
+public record DeadLetterReplayRequest(List<String> advisoryIds) {
+
+    public DeadLetterReplayRequest {
+        advisoryIds = advisoryIds == null ? List.of() : List.copyOf(advisoryIds);
+    }
+}
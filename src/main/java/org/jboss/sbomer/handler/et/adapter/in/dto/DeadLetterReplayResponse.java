@@ -0,0 +1,11 @@
+package org.jboss.sbomer.handler.et.adapter.in.dto;
+
+import java.util.List;
+
+/**
+ * DTO representing the response of the REST API after replaying dead letters.
+ * 
+ */
+public record DeadLetterReplayResponse(List<String> replayed) {
+
+}
@@ -0,0 +1,20 @@
+package org.jboss.sbomer.handler.et.adapter.in.dto;
+
+import java.time.Duration;
+
+/**
+ * DTO representing a JDK Flight Recorder recording to start, received via REST
+ * API. It is the body of the request.
+ * 
+ * {@code settings} names a configuration of the JDK, {@code default} (low
+ * overhead) or {@code profile} (method sampling, more events). The recording
+ * stops by itself after {@code duration}.
+ * 
+ */
+public record RecordingRequest(String settings, Duration duration) {
+
+    public RecordingRequest {
+        settings = settings == null ? "default" : settings;
+        duration = duration == null ? Duration.ofMinutes(1) : duration;
+    }
+}
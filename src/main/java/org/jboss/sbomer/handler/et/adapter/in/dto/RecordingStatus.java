@@ -0,0 +1,13 @@
+package org.jboss.sbomer.handler.et.adapter.in.dto;
+
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * DTO representing the status of a JDK Flight Recorder recording started via
+ * REST API. {@code state} is one of the {@code jdk.jfr.RecordingState} values.
+ * 
+ */
+public record RecordingStatus(long id, String name, String settings, String state, Instant startedAt,
+        Duration duration, long size) {
+}
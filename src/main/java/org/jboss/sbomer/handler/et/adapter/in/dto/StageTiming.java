@@ -0,0 +1,14 @@
+package org.jboss.sbomer.handler.et.adapter.in.dto;
+
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * DTO representing a stage an advisory went through, see
+ * {@code StageEvents}. The IDs are {@code null} when the stage could not be
+ * attributed, e.g. bulk reads of several advisories.
+ * 
+ */
+public record StageTiming(String stage, String advisoryId, String requestId, Instant startedAt, Duration duration,
+        boolean failed) {
+}
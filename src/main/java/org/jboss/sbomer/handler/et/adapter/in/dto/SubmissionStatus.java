@@ -0,0 +1,49 @@
+package org.jboss.sbomer.handler.et.adapter.in.dto;
+
+import java.time.Instant;
+
+import org.jboss.sbomer.handler.et.core.domain.generation.GenerationRequest;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+/**
+ * DTO representing the status of an asynchronous REST submission. Once
+ * {@code COMPLETED}, {@code generationRequest} holds the result, once
+ * {@code FAILED}, {@code error} holds the reason.
+ * 
+ */
+public record SubmissionStatus(String submissionId, String advisoryId, boolean force, State state,
+        Instant submittedAt, Instant updatedAt, GenerationRequest generationRequest, String error) {
+
+    public enum State {
+        ACCEPTED,
+        RUNNING,
+        COMPLETED,
+        FAILED
+    }
+
+    public static SubmissionStatus accepted(String submissionId, String advisoryId, boolean force) {
+        Instant now = Instant.now();
+        return new SubmissionStatus(submissionId, advisoryId, force, State.ACCEPTED, now, now, null, null);
+    }
+
+    public SubmissionStatus running() {
+        return new SubmissionStatus(submissionId, advisoryId, force, State.RUNNING, submittedAt, Instant.now(), null,
+                null);
+    }
+
+    public SubmissionStatus completed(GenerationRequest generationRequest) {
+        return new SubmissionStatus(submissionId, advisoryId, force, State.COMPLETED, submittedAt, Instant.now(),
+                generationRequest, null);
+    }
+
+    public SubmissionStatus failed(String error) {
+        return new SubmissionStatus(submissionId, advisoryId, force, State.FAILED, submittedAt, Instant.now(), null,
+                error);
+    }
+
+    @JsonIgnore
+    public boolean isFinished() {
+        return state == State.COMPLETED || state == State.FAILED;
+    }
+}
@@ -0,0 +1,20 @@
+package org.jboss.sbomer.handler.et.adapter.in.dto;
+
+import java.util.List;
+
+/**
+ * DTO representing a replay of captured UMB traffic, received via REST API. It
+ * is the body of the request.
+ * 
+ * Leave {@code files} empty to replay all capture files, oldest first. A
+ * {@code speed} of {@code 0} replays as fast as possible.
+ * 
+ */
+public record UmbReplayRequest(List<String> files, Double speed, Integer concurrency) {
+
+    public UmbReplayRequest {
+        files = files == null ? List.of() : List.copyOf(files);
+        speed = speed == null ? 1.0 : speed;
+        concurrency = concurrency == null ? 8 : concurrency;
+    }
+}
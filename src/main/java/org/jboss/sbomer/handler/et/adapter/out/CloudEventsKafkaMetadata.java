@@ -0,0 +1,97 @@
+package org.jboss.sbomer.handler.et.adapter.out;
+
+import java.net.URI;
+import java.time.ZoneOffset;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.common.header.Headers;
+import org.jboss.sbomer.events.common.ContextSpec;
+
+import io.cloudevents.CloudEvent;
+import io.cloudevents.core.builder.CloudEventBuilder;
+import io.cloudevents.kafka.KafkaMessageFactory;
+import io.smallrye.reactive.messaging.kafka.api.OutgoingKafkaRecordMetadata;
+
+/**
+ * <p>
+ * Builds the Kafka record metadata for outgoing events: the record key and the
+ * CloudEvents binary-mode headers ({@code ce_id}, {@code ce_type}, ...)
+ * mirroring the {@link ContextSpec} of the Avro body.
+ * </p>
+ *
+ * <p>
+ * The body stays the Avro record, only the headers are written. Consumers can
+ * route and filter on the headers without deserializing the payload.
+ * </p>
+ */
+final class CloudEventsKafkaMetadata {
+
+    static final String DATA_CONTENT_TYPE = "application/avro";
+    static final String EXTENSION_CORRELATION_ID = "correlationid";
+    static final String EXTENSION_PARTITION_KEY = "partitionkey";
+
+    // Event sources are a few constants, parse each of them once
+    private static final Map<String, URI> SOURCES = new ConcurrentHashMap<>();
+
+    private CloudEventsKafkaMetadata() {}
+
+    /**
+     * Creates a random (version 4) UUID for the ID of an event. Event IDs only
+     * need to be unique, so the thread-local random is used instead of the
+     * shared {@code SecureRandom} of {@link UUID#randomUUID()}.
+     *
+     * @return The event ID.
+     */
+    static String newEventId() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        long mostSigBits = (random.nextLong() & ~0xf000L) | 0x4000L;
+        long leastSigBits = (random.nextLong() & ~(0xc000L << 48)) | (0x8000L << 48);
+        return new UUID(mostSigBits, leastSigBits).toString();
+    }
+
+    /**
+     * Creates metadata for a record keyed by {@code key}.
+     *
+     * @param context The context of the event being sent.
+     * @param key The record key, may be {@code null} for unkeyed records.
+     * @param subject The CloudEvents subject, may be {@code null}.
+     * @return Outgoing metadata carrying the key and the CloudEvents headers.
+     */
+    static OutgoingKafkaRecordMetadata<String> of(ContextSpec context, String key, String subject) {
+        return OutgoingKafkaRecordMetadata.<String> builder()
+                .withKey(key)
+                .withHeaders(headers(context, key, subject))
+                .build();
+    }
+
+    static Headers headers(ContextSpec context, String key, String subject) {
+        CloudEventBuilder builder = CloudEventBuilder.v1()
+                .withId(context.getEventId())
+                .withType(context.getType())
+                .withSource(SOURCES.computeIfAbsent(context.getSource(), URI::create))
+                .withTime(context.getTimestamp().atOffset(ZoneOffset.UTC))
+                .withDataContentType(DATA_CONTENT_TYPE);
+
+        if (subject != null) {
+            builder.withSubject(subject);
+        }
+        if (context.getCorrelationId() != null) {
+            builder.withExtension(EXTENSION_CORRELATION_ID, context.getCorrelationId());
+        }
+        if (key != null) {
+            builder.withExtension(EXTENSION_PARTITION_KEY, key);
+        }
+
+        // Let the CloudEvents Kafka binding write the headers so that names and
+        // encodings follow the spec. Only the headers of the resulting record are
+        // used, the topic is taken from the channel configuration.
+        CloudEvent event = builder.build();
+        ProducerRecord<String, byte[]> record = KafkaMessageFactory.<String> createWriter(context.getType(), key)
+                .writeBinary(event);
+        return record.headers();
+    }
+}
@@ -1,17 +1,25 @@
 package org.jboss.sbomer.handler.et.adapter.out;
 
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
+import org.jboss.sbomer.handler.et.adapter.out.config.StandInConfig;
 import org.jboss.sbomer.handler.et.core.domain.advisory.Advisory;
+import org.jboss.sbomer.handler.et.core.domain.advisory.AdvisoryLookup;
 import org.jboss.sbomer.handler.et.core.domain.advisory.Build;
+import org.jboss.sbomer.handler.et.core.domain.advisory.BuildPage;
 import org.jboss.sbomer.handler.et.core.port.spi.ErrataTool;
 
+import io.quarkus.arc.properties.UnlessBuildProperty;
 import jakarta.enterprise.context.ApplicationScoped;
 import lombok.extern.slf4j.Slf4j;
 
 // TODO currently returns dummy values
 @ApplicationScoped
+@UnlessBuildProperty(name = StandInConfig.ENABLED, stringValue = "true", enableIfMissing = true)
 @Slf4j
 public class ErrataToolService implements ErrataTool {
     @Override
@@ -27,6 +35,23 @@ public class ErrataToolService implements ErrataTool {
         return builds;
     }
 
+    @Override
+    public BuildPage fetchBuildsPage(String advisoryId, int offset, int limit) {
+        log.info("Fetching attached builds {}-{} for advisory with ID: '{}'...", offset, offset + limit - 1,
+                advisoryId);
+
+        // Simulate getting a page of the builds of an advisory from ET, which has a
+        // single build
+        List<Build> builds = new ArrayList<>();
+        if (offset == 0 && limit > 0) {
+            builds.add(new Build(456L, "sbom-service-latest", "CONTAINER_IMAGE", "quay.io/sbomer/sbom-service:latest"));
+        }
+
+        log.debug("Fetched {} builds for advisory with ID: '{}'", builds.size(), advisoryId);
+
+        return new BuildPage(builds);
+    }
+
     @Override
     public Advisory getInfo(String advisoryId) {
         // TODO temporary dummy check to test error
@@ -35,4 +60,23 @@ public class ErrataToolService implements ErrataTool {
         }
         return new Advisory(advisoryId, "QE", false);
     }
+
+    @Override
+    public Map<String, AdvisoryLookup> getInfoBatch(Set<String> advisoryIds) {
+        log.info("Fetching info of {} advisories...", advisoryIds.size());
+
+        // Simulate a single query of the advisories in ET, which reports each advisory
+        // it could not look up on its own
+        Map<String, AdvisoryLookup> lookups = new LinkedHashMap<>();
+        for (String advisoryId : advisoryIds) {
+            // TODO temporary dummy check to test error
+            if (advisoryId.equals("456")) {
+                lookups.put(advisoryId, AdvisoryLookup
+                        .failed(new RuntimeException("advisoryId 456 is not a valid advisory id")));
+            } else {
+                lookups.put(advisoryId, AdvisoryLookup.found(new Advisory(advisoryId, "QE", false)));
+            }
+        }
+        return lookups;
+    }
 }
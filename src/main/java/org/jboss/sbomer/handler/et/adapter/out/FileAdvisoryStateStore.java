@@ -0,0 +1,189 @@
+package org.jboss.sbomer.handler.et.adapter.out;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.jboss.sbomer.handler.et.core.domain.advisory.AdvisoryState;
+import org.jboss.sbomer.handler.et.core.port.spi.AdvisoryStateStore;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.quarkus.runtime.Startup;
+import jakarta.annotation.PreDestroy;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * <p>
+ * Embedded, file-backed {@link AdvisoryStateStore}.
+ * </p>
+ *
+ * <p>
+ * All states are kept in memory. Every change is appended as a JSON line to a
+ * journal file; once the journal grows over the compaction threshold the
+ * current states are written to a snapshot file and the journal is truncated.
+ * On startup the snapshot is loaded and the (short) journal is replayed on top
+ * of it.
+ * </p>
+ */
+@ApplicationScoped
+@Startup
+@Slf4j
+public class FileAdvisoryStateStore implements AdvisoryStateStore {
+
+    static final String SNAPSHOT_FILE = "snapshot.jsonl";
+    static final String JOURNAL_FILE = "journal.jsonl";
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private final boolean enabled;
+    private final Path snapshot;
+    private final Path journal;
+    private final int compactionThreshold;
+    private final Map<String, AdvisoryState> states = new ConcurrentHashMap<>();
+
+    private BufferedWriter journalWriter;
+    private int journalEntries;
+
+    @Inject
+    public FileAdvisoryStateStore(
+            @ConfigProperty(name = "sbomer.state-store.enabled", defaultValue = "true") boolean enabled,
+            @ConfigProperty(name = "sbomer.state-store.directory") String directory,
+            @ConfigProperty(name = "sbomer.state-store.compaction-threshold", defaultValue = "1000") int compactionThreshold) {
+        this.enabled = enabled;
+        this.snapshot = Path.of(directory, SNAPSHOT_FILE);
+        this.journal = Path.of(directory, JOURNAL_FILE);
+        this.compactionThreshold = compactionThreshold;
+
+        if (!enabled) {
+            log.info("Advisory state store is disabled, every trigger will request generations");
+            return;
+        }
+
+        try {
+            Files.createDirectories(Path.of(directory));
+            load();
+            journalWriter = openJournal();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to open the advisory state store in '" + directory + "'", e);
+        }
+    }
+
+    @Override
+    public Optional<AdvisoryState> find(String advisoryId) {
+        return Optional.ofNullable(states.get(advisoryId));
+    }
+
+    @Override
+    public void save(AdvisoryState state) {
+        if (!enabled) {
+            return;
+        }
+
+        states.put(state.advisoryId(), state);
+
+        synchronized (this) {
+            try {
+                journalWriter.write(MAPPER.writeValueAsString(state));
+                journalWriter.newLine();
+                journalWriter.flush();
+
+                if (++journalEntries >= compactionThreshold) {
+                    compact();
+                }
+            } catch (IOException e) {
+                // The in-memory state is still up to date, only durability is affected
+                log.warn("Failed to persist state of advisory '{}'", state.advisoryId(), e);
+            }
+        }
+    }
+
+    /**
+     * Writes all states to a new snapshot and truncates the journal.
+     */
+    synchronized void compact() throws IOException {
+        Path tmp = snapshot.resolveSibling(SNAPSHOT_FILE + ".tmp");
+
+        try (BufferedWriter writer = Files.newBufferedWriter(tmp, StandardCharsets.UTF_8)) {
+            for (AdvisoryState state : states.values()) {
+                writer.write(MAPPER.writeValueAsString(state));
+                writer.newLine();
+            }
+        }
+
+        Files.move(tmp, snapshot, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+
+        journalWriter.close();
+        journalWriter = Files.newBufferedWriter(journal, StandardCharsets.UTF_8, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE);
+        journalEntries = 0;
+
+        log.debug("Compacted advisory state store, {} advisories in snapshot", states.size());
+    }
+
+    @PreDestroy
+    synchronized void close() {
+        if (journalWriter == null) {
+            return;
+        }
+
+        try {
+            compact();
+            journalWriter.close();
+        } catch (IOException e) {
+            log.warn("Failed to compact advisory state store on shutdown", e);
+        }
+        journalWriter = null;
+    }
+
+    private void load() throws IOException {
+        long start = System.currentTimeMillis();
+
+        read(snapshot);
+        journalEntries = read(journal);
+
+        log.info("Loaded state of {} advisories in {} ms", states.size(), System.currentTimeMillis() - start);
+    }
+
+    private int read(Path file) throws IOException {
+        if (Files.notExists(file)) {
+            return 0;
+        }
+
+        int entries = 0;
+        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.isBlank()) {
+                    continue;
+                }
+                try {
+                    AdvisoryState state = MAPPER.readValue(line, AdvisoryState.class);
+                    states.put(state.advisoryId(), state);
+                    entries++;
+                } catch (IOException e) {
+                    // Most likely a partially written last line after a crash
+                    log.warn("Skipping unreadable entry in '{}'", file, e);
+                }
+            }
+        }
+        return entries;
+    }
+
+    private BufferedWriter openJournal() throws IOException {
+        return Files.newBufferedWriter(journal, StandardCharsets.UTF_8, StandardOpenOption.CREATE,
+                StandardOpenOption.APPEND, StandardOpenOption.WRITE);
+    }
+}
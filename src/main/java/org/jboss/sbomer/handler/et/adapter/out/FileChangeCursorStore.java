@@ -0,0 +1,78 @@
+package org.jboss.sbomer.handler.et.adapter.out;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Optional;
+
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.jboss.sbomer.handler.et.core.domain.advisory.ChangeCursor;
+import org.jboss.sbomer.handler.et.core.port.spi.ChangeCursorStore;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * <p>
+ * Embedded, file-backed {@link ChangeCursorStore}.
+ * </p>
+ *
+ * <p>
+ * The cursor is a single small value, it is written to a temporary file which
+ * then replaces the cursor file, so that a crash leaves either the previous
+ * or the new cursor.
+ * </p>
+ */
+@ApplicationScoped
+@Slf4j
+public class FileChangeCursorStore implements ChangeCursorStore {
+
+    static final String CURSOR_FILE = "cursor.json";
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private final Path file;
+
+    @Inject
+    public FileChangeCursorStore(@ConfigProperty(name = "sbomer.reconciler.directory") String directory) {
+        this.file = Path.of(directory, CURSOR_FILE);
+
+        try {
+            Files.createDirectories(Path.of(directory));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to open the change cursor store in '" + directory + "'", e);
+        }
+    }
+
+    @Override
+    public Optional<ChangeCursor> load() {
+        if (Files.notExists(file)) {
+            return Optional.empty();
+        }
+
+        try {
+            return Optional.of(MAPPER.readValue(file.toFile(), ChangeCursor.class));
+        } catch (IOException e) {
+            // Starting over from the lookback is safe, changes are compared with the state
+            log.warn("Skipping unreadable change cursor '{}'", file, e);
+            return Optional.empty();
+        }
+    }
+
+    @Override
+    public synchronized void save(ChangeCursor cursor) {
+        Path tmp = file.resolveSibling(CURSOR_FILE + ".tmp");
+        try {
+            MAPPER.writeValue(tmp.toFile(), cursor);
+            Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            // The reconciler keeps its cursor in memory, only durability is affected
+            log.warn("Failed to persist change cursor {}", cursor, e);
+        }
+    }
+}
@@ -0,0 +1,191 @@
+package org.jboss.sbomer.handler.et.adapter.out;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.jboss.sbomer.handler.et.core.domain.advisory.RetryState;
+import org.jboss.sbomer.handler.et.core.port.spi.RetryStore;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import jakarta.annotation.PreDestroy;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * <p>
+ * Embedded, file-backed {@link RetryStore}.
+ * </p>
+ *
+ * <p>
+ * Works like {@link FileAdvisoryStateStore}: all states are kept in memory,
+ * every change is appended to a journal, which is compacted into a snapshot
+ * once it grows over the threshold. Removals are journaled as entries without
+ * a state.
+ * </p>
+ */
+@ApplicationScoped
+@Slf4j
+public class FileRetryStore implements RetryStore {
+
+    static final String SNAPSHOT_FILE = "snapshot.jsonl";
+    static final String JOURNAL_FILE = "journal.jsonl";
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    /**
+     * A journal entry, {@code state} is {@code null} for removals.
+     */
+    record Entry(String advisoryId, RetryState state) {
+    }
+
+    private final Path snapshot;
+    private final Path journal;
+    private final int compactionThreshold;
+    private final Map<String, RetryState> states = new ConcurrentHashMap<>();
+
+    private BufferedWriter journalWriter;
+    private int journalEntries;
+
+    @Inject
+    public FileRetryStore(
+            @ConfigProperty(name = "sbomer.retry.directory") String directory,
+            @ConfigProperty(name = "sbomer.retry.compaction-threshold", defaultValue = "1000") int compactionThreshold) {
+        this.snapshot = Path.of(directory, SNAPSHOT_FILE);
+        this.journal = Path.of(directory, JOURNAL_FILE);
+        this.compactionThreshold = compactionThreshold;
+
+        try {
+            Files.createDirectories(Path.of(directory));
+            read(snapshot);
+            journalEntries = read(journal);
+            journalWriter = Files.newBufferedWriter(journal, StandardCharsets.UTF_8, StandardOpenOption.CREATE,
+                    StandardOpenOption.APPEND, StandardOpenOption.WRITE);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to open the retry store in '" + directory + "'", e);
+        }
+
+        log.info("Loaded retry state of {} advisories", states.size());
+    }
+
+    @Override
+    public Optional<RetryState> find(String advisoryId) {
+        return Optional.ofNullable(states.get(advisoryId));
+    }
+
+    @Override
+    public Collection<RetryState> findAll() {
+        return List.copyOf(states.values());
+    }
+
+    @Override
+    public synchronized void save(RetryState state) {
+        states.put(state.advisoryId(), state);
+        append(new Entry(state.advisoryId(), state));
+    }
+
+    @Override
+    public synchronized void remove(String advisoryId) {
+        if (states.remove(advisoryId) != null) {
+            append(new Entry(advisoryId, null));
+        }
+    }
+
+    private synchronized void append(Entry entry) {
+        if (journalWriter == null) {
+            return;
+        }
+
+        try {
+            journalWriter.write(MAPPER.writeValueAsString(entry));
+            journalWriter.newLine();
+            journalWriter.flush();
+
+            if (++journalEntries >= compactionThreshold) {
+                compact();
+            }
+        } catch (IOException e) {
+            // The in-memory state is still up to date, only durability is affected
+            log.warn("Failed to persist retry state of advisory '{}'", entry.advisoryId(), e);
+        }
+    }
+
+    /**
+     * Writes all states to a new snapshot and truncates the journal.
+     */
+    synchronized void compact() throws IOException {
+        Path tmp = snapshot.resolveSibling(SNAPSHOT_FILE + ".tmp");
+
+        try (BufferedWriter writer = Files.newBufferedWriter(tmp, StandardCharsets.UTF_8)) {
+            for (RetryState state : states.values()) {
+                writer.write(MAPPER.writeValueAsString(new Entry(state.advisoryId(), state)));
+                writer.newLine();
+            }
+        }
+
+        Files.move(tmp, snapshot, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+
+        journalWriter.close();
+        journalWriter = Files.newBufferedWriter(journal, StandardCharsets.UTF_8, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE);
+        journalEntries = 0;
+    }
+
+    @PreDestroy
+    synchronized void close() {
+        if (journalWriter == null) {
+            return;
+        }
+
+        try {
+            compact();
+            journalWriter.close();
+        } catch (IOException e) {
+            log.warn("Failed to compact retry store on shutdown", e);
+        }
+        journalWriter = null;
+    }
+
+    private int read(Path file) throws IOException {
+        if (Files.notExists(file)) {
+            return 0;
+        }
+
+        int entries = 0;
+        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.isBlank()) {
+                    continue;
+                }
+                try {
+                    Entry entry = MAPPER.readValue(line, Entry.class);
+                    if (entry.state() == null) {
+                        states.remove(entry.advisoryId());
+                    } else {
+                        states.put(entry.advisoryId(), entry.state());
+                    }
+                    entries++;
+                } catch (IOException e) {
+                    // Most likely a partially written last line after a crash
+                    log.warn("Skipping unreadable entry in '{}'", file, e);
+                }
+            }
+        }
+        return entries;
+    }
+}
@@ -0,0 +1,507 @@
+package org.jboss.sbomer.handler.et.adapter.out;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Properties;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.UnaryOperator;
+
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.ConsumerRecords;
+import org.apache.kafka.clients.consumer.KafkaConsumer;
+import org.apache.kafka.clients.producer.KafkaProducer;
+import org.apache.kafka.clients.producer.Producer;
+import org.apache.kafka.clients.producer.ProducerConfig;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.clients.producer.RecordMetadata;
+import org.apache.kafka.common.PartitionInfo;
+import org.apache.kafka.common.TopicPartition;
+import org.apache.kafka.common.errors.WakeupException;
+import org.apache.kafka.common.serialization.StringDeserializer;
+import org.apache.kafka.common.serialization.StringSerializer;
+import org.apache.kafka.common.utils.Utils;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.jboss.sbomer.handler.et.core.domain.advisory.AdvisoryState;
+import org.jboss.sbomer.handler.et.core.domain.exception.AdvisoryClaimedException;
+import org.jboss.sbomer.handler.et.core.domain.generation.GenerationRequest;
+import org.jboss.sbomer.handler.et.core.port.spi.ClusterAdvisoryView;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.quarkus.runtime.Startup;
+import jakarta.annotation.PreDestroy;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * <p>
+ * {@link ClusterAdvisoryView} backed by a log-compacted Kafka topic, which
+ * every replica reads from the beginning into an in-memory index.
+ * </p>
+ *
+ * <p>
+ * The topic holds two records per advisory: {@code state:<advisoryId>}, the
+ * last processed status, build set hash and request ID, and
+ * {@code claim:<advisoryId>}, the replica currently processing it. Both are
+ * sent to the partition of the advisory ID, so that the records of an
+ * advisory are totally ordered. A replica claims an advisory by sending a
+ * claim and reading the partition up to it: the claim holds if no other
+ * replica held a live claim before it in the log. As every replica applies
+ * the same rule to the same log, they all agree on the holder, and the new
+ * holder has read the state processed by the previous one.
+ * </p>
+ *
+ * <p>
+ * A claim expires after the claim TTL, in case its replica died. A replica
+ * which cannot claim an advisory within the claim wait gives up with an
+ * {@link AdvisoryClaimedException} if another replica holds the claim, so that
+ * the advisory is retried later, and otherwise (e.g. when Kafka is unavailable)
+ * processes it without a claim.
+ * </p>
+ */
+@ApplicationScoped
+@Startup
+@Slf4j
+public class KafkaClusterAdvisoryView implements ClusterAdvisoryView {
+
+    static final String STATE_PREFIX = "state:";
+    static final String CLAIM_PREFIX = "claim:";
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    private static final Duration POLL_TIMEOUT = Duration.ofMillis(500);
+    // Claims of other replicas may expire while waiting, without any new record
+    private static final long MAX_WAIT_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    record StateValue(String status, String buildSetHash, String requestId, long processedAt, String replica,
+            List<String> chunkHashes) {
+    }
+
+    record ClaimValue(String replica, long expiresAt, boolean released) {
+    }
+
+    /**
+     * Processed state and current claim of an advisory, replaced as a whole on
+     * every update.
+     */
+    private record Entry(String status, String buildSetHash, String requestId, long processedAt,
+            List<String> chunkHashes, String claimedBy, long claimOffset, long claimExpiresAt) {
+
+        static final Entry EMPTY = new Entry(null, null, null, 0, null, null, -1, 0);
+
+        Entry withState(String status, String buildSetHash, String requestId, long processedAt,
+                List<String> chunkHashes) {
+            return new Entry(status, buildSetHash, requestId, processedAt, chunkHashes, claimedBy, claimOffset,
+                    claimExpiresAt);
+        }
+
+        Entry withClaim(String claimedBy, long claimOffset, long claimExpiresAt) {
+            return new Entry(status, buildSetHash, requestId, processedAt, chunkHashes, claimedBy, claimOffset,
+                    claimExpiresAt);
+        }
+
+        boolean isEmpty() {
+            return status == null && claimedBy == null;
+        }
+    }
+
+    private final boolean enabled;
+    private final String topic;
+    private final String replicaId;
+    private final Duration claimTtl;
+    private final Duration claimWait;
+    private final Producer<String, String> producer;
+    private final Consumer<String, String> consumer;
+
+    private final Map<String, Entry> index = new ConcurrentHashMap<>();
+    // Advisory statuses are few, share their instances between the entries
+    private final Map<String, String> statuses = new ConcurrentHashMap<>();
+    private final Set<String> held = ConcurrentHashMap.newKeySet();
+
+    private final List<TopicPartition> partitions;
+    // Next offset to read of each partition, guarded by this
+    private final long[] positions;
+    private final long[] startupEndOffsets;
+    private boolean caughtUp;
+
+    private final Counter acquired;
+    private final Counter waited;
+    private final Counter timedOut;
+
+    private volatile boolean running;
+    private Thread poller;
+
+    @Inject
+    public KafkaClusterAdvisoryView(
+            @ConfigProperty(name = "sbomer.cluster-dedup.enabled", defaultValue = "false") boolean enabled,
+            @ConfigProperty(name = "sbomer.cluster-dedup.topic", defaultValue = "sbomer.errata-tool.advisory-state") String topic,
+            @ConfigProperty(name = "sbomer.cluster-dedup.bootstrap-servers", defaultValue = "localhost:9092") String bootstrapServers,
+            @ConfigProperty(name = "sbomer.cluster-dedup.replica-id") Optional<String> replicaId,
+            @ConfigProperty(name = "sbomer.cluster-dedup.claim-ttl", defaultValue = "PT10M") Duration claimTtl,
+            @ConfigProperty(name = "sbomer.cluster-dedup.claim-wait", defaultValue = "PT30S") Duration claimWait,
+            MeterRegistry registry) {
+        this(enabled, enabled ? createProducer(bootstrapServers) : null,
+                enabled ? createConsumer(bootstrapServers) : null, topic,
+                replicaId.filter(id -> !id.isBlank()).orElseGet(() -> UUID.randomUUID().toString()), claimTtl,
+                claimWait, registry);
+
+        if (enabled) {
+            start();
+        } else {
+            log.info("Cluster-wide advisory deduplication is disabled");
+        }
+    }
+
+    /**
+     * Creates an enabled view, which reads the topic once {@link #start()} is
+     * called.
+     */
+    public KafkaClusterAdvisoryView(Producer<String, String> producer, Consumer<String, String> consumer,
+            String topic, String replicaId, Duration claimTtl, Duration claimWait, MeterRegistry registry) {
+        this(true, producer, consumer, topic, replicaId, claimTtl, claimWait, registry);
+    }
+
+    private KafkaClusterAdvisoryView(boolean enabled, Producer<String, String> producer,
+            Consumer<String, String> consumer, String topic, String replicaId, Duration claimTtl,
+            Duration claimWait, MeterRegistry registry) {
+        this.enabled = enabled;
+        this.producer = producer;
+        this.consumer = consumer;
+        this.topic = topic;
+        this.replicaId = replicaId;
+        this.claimTtl = claimTtl;
+        this.claimWait = claimWait;
+
+        this.acquired = claimCounter(registry, "acquired");
+        this.waited = claimCounter(registry, "waited");
+        this.timedOut = claimCounter(registry, "timed-out");
+        Gauge.builder("sbomer.cluster-dedup.entries", index, Map::size)
+                .description("Number of advisories in the cluster-wide index")
+                .register(registry);
+
+        if (!enabled) {
+            this.partitions = List.of();
+            this.positions = new long[0];
+            this.startupEndOffsets = new long[0];
+            return;
+        }
+
+        List<PartitionInfo> infos = consumer.partitionsFor(topic);
+        if (infos == null || infos.isEmpty()) {
+            throw new IllegalStateException("Topic '" + topic + "' of the cluster-wide advisory deduplication "
+                    + "does not exist, create it with 'cleanup.policy=compact'");
+        }
+        this.partitions = infos.stream()
+                .map(info -> new TopicPartition(topic, info.partition()))
+                .sorted((a, b) -> Integer.compare(a.partition(), b.partition()))
+                .toList();
+        this.positions = new long[partitions.size()];
+        this.startupEndOffsets = new long[partitions.size()];
+
+        consumer.assign(partitions);
+        consumer.seekToBeginning(partitions);
+        Map<TopicPartition, Long> endOffsets = consumer.endOffsets(partitions);
+        for (TopicPartition partition : partitions) {
+            startupEndOffsets[partition.partition()] = endOffsets.getOrDefault(partition, 0L);
+        }
+    }
+
+    /**
+     * Starts reading the topic in the background.
+     */
+    public synchronized void start() {
+        if (!enabled || running) {
+            return;
+        }
+        running = true;
+        poller = new Thread(this::poll, "cluster-dedup-reader");
+        poller.setDaemon(true);
+        poller.start();
+        log.info("Reading cluster-wide advisory states from '{}' ({} partitions) as replica '{}'", topic,
+                partitions.size(), replicaId);
+    }
+
+    @Override
+    public Optional<AdvisoryState> find(String advisoryId) {
+        Entry entry = index.get(advisoryId);
+        if (entry == null || entry.status() == null) {
+            return Optional.empty();
+        }
+
+        // Only the IDs are shared, like the requests of advisories handled in chunks
+        return Optional.of(new AdvisoryState(advisoryId, entry.status(), entry.buildSetHash(),
+                new GenerationRequest(entry.requestId(), advisoryId, List.of(), List.of()), entry.processedAt(),
+                entry.chunkHashes()));
+    }
+
+    @Override
+    public void claim(String advisoryId) throws InterruptedException {
+        if (!enabled) {
+            return;
+        }
+
+        long deadline = System.nanoTime() + claimWait.toNanos();
+        int partition = partition(advisoryId);
+        boolean hadToWait = false;
+
+        try {
+            while (true) {
+                synchronized (this) {
+                    while (!caughtUp || isClaimedByOther(index.get(advisoryId))) {
+                        hadToWait |= caughtUp;
+                        awaitUntil(deadline);
+                    }
+                }
+
+                long expiresAt = System.currentTimeMillis() + claimTtl.toMillis();
+                RecordMetadata metadata = producer
+                        .send(new ProducerRecord<>(topic, partition, CLAIM_PREFIX + advisoryId,
+                                MAPPER.writeValueAsString(new ClaimValue(replicaId, expiresAt, false))))
+                        .get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+
+                synchronized (this) {
+                    // Whether the claim holds is only known once read back in log order
+                    while (positions[partition] <= metadata.offset()) {
+                        awaitUntil(deadline);
+                    }
+
+                    Entry entry = index.get(advisoryId);
+                    if (entry != null && replicaId.equals(entry.claimedBy())
+                            && entry.claimOffset() == metadata.offset()) {
+                        held.add(advisoryId);
+                        (hadToWait ? waited : acquired).increment();
+                        return;
+                    }
+                }
+
+                log.debug("Advisory '{}' was claimed first by another replica, waiting", advisoryId);
+                hadToWait = true;
+            }
+        } catch (TimeoutException e) {
+            timedOut.increment();
+            synchronized (this) {
+                if (caughtUp && isClaimedByOther(index.get(advisoryId))) {
+                    throw new AdvisoryClaimedException("Advisory '" + advisoryId
+                            + "' is still being processed by replica '" + index.get(advisoryId).claimedBy() + "'");
+                }
+            }
+            log.warn("Unable to claim advisory '{}' within {}, processing it without a claim", advisoryId,
+                    claimWait, e);
+        } catch (ExecutionException | IOException e) {
+            timedOut.increment();
+            log.warn("Unable to claim advisory '{}' within {}, processing it without a claim", advisoryId,
+                    claimWait, e);
+        }
+    }
+
+    @Override
+    public void processed(AdvisoryState state) {
+        if (!enabled) {
+            return;
+        }
+
+        StateValue value = new StateValue(state.status(), state.buildSetHash(),
+                state.generationRequest().requestId(), state.processedAt(), replicaId, state.chunkHashes());
+        // The index is updated once the record is read back
+        send(STATE_PREFIX, state.advisoryId(), value);
+    }
+
+    @Override
+    public void release(String advisoryId) {
+        if (!enabled || !held.remove(advisoryId)) {
+            return;
+        }
+
+        send(CLAIM_PREFIX, advisoryId, new ClaimValue(replicaId, 0, true));
+    }
+
+    @Override
+    public boolean isShared() {
+        return enabled;
+    }
+
+    @PreDestroy
+    public void close() {
+        if (!enabled) {
+            return;
+        }
+
+        running = false;
+        consumer.wakeup();
+        try {
+            if (poller != null) {
+                poller.join(TimeUnit.SECONDS.toMillis(5));
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        producer.close(Duration.ofSeconds(5));
+    }
+
+    private void poll() {
+        try {
+            while (running) {
+                ConsumerRecords<String, String> records;
+                try {
+                    records = consumer.poll(POLL_TIMEOUT);
+                } catch (WakeupException e) {
+                    break;
+                } catch (RuntimeException e) {
+                    log.warn("Failed to read cluster-wide advisory states from '{}'", topic, e);
+                    continue;
+                }
+
+                synchronized (this) {
+                    for (ConsumerRecord<String, String> record : records) {
+                        apply(record);
+                    }
+                    // Compacted topics have gaps, the consumer position skips them
+                    for (TopicPartition partition : partitions) {
+                        positions[partition.partition()] = consumer.position(partition);
+                    }
+                    if (!caughtUp && isCaughtUp()) {
+                        caughtUp = true;
+                        log.info("Read cluster-wide states of {} advisories", index.size());
+                    }
+                    notifyAll();
+                }
+            }
+        } finally {
+            // Only the reading thread may use the consumer
+            consumer.close();
+        }
+    }
+
+    private void apply(ConsumerRecord<String, String> record) {
+        String key = record.key();
+        if (key == null) {
+            return;
+        }
+
+        try {
+            if (key.startsWith(STATE_PREFIX)) {
+                StateValue value = record.value() == null ? null
+                        : MAPPER.readValue(record.value(), StateValue.class);
+                update(key.substring(STATE_PREFIX.length()), entry -> value == null
+                        ? entry.withState(null, null, null, 0, null)
+                        : entry.withState(statuses.computeIfAbsent(value.status(), status -> status),
+                                value.buildSetHash(), value.requestId(), value.processedAt(), value.chunkHashes()));
+            } else if (key.startsWith(CLAIM_PREFIX)) {
+                ClaimValue value = record.value() == null ? null
+                        : MAPPER.readValue(record.value(), ClaimValue.class);
+                update(key.substring(CLAIM_PREFIX.length()), entry -> applyClaim(entry, value, record));
+            }
+        } catch (IOException e) {
+            log.warn("Skipping unreadable record '{}' at offset {} of '{}'", key, record.offset(), topic, e);
+        }
+    }
+
+    /**
+     * The rule deciding the holder, applied in log order by every replica: a
+     * claim is taken if the advisory is not claimed, if the current claim
+     * expired when the new one was sent, or if it is renewed by its holder. A
+     * release only clears the claim of its own replica.
+     */
+    private static Entry applyClaim(Entry entry, ClaimValue value, ConsumerRecord<String, String> record) {
+        if (value == null || value.released()) {
+            if (entry.claimedBy() != null && (value == null || entry.claimedBy().equals(value.replica()))) {
+                return entry.withClaim(null, -1, 0);
+            }
+            return entry;
+        }
+
+        if (entry.claimedBy() == null || entry.claimedBy().equals(value.replica())
+                || (record.timestamp() >= 0 && entry.claimExpiresAt() < record.timestamp())) {
+            return entry.withClaim(value.replica(), record.offset(), value.expiresAt());
+        }
+        return entry;
+    }
+
+    private void update(String advisoryId, UnaryOperator<Entry> change) {
+        index.compute(advisoryId, (id, entry) -> {
+            Entry updated = change.apply(entry == null ? Entry.EMPTY : entry);
+            return updated.isEmpty() ? null : updated;
+        });
+    }
+
+    private boolean isClaimedByOther(Entry entry) {
+        return entry != null && entry.claimedBy() != null && !replicaId.equals(entry.claimedBy())
+                && entry.claimExpiresAt() > System.currentTimeMillis();
+    }
+
+    private boolean isCaughtUp() {
+        for (int i = 0; i < positions.length; i++) {
+            if (positions[i] < startupEndOffsets[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void awaitUntil(long deadline) throws InterruptedException, TimeoutException {
+        long remaining = deadline - System.nanoTime();
+        if (remaining <= 0) {
+            throw new TimeoutException();
+        }
+        TimeUnit.NANOSECONDS.timedWait(this, Math.min(remaining, MAX_WAIT_NANOS));
+    }
+
+    private void send(String prefix, String advisoryId, Object value) {
+        String json;
+        try {
+            json = MAPPER.writeValueAsString(value);
+        } catch (IOException e) {
+            log.warn("Unable to serialize the cluster-wide state of advisory '{}'", advisoryId, e);
+            return;
+        }
+
+        producer.send(new ProducerRecord<>(topic, partition(advisoryId), prefix + advisoryId, json),
+                (metadata, e) -> {
+                    if (e != null) {
+                        log.warn("Failed to share the cluster-wide state of advisory '{}'", advisoryId, e);
+                    }
+                });
+    }
+
+    private int partition(String advisoryId) {
+        return Utils.toPositive(Utils.murmur2(advisoryId.getBytes(StandardCharsets.UTF_8))) % partitions.size();
+    }
+
+    private static Counter claimCounter(MeterRegistry registry, String result) {
+        return Counter.builder("sbomer.cluster-dedup.claims")
+                .description("Claims of advisories by this replica")
+                .tag("result", result)
+                .register(registry);
+    }
+
+    private static Producer<String, String> createProducer(String bootstrapServers) {
+        Properties properties = new Properties();
+        properties.put(ProducerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers);
+        properties.put(ProducerConfig.ACKS_CONFIG, "all");
+        properties.put(ProducerConfig.ENABLE_IDEMPOTENCE_CONFIG, true);
+        return new KafkaProducer<>(properties, new StringSerializer(), new StringSerializer());
+    }
+
+    private static Consumer<String, String> createConsumer(String bootstrapServers) {
+        // No consumer group, every replica reads the whole topic
+        Properties properties = new Properties();
+        properties.put(ConsumerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers);
+        properties.put(ConsumerConfig.ENABLE_AUTO_COMMIT_CONFIG, false);
+        properties.put(ConsumerConfig.AUTO_OFFSET_RESET_CONFIG, "earliest");
+        return new KafkaConsumer<>(properties, new StringDeserializer(), new StringDeserializer());
+    }
+}
@@ -3,7 +3,6 @@ package org.jboss.sbomer.handler.et.adapter.out;
 import java.io.ByteArrayOutputStream;
 import java.nio.ByteBuffer;
 import java.time.Instant;
-import java.util.UUID;
 
 import org.apache.avro.io.BinaryEncoder;
 import org.apache.avro.io.EncoderFactory;
@@ -11,6 +10,7 @@ import org.apache.avro.specific.SpecificDatumWriter;
 import org.apache.avro.specific.SpecificRecordBase;
 import org.eclipse.microprofile.reactive.messaging.Channel;
 import org.eclipse.microprofile.reactive.messaging.Emitter;
+import org.eclipse.microprofile.reactive.messaging.Message;
 import org.jboss.sbomer.events.common.ContextSpec;
 import org.jboss.sbomer.events.common.FailureSpec;
 import org.jboss.sbomer.events.error.ErrorData;
@@ -45,7 +45,7 @@ public class KafkaFailureNotifier implements FailureNotifier {
 
         // Build the event context using the Avro builder
         ContextSpec context = ContextSpec.newBuilder()
-                .setEventId(UUID.randomUUID().toString())
+                .setEventId(CloudEventsKafkaMetadata.newEventId())
                 .setType("ProcessingFailed") // This is a required field in the new schema
                 .setSource(ApplicationConstants.COMPONENT_NAME)
                 .setCorrelationId(correlationId) // Use the passed-in correlationId
@@ -68,8 +68,8 @@ public class KafkaFailureNotifier implements FailureNotifier {
         String eventType = (sourceEvent != null) ? sourceEvent.getClass().getSimpleName() : "N/A (initial trigger)";
         log.error("Publishing a failure notification for event of type '{}' with correlationId '{}'. Reason: {}", eventType, correlationId, failure.getReason());
 
-        // 5. Send the event to the Kafka topic
-        emitter.send(pf);
+        // 5. Send the event to the Kafka topic, keyed by the correlation ID (if any)
+        emitter.send(Message.of(pf).addMetadata(CloudEventsKafkaMetadata.of(context, correlationId, null)));
 
         log.error("Failure notification sent successfully to Kafka topic 'sbomer.errors'.");
     }
@@ -1,13 +1,20 @@
 package org.jboss.sbomer.handler.et.adapter.out;
 
 import java.time.Instant;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
-import java.util.UUID;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
 import java.util.stream.Collectors;
 
+import org.eclipse.microprofile.config.inject.ConfigProperty;
 import org.eclipse.microprofile.reactive.messaging.Channel;
 import org.eclipse.microprofile.reactive.messaging.Emitter;
+import org.eclipse.microprofile.reactive.messaging.Message;
 import org.jboss.sbomer.events.common.ContextSpec;
 import org.jboss.sbomer.events.common.GenerationRequestSpec;
 import org.jboss.sbomer.events.common.PublisherSpec;
@@ -15,11 +22,15 @@ import org.jboss.sbomer.events.common.Target;
 import org.jboss.sbomer.events.request.RequestData;
 import org.jboss.sbomer.events.request.RequestsCreated;
 import org.jboss.sbomer.handler.et.core.ApplicationConstants;
+import org.jboss.sbomer.handler.et.core.domain.exception.AdvisoryProcessingException;
 import org.jboss.sbomer.handler.et.core.domain.generation.Generation;
 import org.jboss.sbomer.handler.et.core.domain.generation.GenerationRequest;
 import org.jboss.sbomer.handler.et.core.domain.publish.Publisher;
 import org.jboss.sbomer.handler.et.core.port.spi.GenerationRequestService;
 
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
 import lombok.extern.slf4j.Slf4j;
@@ -32,17 +43,46 @@ public class KafkaGenerationRequester implements GenerationRequestService {
     @Channel("requests-created")
     Emitter<RequestsCreated> emitter;
 
+    /**
+     * Maximum number of events sent but not yet acknowledged by Kafka, 0 for no
+     * limit. Senders block once it is reached, so that large advisories requested
+     * in chunks do not pile up events in memory.
+     */
+    @ConfigProperty(name = "sbomer.kafka.requests-created.max-in-flight", defaultValue = "64")
+    int maxInFlight;
+
+    @Inject
+    MeterRegistry registry;
+
+    private Semaphore inFlight;
+
+    // Sent events not yet acknowledged by Kafka, awaited by flush()
+    private final Set<CompletableFuture<Void>> unconfirmed = ConcurrentHashMap.newKeySet();
+
+    @PostConstruct
+    void init() {
+        if (maxInFlight > 0) {
+            inFlight = new Semaphore(maxInFlight);
+        }
+
+        Gauge.builder("sbomer.kafka.requests-created.in-flight", unconfirmed, Set::size)
+                .description("'RequestsCreated' events sent but not yet acknowledged by Kafka")
+                .register(registry);
+    }
+
     @Override
     public void requestGenerations(GenerationRequest generationRequest) {
         log.info("Mapping GenerationRequest DTO to RequestsCreated Avro event for requestId: {}", generationRequest.requestId());
 
-        // Map the DTOs to Avro specs
+        // Map the DTOs to Avro specs. Reused generations are referenced by their
+        // existing generation ID, so that the request still covers every build
         List<GenerationRequestSpec> avroGenRequests = mapGenerations(generationRequest.generations());
+        avroGenRequests.addAll(mapGenerations(generationRequest.reusedGenerations()));
         List<PublisherSpec> avroPublishers = mapPublishers(generationRequest.publishers());
 
         // Build the context
         ContextSpec context = ContextSpec.newBuilder()
-                .setEventId(UUID.randomUUID().toString())
+                .setEventId(CloudEventsKafkaMetadata.newEventId())
                 .setType("RequestsCreated")
                 .setSource(ApplicationConstants.COMPONENT_NAME)
                 .setTimestamp(Instant.now())
@@ -62,11 +102,56 @@ public class KafkaGenerationRequester implements GenerationRequestService {
                 .setData(data)
                 .build();
 
-        // 5. Send to Kafka
+        // 5. Send to Kafka, keyed by the advisory so that all events for the
+        // same advisory land on the same partition
         log.info("Publishing 'RequestsCreated' event for requestId: {}", event.getData().getRequestId());
-        emitter.send(event);
+        send(Message.of(event)
+                .addMetadata(CloudEventsKafkaMetadata.of(context, generationRequest.advisoryId(),
+                        generationRequest.advisoryId())));
         log.debug("Event successfully sent.");
-        log.debug("Event payload that was sent: {}", event.toString());
+        log.debug("Event payload that was sent: {}", event);
+    }
+
+    @Override
+    public CompletionStage<Void> flush() {
+        return CompletableFuture.allOf(unconfirmed.toArray(CompletableFuture[]::new));
+    }
+
+    private void send(Message<RequestsCreated> message) {
+        if (inFlight != null) {
+            try {
+                inFlight.acquire();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new AdvisoryProcessingException("Interrupted while waiting to publish 'RequestsCreated' event",
+                        e);
+            }
+        }
+
+        CompletableFuture<Void> confirmed = new CompletableFuture<>();
+        unconfirmed.add(confirmed);
+        confirmed.whenComplete((v, t) -> {
+            unconfirmed.remove(confirmed);
+            if (inFlight != null) {
+                inFlight.release();
+            }
+        });
+
+        try {
+            emitter.send(message
+                    .withAck(() -> {
+                        confirmed.complete(null);
+                        return CompletableFuture.completedFuture(null);
+                    })
+                    .withNack(t -> {
+                        log.error("Failed to publish 'RequestsCreated' event", t);
+                        confirmed.completeExceptionally(t);
+                        return CompletableFuture.completedFuture(null);
+                    }));
+        } catch (RuntimeException e) {
+            confirmed.completeExceptionally(e);
+            throw e;
+        }
     }
 
     /**
@@ -74,18 +159,20 @@ public class KafkaGenerationRequester implements GenerationRequestService {
      */
     private List<GenerationRequestSpec> mapGenerations(List<Generation> generations) {
         if (generations == null) {
-            return Collections.emptyList();
+            return new ArrayList<>();
         }
 
-        return generations.stream()
-                .map(gen -> GenerationRequestSpec.newBuilder()
-                        .setGenerationId(gen.id())
-                        .setTarget(Target.newBuilder()
-                                .setType(gen.target().type())
-                                .setIdentifier(gen.target().identifier())
-                                .build())
-                        .build())
-                .collect(Collectors.toList());
+        List<GenerationRequestSpec> specs = new ArrayList<>(generations.size());
+        for (Generation gen : generations) {
+            specs.add(GenerationRequestSpec.newBuilder()
+                    .setGenerationId(gen.id())
+                    .setTarget(Target.newBuilder()
+                            .setType(gen.target().type())
+                            .setIdentifier(gen.target().identifier())
+                            .build())
+                    .build());
+        }
+        return specs;
     }
 
     /**
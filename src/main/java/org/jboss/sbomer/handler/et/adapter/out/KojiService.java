@@ -3,13 +3,16 @@ package org.jboss.sbomer.handler.et.adapter.out;
 import java.util.List;
 import java.util.Map;
 
+import org.jboss.sbomer.handler.et.adapter.out.config.StandInConfig;
 import org.jboss.sbomer.handler.et.core.port.spi.Koji;
 
+import io.quarkus.arc.properties.UnlessBuildProperty;
 import jakarta.enterprise.context.ApplicationScoped;
 import lombok.extern.slf4j.Slf4j;
 
 // TODO implement Koji Service
 @ApplicationScoped
+@UnlessBuildProperty(name = StandInConfig.ENABLED, stringValue = "true", enableIfMissing = true)
 @Slf4j
 public class KojiService implements Koji {
 
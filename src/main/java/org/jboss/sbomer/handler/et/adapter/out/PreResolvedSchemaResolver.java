@@ -0,0 +1,154 @@
+package org.jboss.sbomer.handler.et.adapter.out;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.Map;
+import java.util.Properties;
+
+import io.apicurio.registry.resolver.DefaultSchemaResolver;
+import io.apicurio.registry.resolver.ParsedSchema;
+import io.apicurio.registry.resolver.SchemaLookupResult;
+import io.apicurio.registry.resolver.SchemaParser;
+import io.apicurio.registry.resolver.data.Record;
+import io.apicurio.registry.serde.data.KafkaSerdeMetadata;
+import io.apicurio.registry.serde.data.KafkaSerdeRecord;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * <p>
+ * Schema resolver of the Avro serializer which resolves the schema of the
+ * record sent on a channel once, when the producer is created, instead of on
+ * the first send.
+ * </p>
+ *
+ * <p>
+ * The schema of the configured record class is looked up (or registered, with
+ * {@code apicurio.registry.auto-register}) at startup and kept for the lifetime
+ * of the producer, so that sending never waits for the registry, even when it
+ * is unavailable. Records of other classes are resolved as usual.
+ * </p>
+ *
+ * <p>
+ * In offline mode the registry is never called: the global ID of the schema is
+ * taken from {@value #GLOBAL_ID}, or from the IDs bundled in
+ * {@value #BUNDLED_IDS}, and the producer fails to start without one.
+ * </p>
+ *
+ * <p>
+ * Enabled per channel with
+ * {@code apicurio.registry.schema-resolver=org.jboss.sbomer.handler.et.adapter.out.PreResolvedSchemaResolver}.
+ * </p>
+ */
+@Slf4j
+public class PreResolvedSchemaResolver<S, T> extends DefaultSchemaResolver<S, T> {
+
+    /**
+     * Class of the records sent on the channel.
+     */
+    public static final String RECORD_CLASS = "sbomer.schema.record-class";
+    /**
+     * Whether the registry is never called, {@code false} by default.
+     */
+    public static final String OFFLINE = "sbomer.schema.offline";
+    /**
+     * Global ID of the schema in offline mode, overrides the bundled ID.
+     */
+    public static final String GLOBAL_ID = "sbomer.schema.global-id";
+    /**
+     * Bundled global IDs in offline mode, by record class.
+     */
+    static final String BUNDLED_IDS = "schema-ids.properties";
+
+    private Class<?> recordClass;
+    private boolean offline;
+    private volatile SchemaLookupResult<S> resolved;
+
+    @Override
+    public void configure(Map<String, ?> configs, SchemaParser<S, T> schemaParser) {
+        Object className = configs.get(RECORD_CLASS);
+        if (className == null) {
+            throw new IllegalArgumentException("Missing '" + RECORD_CLASS + "' to pre-resolve the schema");
+        }
+        this.offline = Boolean.parseBoolean(String.valueOf(configs.get(OFFLINE)));
+
+        // Passed by the connector with the other channel attributes, it names the artifact
+        Object topic = configs.get("topic");
+        Record<T> template = template(className.toString(), topic == null ? null : topic.toString());
+
+        if (offline) {
+            // Nothing else is needed without a registry client
+            this.schemaParser = schemaParser;
+            long globalId = globalId(configs);
+            ParsedSchema<S> schema = schemaParser.getSchemaFromData(template);
+            this.resolved = SchemaLookupResult.<S> builder().parsedSchema(schema).globalId(globalId).build();
+            log.info("Using bundled schema ID {} of {}, the registry is not called", globalId,
+                    recordClass.getSimpleName());
+            return;
+        }
+
+        super.configure(configs, schemaParser);
+
+        try {
+            this.resolved = super.resolveSchema(template);
+            log.info("Resolved schema ID {} of {}", resolved.getGlobalId(), recordClass.getSimpleName());
+        } catch (RuntimeException e) {
+            // Do not prevent the startup, the schema is resolved on the first send instead
+            log.warn("Unable to resolve the schema of {} at startup, resolving it on the first send",
+                    recordClass.getSimpleName(), e);
+        }
+    }
+
+    @Override
+    public SchemaLookupResult<S> resolveSchema(Record<T> data) {
+        SchemaLookupResult<S> result = resolved;
+        if (result != null && data.payload() != null && data.payload().getClass() == recordClass) {
+            return result;
+        }
+
+        if (offline) {
+            throw new IllegalStateException("No schema ID of " + (data.payload() == null ? "null"
+                    : data.payload().getClass().getName()) + " in offline mode");
+        }
+
+        result = super.resolveSchema(data);
+        if (data.payload() != null && data.payload().getClass() == recordClass) {
+            resolved = result;
+        }
+        return result;
+    }
+
+    @SuppressWarnings("unchecked")
+    private Record<T> template(String className, String topic) {
+        try {
+            this.recordClass = Class.forName(className, true, Thread.currentThread().getContextClassLoader());
+            T payload = (T) recordClass.getDeclaredConstructor().newInstance();
+            return new KafkaSerdeRecord<>(new KafkaSerdeMetadata(topic, false, null), payload);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalArgumentException("Unable to instantiate record class '" + className + "'", e);
+        }
+    }
+
+    private long globalId(Map<String, ?> configs) {
+        Object configured = configs.get(GLOBAL_ID);
+        if (configured != null && !configured.toString().isBlank()) {
+            return Long.parseLong(configured.toString().trim());
+        }
+
+        Properties bundled = new Properties();
+        try (InputStream in = Thread.currentThread().getContextClassLoader().getResourceAsStream(BUNDLED_IDS)) {
+            if (in != null) {
+                bundled.load(in);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to read bundled schema IDs", e);
+        }
+
+        String id = bundled.getProperty(recordClass.getName());
+        if (id == null || id.isBlank()) {
+            throw new IllegalStateException("Offline mode is enabled, but no schema ID of " + recordClass.getName()
+                    + " is configured ('" + GLOBAL_ID + "') or bundled ('" + BUNDLED_IDS + "')");
+        }
+        return Long.parseLong(id.trim());
+    }
+}
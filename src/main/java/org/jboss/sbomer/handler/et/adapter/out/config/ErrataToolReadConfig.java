@@ -0,0 +1,115 @@
+package org.jboss.sbomer.handler.et.adapter.out.config;
+
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.jboss.sbomer.handler.et.adapter.out.resilience.HedgedRequester;
+import org.jboss.sbomer.handler.et.adapter.out.resilience.RequestBatcher;
+import org.jboss.sbomer.handler.et.adapter.out.resilience.StaleResponseCache;
+import org.jboss.sbomer.handler.et.core.domain.advisory.Advisory;
+import org.jboss.sbomer.handler.et.core.domain.advisory.AdvisoryLookup;
+import org.jboss.sbomer.handler.et.core.domain.advisory.BuildPage;
+import org.jboss.sbomer.handler.et.core.utility.NamedThreadFactory;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.smallrye.common.annotation.Identifier;
+import jakarta.annotation.PreDestroy;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.inject.Produces;
+import jakarta.inject.Inject;
+import jakarta.inject.Singleton;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Produces the batching, hedging and stale response caching used for Errata
+ * Tool reads.
+ */
+@Slf4j
+@ApplicationScoped
+public class ErrataToolReadConfig {
+
+    public static final String ERRATA_TOOL = "errata-tool";
+
+    @ConfigProperty(name = "sbomer.errata-tool.hedging.enabled", defaultValue = "false")
+    boolean hedgingEnabled;
+
+    @ConfigProperty(name = "sbomer.errata-tool.hedging.percentile", defaultValue = "95")
+    double hedgingPercentile;
+
+    @ConfigProperty(name = "sbomer.errata-tool.hedging.min-delay", defaultValue = "PT0.05S")
+    Duration hedgingMinDelay;
+
+    @ConfigProperty(name = "sbomer.errata-tool.hedging.max-delay", defaultValue = "PT2S")
+    Duration hedgingMaxDelay;
+
+    @ConfigProperty(name = "sbomer.errata-tool.hedging.budget-ratio", defaultValue = "0.1")
+    double hedgingBudgetRatio;
+
+    @ConfigProperty(name = "sbomer.errata-tool.stale-cache.enabled", defaultValue = "false")
+    boolean staleCacheEnabled;
+
+    @ConfigProperty(name = "sbomer.errata-tool.stale-cache.max-entries", defaultValue = "10000")
+    int staleCacheMaxEntries;
+
+    @ConfigProperty(name = "sbomer.errata-tool.stale-cache.max-stale", defaultValue = "PT24H")
+    Duration staleCacheMaxStale;
+
+    @ConfigProperty(name = "sbomer.errata-tool.batching.enabled", defaultValue = "false")
+    boolean batchingEnabled;
+
+    @ConfigProperty(name = "sbomer.errata-tool.batching.window", defaultValue = "PT0.02S")
+    Duration batchingWindow;
+
+    @ConfigProperty(name = "sbomer.errata-tool.batching.max-batch-size", defaultValue = "50")
+    int batchingMaxBatchSize;
+
+    @Inject
+    MeterRegistry registry;
+
+    private final ExecutorService executor = Executors.newCachedThreadPool(new NamedThreadFactory("et-read"));
+
+    private final ScheduledExecutorService batchScheduler = Executors
+            .newSingleThreadScheduledExecutor(new NamedThreadFactory("et-batch"));
+
+    @Produces
+    @Singleton
+    @Identifier(ERRATA_TOOL)
+    public HedgedRequester errataToolHedging() {
+        log.info("Errata Tool hedging enabled: {}, percentile: {}, budget ratio: {}", hedgingEnabled,
+                hedgingPercentile, hedgingBudgetRatio);
+        return new HedgedRequester(ERRATA_TOOL, hedgingEnabled, hedgingPercentile, hedgingMinDelay, hedgingMaxDelay,
+                hedgingBudgetRatio, executor).bindTo(registry);
+    }
+
+    @Produces
+    @Singleton
+    public StaleResponseCache<String, Advisory> advisoryCache() {
+        return new StaleResponseCache<String, Advisory>("errata-tool-advisories", staleCacheEnabled,
+                staleCacheMaxEntries, staleCacheMaxStale, executor).bindTo(registry);
+    }
+
+    @Produces
+    @Singleton
+    public StaleResponseCache<String, BuildPage> buildPageCache() {
+        return new StaleResponseCache<String, BuildPage>("errata-tool-build-pages", staleCacheEnabled,
+                staleCacheMaxEntries, staleCacheMaxStale, executor).bindTo(registry);
+    }
+
+    @Produces
+    @Singleton
+    public RequestBatcher<String, AdvisoryLookup> advisoryBatcher() {
+        log.info("Errata Tool batching enabled: {}, window: {}, max batch size: {}", batchingEnabled, batchingWindow,
+                batchingMaxBatchSize);
+        return new RequestBatcher<String, AdvisoryLookup>("errata-tool-advisories", batchingEnabled,
+                batchingMaxBatchSize, batchingWindow, batchScheduler, executor).bindTo(registry);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        batchScheduler.shutdownNow();
+        executor.shutdownNow();
+    }
+}
@@ -0,0 +1,67 @@
+package org.jboss.sbomer.handler.et.adapter.out.config;
+
+import java.time.Duration;
+
+import org.eclipse.microprofile.config.Config;
+import org.jboss.sbomer.handler.et.adapter.out.resilience.AdaptiveConcurrencyLimiter;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.smallrye.common.annotation.Identifier;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.inject.Produces;
+import jakarta.inject.Inject;
+import jakarta.inject.Singleton;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Produces the concurrency limiters of the outgoing dependencies, configured
+ * with the {@code sbomer.limiter.<dependency>.*} properties.
+ */
+@Slf4j
+@ApplicationScoped
+public class LimiterConfig {
+
+    public static final String ERRATA_TOOL = "errata-tool";
+    public static final String KOJI = "koji";
+
+    @Inject
+    Config config;
+
+    @Inject
+    MeterRegistry registry;
+
+    @Produces
+    @Singleton
+    @Identifier(ERRATA_TOOL)
+    public AdaptiveConcurrencyLimiter errataToolLimiter() {
+        return create(ERRATA_TOOL);
+    }
+
+    @Produces
+    @Singleton
+    @Identifier(KOJI)
+    public AdaptiveConcurrencyLimiter kojiLimiter() {
+        return create(KOJI);
+    }
+
+    private AdaptiveConcurrencyLimiter create(String dependency) {
+        String prefix = "sbomer.limiter." + dependency + ".";
+
+        boolean enabled = config.getOptionalValue(prefix + "enabled", Boolean.class).orElse(true);
+        int initialLimit = config.getOptionalValue(prefix + "initial-limit", Integer.class).orElse(10);
+        int minLimit = config.getOptionalValue(prefix + "min-limit", Integer.class).orElse(1);
+        int maxLimit = config.getOptionalValue(prefix + "max-limit", Integer.class).orElse(50);
+        double backoffRatio = config.getOptionalValue(prefix + "backoff-ratio", Double.class).orElse(0.9);
+        Duration latencyThreshold = config.getOptionalValue(prefix + "latency-threshold", Duration.class)
+                .orElse(Duration.ofSeconds(2));
+        int queueSize = config.getOptionalValue(prefix + "queue-size", Integer.class).orElse(100);
+        Duration maxWait = config.getOptionalValue(prefix + "max-wait", Duration.class)
+                .orElse(Duration.ofSeconds(30));
+
+        log.info("Concurrency limiter for '{}' enabled: {}, limit: {} ({}-{}), latency threshold: {}", dependency,
+                enabled, initialLimit, minLimit, maxLimit, latencyThreshold);
+
+        return new AdaptiveConcurrencyLimiter(dependency, enabled, initialLimit, minLimit, maxLimit, backoffRatio,
+                latencyThreshold, queueSize, maxWait).bindTo(registry);
+    }
+}
@@ -0,0 +1,86 @@
+package org.jboss.sbomer.handler.et.adapter.out.config;
+
+import java.time.Duration;
+
+import org.eclipse.microprofile.config.Config;
+import org.jboss.sbomer.handler.et.adapter.out.standin.Distribution;
+import org.jboss.sbomer.handler.et.adapter.out.standin.FaultProfile;
+import org.jboss.sbomer.handler.et.adapter.out.standin.SyntheticAdvisories;
+
+import io.quarkus.arc.properties.IfBuildProperty;
+import io.smallrye.common.annotation.Identifier;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.inject.Produces;
+import jakarta.inject.Inject;
+import jakarta.inject.Singleton;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Produces the synthetic data and the fault profiles of the stand-in
+ * dependencies, configured with the {@code sbomer.stand-in.*} properties.
+ */
+@Slf4j
+@ApplicationScoped
+@IfBuildProperty(name = StandInConfig.ENABLED, stringValue = "true")
+public class StandInConfig {
+
+    public static final String ENABLED = "sbomer.stand-in.enabled";
+
+    @Inject
+    Config config;
+
+    @Produces
+    @Singleton
+    public SyntheticAdvisories syntheticAdvisories() {
+        String prefix = "sbomer.stand-in.advisories.";
+
+        long seed = config.getOptionalValue(prefix + "seed", Long.class).orElse(42L);
+        String buildCount = config.getOptionalValue(prefix + "build-count", String.class).orElse("lognormal:5:1");
+        String types = config.getOptionalValue(prefix + "build-types", String.class).orElse("CONTAINER_IMAGE");
+        String statuses = config.getOptionalValue(prefix + "statuses", String.class).orElse("QE");
+        double textOnlyRatio = config.getOptionalValue(prefix + "text-only-ratio", Double.class).orElse(0.0);
+        String nameLength = config.getOptionalValue(prefix + "name-length", String.class).orElse("uniform:8-32");
+
+        log.info("Stand-in advisories seed: {}, builds: {}, types: {}, statuses: {}", seed, buildCount, types,
+                statuses);
+
+        return new SyntheticAdvisories(seed, Distribution.parse(buildCount), SyntheticAdvisories.parseWeights(types),
+                SyntheticAdvisories.parseWeights(statuses), textOnlyRatio, Distribution.parse(nameLength));
+    }
+
+    @Produces
+    @Singleton
+    @Identifier(LimiterConfig.ERRATA_TOOL)
+    public FaultProfile errataToolFaults() {
+        return create(LimiterConfig.ERRATA_TOOL);
+    }
+
+    @Produces
+    @Singleton
+    @Identifier(LimiterConfig.KOJI)
+    public FaultProfile kojiFaults() {
+        return create(LimiterConfig.KOJI);
+    }
+
+    private FaultProfile create(String dependency) {
+        String prefix = "sbomer.stand-in." + dependency + ".";
+
+        String latency = config.getOptionalValue(prefix + "latency", String.class).orElse("fixed:0");
+        double tailRatio = config.getOptionalValue(prefix + "tail-ratio", Double.class).orElse(0.0);
+        String tail = config.getOptionalValue(prefix + "tail-latency", String.class).orElse("fixed:0");
+        double errorRate = config.getOptionalValue(prefix + "error-rate", Double.class).orElse(0.0);
+        Duration slowdownAfter = config.getOptionalValue(prefix + "slowdown.after", Duration.class).orElse(null);
+        Duration slowdownDuration = config.getOptionalValue(prefix + "slowdown.duration", Duration.class)
+                .orElse(Duration.ZERO);
+        double slowdownFactor = config.getOptionalValue(prefix + "slowdown.latency-factor", Double.class)
+                .orElse(1.0);
+        double slowdownErrorRate = config.getOptionalValue(prefix + "slowdown.error-rate", Double.class)
+                .orElse(errorRate);
+
+        log.info("Stand-in for '{}' latency: {} ms ({} at {}), error rate: {}, slowdown after: {}", dependency,
+                latency, tail, tailRatio, errorRate, slowdownAfter);
+
+        return new FaultProfile(dependency, Distribution.parse(latency), tailRatio, Distribution.parse(tail),
+                errorRate, slowdownAfter, slowdownDuration, slowdownFactor, slowdownErrorRate);
+    }
+}
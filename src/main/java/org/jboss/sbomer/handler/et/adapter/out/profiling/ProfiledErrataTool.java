@@ -0,0 +1,71 @@
+package org.jboss.sbomer.handler.et.adapter.out.profiling;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Supplier;
+
+import org.jboss.sbomer.handler.et.adapter.out.resilience.ResiliencePriorities;
+import org.jboss.sbomer.handler.et.core.domain.advisory.Advisory;
+import org.jboss.sbomer.handler.et.core.domain.advisory.AdvisoryChange;
+import org.jboss.sbomer.handler.et.core.domain.advisory.AdvisoryLookup;
+import org.jboss.sbomer.handler.et.core.domain.advisory.Build;
+import org.jboss.sbomer.handler.et.core.domain.advisory.BuildPage;
+import org.jboss.sbomer.handler.et.core.domain.advisory.ChangeCursor;
+import org.jboss.sbomer.handler.et.core.port.spi.ErrataTool;
+import org.jboss.sbomer.handler.et.core.utility.StageEvents;
+
+import jakarta.annotation.Priority;
+import jakarta.decorator.Decorator;
+import jakarta.decorator.Delegate;
+import jakarta.inject.Inject;
+
+/**
+ * Records the calls to Errata Tool as {@link StageEvents.ErrataToolCall}
+ * events.
+ */
+@Decorator
+@Priority(ResiliencePriorities.PROFILING)
+public class ProfiledErrataTool implements ErrataTool {
+
+    @Inject
+    @Delegate
+    ErrataTool delegate;
+
+    @Override
+    public Advisory getInfo(String advisoryId) {
+        return timed("getInfo", advisoryId, () -> delegate.getInfo(advisoryId));
+    }
+
+    @Override
+    public List<Build> fetchBuilds(String advisoryId) {
+        return timed("fetchBuilds", advisoryId, () -> delegate.fetchBuilds(advisoryId));
+    }
+
+    @Override
+    public BuildPage fetchBuildsPage(String advisoryId, int offset, int limit) {
+        return timed("fetchBuildsPage", advisoryId, () -> delegate.fetchBuildsPage(advisoryId, offset, limit));
+    }
+
+    @Override
+    public Map<String, AdvisoryLookup> getInfoBatch(Set<String> advisoryIds) {
+        return timed("getInfoBatch", null, () -> delegate.getInfoBatch(advisoryIds));
+    }
+
+    @Override
+    public List<AdvisoryChange> fetchChanges(ChangeCursor after, int limit) {
+        return timed("fetchChanges", null, () -> delegate.fetchChanges(after, limit));
+    }
+
+    @Override
+    public boolean supportsChanges() {
+        return delegate.supportsChanges();
+    }
+
+    private static <T> T timed(String operation, String advisoryId, Supplier<T> call) {
+        StageEvents.ErrataToolCall event = new StageEvents.ErrataToolCall();
+        event.operation = operation;
+        event.advisoryId = advisoryId;
+        return StageEvents.timed(event, call);
+    }
+}
@@ -0,0 +1,32 @@
+package org.jboss.sbomer.handler.et.adapter.out.profiling;
+
+import org.jboss.sbomer.events.common.FailureSpec;
+import org.jboss.sbomer.handler.et.adapter.out.resilience.ResiliencePriorities;
+import org.jboss.sbomer.handler.et.core.port.spi.FailureNotifier;
+import org.jboss.sbomer.handler.et.core.utility.StageEvents;
+
+import jakarta.annotation.Priority;
+import jakarta.decorator.Decorator;
+import jakarta.decorator.Delegate;
+import jakarta.inject.Inject;
+
+/**
+ * Records the failure notifications as {@link StageEvents.FailureNotification}
+ * events. The correlation ID is the request ID of the failed advisory.
+ */
+@Decorator
+@Priority(ResiliencePriorities.PROFILING)
+public class ProfiledFailureNotifier implements FailureNotifier {
+
+    @Inject
+    @Delegate
+    FailureNotifier delegate;
+
+    @Override
+    public void notify(FailureSpec failure, String correlationId, Object sourceEvent) {
+        StageEvents.FailureNotification event = new StageEvents.FailureNotification();
+        event.requestId = correlationId;
+        event.reason = failure.getReason() == null ? null : failure.getReason().toString();
+        StageEvents.timed(event, () -> delegate.notify(failure, correlationId, sourceEvent));
+    }
+}
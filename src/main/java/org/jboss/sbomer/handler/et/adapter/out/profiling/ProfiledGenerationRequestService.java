@@ -0,0 +1,41 @@
+package org.jboss.sbomer.handler.et.adapter.out.profiling;
+
+import java.util.concurrent.CompletionStage;
+
+import org.jboss.sbomer.handler.et.adapter.out.resilience.ResiliencePriorities;
+import org.jboss.sbomer.handler.et.core.domain.generation.GenerationRequest;
+import org.jboss.sbomer.handler.et.core.port.spi.GenerationRequestService;
+import org.jboss.sbomer.handler.et.core.utility.StageEvents;
+
+import jakarta.annotation.Priority;
+import jakarta.decorator.Decorator;
+import jakarta.decorator.Delegate;
+import jakarta.inject.Inject;
+
+/**
+ * Records the publishing of generation requests as
+ * {@link StageEvents.KafkaPublish} events. The acknowledgement by Kafka is not
+ * awaited, the event ends once the request was handed to the producer.
+ */
+@Decorator
+@Priority(ResiliencePriorities.PROFILING)
+public class ProfiledGenerationRequestService implements GenerationRequestService {
+
+    @Inject
+    @Delegate
+    GenerationRequestService delegate;
+
+    @Override
+    public void requestGenerations(GenerationRequest generationRequest) {
+        StageEvents.KafkaPublish event = new StageEvents.KafkaPublish();
+        event.advisoryId = generationRequest.advisoryId();
+        event.requestId = generationRequest.requestId();
+        event.generations = generationRequest.generations().size();
+        StageEvents.timed(event, () -> delegate.requestGenerations(generationRequest));
+    }
+
+    @Override
+    public CompletionStage<Void> flush() {
+        return delegate.flush();
+    }
+}
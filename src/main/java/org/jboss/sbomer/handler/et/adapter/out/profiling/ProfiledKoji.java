@@ -0,0 +1,32 @@
+package org.jboss.sbomer.handler.et.adapter.out.profiling;
+
+import java.util.List;
+import java.util.Map;
+
+import org.jboss.sbomer.handler.et.adapter.out.resilience.ResiliencePriorities;
+import org.jboss.sbomer.handler.et.core.port.spi.Koji;
+import org.jboss.sbomer.handler.et.core.utility.StageEvents;
+
+import jakarta.annotation.Priority;
+import jakarta.decorator.Decorator;
+import jakarta.decorator.Delegate;
+import jakarta.inject.Inject;
+
+/**
+ * Records the calls to Koji as {@link StageEvents.KojiCall} events.
+ */
+@Decorator
+@Priority(ResiliencePriorities.PROFILING)
+public class ProfiledKoji implements Koji {
+
+    @Inject
+    @Delegate
+    Koji delegate;
+
+    @Override
+    public Map<Long, String> getImageNames(List<Long> buildIds) {
+        StageEvents.KojiCall event = new StageEvents.KojiCall();
+        event.builds = buildIds.size();
+        return StageEvents.timed(event, () -> delegate.getImageNames(buildIds));
+    }
+}
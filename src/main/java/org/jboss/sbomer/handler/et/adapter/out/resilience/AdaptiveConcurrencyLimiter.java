@@ -0,0 +1,217 @@
+package org.jboss.sbomer.handler.et.adapter.out.resilience;
+
+import java.time.Duration;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+import org.jboss.sbomer.handler.et.core.domain.exception.ConcurrencyLimitExceededException;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * <p>
+ * Adaptive concurrency limiter for calls to a dependency, based on
+ * additive-increase/multiplicative-decrease (AIMD).
+ * </p>
+ *
+ * <p>
+ * Every successful call faster than the latency threshold increases the limit
+ * by {@code 1 / limit} (so roughly by one per limit-sized window of calls).
+ * A call failing with congestion (a timeout, a server error or throttling, see
+ * {@link Congestion}) or slower than the threshold multiplies the limit by the
+ * backoff ratio, at most once per round trip: calls which started before the
+ * last decrease do not decrease it again. Other failures leave the limit as
+ * it is. Calls over the limit wait in a bounded queue; when the
+ * queue is full, or the call waited longer than the maximum wait time, a
+ * {@link ConcurrencyLimitExceededException} is thrown.
+ * </p>
+ */
+@Slf4j
+public class AdaptiveConcurrencyLimiter {
+
+    private final String name;
+    private final boolean enabled;
+    private final double minLimit;
+    private final double maxLimit;
+    private final double backoffRatio;
+    private final long latencyThresholdNanos;
+    private final int queueSize;
+    private final long maxWaitNanos;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition permitAvailable = lock.newCondition();
+
+    private double limit;
+    private int inFlight;
+    private int waiting;
+    private long lastDecreaseNanos = System.nanoTime() - 1;
+
+    private Counter rejected;
+
+    public AdaptiveConcurrencyLimiter(String name, boolean enabled, int initialLimit, int minLimit, int maxLimit,
+            double backoffRatio, Duration latencyThreshold, int queueSize, Duration maxWait) {
+        if (minLimit < 1 || minLimit > maxLimit || initialLimit < minLimit || initialLimit > maxLimit) {
+            throw new IllegalArgumentException(
+                    "Invalid limits for '" + name + "', expected 1 <= min <= initial <= max");
+        }
+
+        this.name = name;
+        this.enabled = enabled;
+        this.limit = initialLimit;
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.backoffRatio = backoffRatio;
+        this.latencyThresholdNanos = latencyThreshold.toNanos();
+        this.queueSize = queueSize;
+        this.maxWaitNanos = maxWait.toNanos();
+    }
+
+    /**
+     * Registers gauges for the current limit, in-flight and waiting calls.
+     */
+    public AdaptiveConcurrencyLimiter bindTo(MeterRegistry registry) {
+        Gauge.builder("sbomer.limiter.limit", this, AdaptiveConcurrencyLimiter::getLimit)
+                .description("Current concurrency limit")
+                .tag("dependency", name)
+                .register(registry);
+        Gauge.builder("sbomer.limiter.in-flight", this, AdaptiveConcurrencyLimiter::getInFlight)
+                .description("Calls currently in flight")
+                .tag("dependency", name)
+                .register(registry);
+        Gauge.builder("sbomer.limiter.waiting", this, AdaptiveConcurrencyLimiter::getWaiting)
+                .description("Calls waiting for a permit")
+                .tag("dependency", name)
+                .register(registry);
+        rejected = Counter.builder("sbomer.limiter.rejected")
+                .description("Calls rejected because the limit was reached")
+                .tag("dependency", name)
+                .register(registry);
+        return this;
+    }
+
+    /**
+     * Executes the call within the concurrency limit.
+     *
+     * @param call The call to the dependency.
+     * @return The result of the call.
+     * @throws ConcurrencyLimitExceededException If no permit could be obtained.
+     */
+    public <T> T execute(Supplier<T> call) {
+        if (!enabled) {
+            return call.get();
+        }
+
+        acquire();
+
+        long start = System.nanoTime();
+        Throwable failure = null;
+        try {
+            return call.get();
+        } catch (RuntimeException | Error e) {
+            failure = e;
+            throw e;
+        } finally {
+            release(start, System.nanoTime(), failure);
+        }
+    }
+
+    public int getLimit() {
+        lock.lock();
+        try {
+            return (int) limit;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int getInFlight() {
+        lock.lock();
+        try {
+            return inFlight;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int getWaiting() {
+        lock.lock();
+        try {
+            return waiting;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    void acquire() {
+        lock.lock();
+        try {
+            if (inFlight < (int) limit) {
+                inFlight++;
+                return;
+            }
+
+            if (waiting >= queueSize) {
+                reject("wait queue is full");
+            }
+
+            waiting++;
+            try {
+                long remaining = maxWaitNanos;
+                while (inFlight >= (int) limit) {
+                    if (remaining <= 0) {
+                        reject("timed out waiting for a permit");
+                    }
+                    remaining = permitAvailable.awaitNanos(remaining);
+                }
+                inFlight++;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new ConcurrencyLimitExceededException("Interrupted waiting for a permit to call " + name);
+            } finally {
+                waiting--;
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    void release(long startNanos, long endNanos, Throwable failure) {
+        lock.lock();
+        try {
+            inFlight--;
+
+            int previous = (int) limit;
+            if (endNanos - startNanos > latencyThresholdNanos
+                    || (failure != null && Congestion.isCongestion(failure))) {
+                // Calls in flight during the last decrease were sent at the higher limit
+                if (startNanos - lastDecreaseNanos > 0) {
+                    limit = Math.max(minLimit, limit * backoffRatio);
+                    lastDecreaseNanos = endNanos;
+                }
+            } else if (failure == null) {
+                limit = Math.min(maxLimit, limit + 1.0 / limit);
+            }
+
+            if ((int) limit != previous) {
+                log.debug("Concurrency limit of '{}' changed from {} to {}", name, previous, (int) limit);
+            }
+
+            // One permit was freed and the limit may have grown
+            permitAvailable.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void reject(String reason) {
+        if (rejected != null) {
+            rejected.increment();
+        }
+        throw new ConcurrencyLimitExceededException(
+                "Unable to call " + name + ": " + reason + " (limit " + (int) limit + ", in flight " + inFlight + ")");
+    }
+}
@@ -0,0 +1,68 @@
+package org.jboss.sbomer.handler.et.adapter.out.resilience;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.jboss.sbomer.handler.et.core.domain.advisory.Advisory;
+import org.jboss.sbomer.handler.et.core.domain.advisory.AdvisoryChange;
+import org.jboss.sbomer.handler.et.core.domain.advisory.AdvisoryLookup;
+import org.jboss.sbomer.handler.et.core.domain.advisory.Build;
+import org.jboss.sbomer.handler.et.core.domain.advisory.BuildPage;
+import org.jboss.sbomer.handler.et.core.domain.advisory.ChangeCursor;
+import org.jboss.sbomer.handler.et.core.port.spi.ErrataTool;
+
+import jakarta.annotation.Priority;
+import jakarta.decorator.Decorator;
+import jakarta.decorator.Delegate;
+import jakarta.inject.Inject;
+
+/**
+ * Collects concurrent Errata Tool reads of different advisories, e.g. during a
+ * batch release, into the bulk read {@link ErrataTool#getInfoBatch(Set)}.
+ * Pages of builds and the listing of changed advisories have no bulk read,
+ * they are passed through.
+ */
+@Decorator
+@Priority(ResiliencePriorities.BATCHING)
+public class BatchingErrataTool implements ErrataTool {
+
+    @Inject
+    @Delegate
+    ErrataTool delegate;
+
+    @Inject
+    RequestBatcher<String, AdvisoryLookup> advisories;
+
+    @Override
+    public Advisory getInfo(String advisoryId) {
+        return advisories
+                .load(advisoryId, delegate::getInfoBatch, id -> AdvisoryLookup.found(delegate.getInfo(id)))
+                .advisoryOrThrow();
+    }
+
+    @Override
+    public List<Build> fetchBuilds(String advisoryId) {
+        return delegate.fetchBuilds(advisoryId);
+    }
+
+    @Override
+    public BuildPage fetchBuildsPage(String advisoryId, int offset, int limit) {
+        return delegate.fetchBuildsPage(advisoryId, offset, limit);
+    }
+
+    @Override
+    public Map<String, AdvisoryLookup> getInfoBatch(Set<String> advisoryIds) {
+        return delegate.getInfoBatch(advisoryIds);
+    }
+
+    @Override
+    public List<AdvisoryChange> fetchChanges(ChangeCursor after, int limit) {
+        return delegate.fetchChanges(after, limit);
+    }
+
+    @Override
+    public boolean supportsChanges() {
+        return delegate.supportsChanges();
+    }
+}
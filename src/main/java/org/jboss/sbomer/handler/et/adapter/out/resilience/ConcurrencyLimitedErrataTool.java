@@ -0,0 +1,67 @@
+package org.jboss.sbomer.handler.et.adapter.out.resilience;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.jboss.sbomer.handler.et.adapter.out.config.LimiterConfig;
+import org.jboss.sbomer.handler.et.core.domain.advisory.Advisory;
+import org.jboss.sbomer.handler.et.core.domain.advisory.AdvisoryChange;
+import org.jboss.sbomer.handler.et.core.domain.advisory.AdvisoryLookup;
+import org.jboss.sbomer.handler.et.core.domain.advisory.Build;
+import org.jboss.sbomer.handler.et.core.domain.advisory.BuildPage;
+import org.jboss.sbomer.handler.et.core.domain.advisory.ChangeCursor;
+import org.jboss.sbomer.handler.et.core.port.spi.ErrataTool;
+
+import io.smallrye.common.annotation.Identifier;
+import jakarta.annotation.Priority;
+import jakarta.decorator.Decorator;
+import jakarta.decorator.Delegate;
+import jakarta.inject.Inject;
+
+/**
+ * Limits the number of concurrent calls to Errata Tool with the
+ * {@link AdaptiveConcurrencyLimiter} of the {@code errata-tool} dependency.
+ */
+@Decorator
+@Priority(ResiliencePriorities.CONCURRENCY_LIMIT)
+public class ConcurrencyLimitedErrataTool implements ErrataTool {
+
+    @Inject
+    @Delegate
+    ErrataTool delegate;
+
+    @Inject
+    @Identifier(LimiterConfig.ERRATA_TOOL)
+    AdaptiveConcurrencyLimiter limiter;
+
+    @Override
+    public Advisory getInfo(String advisoryId) {
+        return limiter.execute(() -> delegate.getInfo(advisoryId));
+    }
+
+    @Override
+    public List<Build> fetchBuilds(String advisoryId) {
+        return limiter.execute(() -> delegate.fetchBuilds(advisoryId));
+    }
+
+    @Override
+    public BuildPage fetchBuildsPage(String advisoryId, int offset, int limit) {
+        return limiter.execute(() -> delegate.fetchBuildsPage(advisoryId, offset, limit));
+    }
+
+    @Override
+    public Map<String, AdvisoryLookup> getInfoBatch(Set<String> advisoryIds) {
+        return limiter.execute(() -> delegate.getInfoBatch(advisoryIds));
+    }
+
+    @Override
+    public List<AdvisoryChange> fetchChanges(ChangeCursor after, int limit) {
+        return limiter.execute(() -> delegate.fetchChanges(after, limit));
+    }
+
+    @Override
+    public boolean supportsChanges() {
+        return delegate.supportsChanges();
+    }
+}
@@ -0,0 +1,35 @@
+package org.jboss.sbomer.handler.et.adapter.out.resilience;
+
+import java.util.List;
+import java.util.Map;
+
+import org.jboss.sbomer.handler.et.adapter.out.config.LimiterConfig;
+import org.jboss.sbomer.handler.et.core.port.spi.Koji;
+
+import io.smallrye.common.annotation.Identifier;
+import jakarta.annotation.Priority;
+import jakarta.decorator.Decorator;
+import jakarta.decorator.Delegate;
+import jakarta.inject.Inject;
+
+/**
+ * Limits the number of concurrent calls to Koji with the
+ * {@link AdaptiveConcurrencyLimiter} of the {@code koji} dependency.
+ */
+@Decorator
+@Priority(ResiliencePriorities.CONCURRENCY_LIMIT)
+public class ConcurrencyLimitedKoji implements Koji {
+
+    @Inject
+    @Delegate
+    Koji delegate;
+
+    @Inject
+    @Identifier(LimiterConfig.KOJI)
+    AdaptiveConcurrencyLimiter limiter;
+
+    @Override
+    public Map<Long, String> getImageNames(List<Long> buildIds) {
+        return limiter.execute(() -> delegate.getImageNames(buildIds));
+    }
+}
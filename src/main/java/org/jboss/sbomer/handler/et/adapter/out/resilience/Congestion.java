@@ -0,0 +1,47 @@
+package org.jboss.sbomer.handler.et.adapter.out.resilience;
+
+import java.net.SocketTimeoutException;
+import java.net.http.HttpTimeoutException;
+import java.util.concurrent.TimeoutException;
+
+import jakarta.ws.rs.WebApplicationException;
+
+/**
+ * <p>
+ * Tells failures caused by an overloaded dependency apart from other failures.
+ * </p>
+ *
+ * <p>
+ * Timeouts, server errors (5xx) and throttling (429) mean that the dependency
+ * can not keep up, so less concurrency helps. Other failures, e.g. an unknown
+ * advisory (404), say nothing about its load.
+ * </p>
+ */
+final class Congestion {
+
+    // Bounds the walk of (possibly cyclic) causes
+    private static final int MAX_CAUSES = 16;
+
+    private Congestion() {
+    }
+
+    /**
+     * @param failure The failure of a call, or one wrapping it.
+     * @return Whether the failure, or one of its causes, signals congestion.
+     */
+    static boolean isCongestion(Throwable failure) {
+        Throwable current = failure;
+        for (int i = 0; current != null && i < MAX_CAUSES; i++) {
+            if (current instanceof TimeoutException || current instanceof SocketTimeoutException
+                    || current instanceof HttpTimeoutException) {
+                return true;
+            }
+            if (current instanceof WebApplicationException e && e.getResponse() != null) {
+                int status = e.getResponse().getStatus();
+                return status == 429 || status >= 500;
+            }
+            current = current.getCause();
+        }
+        return false;
+    }
+}
@@ -0,0 +1,108 @@
+package org.jboss.sbomer.handler.et.adapter.out.resilience;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.jboss.sbomer.handler.et.adapter.out.config.ErrataToolReadConfig;
+import org.jboss.sbomer.handler.et.core.domain.advisory.Advisory;
+import org.jboss.sbomer.handler.et.core.domain.advisory.AdvisoryChange;
+import org.jboss.sbomer.handler.et.core.domain.advisory.AdvisoryLookup;
+import org.jboss.sbomer.handler.et.core.domain.advisory.Build;
+import org.jboss.sbomer.handler.et.core.domain.advisory.BuildPage;
+import org.jboss.sbomer.handler.et.core.domain.advisory.ChangeCursor;
+import org.jboss.sbomer.handler.et.core.port.spi.ErrataTool;
+
+import io.smallrye.common.annotation.Identifier;
+import jakarta.annotation.Priority;
+import jakarta.decorator.Decorator;
+import jakarta.decorator.Delegate;
+import jakarta.inject.Inject;
+
+/**
+ * <p>
+ * Hedges the idempotent Errata Tool reads and serves the last known response
+ * when Errata Tool is failing.
+ * </p>
+ *
+ * <p>
+ * Stale advisories are marked with {@link Advisory#stale()}, stale pages of
+ * builds with {@link BuildPage#stale()}. Full lists of builds and listings of
+ * changed advisories are hedged but never served stale, the reconciler retries
+ * the latter. Advisories found by bulk reads
+ * are recorded as well. When a bulk read fails, each of its advisories is
+ * served its last known response, or fails on its own, without being read
+ * again.
+ * </p>
+ */
+@Decorator
+@Priority(ResiliencePriorities.HEDGING)
+public class HedgedErrataTool implements ErrataTool {
+
+    @Inject
+    @Delegate
+    ErrataTool delegate;
+
+    @Inject
+    @Identifier(ErrataToolReadConfig.ERRATA_TOOL)
+    HedgedRequester hedging;
+
+    @Inject
+    StaleResponseCache<String, Advisory> advisories;
+
+    @Inject
+    StaleResponseCache<String, BuildPage> pages;
+
+    @Override
+    public Advisory getInfo(String advisoryId) {
+        return advisories.get(advisoryId, () -> hedging.call(() -> delegate.getInfo(advisoryId)), Advisory::asStale);
+    }
+
+    @Override
+    public List<Build> fetchBuilds(String advisoryId) {
+        return hedging.call(() -> delegate.fetchBuilds(advisoryId));
+    }
+
+    @Override
+    public BuildPage fetchBuildsPage(String advisoryId, int offset, int limit) {
+        return pages.get(advisoryId + ":" + offset + "+" + limit,
+                () -> hedging.call(() -> delegate.fetchBuildsPage(advisoryId, offset, limit)), BuildPage::asStale);
+    }
+
+    @Override
+    public Map<String, AdvisoryLookup> getInfoBatch(Set<String> advisoryIds) {
+        Map<String, AdvisoryLookup> result;
+        try {
+            result = hedging.call(() -> delegate.getInfoBatch(advisoryIds));
+        } catch (RuntimeException e) {
+            result = new LinkedHashMap<>();
+            for (String advisoryId : advisoryIds) {
+                try {
+                    result.put(advisoryId, AdvisoryLookup.found(advisories.fallback(advisoryId, e,
+                            () -> hedging.call(() -> delegate.getInfo(advisoryId)), Advisory::asStale)));
+                } catch (RuntimeException failure) {
+                    result.put(advisoryId, AdvisoryLookup.failed(failure));
+                }
+            }
+            return result;
+        }
+
+        result.forEach((advisoryId, lookup) -> {
+            if (lookup.advisory() != null) {
+                advisories.put(advisoryId, lookup.advisory());
+            }
+        });
+        return result;
+    }
+
+    @Override
+    public List<AdvisoryChange> fetchChanges(ChangeCursor after, int limit) {
+        return hedging.call(() -> delegate.fetchChanges(after, limit));
+    }
+
+    @Override
+    public boolean supportsChanges() {
+        return delegate.supportsChanges();
+    }
+}
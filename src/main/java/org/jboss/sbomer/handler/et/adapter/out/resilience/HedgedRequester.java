@@ -0,0 +1,213 @@
+package org.jboss.sbomer.handler.et.adapter.out.resilience;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * <p>
+ * Sends hedged requests for idempotent calls.
+ * </p>
+ *
+ * <p>
+ * The call is executed on the caller's thread. If it did not complete after the
+ * hedge delay, a second, identical call is sent on the executor and the result
+ * of whichever completes first is used; a winning hedge interrupts the call of
+ * the caller. The delay is the configured percentile of the recently observed
+ * latencies (clamped to the min/max delay), so only the slowest calls are
+ * hedged. Hedges are capped by a budget: every call earns {@code budgetRatio}
+ * of a hedge, up to a small burst, and every hedge spends one.
+ * </p>
+ */
+@Slf4j
+public class HedgedRequester {
+
+    private static final int MIN_SAMPLES = 20;
+    private static final double MAX_BUDGET = 10;
+
+    private final String name;
+    private final boolean enabled;
+    private final long minDelayNanos;
+    private final long maxDelayNanos;
+    private final double budgetRatio;
+    private final ExecutorService executor;
+    private final LatencyWindow latencies;
+
+    private double budget;
+
+    private Counter hedges;
+    private Counter hedgeWins;
+
+    public HedgedRequester(String name, boolean enabled, double percentile, Duration minDelay, Duration maxDelay,
+            double budgetRatio, ExecutorService executor) {
+        this.name = name;
+        this.enabled = enabled;
+        this.minDelayNanos = minDelay.toNanos();
+        this.maxDelayNanos = maxDelay.toNanos();
+        this.budgetRatio = budgetRatio;
+        this.executor = executor;
+        this.latencies = new LatencyWindow(1000, percentile);
+    }
+
+    public HedgedRequester bindTo(MeterRegistry registry) {
+        hedges = Counter.builder("sbomer.hedging.hedges")
+                .description("Hedged requests sent")
+                .tag("dependency", name)
+                .register(registry);
+        hedgeWins = Counter.builder("sbomer.hedging.wins")
+                .description("Hedged requests which completed before the original request")
+                .tag("dependency", name)
+                .register(registry);
+        return this;
+    }
+
+    /**
+     * Executes the idempotent call, hedging it if it is slow.
+     *
+     * @param call The call, may be executed twice concurrently.
+     * @return The result of the first successful execution.
+     */
+    public <T> T call(Supplier<T> call) {
+        if (!enabled) {
+            return call.get();
+        }
+
+        earnBudget();
+
+        Attempts<T> attempts = new Attempts<>(call, Thread.currentThread());
+        // Only a short check runs on the shared delay thread, the hedge itself on the executor
+        CompletableFuture.delayedExecutor(hedgeDelayNanos(), TimeUnit.NANOSECONDS, Runnable::run)
+                .execute(attempts::hedge);
+
+        try {
+            attempts.primary();
+            return attempts.result.get();
+        } catch (ExecutionException e) {
+            throw e.getCause() instanceof RuntimeException runtime ? runtime
+                    : new IllegalStateException("Call to " + name + " failed", e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while calling " + name, e);
+        } finally {
+            attempts.cancelHedge();
+        }
+    }
+
+    /**
+     * The attempts of one call: the primary one on the caller's thread, and the
+     * hedge on the executor once the hedge delay elapsed. The attempt that
+     * completes first interrupts the other one.
+     */
+    private class Attempts<T> {
+        private final Supplier<T> call;
+        private final Thread caller;
+        private final CompletableFuture<T> result = new CompletableFuture<>();
+        private final AtomicInteger pending = new AtomicInteger(1);
+
+        private boolean primaryDone;
+        private boolean primaryInterrupted;
+        private Future<?> hedge;
+
+        Attempts(Supplier<T> call, Thread caller) {
+            this.call = call;
+            this.caller = caller;
+        }
+
+        void primary() {
+            attempt(false);
+
+            synchronized (this) {
+                primaryDone = true;
+            }
+            if (primaryInterrupted) {
+                // Only meant to stop the primary attempt, not the caller
+                Thread.interrupted();
+            }
+        }
+
+        void hedge() {
+            if (result.isDone() || !spendBudget()) {
+                return;
+            }
+
+            log.debug("Call to '{}' is slow, sending a hedged request", name);
+            pending.incrementAndGet();
+            try {
+                synchronized (this) {
+                    hedge = executor.submit(() -> attempt(true));
+                }
+                if (hedges != null) {
+                    hedges.increment();
+                }
+            } catch (RejectedExecutionException e) {
+                if (pending.decrementAndGet() == 0) {
+                    result.completeExceptionally(e);
+                }
+            }
+        }
+
+        void cancelHedge() {
+            synchronized (this) {
+                if (hedge != null) {
+                    hedge.cancel(true);
+                }
+            }
+        }
+
+        private void attempt(boolean isHedge) {
+            long start = System.nanoTime();
+            try {
+                T value = call.get();
+                latencies.record(System.nanoTime() - start);
+                if (result.complete(value) && isHedge) {
+                    if (hedgeWins != null) {
+                        hedgeWins.increment();
+                    }
+                    interruptPrimary();
+                }
+            } catch (RuntimeException e) {
+                // Fail only when no other attempt can still succeed
+                if (pending.decrementAndGet() == 0) {
+                    result.completeExceptionally(e);
+                }
+            }
+        }
+
+        private synchronized void interruptPrimary() {
+            // The loser is not needed anymore
+            if (!primaryDone) {
+                primaryInterrupted = true;
+                caller.interrupt();
+            }
+        }
+    }
+
+    private long hedgeDelayNanos() {
+        if (latencies.count() < MIN_SAMPLES) {
+            return maxDelayNanos;
+        }
+        return Math.max(minDelayNanos, Math.min(maxDelayNanos, latencies.percentileNanos()));
+    }
+
+    private synchronized void earnBudget() {
+        budget = Math.min(MAX_BUDGET, budget + budgetRatio);
+    }
+
+    private synchronized boolean spendBudget() {
+        if (budget < 1) {
+            return false;
+        }
+        budget -= 1;
+        return true;
+    }
+}
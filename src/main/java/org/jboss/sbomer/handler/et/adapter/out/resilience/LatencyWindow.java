@@ -0,0 +1,68 @@
+package org.jboss.sbomer.handler.et.adapter.out.resilience;
+
+import java.util.Arrays;
+
+/**
+ * <p>
+ * Sliding window of the most recent call latencies, used to compute latency
+ * percentiles.
+ * </p>
+ *
+ * <p>
+ * The percentile is recomputed only every {@code window / 10} recorded
+ * samples, as the sort of the window is not needed on every call.
+ * </p>
+ */
+public class LatencyWindow {
+
+    private final long[] samples;
+    private final int recomputeEvery;
+    private final double percentile;
+
+    private int next;
+    private int count;
+    private int sinceRecompute;
+    private long cachedPercentile = -1;
+
+    public LatencyWindow(int size, double percentile) {
+        this.samples = new long[size];
+        this.recomputeEvery = Math.max(1, size / 10);
+        this.percentile = percentile;
+    }
+
+    public synchronized void record(long latencyNanos) {
+        samples[next] = latencyNanos;
+        next = (next + 1) % samples.length;
+        count = Math.min(count + 1, samples.length);
+
+        if (++sinceRecompute >= recomputeEvery) {
+            cachedPercentile = -1;
+        }
+    }
+
+    /**
+     * @return Number of samples in the window.
+     */
+    public synchronized int count() {
+        return count;
+    }
+
+    /**
+     * @return The configured percentile of the recorded latencies, or -1 if no
+     *         sample was recorded yet.
+     */
+    public synchronized long percentileNanos() {
+        if (count == 0) {
+            return -1;
+        }
+
+        if (cachedPercentile < 0) {
+            long[] sorted = Arrays.copyOf(samples, count);
+            Arrays.sort(sorted);
+            int index = (int) Math.ceil(percentile / 100.0 * count) - 1;
+            cachedPercentile = sorted[Math.max(0, Math.min(count - 1, index))];
+            sinceRecompute = 0;
+        }
+        return cachedPercentile;
+    }
+}
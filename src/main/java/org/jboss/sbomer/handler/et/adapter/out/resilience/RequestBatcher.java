@@ -0,0 +1,187 @@
+package org.jboss.sbomer.handler.et.adapter.out.resilience;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * <p>
+ * Collects single-key loads of a dependency over a short window and
+ * dispatches them as one bulk load (DataLoader-style).
+ * </p>
+ *
+ * <p>
+ * A batch is dispatched when the window since its first key elapsed, or as
+ * soon as it reaches the maximum batch size. Concurrent loads of the same key
+ * within a batch share the result. Keys missing from the bulk result are
+ * loaded one by one by their callers. A failed bulk load fails all its
+ * callers, loading every key again would multiply the load on a dependency
+ * which is already failing. Failures of single keys are expected to be part
+ * of the values, so one bad key never fails the other callers of the batch.
+ * </p>
+ */
+@Slf4j
+public class RequestBatcher<K, V> {
+
+    private final String name;
+    private final boolean enabled;
+    private final int maxBatchSize;
+    private final long windowNanos;
+    private final ScheduledExecutorService scheduler;
+    private final Executor dispatchExecutor;
+
+    private record Batch<K, V>(Map<K, CompletableFuture<Optional<V>>> results,
+            Function<Set<K>, Map<K, V>> bulkLoader) {
+    }
+
+    private Batch<K, V> pending;
+
+    private Counter batches;
+    private DistributionSummary batchSizes;
+
+    public RequestBatcher(String name, boolean enabled, int maxBatchSize, Duration window,
+            ScheduledExecutorService scheduler, Executor dispatchExecutor) {
+        if (maxBatchSize <= 0) {
+            throw new IllegalArgumentException("maxBatchSize must be positive");
+        }
+
+        this.name = name;
+        this.enabled = enabled;
+        this.maxBatchSize = maxBatchSize;
+        this.windowNanos = window.toNanos();
+        this.scheduler = scheduler;
+        this.dispatchExecutor = dispatchExecutor;
+    }
+
+    public RequestBatcher<K, V> bindTo(MeterRegistry registry) {
+        batches = Counter.builder("sbomer.batching.batches")
+                .description("Bulk loads dispatched")
+                .tag("loader", name)
+                .register(registry);
+        batchSizes = DistributionSummary.builder("sbomer.batching.batch-size")
+                .description("Number of keys per bulk load")
+                .tag("loader", name)
+                .register(registry);
+        return this;
+    }
+
+    /**
+     * Loads the value of the key as part of a batch.
+     *
+     * @param key The key.
+     * @param bulkLoader Loads several keys at once. Keys that are not found are
+     *        missing from the result. All callers are expected to pass the same
+     *        loader, the one of the first key of a batch is used.
+     * @param singleLoader Loads the key on its own, used when batching is
+     *        disabled or the key was missing from the bulk result.
+     * @return The value.
+     * @throws IllegalStateException If the bulk load failed, caused by its
+     *         failure.
+     */
+    public V load(K key, Function<Set<K>, Map<K, V>> bulkLoader, Function<K, V> singleLoader) {
+        if (!enabled) {
+            return singleLoader.apply(key);
+        }
+
+        CompletableFuture<Optional<V>> result = enqueue(key, bulkLoader);
+
+        try {
+            Optional<V> value = result.get();
+            if (value.isPresent()) {
+                return value.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for batch of '" + name + "'", e);
+        } catch (ExecutionException e) {
+            throw e.getCause() instanceof RuntimeException runtime ? runtime
+                    : new IllegalStateException("Bulk load of '" + name + "' failed", e.getCause());
+        }
+
+        return singleLoader.apply(key);
+    }
+
+    private CompletableFuture<Optional<V>> enqueue(K key, Function<Set<K>, Map<K, V>> bulkLoader) {
+        Batch<K, V> full = null;
+        CompletableFuture<Optional<V>> result;
+
+        synchronized (this) {
+            if (pending == null) {
+                // First key of a new batch opens the window
+                Batch<K, V> batch = new Batch<>(new LinkedHashMap<>(), bulkLoader);
+                try {
+                    scheduler.schedule(() -> dispatchIfCurrent(batch), windowNanos, TimeUnit.NANOSECONDS);
+                } catch (RejectedExecutionException e) {
+                    return CompletableFuture.failedFuture(e);
+                }
+                pending = batch;
+            }
+
+            result = pending.results().get(key);
+            if (result != null) {
+                return result;
+            }
+
+            result = new CompletableFuture<>();
+            pending.results().put(key, result);
+
+            if (pending.results().size() >= maxBatchSize) {
+                full = pending;
+                pending = null;
+            }
+        }
+
+        if (full != null) {
+            dispatch(full);
+        }
+        return result;
+    }
+
+    private void dispatchIfCurrent(Batch<K, V> batch) {
+        synchronized (this) {
+            // Already dispatched because it got full
+            if (pending != batch) {
+                return;
+            }
+            pending = null;
+        }
+        dispatch(batch);
+    }
+
+    private void dispatch(Batch<K, V> batch) {
+        Map<K, CompletableFuture<Optional<V>>> results = batch.results();
+        if (batches != null) {
+            batches.increment();
+            batchSizes.record(results.size());
+        }
+
+        try {
+            dispatchExecutor.execute(() -> {
+                try {
+                    Map<K, V> values = batch.bulkLoader().apply(Collections.unmodifiableSet(results.keySet()));
+                    results.forEach((key, result) -> result.complete(Optional.ofNullable(values.get(key))));
+                } catch (Throwable e) {
+                    // Never leave callers waiting, whatever the bulk loader threw
+                    results.values().forEach(result -> result.completeExceptionally(e));
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            results.values().forEach(result -> result.completeExceptionally(e));
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package org.jboss.sbomer.handler.et.adapter.out.resilience;
+
+/**
+ * <p>
+ * Priorities of the decorators around the outgoing ports.
+ * </p>
+ *
+ * <p>
+ * Decorators with a lower priority are called first, so the order of the
+ * constants below is the order in which a call passes through them before it
+ * reaches the adapter.
+ * </p>
+ */
+public final class ResiliencePriorities {
+
+    /**
+     * Calls are recorded as stages of the advisory (see
+     * {@code adapter.out.profiling}) as the caller sees them, including the
+     * time spent in the decorators below.
+     */
+    public static final int PROFILING = 50;
+
+    /**
+     * Reads of different keys are collected into bulk reads. A bulk read then
+     * passes through the decorators below as a single call.
+     */
+    public static final int BATCHING = 100;
+
+    /**
+     * Slow reads are hedged and the last known response is served when the
+     * reads fail. Each hedge goes through the concurrency limit.
+     */
+    public static final int HEDGING = 200;
+
+    /**
+     * Each call that reaches the adapter holds a permit of the limiter.
+     */
+    public static final int CONCURRENCY_LIMIT = 300;
+
+    private ResiliencePriorities() {}
+}
@@ -0,0 +1,149 @@
+package org.jboss.sbomer.handler.et.adapter.out.resilience;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.function.Supplier;
+import java.util.function.UnaryOperator;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * <p>
+ * Keeps the last successful response of a dependency per key, to be served
+ * when the dependency is failing (stale-while-revalidate).
+ * </p>
+ *
+ * <p>
+ * Every call goes to the dependency. Only when it fails and a response not
+ * older than {@code maxStale} is known, that response is returned marked as
+ * stale and a single background revalidation of the key is started.
+ * </p>
+ */
+@Slf4j
+public class StaleResponseCache<K, V> {
+
+    private record Entry<V>(V value, long storedAt) {
+    }
+
+    private final String name;
+    private final boolean enabled;
+    private final long maxStaleMillis;
+    private final Executor revalidationExecutor;
+    private final Map<K, Entry<V>> entries;
+    private final Set<K> revalidating = ConcurrentHashMap.newKeySet();
+
+    private Counter staleServed;
+
+    public StaleResponseCache(String name, boolean enabled, int maxEntries, Duration maxStale,
+            Executor revalidationExecutor) {
+        this.name = name;
+        this.enabled = enabled;
+        this.maxStaleMillis = maxStale.toMillis();
+        this.revalidationExecutor = revalidationExecutor;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<K, Entry<V>> eldest) {
+                return size() > maxEntries;
+            }
+        };
+    }
+
+    public StaleResponseCache<K, V> bindTo(MeterRegistry registry) {
+        staleServed = Counter.builder("sbomer.stale-cache.served")
+                .description("Stale responses served because the dependency failed")
+                .tag("cache", name)
+                .register(registry);
+        return this;
+    }
+
+    /**
+     * Loads the value for the key, falling back to the last known value if the
+     * load fails.
+     *
+     * @param key The key.
+     * @param loader Loads the current value from the dependency.
+     * @param markStale Marks a value as stale before it is served, may be
+     *        {@link UnaryOperator#identity()}.
+     * @return The current value, or the last known value marked as stale.
+     */
+    public V get(K key, Supplier<V> loader, UnaryOperator<V> markStale) {
+        if (!enabled) {
+            return loader.get();
+        }
+
+        try {
+            V value = loader.get();
+            put(key, value);
+            return value;
+        } catch (RuntimeException e) {
+            return fallback(key, e, loader, markStale);
+        }
+    }
+
+    /**
+     * Serves the last known value of a key whose load failed outside of
+     * {@link #get(Object, Supplier, UnaryOperator)}, e.g. in a failed bulk load.
+     *
+     * @param key The key.
+     * @param failure The failure of the load, thrown if no value is known.
+     * @param loader Loads the current value from the dependency, to revalidate
+     *        the key.
+     * @param markStale Marks a value as stale before it is served.
+     * @return The last known value marked as stale.
+     */
+    public V fallback(K key, RuntimeException failure, Supplier<V> loader, UnaryOperator<V> markStale) {
+        Entry<V> entry = enabled ? find(key) : null;
+
+        if (entry == null || System.currentTimeMillis() - entry.storedAt() > maxStaleMillis) {
+            throw failure;
+        }
+
+        log.warn("Loading '{}' from {} failed ({}), serving response from {} ms ago", key, name,
+                failure.getMessage(), System.currentTimeMillis() - entry.storedAt());
+        if (staleServed != null) {
+            staleServed.increment();
+        }
+
+        revalidate(key, loader);
+        return markStale.apply(entry.value());
+    }
+
+    private void revalidate(K key, Supplier<V> loader) {
+        if (!revalidating.add(key)) {
+            // Already being revalidated
+            return;
+        }
+
+        revalidationExecutor.execute(() -> {
+            try {
+                put(key, loader.get());
+                log.debug("Revalidated '{}' from {}", key, name);
+            } catch (RuntimeException e) {
+                log.debug("Revalidation of '{}' from {} failed", key, name, e);
+            } finally {
+                revalidating.remove(key);
+            }
+        });
+    }
+
+    /**
+     * Records a value loaded outside of {@link #get(Object, Supplier, UnaryOperator)},
+     * e.g. by a bulk load.
+     */
+    public synchronized void put(K key, V value) {
+        if (!enabled) {
+            return;
+        }
+        entries.put(key, new Entry<>(value, System.currentTimeMillis()));
+    }
+
+    private synchronized Entry<V> find(K key) {
+        return entries.get(key);
+    }
+}
@@ -0,0 +1,88 @@
+package org.jboss.sbomer.handler.et.adapter.out.standin;
+
+import java.util.random.RandomGenerator;
+
+/**
+ * <p>
+ * Distribution of a non-negative quantity, e.g. a latency in milliseconds or a
+ * number of builds, parsed from a specification:
+ * </p>
+ *
+ * <ul>
+ * <li>{@code fixed:<value>}</li>
+ * <li>{@code uniform:<min>-<max>}</li>
+ * <li>{@code lognormal:<median>:<sigma>[:<max>]}, right-skewed with a long
+ * tail, e.g. {@code lognormal:40:0.8} has a median of 40 and a 99th percentile
+ * around 260.</li>
+ * </ul>
+ */
+public sealed interface Distribution {
+
+    double sample(RandomGenerator random);
+
+    record Fixed(double value) implements Distribution {
+        @Override
+        public double sample(RandomGenerator random) {
+            return value;
+        }
+    }
+
+    record Uniform(double min, double max) implements Distribution {
+        @Override
+        public double sample(RandomGenerator random) {
+            return min == max ? min : random.nextDouble(min, max);
+        }
+    }
+
+    record LogNormal(double median, double sigma, double max) implements Distribution {
+        @Override
+        public double sample(RandomGenerator random) {
+            return Math.min(max, median * Math.exp(sigma * random.nextGaussian()));
+        }
+    }
+
+    /**
+     * @param spec The specification, see {@link Distribution}.
+     * @return The distribution.
+     */
+    static Distribution parse(String spec) {
+        String[] parts = spec.trim().split(":");
+        try {
+            switch (parts[0]) {
+                case "fixed":
+                    if (parts.length == 2) {
+                        return new Fixed(nonNegative(parts[1]));
+                    }
+                    break;
+                case "uniform":
+                    if (parts.length == 2) {
+                        String[] bounds = parts[1].split("-");
+                        if (bounds.length == 2 && nonNegative(bounds[0]) <= nonNegative(bounds[1])) {
+                            return new Uniform(nonNegative(bounds[0]), nonNegative(bounds[1]));
+                        }
+                    }
+                    break;
+                case "lognormal":
+                    if (parts.length == 3 || parts.length == 4) {
+                        return new LogNormal(nonNegative(parts[1]), nonNegative(parts[2]),
+                                parts.length == 4 ? nonNegative(parts[3]) : Double.MAX_VALUE);
+                    }
+                    break;
+                default:
+                    break;
+            }
+        } catch (NumberFormatException e) {
+            // Reported below
+        }
+        throw new IllegalArgumentException("Invalid distribution '" + spec
+                + "', expected fixed:<value>, uniform:<min>-<max> or lognormal:<median>:<sigma>[:<max>]");
+    }
+
+    private static double nonNegative(String value) {
+        double number = Double.parseDouble(value.trim());
+        if (number < 0 || Double.isNaN(number)) {
+            throw new NumberFormatException("Negative value " + value);
+        }
+        return number;
+    }
+}
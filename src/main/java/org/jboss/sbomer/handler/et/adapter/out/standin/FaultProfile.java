@@ -0,0 +1,118 @@
+package org.jboss.sbomer.handler.et.adapter.out.standin;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * <p>
+ * Latency and errors injected into the calls of a stand-in dependency.
+ * </p>
+ *
+ * <p>
+ * Each call waits for a latency drawn from the latency distribution, or, with
+ * the tail ratio, from the tail distribution, and then fails with the error
+ * rate. A slowdown turns on after a delay from the start, for a duration (or
+ * for good if zero), during which latencies are multiplied by a factor and the
+ * error rate is replaced, e.g. to see the concurrency limiter back off in the
+ * middle of a run.
+ * </p>
+ *
+ * @param name Name of the dependency, used in the injected errors.
+ * @param latency Latency in milliseconds.
+ * @param tailRatio Fraction of calls with a latency from the tail distribution.
+ * @param tail Latency in milliseconds of the tail calls.
+ * @param errorRate Fraction of failing calls.
+ * @param slowdownAfter Time from the start until the slowdown, {@code null}
+ *        for no slowdown.
+ * @param slowdownDuration Duration of the slowdown, zero for the rest of the run.
+ * @param slowdownFactor Latency multiplier during the slowdown.
+ * @param slowdownErrorRate Fraction of failing calls during the slowdown.
+ */
+public record FaultProfile(String name, Distribution latency, double tailRatio, Distribution tail,
+        double errorRate, Duration slowdownAfter, Duration slowdownDuration, double slowdownFactor,
+        double slowdownErrorRate) {
+
+    /**
+     * @return A profile without latency nor errors.
+     */
+    public static FaultProfile none(String name) {
+        return new FaultProfile(name, new Distribution.Fixed(0), 0, new Distribution.Fixed(0), 0, null, Duration.ZERO,
+                1, 0);
+    }
+
+    /**
+     * Applies the profile to calls, relative to a start time.
+     */
+    public final class Injector {
+        private final LongSupplier nanoTime;
+        private final long start;
+
+        Injector(LongSupplier nanoTime) {
+            this.nanoTime = nanoTime;
+            this.start = nanoTime.getAsLong();
+        }
+
+        /**
+         * Waits for the latency of a call, then fails it with the error rate.
+         *
+         * @param operation The called operation, used in the error.
+         */
+        public void call(String operation) {
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            boolean slowdown = isSlowedDown();
+
+            double millis = (random.nextDouble() < tailRatio ? tail : latency).sample(random);
+            if (slowdown) {
+                millis *= slowdownFactor;
+            }
+            sleep(millis);
+
+            if (random.nextDouble() < (slowdown ? slowdownErrorRate : errorRate)) {
+                throw new StandInFailureException(
+                        "Injected failure of " + name + " " + operation + (slowdown ? " (slowdown)" : ""));
+            }
+        }
+
+        /**
+         * @return Whether the slowdown is on.
+         */
+        public boolean isSlowedDown() {
+            if (slowdownAfter == null) {
+                return false;
+            }
+            long elapsed = nanoTime.getAsLong() - start;
+            long from = slowdownAfter.toNanos();
+            return elapsed >= from && (slowdownDuration.isZero() || elapsed < from + slowdownDuration.toNanos());
+        }
+
+        private void sleep(double millis) {
+            long nanos = (long) (millis * 1_000_000);
+            if (nanos <= 0) {
+                return;
+            }
+            try {
+                TimeUnit.NANOSECONDS.sleep(nanos);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new StandInFailureException("Interrupted while calling " + name, e);
+            }
+        }
+    }
+
+    /**
+     * @return An injector whose slowdown is relative to now.
+     */
+    public Injector start() {
+        return new Injector(System::nanoTime);
+    }
+
+    /**
+     * @return An injector whose slowdown is relative to the current value of the
+     *         given clock.
+     */
+    public Injector start(LongSupplier nanoTime) {
+        return new Injector(nanoTime);
+    }
+}
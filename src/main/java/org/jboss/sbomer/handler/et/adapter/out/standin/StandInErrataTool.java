@@ -0,0 +1,136 @@
+package org.jboss.sbomer.handler.et.adapter.out.standin;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.jboss.sbomer.handler.et.adapter.out.config.LimiterConfig;
+import org.jboss.sbomer.handler.et.adapter.out.config.StandInConfig;
+import org.jboss.sbomer.handler.et.core.domain.advisory.Advisory;
+import org.jboss.sbomer.handler.et.core.domain.advisory.AdvisoryChange;
+import org.jboss.sbomer.handler.et.core.domain.advisory.AdvisoryLookup;
+import org.jboss.sbomer.handler.et.core.domain.advisory.Build;
+import org.jboss.sbomer.handler.et.core.domain.advisory.BuildPage;
+import org.jboss.sbomer.handler.et.core.domain.advisory.ChangeCursor;
+import org.jboss.sbomer.handler.et.core.port.spi.ErrataTool;
+
+import io.quarkus.arc.properties.IfBuildProperty;
+import io.smallrye.common.annotation.Identifier;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * <p>
+ * Stand-in for Errata Tool, returning {@link SyntheticAdvisories} after the
+ * latency and errors of its {@link FaultProfile}, to test the handler without
+ * network access.
+ * </p>
+ *
+ * <p>
+ * Every call pays one latency, as one request to the Errata Tool API would:
+ * bulk queries pay it once for all the advisories, and pages of builds once
+ * per page size builds, the most the API returns per request.
+ * </p>
+ *
+ * <p>
+ * One advisory changes every change interval: the k-th change since the epoch
+ * is an update of advisory {@code 100000 + k % 900000}, to its synthetic
+ * status.
+ * </p>
+ */
+@ApplicationScoped
+@IfBuildProperty(name = StandInConfig.ENABLED, stringValue = "true")
+@Slf4j
+public class StandInErrataTool implements ErrataTool {
+
+    private final SyntheticAdvisories advisories;
+    private final FaultProfile.Injector faults;
+    private final int pageSize;
+    private final long changeInterval;
+
+    @Inject
+    public StandInErrataTool(SyntheticAdvisories advisories,
+            @Identifier(LimiterConfig.ERRATA_TOOL) FaultProfile faults,
+            @ConfigProperty(name = "sbomer.stand-in.errata-tool.page-size", defaultValue = "100") int pageSize,
+            @ConfigProperty(name = "sbomer.stand-in.errata-tool.change-interval", defaultValue = "PT10S") Duration changeInterval) {
+        this(advisories, faults.start(), pageSize, changeInterval);
+        log.warn("Using the Errata Tool stand-in, advisories are synthetic");
+    }
+
+    public StandInErrataTool(SyntheticAdvisories advisories, FaultProfile.Injector faults, int pageSize) {
+        this(advisories, faults, pageSize, Duration.ofSeconds(10));
+    }
+
+    public StandInErrataTool(SyntheticAdvisories advisories, FaultProfile.Injector faults, int pageSize,
+            Duration changeInterval) {
+        if (pageSize <= 0) {
+            throw new IllegalArgumentException("pageSize must be positive");
+        }
+        if (changeInterval.toMillis() <= 0) {
+            throw new IllegalArgumentException("changeInterval must be at least a millisecond");
+        }
+        this.advisories = advisories;
+        this.faults = faults;
+        this.pageSize = pageSize;
+        this.changeInterval = changeInterval.toMillis();
+    }
+
+    @Override
+    public Advisory getInfo(String advisoryId) {
+        faults.call("getInfo");
+        return advisories.advisory(advisoryId);
+    }
+
+    @Override
+    public List<Build> fetchBuilds(String advisoryId) {
+        faults.call("fetchBuilds");
+        return advisories.builds(advisoryId);
+    }
+
+    @Override
+    public BuildPage fetchBuildsPage(String advisoryId, int offset, int limit) {
+        int count = advisories.buildCount(advisoryId);
+        int from = Math.min(offset, count);
+        int to = from + Math.min(limit, count - from);
+
+        for (int requests = Math.max(1, (to - from + pageSize - 1) / pageSize); requests > 0; requests--) {
+            faults.call("fetchBuildsPage");
+        }
+        return new BuildPage(advisories.builds(advisoryId, from, to));
+    }
+
+    @Override
+    public Map<String, AdvisoryLookup> getInfoBatch(Set<String> advisoryIds) {
+        faults.call("getInfoBatch");
+        Map<String, AdvisoryLookup> result = new LinkedHashMap<>();
+        advisoryIds.forEach(
+                advisoryId -> result.put(advisoryId, AdvisoryLookup.found(advisories.advisory(advisoryId))));
+        return result;
+    }
+
+    @Override
+    public List<AdvisoryChange> fetchChanges(ChangeCursor after, int limit) {
+        faults.call("fetchChanges");
+        long now = System.currentTimeMillis();
+        List<AdvisoryChange> changes = new ArrayList<>();
+        for (long k = after.updatedAt() / changeInterval; k * changeInterval <= now && changes.size() < limit; k++) {
+            String advisoryId = String.valueOf(100000 + k % 900000);
+            AdvisoryChange change = new AdvisoryChange(advisoryId, advisories.advisory(advisoryId).status(),
+                    k * changeInterval);
+            if (after.isBefore(change)) {
+                changes.add(change);
+            }
+        }
+        return changes;
+    }
+
+    @Override
+    public boolean supportsChanges() {
+        return true;
+    }
+}
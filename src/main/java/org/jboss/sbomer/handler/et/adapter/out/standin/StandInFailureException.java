@@ -0,0 +1,19 @@
+package org.jboss.sbomer.handler.et.adapter.out.standin;
+
+import jakarta.ws.rs.WebApplicationException;
+import jakarta.ws.rs.core.Response;
+
+/**
+ * Failure injected by a stand-in dependency, see {@link FaultProfile}. Fails
+ * like an unavailable service would, with status 503.
+ */
+public class StandInFailureException extends WebApplicationException {
+
+    public StandInFailureException(String message) {
+        super(message, Response.Status.SERVICE_UNAVAILABLE);
+    }
+
+    public StandInFailureException(String message, Throwable cause) {
+        super(message, cause, Response.Status.SERVICE_UNAVAILABLE);
+    }
+}
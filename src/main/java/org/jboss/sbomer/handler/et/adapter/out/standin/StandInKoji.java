@@ -0,0 +1,49 @@
+package org.jboss.sbomer.handler.et.adapter.out.standin;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.jboss.sbomer.handler.et.adapter.out.config.LimiterConfig;
+import org.jboss.sbomer.handler.et.adapter.out.config.StandInConfig;
+import org.jboss.sbomer.handler.et.core.port.spi.Koji;
+
+import io.quarkus.arc.properties.IfBuildProperty;
+import io.smallrye.common.annotation.Identifier;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Stand-in for Koji, returning the image names of the builds of
+ * {@link SyntheticAdvisories} after the latency and errors of its
+ * {@link FaultProfile}. A call pays one latency for all the builds, as one
+ * XML-RPC multicall would.
+ */
+@ApplicationScoped
+@IfBuildProperty(name = StandInConfig.ENABLED, stringValue = "true")
+@Slf4j
+public class StandInKoji implements Koji {
+
+    private final SyntheticAdvisories advisories;
+    private final FaultProfile.Injector faults;
+
+    @Inject
+    public StandInKoji(SyntheticAdvisories advisories, @Identifier(LimiterConfig.KOJI) FaultProfile faults) {
+        this(advisories, faults.start());
+        log.warn("Using the Koji stand-in, image names are synthetic");
+    }
+
+    public StandInKoji(SyntheticAdvisories advisories, FaultProfile.Injector faults) {
+        this.advisories = advisories;
+        this.faults = faults;
+    }
+
+    @Override
+    public Map<Long, String> getImageNames(List<Long> buildIds) {
+        faults.call("getImageNames");
+        Map<Long, String> names = new LinkedHashMap<>();
+        buildIds.forEach(buildId -> names.put(buildId, advisories.imageName(buildId)));
+        return names;
+    }
+}
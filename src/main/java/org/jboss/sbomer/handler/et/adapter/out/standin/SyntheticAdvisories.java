@@ -0,0 +1,169 @@
+package org.jboss.sbomer.handler.et.adapter.out.standin;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+import org.jboss.sbomer.handler.et.core.domain.advisory.Advisory;
+import org.jboss.sbomer.handler.et.core.domain.advisory.Build;
+
+/**
+ * <p>
+ * Generates synthetic advisories and their builds, for the stand-in
+ * dependencies.
+ * </p>
+ *
+ * <p>
+ * The generated data only depends on the seed and the advisory ID, so that the
+ * stand-ins return the same advisory on every call and every run. The number
+ * of builds, their types, the status of the advisory and the size of the
+ * build names are drawn from the configured distributions. Text-only
+ * advisories have no builds.
+ * </p>
+ */
+public class SyntheticAdvisories {
+
+    // Build IDs of an advisory are <advisory hash> * MAX_BUILDS + <index>
+    static final int MAX_BUILDS = 100_000;
+
+    private final long seed;
+    private final Distribution buildCount;
+    private final Map<String, Integer> types;
+    private final Map<String, Integer> statuses;
+    private final double textOnlyRatio;
+    private final Distribution nameLength;
+
+    /**
+     * @param seed Seed of the generated data.
+     * @param buildCount Number of builds per advisory.
+     * @param types Weights of the build types, e.g. {@code CONTAINER_IMAGE=3}.
+     * @param statuses Weights of the advisory statuses, e.g. {@code QE=8}.
+     * @param textOnlyRatio Fraction of text-only advisories.
+     * @param nameLength Length of the build names, which drives the size of the
+     *        payloads.
+     */
+    public SyntheticAdvisories(long seed, Distribution buildCount, Map<String, Integer> types,
+            Map<String, Integer> statuses, double textOnlyRatio, Distribution nameLength) {
+        if (types.isEmpty() || statuses.isEmpty()) {
+            throw new IllegalArgumentException("At least one build type and advisory status is required");
+        }
+        this.seed = seed;
+        this.buildCount = buildCount;
+        this.types = types;
+        this.statuses = statuses;
+        this.textOnlyRatio = textOnlyRatio;
+        this.nameLength = nameLength;
+    }
+
+    /**
+     * Parses weights, e.g. {@code CONTAINER_IMAGE:3,RPM:7}. A value without a
+     * weight has a weight of 1.
+     */
+    public static Map<String, Integer> parseWeights(String spec) {
+        Map<String, Integer> weights = new LinkedHashMap<>();
+        for (String entry : spec.split(",")) {
+            if (entry.isBlank()) {
+                continue;
+            }
+            String[] parts = entry.trim().split(":");
+            int weight;
+            try {
+                weight = parts.length == 2 ? Integer.parseInt(parts[1].trim()) : 1;
+            } catch (NumberFormatException e) {
+                weight = -1;
+            }
+            if (parts.length > 2 || weight < 0) {
+                throw new IllegalArgumentException("Invalid weight '" + entry + "', expected <value>[:<weight>]");
+            }
+            weights.put(parts[0].trim(), weight);
+        }
+        if (weights.values().stream().mapToInt(Integer::intValue).sum() == 0) {
+            throw new IllegalArgumentException("Invalid weights '" + spec + "', expected at least one positive weight");
+        }
+        return Collections.unmodifiableMap(weights);
+    }
+
+    public Advisory advisory(String advisoryId) {
+        SplittableRandom random = random(advisoryId, 0);
+        return new Advisory(advisoryId, pick(statuses, random), isTextOnly(advisoryId));
+    }
+
+    /**
+     * @return The number of builds attached to the advisory.
+     */
+    public int buildCount(String advisoryId) {
+        if (isTextOnly(advisoryId)) {
+            return 0;
+        }
+        return (int) Math.min(MAX_BUILDS - 1, Math.round(buildCount.sample(random(advisoryId, 1))));
+    }
+
+    /**
+     * @return The builds attached to the advisory, from the first to the last
+     *         (exclusive).
+     */
+    public List<Build> builds(String advisoryId, int from, int to) {
+        List<Build> builds = new ArrayList<>(Math.max(0, to - from));
+        for (int index = from; index < to; index++) {
+            builds.add(build(advisoryId, index));
+        }
+        return builds;
+    }
+
+    public List<Build> builds(String advisoryId) {
+        return builds(advisoryId, 0, buildCount(advisoryId));
+    }
+
+    /**
+     * @return The name of the image built by the build, as returned by Koji.
+     */
+    public String imageName(long buildId) {
+        SplittableRandom random = new SplittableRandom(seed ^ buildId);
+        byte[] digest = new byte[32];
+        random.nextBytes(digest);
+        return "quay.io/standin/" + name(random) + "@sha256:" + HexFormat.of().formatHex(digest);
+    }
+
+    private Build build(String advisoryId, int index) {
+        long id = (advisoryId.hashCode() & 0x7fffffffL) * MAX_BUILDS + index;
+        SplittableRandom random = new SplittableRandom(seed ^ id);
+        String type = pick(types, random);
+        String nvr = name(random) + "-1." + index + "-1";
+        String identifier = "CONTAINER_IMAGE".equals(type) ? imageName(id) : nvr;
+        return new Build(id, nvr, type, identifier);
+    }
+
+    private boolean isTextOnly(String advisoryId) {
+        return random(advisoryId, 2).nextDouble() < textOnlyRatio;
+    }
+
+    private String name(SplittableRandom random) {
+        int length = (int) Math.max(1, Math.round(nameLength.sample(random)));
+        StringBuilder name = new StringBuilder(length);
+        for (int i = 0; i < length; i++) {
+            name.append((char) ('a' + random.nextInt(26)));
+        }
+        return name.toString();
+    }
+
+    private SplittableRandom random(String advisoryId, int stream) {
+        // Independent draws per property, so that changing one distribution keeps the others
+        return new SplittableRandom(seed ^ (advisoryId.hashCode() * 31L + stream) * 0x9E3779B97F4A7C15L);
+    }
+
+    private static String pick(Map<String, Integer> weights, SplittableRandom random) {
+        int total = weights.values().stream().mapToInt(Integer::intValue).sum();
+        int draw = random.nextInt(total);
+        for (Map.Entry<String, Integer> entry : weights.entrySet()) {
+            draw -= entry.getValue();
+            if (draw < 0) {
+                return entry.getKey();
+            }
+        }
+        throw new IllegalStateException("Unreachable");
+    }
+}
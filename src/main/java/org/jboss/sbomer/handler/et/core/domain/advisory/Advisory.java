@@ -1,5 +1,21 @@
 package org.jboss.sbomer.handler.et.core.domain.advisory;
 
-public record Advisory(String id, String status, boolean isTextOnly) {
+/**
+ * Advisory information obtained from Errata Tool.
+ *
+ * @param stale {@code true} if Errata Tool could not be reached and this is the
+ *        last known information, which may be outdated.
+ */
+public record Advisory(String id, String status, boolean isTextOnly, boolean stale) {
 
+    public Advisory(String id, String status, boolean isTextOnly) {
+        this(id, status, isTextOnly, false);
+    }
+
+    /**
+     * @return A copy of this advisory marked as stale.
+     */
+    public Advisory asStale() {
+        return new Advisory(id, status, isTextOnly, true);
+    }
 }
@@ -0,0 +1,13 @@
+package org.jboss.sbomer.handler.et.core.domain.advisory;
+
+/**
+ * A change of an advisory reported by Errata Tool, used to notice status
+ * changes whose UMB message was missed.
+ *
+ * @param advisoryId The advisory ID.
+ * @param status The status of the advisory after the change.
+ * @param updatedAt When Errata Tool last updated the advisory, in milliseconds
+ *        since the epoch.
+ */
+public record AdvisoryChange(String advisoryId, String status, long updatedAt) {
+}
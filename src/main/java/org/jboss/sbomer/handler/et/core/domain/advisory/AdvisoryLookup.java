@@ -0,0 +1,31 @@
+package org.jboss.sbomer.handler.et.core.domain.advisory;
+
+/**
+ * The lookup of one advisory of a bulk query to Errata Tool: either the
+ * advisory, or the failure of its lookup (e.g. the advisory was not found).
+ *
+ * @param advisory The advisory, {@code null} if its lookup failed.
+ * @param failure The failure of the lookup, {@code null} if the advisory was
+ *        found.
+ */
+public record AdvisoryLookup(Advisory advisory, RuntimeException failure) {
+
+    public static AdvisoryLookup found(Advisory advisory) {
+        return new AdvisoryLookup(advisory, null);
+    }
+
+    public static AdvisoryLookup failed(RuntimeException failure) {
+        return new AdvisoryLookup(null, failure);
+    }
+
+    /**
+     * @return The advisory.
+     * @throws RuntimeException The failure of the lookup.
+     */
+    public Advisory advisoryOrThrow() {
+        if (failure != null) {
+            throw failure;
+        }
+        return advisory;
+    }
+}
@@ -0,0 +1,62 @@
+package org.jboss.sbomer.handler.et.core.domain.advisory;
+
+import java.util.List;
+
+import org.jboss.sbomer.handler.et.core.domain.generation.GenerationRequest;
+
+/**
+ * <p>
+ * The last processed state of an advisory.
+ * </p>
+ *
+ * <p>
+ * It is used to detect re-triggers of an advisory whose status and attached
+ * builds did not change since it was last processed, in which case the
+ * previous {@link GenerationRequest} is returned instead of requesting the
+ * same generations again.
+ * </p>
+ *
+ * <p>
+ * Advisories requested in chunks also record the {@link BuildSetHash} of every
+ * chunk. While the chunks are being requested, the state records the progress:
+ * the chunks requested so far and no hash of all builds yet.
+ * </p>
+ *
+ * @param advisoryId The advisory ID.
+ * @param status The advisory status at the time it was processed.
+ * @param buildSetHash The {@link BuildSetHash} of the attached builds,
+ *        {@code null} while the chunks are being requested.
+ * @param generationRequest The generation request that was created.
+ * @param processedAt Epoch milliseconds when the advisory was processed.
+ * @param chunkHashes The hashes of the requested chunks in order, empty if the
+ *        advisory was not requested in chunks.
+ */
+public record AdvisoryState(String advisoryId, String status, String buildSetHash,
+        GenerationRequest generationRequest, long processedAt, List<String> chunkHashes) {
+
+    public AdvisoryState {
+        // Missing in states recorded before chunks were tracked
+        chunkHashes = chunkHashes == null ? List.of() : List.copyOf(chunkHashes);
+    }
+
+    public AdvisoryState(String advisoryId, String status, String buildSetHash,
+            GenerationRequest generationRequest, long processedAt) {
+        this(advisoryId, status, buildSetHash, generationRequest, processedAt, List.of());
+    }
+
+    /**
+     * @return {@code false} while the chunks of the request are being
+     *         requested.
+     */
+    public boolean complete() {
+        return buildSetHash != null;
+    }
+
+    /**
+     * @return {@code true} if this state was recorded for the same status and
+     *         build set.
+     */
+    public boolean matches(String status, String buildSetHash) {
+        return this.status.equals(status) && buildSetHash.equals(this.buildSetHash);
+    }
+}
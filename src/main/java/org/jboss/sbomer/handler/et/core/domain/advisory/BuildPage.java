@@ -0,0 +1,24 @@
+package org.jboss.sbomer.handler.et.core.domain.advisory;
+
+import java.util.List;
+
+/**
+ * One page of the builds attached to an advisory, obtained from Errata Tool.
+ *
+ * @param builds The builds of the page.
+ * @param stale {@code true} if Errata Tool could not be reached and this is the
+ *        last known page, which may be outdated.
+ */
+public record BuildPage(List<Build> builds, boolean stale) {
+
+    public BuildPage(List<Build> builds) {
+        this(builds, false);
+    }
+
+    /**
+     * @return A copy of this page marked as stale.
+     */
+    public BuildPage asStale() {
+        return new BuildPage(builds, true);
+    }
+}
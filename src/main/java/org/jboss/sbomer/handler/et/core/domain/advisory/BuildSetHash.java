@@ -0,0 +1,96 @@
+package org.jboss.sbomer.handler.et.core.domain.advisory;
+
+import java.nio.charset.StandardCharsets;
+import java.security.DigestException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Collection;
+
+/**
+ * <p>
+ * Order-independent hash of a set of builds, computed from the type and the
+ * identifier of every build.
+ * </p>
+ *
+ * <p>
+ * Each build is hashed on its own and the per-build hashes are summed, so the
+ * result does not depend on the order in which Errata Tool returns the builds
+ * and it can be computed incrementally while builds are being fetched.
+ * </p>
+ */
+public final class BuildSetHash {
+
+    // Reused for all builds, one instance per hash
+    private final MessageDigest sha256 = sha256();
+    private final byte[] digest = new byte[32];
+
+    private long high;
+    private long low;
+    private long count;
+
+    public static BuildSetHash of(Collection<Build> builds) {
+        BuildSetHash hash = new BuildSetHash();
+        builds.forEach(hash::add);
+        return hash;
+    }
+
+    public BuildSetHash add(Build build) {
+        // Same digest as of the UTF-8 bytes of "<type>\0<identifier>"
+        sha256.update(String.valueOf(build.type()).getBytes(StandardCharsets.UTF_8));
+        sha256.update((byte) 0);
+        sha256.update(String.valueOf(build.identifier()).getBytes(StandardCharsets.UTF_8));
+        try {
+            sha256.digest(digest, 0, digest.length);
+        } catch (DigestException e) {
+            throw new IllegalStateException(e);
+        }
+
+        high += toLong(digest, 0);
+        low += toLong(digest, 8);
+        count++;
+        return this;
+    }
+
+    /**
+     * Adds all builds of another hash, e.g. of a chunk of the builds.
+     */
+    public BuildSetHash add(BuildSetHash other) {
+        high += other.high;
+        low += other.low;
+        count += other.count;
+        return this;
+    }
+
+    public long count() {
+        return count;
+    }
+
+    /**
+     * @return The hash as a hex string.
+     */
+    public String value() {
+        return String.format("%016x%016x-%d", high, low, count);
+    }
+
+    @Override
+    public String toString() {
+        return value();
+    }
+
+    private static long toLong(byte[] bytes, int offset) {
+        long value = 0;
+        for (int i = offset; i < offset + 8; i++) {
+            value = (value << 8) | (bytes[i] & 0xff);
+        }
+        return value;
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            // SHA-256 is required to be supported by every JVM
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package org.jboss.sbomer.handler.et.core.domain.advisory;
+
+import java.util.Comparator;
+
+/**
+ * Position in the changes of the advisories, ordered by update time and then
+ * by advisory ID, so that paging is stable when several advisories were
+ * updated at the same time.
+ *
+ * @param updatedAt The update time of the last seen change, in milliseconds
+ *        since the epoch.
+ * @param advisoryId The advisory of the last seen change, empty to start with
+ *        all the changes at {@code updatedAt}.
+ */
+public record ChangeCursor(long updatedAt, String advisoryId) {
+
+    private static final Comparator<ChangeCursor> ORDER = Comparator.comparingLong(ChangeCursor::updatedAt)
+            .thenComparing(ChangeCursor::advisoryId);
+
+    public ChangeCursor {
+        advisoryId = advisoryId == null ? "" : advisoryId;
+    }
+
+    /**
+     * @return The cursor right before the changes at the given time.
+     */
+    public static ChangeCursor at(long updatedAt) {
+        return new ChangeCursor(updatedAt, "");
+    }
+
+    /**
+     * @return The cursor right after the change.
+     */
+    public static ChangeCursor after(AdvisoryChange change) {
+        return new ChangeCursor(change.updatedAt(), change.advisoryId());
+    }
+
+    /**
+     * @return {@code true} if the change comes after this cursor.
+     */
+    public boolean isBefore(AdvisoryChange change) {
+        return ORDER.compare(this, after(change)) < 0;
+    }
+}
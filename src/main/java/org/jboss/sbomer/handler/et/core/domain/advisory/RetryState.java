@@ -0,0 +1,29 @@
+package org.jboss.sbomer.handler.et.core.domain.advisory;
+
+/**
+ * <p>
+ * Failed handling of an advisory, waiting to be retried or dead-lettered.
+ * </p>
+ *
+ * <p>
+ * An advisory is retried until it succeeds or its attempt budget is
+ * exhausted, in which case it becomes a dead letter. Dead letters are kept
+ * until they are replayed.
+ * </p>
+ *
+ * @param advisoryId The advisory ID.
+ * @param force Whether generations are requested even if the advisory did not
+ *        change, set if any of the failed triggers was forced.
+ * @param status The advisory status reported by the last failed trigger which
+ *        reported one, retries carry it. {@code null} if none did.
+ * @param attempts Number of failed attempts.
+ * @param firstFailedAt Epoch milliseconds of the first failure.
+ * @param lastFailedAt Epoch milliseconds of the last failure.
+ * @param lastError Message of the last failure.
+ * @param nextAttemptAt Epoch milliseconds of the next attempt, {@code 0} for
+ *        dead letters.
+ * @param deadLetter {@code true} once the attempt budget is exhausted.
+ */
+public record RetryState(String advisoryId, boolean force, String status, int attempts, long firstFailedAt, long lastFailedAt,
+        String lastError, long nextAttemptAt, boolean deadLetter) {
+}
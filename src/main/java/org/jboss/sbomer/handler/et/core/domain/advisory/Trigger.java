@@ -0,0 +1,83 @@
+package org.jboss.sbomer.handler.et.core.domain.advisory;
+
+import java.util.List;
+
+/**
+ * What triggered the handling of an advisory, used to prioritize it.
+ *
+ * @param source The adapter which received the trigger, e.g. {@code umb}.
+ * @param status The advisory status reported by the trigger, if any.
+ * @param occurredAt Epoch milliseconds at which the status change occurred,
+ *        {@code 0} if unknown.
+ */
+public record Trigger(String source, String status, long occurredAt) {
+
+    public static final String SOURCE_UMB = "umb";
+    public static final String SOURCE_REST = "rest";
+    public static final String SOURCE_REST_ASYNC = "rest-async";
+    public static final String SOURCE_RETRY = "retry";
+    public static final String SOURCE_RECONCILE = "reconcile";
+
+    /**
+     * Trigger of a caller that did not tell where it comes from.
+     */
+    public static final Trigger UNKNOWN = new Trigger("unknown", null);
+
+    public Trigger(String source, String status) {
+        this(source, status, 0);
+    }
+
+    public static Trigger umb(String status) {
+        return new Trigger(SOURCE_UMB, status);
+    }
+
+    /**
+     * Trigger of a UMB message sent at the given time.
+     */
+    public static Trigger umb(String status, long occurredAt) {
+        return new Trigger(SOURCE_UMB, status, occurredAt);
+    }
+
+    public static Trigger rest() {
+        return new Trigger(SOURCE_REST, null);
+    }
+
+    /**
+     * Trigger of an asynchronous REST submission, the client does not wait for it.
+     */
+    public static Trigger restAsync() {
+        return new Trigger(SOURCE_REST_ASYNC, null);
+    }
+
+    /**
+     * Trigger of a delayed retry of an advisory whose handling failed, carrying
+     * the status reported by the failed trigger, if any.
+     */
+    public static Trigger retry(String status) {
+        return new Trigger(SOURCE_RETRY, status);
+    }
+
+    /**
+     * Trigger of a status change found by polling Errata Tool, whose UMB message
+     * was missed.
+     */
+    public static Trigger reconcile(String status) {
+        return new Trigger(SOURCE_RECONCILE, status);
+    }
+
+    /**
+     * Trigger of a missed status change, which Errata Tool reports as updated
+     * at the given time.
+     */
+    public static Trigger reconcile(String status, long updatedAt) {
+        return new Trigger(SOURCE_RECONCILE, status, updatedAt);
+    }
+
+    /**
+     * @return Keys identifying the trigger, from the most to the least specific,
+     *         e.g. {@code umb:SHIPPED_LIVE} and {@code umb}.
+     */
+    public List<String> keys() {
+        return status == null ? List.of(source) : List.of(source + ":" + status, source);
+    }
+}
@@ -0,0 +1,21 @@
+package org.jboss.sbomer.handler.et.core.domain.exception;
+
+import java.time.Duration;
+
+/**
+ * Thrown when a trigger is not admitted because too many advisories are
+ * waiting to be handled. The caller should retry after the given time.
+ */
+public class AdmissionRejectedException extends RuntimeException {
+
+    private final Duration retryAfter;
+
+    public AdmissionRejectedException(String message, Duration retryAfter) {
+        super(message);
+        this.retryAfter = retryAfter;
+    }
+
+    public Duration getRetryAfter() {
+        return retryAfter;
+    }
+}
@@ -0,0 +1,13 @@
+package org.jboss.sbomer.handler.et.core.domain.exception;
+
+/**
+ * Thrown when another replica kept its claim on an advisory for longer than
+ * this replica waits for it. The advisory is handled by the other replica, a
+ * later trigger (e.g. a retry) finds what it processed.
+ */
+public class AdvisoryClaimedException extends RuntimeException {
+
+    public AdvisoryClaimedException(String message) {
+        super(message);
+    }
+}
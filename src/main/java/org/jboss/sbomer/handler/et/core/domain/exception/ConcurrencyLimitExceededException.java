@@ -0,0 +1,13 @@
+package org.jboss.sbomer.handler.et.core.domain.exception;
+
+/**
+ * Thrown when a call to a dependency cannot be made because its concurrency
+ * limit is reached and the wait queue is full, or the call waited too long for
+ * a permit.
+ */
+public class ConcurrencyLimitExceededException extends RuntimeException {
+
+    public ConcurrencyLimitExceededException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,13 @@
+package org.jboss.sbomer.handler.et.core.domain.exception;
+
+/**
+ * Thrown when only stale information of an advisory is available (Errata Tool
+ * could not be reached) and its last known status or builds can not be trusted
+ * to decide what to generate.
+ */
+public class StaleAdvisoryException extends RuntimeException {
+
+    public StaleAdvisoryException(String message) {
+        super(message);
+    }
+}
@@ -1,13 +1,11 @@
 package org.jboss.sbomer.handler.et.core.domain.generation;
 
-import org.jboss.sbomer.handler.et.core.domain.advisory.Build;
 import org.jboss.sbomer.handler.et.core.utility.TsidUtility;
 
 public record Generation(String id, GenerationTarget target) {
 
-    public static Generation fromBuild(Build build) {
-        return new Generation(TsidUtility.createUniqueGenerationId(),
-                new GenerationTarget(build.type(), build.identifier()));
+    public static Generation forTarget(GenerationTarget target) {
+        return new Generation(TsidUtility.createUniqueGenerationId(), target);
     }
 
 }
@@ -4,5 +4,29 @@ import java.util.List;
 
 import org.jboss.sbomer.handler.et.core.domain.publish.Publisher;
 
-public record GenerationRequest(String requestId, List<Publisher> publishers, List<Generation> generations) {
+/**
+ * <p>
+ * A request of generations for an advisory.
+ * </p>
+ *
+ * <p>
+ * {@code generations} are the generations being requested.
+ * {@code reusedGenerations} reference generations that were already requested
+ * recently for the same target (possibly by another advisory). They are not
+ * generated again, but referenced by their existing ID in the request.
+ * </p>
+ */
+public record GenerationRequest(String requestId, String advisoryId, List<Publisher> publishers,
+        List<Generation> generations, List<Generation> reusedGenerations) {
+
+    public GenerationRequest {
+        if (reusedGenerations == null) {
+            reusedGenerations = List.of();
+        }
+    }
+
+    public GenerationRequest(String requestId, String advisoryId, List<Publisher> publishers,
+            List<Generation> generations) {
+        this(requestId, advisoryId, publishers, generations, List.of());
+    }
 }
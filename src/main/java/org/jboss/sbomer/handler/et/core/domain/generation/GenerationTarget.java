@@ -1,6 +1,9 @@
 package org.jboss.sbomer.handler.et.core.domain.generation;
 
 /**
+ * Resolved from an attached build by the {@code GenerationTargetResolver} of
+ * the build type, or taken from the build as it is if the type has none.
+ *
  * TODO: Should type be an enum? Probably not, because it is controlled by
  * pluggable generators.
  * TODO: Can we do any sort of validation on the identifier based on the type? Should we?
@@ -1,5 +1,9 @@
 package org.jboss.sbomer.handler.et.core.port.api;
 
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+
+import org.jboss.sbomer.handler.et.core.domain.advisory.Trigger;
 import org.jboss.sbomer.handler.et.core.domain.generation.GenerationRequest;
 
 /**
@@ -20,6 +24,54 @@ public interface AdvisoryHandler {
      * @param advisoryId Being the numerical identifier of the advisory in Errata Tool
      * @return A {@link GenerationRequest} instance representing the generation request
      */
-    GenerationRequest requestGenerations(String advisoryId);
+    default GenerationRequest requestGenerations(String advisoryId) {
+        return requestGenerations(advisoryId, false);
+    }
+
+    /**
+     * Request a generation for the given advisory identifier.
+     * 
+     * @param advisoryId Being the numerical identifier of the advisory in Errata Tool
+     * @param force When {@code false}, an advisory whose status and attached builds did
+     *        not change since it was last processed is answered with the previous
+     *        {@link GenerationRequest}. When {@code true}, generations are always requested.
+     * @return A {@link GenerationRequest} instance representing the generation request
+     */
+    GenerationRequest requestGenerations(String advisoryId, boolean force);
+
+    /**
+     * Request a generation for the given advisory identifier.
+     * 
+     * @param advisoryId Being the numerical identifier of the advisory in Errata Tool
+     * @param force See {@link #requestGenerations(String, boolean)}
+     * @param trigger What triggered the request, used to prioritize it when the system
+     *        is saturated
+     * @return A {@link GenerationRequest} instance representing the generation request
+     */
+    default GenerationRequest requestGenerations(String advisoryId, boolean force, Trigger trigger) {
+        return requestGenerations(advisoryId, force);
+    }
 
+    /**
+     * Checks that a request would be admitted now, before the caller accepts it
+     * to be handled later, e.g. in the background.
+     * 
+     * @param trigger What will trigger the request
+     * @param waiting Requests the caller accepted but did not pass on yet, counted
+     *        as waiting
+     * @throws org.jboss.sbomer.handler.et.core.domain.exception.AdmissionRejectedException
+     *         When too many advisories are waiting to be handled
+     */
+    default void admit(Trigger trigger, int waiting) {
+    }
+
+    /**
+     * Waits for the generation requests of the advisories handled so far to be
+     * confirmed, e.g. before acknowledging the triggers of a batch.
+     * 
+     * @return A stage completed once the generation requests were confirmed
+     */
+    default CompletionStage<Void> flush() {
+        return CompletableFuture.completedFuture(null);
+    }
 }
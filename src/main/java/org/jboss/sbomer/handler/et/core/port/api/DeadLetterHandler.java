@@ -0,0 +1,33 @@
+package org.jboss.sbomer.handler.et.core.port.api;
+
+import java.util.Collection;
+import java.util.List;
+
+import org.jboss.sbomer.handler.et.core.domain.advisory.RetryState;
+
+/**
+ * <p>
+ * Operations on dead letters: advisories whose handling kept failing until
+ * their retry attempts were exhausted.
+ * </p>
+ *
+ * <p>
+ * Once the cause of the failures is fixed, dead letters can be replayed, which
+ * retries them with a fresh attempt budget.
+ * </p>
+ */
+public interface DeadLetterHandler {
+    /**
+     * @return The dead-lettered advisories, the most recent failures first.
+     */
+    List<RetryState> deadLetters();
+
+    /**
+     * Replays dead-lettered advisories.
+     *
+     * @param advisoryIds The advisories to replay, all dead letters if empty.
+     * @return The IDs of the replayed advisories, unknown IDs and advisories
+     *         which are not dead letters are ignored.
+     */
+    List<String> replay(Collection<String> advisoryIds);
+}
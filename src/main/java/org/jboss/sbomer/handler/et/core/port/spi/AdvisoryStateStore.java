@@ -0,0 +1,33 @@
+package org.jboss.sbomer.handler.et.core.port.spi;
+
+import java.util.Optional;
+
+import org.jboss.sbomer.handler.et.core.domain.advisory.AdvisoryState;
+
+/**
+ * <p>
+ * Store of the last processed {@link AdvisoryState} of each advisory.
+ * </p>
+ *
+ * <p>
+ * It allows to answer re-triggers of unchanged advisories without requesting
+ * the same generations again.
+ * </p>
+ */
+public interface AdvisoryStateStore {
+    /**
+     * Finds the last processed state of the given advisory.
+     *
+     * @param advisoryId The advisory ID.
+     * @return The last processed state or empty if the advisory was not
+     *         processed yet.
+     */
+    public Optional<AdvisoryState> find(String advisoryId);
+
+    /**
+     * Stores the state of an advisory, replacing any previous state.
+     *
+     * @param state The state to store.
+     */
+    public void save(AdvisoryState state);
+}
@@ -0,0 +1,30 @@
+package org.jboss.sbomer.handler.et.core.port.spi;
+
+import java.util.Optional;
+
+import org.jboss.sbomer.handler.et.core.domain.advisory.ChangeCursor;
+
+/**
+ * <p>
+ * Store of the {@link ChangeCursor} up to which the changes of the advisories
+ * were reconciled.
+ * </p>
+ *
+ * <p>
+ * It lets the reconciliation continue where it stopped after a restart,
+ * instead of scanning Errata Tool again.
+ * </p>
+ */
+public interface ChangeCursorStore {
+    /**
+     * @return The stored cursor, or empty if no changes were reconciled yet.
+     */
+    public Optional<ChangeCursor> load();
+
+    /**
+     * Stores the cursor, replacing the previous one.
+     *
+     * @param cursor The cursor to store.
+     */
+    public void save(ChangeCursor cursor);
+}
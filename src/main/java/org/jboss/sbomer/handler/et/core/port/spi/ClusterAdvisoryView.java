@@ -0,0 +1,90 @@
+package org.jboss.sbomer.handler.et.core.port.spi;
+
+import java.util.Optional;
+
+import org.jboss.sbomer.handler.et.core.domain.advisory.AdvisoryState;
+import org.jboss.sbomer.handler.et.core.domain.exception.AdvisoryClaimedException;
+
+/**
+ * <p>
+ * View of the advisories processed by all replicas of the handler.
+ * </p>
+ *
+ * <p>
+ * With several replicas, triggers of the same advisory (e.g. a UMB event and a
+ * REST re-trigger) can reach different replicas. Replicas claim an advisory
+ * before processing it, so that only one of them processes it at a time, and
+ * share the state they processed, so that the others answer re-triggers of an
+ * unchanged advisory without requesting the same generations again.
+ * </p>
+ */
+public interface ClusterAdvisoryView {
+
+    /**
+     * Finds the last state of the given advisory processed by any replica.
+     *
+     * @param advisoryId The advisory ID.
+     * @return The last processed state or empty if no replica processed the
+     *         advisory yet. The generation request of the state only has its ID
+     *         and advisory ID.
+     */
+    public Optional<AdvisoryState> find(String advisoryId);
+
+    /**
+     * Claims the processing of the given advisory for this replica, waiting
+     * while another replica holds a claim on it. Once it returns, {@link #find}
+     * reflects the state processed by the previous holder.
+     *
+     * @param advisoryId The advisory ID.
+     * @throws AdvisoryClaimedException If another replica still holds its claim
+     *         once the claim wait is over.
+     * @throws InterruptedException If interrupted while waiting.
+     */
+    public void claim(String advisoryId) throws InterruptedException;
+
+    /**
+     * Shares the processed state of an advisory with the other replicas.
+     *
+     * @param state The processed state.
+     */
+    public void processed(AdvisoryState state);
+
+    /**
+     * Releases the claim of this replica on the given advisory, if any.
+     *
+     * @param advisoryId The advisory ID.
+     */
+    public void release(String advisoryId);
+
+    /**
+     * @return {@code true} if the view is shared with the other replicas,
+     *         {@code false} if it only knows this replica.
+     */
+    public default boolean isShared() {
+        return false;
+    }
+
+    /**
+     * @return A view of a single replica, which does not share anything.
+     */
+    public static ClusterAdvisoryView none() {
+        return new ClusterAdvisoryView() {
+            @Override
+            public Optional<AdvisoryState> find(String advisoryId) {
+                return Optional.empty();
+            }
+
+            @Override
+            public void claim(String advisoryId) {
+            }
+
+            @Override
+            public void processed(AdvisoryState state) {
+            }
+
+            @Override
+            public void release(String advisoryId) {
+            }
+        };
+    }
+}
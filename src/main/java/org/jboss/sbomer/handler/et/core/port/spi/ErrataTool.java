@@ -1,9 +1,15 @@
 package org.jboss.sbomer.handler.et.core.port.spi;
 
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 import org.jboss.sbomer.handler.et.core.domain.advisory.Advisory;
+import org.jboss.sbomer.handler.et.core.domain.advisory.AdvisoryChange;
+import org.jboss.sbomer.handler.et.core.domain.advisory.AdvisoryLookup;
 import org.jboss.sbomer.handler.et.core.domain.advisory.Build;
+import org.jboss.sbomer.handler.et.core.domain.advisory.BuildPage;
+import org.jboss.sbomer.handler.et.core.domain.advisory.ChangeCursor;
 
 /**
  * <p>
@@ -24,4 +30,62 @@ public interface ErrataTool {
      */
     public List<Build> fetchBuilds(String advisoryId);
 
+    /**
+     * Obtains one page of the builds attached to the given advisory, so that
+     * advisories with many builds are never fully held in memory. Pages of the
+     * same advisory must list the builds in the same order.
+     * 
+     * Implementations must query Errata Tool for the page only, not fetch all
+     * builds to return a part of them.
+     * 
+     * @param advisoryId The integer-based advisory ID.
+     * @param offset The index of the first build of the page.
+     * @param limit The maximum number of builds of the page.
+     * @return At most {@code limit} builds, fewer once the last build was
+     *         returned.
+     */
+    public BuildPage fetchBuildsPage(String advisoryId, int offset, int limit);
+
+    /**
+     * Obtains information about several advisories in one bulk query.
+     * 
+     * Implementations must send a single query to Errata Tool, not one per
+     * advisory. An advisory that cannot be looked up (e.g. it was not found)
+     * fails on its own, without failing the others.
+     * 
+     * @param advisoryIds The integer-based advisory IDs.
+     * @return The lookup of every advisory by its ID.
+     */
+    public Map<String, AdvisoryLookup> getInfoBatch(Set<String> advisoryIds);
+
+    /**
+     * Lists the advisories updated after the cursor, in the order of the
+     * cursor: by update time, then by advisory ID.
+     * 
+     * Errata Tool is queried for the advisories updated since the time of the
+     * cursor. Advisories updated at that time which are not after the cursor
+     * are left out, so that a page ending within advisories updated at the
+     * same time is continued without gaps or repeats.
+     * 
+     * The default implementation fails, for Errata Tool clients which cannot
+     * list changed advisories (see {@link #supportsChanges()}).
+     * 
+     * @param after The cursor, usually after the last change of the previous
+     *        page.
+     * @param limit The maximum number of changes returned.
+     * @return The changes, at most {@code limit}. Fewer once no more advisories
+     *         were updated.
+     */
+    public default List<AdvisoryChange> fetchChanges(ChangeCursor after, int limit) {
+        throw new UnsupportedOperationException("Listing changed advisories is not supported");
+    }
+
+    /**
+     * @return {@code true} if {@link #fetchChanges(ChangeCursor, int)} is
+     *         implemented, which the reconciler needs to find missed status
+     *         changes.
+     */
+    public default boolean supportsChanges() {
+        return false;
+    }
 }
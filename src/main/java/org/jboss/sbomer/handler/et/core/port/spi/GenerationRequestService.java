@@ -1,5 +1,8 @@
 package org.jboss.sbomer.handler.et.core.port.spi;
 
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+
 import org.jboss.sbomer.handler.et.core.domain.generation.GenerationRequest;
 
 /**
@@ -15,4 +18,15 @@ import org.jboss.sbomer.handler.et.core.domain.generation.GenerationRequest;
  */
 public interface GenerationRequestService {
     public void requestGenerations(GenerationRequest generationRequest);
+
+    /**
+     * Waits for the generation requests issued so far to be confirmed.
+     * 
+     * @return A stage completed once all generation requests issued before the
+     *         call were confirmed, or completed exceptionally if any of them
+     *         failed.
+     */
+    public default CompletionStage<Void> flush() {
+        return CompletableFuture.completedFuture(null);
+    }
 }
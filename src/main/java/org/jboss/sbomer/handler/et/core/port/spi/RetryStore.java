@@ -0,0 +1,42 @@
+package org.jboss.sbomer.handler.et.core.port.spi;
+
+import java.util.Collection;
+import java.util.Optional;
+
+import org.jboss.sbomer.handler.et.core.domain.advisory.RetryState;
+
+/**
+ * <p>
+ * Store of the {@link RetryState} of advisories whose handling failed.
+ * </p>
+ *
+ * <p>
+ * It keeps pending retries and dead letters across restarts.
+ * </p>
+ */
+public interface RetryStore {
+    /**
+     * @param advisoryId The advisory ID.
+     * @return The retry state of the advisory, or empty if it did not fail.
+     */
+    public Optional<RetryState> find(String advisoryId);
+
+    /**
+     * @return The retry states of all advisories.
+     */
+    public Collection<RetryState> findAll();
+
+    /**
+     * Stores the retry state, replacing any previous state of the advisory.
+     *
+     * @param state The state to store.
+     */
+    public void save(RetryState state);
+
+    /**
+     * Removes the retry state of the advisory, e.g. once it succeeded.
+     *
+     * @param advisoryId The advisory ID.
+     */
+    public void remove(String advisoryId);
+}
@@ -0,0 +1,255 @@
+package org.jboss.sbomer.handler.et.core.service;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.jboss.sbomer.handler.et.core.domain.advisory.AdvisoryChange;
+import org.jboss.sbomer.handler.et.core.domain.advisory.AdvisoryState;
+import org.jboss.sbomer.handler.et.core.domain.advisory.ChangeCursor;
+import org.jboss.sbomer.handler.et.core.domain.advisory.Trigger;
+import org.jboss.sbomer.handler.et.core.port.api.AdvisoryHandler;
+import org.jboss.sbomer.handler.et.core.port.spi.AdvisoryStateStore;
+import org.jboss.sbomer.handler.et.core.port.spi.ChangeCursorStore;
+import org.jboss.sbomer.handler.et.core.port.spi.ClusterAdvisoryView;
+import org.jboss.sbomer.handler.et.core.port.spi.ErrataTool;
+import org.jboss.sbomer.handler.et.core.port.spi.RetryStore;
+import org.jboss.sbomer.handler.et.core.utility.NamedThreadFactory;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.quarkus.runtime.Startup;
+import jakarta.annotation.PreDestroy;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * <p>
+ * Fallback for UMB: polls Errata Tool for the advisories changed since the last
+ * run, and handles those whose status change was missed, e.g. while the AMQP
+ * connection was down.
+ * </p>
+ *
+ * <p>
+ * Changes are read incrementally from a {@link ChangeCursor}, a page at a time,
+ * and the cursor is stored after every page, so that a run continues where the
+ * previous one (or the previous process) stopped. Each run re-reads the
+ * overlap before the cursor, for changes Errata Tool reports late. Without a
+ * stored cursor, the reconciliation starts at the lookback.
+ * </p>
+ *
+ * <p>
+ * A change is missed if the advisory changed to a relevant status which is not
+ * the last status processed by this or another replica, or was last processed
+ * before the change (e.g. a respin back to the same status). Advisories waiting
+ * for a retry or dead-lettered are left to the {@link AdvisoryRetrier}. Missed
+ * advisories are handled one at a time, at most {@code rate} per second, and
+ * go through the {@link AdvisoryScheduler} like any other trigger.
+ * </p>
+ *
+ * <p>
+ * Every replica reconciles, so the reconciler only runs with a
+ * {@link ClusterAdvisoryView} shared between the replicas, through which they
+ * see what the others processed. Without it, every replica would handle the
+ * changes processed by the others again. It also refuses to run against an
+ * Errata Tool client which cannot list changed advisories.
+ * </p>
+ */
+@ApplicationScoped
+@Startup
+@Slf4j
+public class AdvisoryReconciler {
+
+    private final boolean enabled;
+    private final int pageSize;
+    private final int maxPages;
+    private final long pauseNanos;
+    private final Duration overlap;
+    private final Set<String> statuses;
+    private final ErrataTool errataTool;
+    private final AdvisoryStateStore stateStore;
+    private final ClusterAdvisoryView clusterView;
+    private final RetryStore retryStore;
+    private final ChangeCursorStore cursorStore;
+    private final AdvisoryHandler advisoryHandler;
+    private final ScheduledExecutorService executor;
+    private final Counter changes;
+    private final Counter missed;
+
+    private volatile ChangeCursor cursor;
+    private long nextHandleAt;
+
+    @Inject
+    public AdvisoryReconciler(
+            @ConfigProperty(name = "sbomer.reconciler.enabled", defaultValue = "false") boolean enabled,
+            @ConfigProperty(name = "sbomer.reconciler.interval", defaultValue = "PT5M") Duration interval,
+            @ConfigProperty(name = "sbomer.reconciler.page-size", defaultValue = "100") int pageSize,
+            @ConfigProperty(name = "sbomer.reconciler.max-pages", defaultValue = "20") int maxPages,
+            @ConfigProperty(name = "sbomer.reconciler.rate", defaultValue = "1") double rate,
+            @ConfigProperty(name = "sbomer.reconciler.lookback", defaultValue = "PT24H") Duration lookback,
+            @ConfigProperty(name = "sbomer.reconciler.overlap", defaultValue = "PT2M") Duration overlap,
+            @ConfigProperty(name = "sbomer.reconciler.statuses", defaultValue = "QE,SHIPPED_LIVE") List<String> statuses,
+            ErrataTool errataTool, AdvisoryStateStore stateStore, ClusterAdvisoryView clusterView,
+            RetryStore retryStore, ChangeCursorStore cursorStore, AdvisoryHandler advisoryHandler,
+            MeterRegistry registry) {
+        if (pageSize <= 0 || maxPages <= 0 || rate <= 0) {
+            throw new IllegalArgumentException("page-size, max-pages and rate of the reconciler must be positive");
+        }
+        if (enabled && !clusterView.isShared()) {
+            throw new IllegalStateException(
+                    "The reconciler needs the cluster-wide advisory view, enable sbomer.cluster-dedup");
+        }
+        if (enabled && !errataTool.supportsChanges()) {
+            throw new IllegalStateException(
+                    "The reconciler needs an Errata Tool client which lists changed advisories");
+        }
+        this.enabled = enabled;
+        this.pageSize = pageSize;
+        this.maxPages = maxPages;
+        this.pauseNanos = (long) (TimeUnit.SECONDS.toNanos(1) / rate);
+        this.overlap = overlap;
+        this.statuses = Set.copyOf(statuses);
+        this.errataTool = errataTool;
+        this.stateStore = stateStore;
+        this.clusterView = clusterView;
+        this.retryStore = retryStore;
+        this.cursorStore = cursorStore;
+        this.advisoryHandler = advisoryHandler;
+        this.executor = Executors.newSingleThreadScheduledExecutor(new NamedThreadFactory("advisory-reconciler"));
+        this.nextHandleAt = System.nanoTime();
+        this.cursor = cursorStore.load()
+                .orElseGet(() -> ChangeCursor.at(System.currentTimeMillis() - lookback.toMillis()));
+
+        this.changes = Counter.builder("sbomer.reconciler.changes")
+                .description("Advisory changes read from Errata Tool")
+                .register(registry);
+        this.missed = Counter.builder("sbomer.reconciler.missed")
+                .description("Advisory status changes which were missed and handled by the reconciler")
+                .register(registry);
+        Gauge.builder("sbomer.reconciler.cursor-age", this,
+                r -> (System.currentTimeMillis() - r.cursor.updatedAt()) / 1000.0)
+                .description("Seconds since the last change reconciled, the lag of the reconciler")
+                .baseUnit("seconds")
+                .register(registry);
+
+        if (enabled) {
+            executor.scheduleWithFixedDelay(this::run, interval.toMillis(), interval.toMillis(),
+                    TimeUnit.MILLISECONDS);
+            log.info("Reconciling advisories changed in Errata Tool every {}, from {}", interval, cursor);
+        }
+    }
+
+    /**
+     * Reads the changes after the cursor and handles the missed ones.
+     *
+     * @return The number of missed advisories handled.
+     */
+    public synchronized int reconcile() throws InterruptedException {
+        ChangeCursor from = ChangeCursor.at(Math.max(0, cursor.updatedAt() - overlap.toMillis()));
+        int handled = 0;
+
+        for (int page = 0; page < maxPages; page++) {
+            List<AdvisoryChange> changed = errataTool.fetchChanges(from, pageSize);
+            changes.increment(changed.size());
+
+            for (AdvisoryChange change : changed) {
+                if (isMissed(change)) {
+                    handle(change);
+                    handled++;
+                }
+            }
+
+            if (changed.isEmpty()) {
+                break;
+            }
+            from = ChangeCursor.after(changed.get(changed.size() - 1));
+            // The overlap is read again, the cursor only moves forward
+            if (cursor.isBefore(changed.get(changed.size() - 1))) {
+                cursor = from;
+                cursorStore.save(cursor);
+            }
+            if (changed.size() < pageSize) {
+                break;
+            }
+        }
+
+        if (handled > 0) {
+            log.warn("Handled {} advisories whose status change was missed, reconciled up to {}", handled, cursor);
+        } else {
+            log.debug("No missed advisory status changes, reconciled up to {}", cursor);
+        }
+        return handled;
+    }
+
+    /**
+     * @return The cursor up to which the changes were reconciled.
+     */
+    public ChangeCursor cursor() {
+        return cursor;
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private void run() {
+        try {
+            reconcile();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (RuntimeException e) {
+            // Errata Tool may be down, the next run continues from the stored cursor
+            log.warn("Failed to reconcile advisory changes, retrying in the next run", e);
+        }
+    }
+
+    private boolean isMissed(AdvisoryChange change) {
+        if (!statuses.contains(change.status()) || retryStore.find(change.advisoryId()).isPresent()) {
+            return false;
+        }
+
+        return lastState(change.advisoryId())
+                .map(state -> !state.status().equals(change.status()) || state.processedAt() < change.updatedAt())
+                .orElse(true);
+    }
+
+    /**
+     * @return The most recent state of the advisory processed by this or another
+     *         replica.
+     */
+    private Optional<AdvisoryState> lastState(String advisoryId) {
+        Optional<AdvisoryState> local = stateStore.find(advisoryId);
+        Optional<AdvisoryState> shared = clusterView.find(advisoryId);
+        if (local.isEmpty() || shared.isEmpty()) {
+            return local.isPresent() ? local : shared;
+        }
+        return local.get().processedAt() >= shared.get().processedAt() ? local : shared;
+    }
+
+    private void handle(AdvisoryChange change) throws InterruptedException {
+        // Spread the missed advisories, they may be many after a long outage
+        long wait = nextHandleAt - System.nanoTime();
+        if (wait > 0) {
+            TimeUnit.NANOSECONDS.sleep(wait);
+        }
+        nextHandleAt = System.nanoTime() + pauseNanos;
+
+        log.info("Advisory '{}' changed to {} without a UMB message, handling it", change.advisoryId(),
+                change.status());
+        missed.increment();
+        try {
+            advisoryHandler.requestGenerations(change.advisoryId(), false, Trigger.reconcile(change.status(), change.updatedAt()));
+        } catch (RuntimeException e) {
+            // Recorded as a failure, which schedules a retry
+            log.debug("Reconciliation of advisory '{}' failed", change.advisoryId(), e);
+        }
+    }
+}
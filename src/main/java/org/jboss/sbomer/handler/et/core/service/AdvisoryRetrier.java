@@ -0,0 +1,342 @@
+package org.jboss.sbomer.handler.et.core.service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.jboss.sbomer.handler.et.core.domain.advisory.RetryState;
+import org.jboss.sbomer.handler.et.core.domain.advisory.Trigger;
+import org.jboss.sbomer.handler.et.core.domain.exception.AdvisoryProcessingException;
+import org.jboss.sbomer.handler.et.core.port.api.AdvisoryHandler;
+import org.jboss.sbomer.handler.et.core.port.api.DeadLetterHandler;
+import org.jboss.sbomer.handler.et.core.port.spi.RetryStore;
+import org.jboss.sbomer.handler.et.core.utility.HashedTimerWheel;
+import org.jboss.sbomer.handler.et.core.utility.HashedTimerWheel.Timeout;
+import org.jboss.sbomer.handler.et.core.utility.NamedThreadFactory;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.quarkus.runtime.Startup;
+import jakarta.annotation.PreDestroy;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * <p>
+ * Retries advisories whose handling failed, e.g. because Errata Tool was
+ * briefly unavailable.
+ * </p>
+ *
+ * <p>
+ * Each failure of an advisory schedules the next attempt after an exponential
+ * backoff with jitter: the delay doubles with every attempt up to the maximum,
+ * and a random half of it is added, so that advisories which failed together
+ * are not retried together. Attempts are counted per advisory, across
+ * triggers; once the budget is exhausted the advisory becomes a dead letter,
+ * which is kept until replayed. A success clears the state of the advisory.
+ * </p>
+ *
+ * <p>
+ * Retries carry the status reported by the failed trigger, so that they keep
+ * its priority class and can confirm a last known status served while Errata
+ * Tool is unavailable. An advisory claimed by another replica is retried
+ * later too, without using its attempt budget.
+ * </p>
+ *
+ * <p>
+ * Pending retries are kept in a {@link HashedTimerWheel}, which stays cheap
+ * with a large backlog, and in the {@link RetryStore}, so that they survive
+ * restarts. Retries overdue after a restart are spread over the initial
+ * delay. Retries run on a small pool and go through the
+ * {@link AdvisoryScheduler} like any other trigger.
+ * </p>
+ *
+ * <p>
+ * Failures, successes and replays update the stored state one at a time, so
+ * that concurrent triggers of an advisory do not lose attempts.
+ * </p>
+ */
+@ApplicationScoped
+@Startup
+@Slf4j
+public class AdvisoryRetrier implements DeadLetterHandler {
+
+    private final boolean enabled;
+    private final int maxAttempts;
+    private final Duration initialDelay;
+    private final Duration maxDelay;
+    private final RetryStore store;
+    private final AdvisoryHandler advisoryHandler;
+    private final ExecutorService executor;
+    private final HashedTimerWheel wheel;
+    private final Map<String, Timeout> scheduled = new ConcurrentHashMap<>();
+    private final Counter retries;
+    private final Counter deadLettered;
+
+    @Inject
+    public AdvisoryRetrier(
+            @ConfigProperty(name = "sbomer.retry.enabled", defaultValue = "true") boolean enabled,
+            @ConfigProperty(name = "sbomer.retry.max-attempts", defaultValue = "6") int maxAttempts,
+            @ConfigProperty(name = "sbomer.retry.initial-delay", defaultValue = "PT30S") Duration initialDelay,
+            @ConfigProperty(name = "sbomer.retry.max-delay", defaultValue = "PT1H") Duration maxDelay,
+            @ConfigProperty(name = "sbomer.retry.parallelism", defaultValue = "2") int parallelism,
+            @ConfigProperty(name = "sbomer.retry.tick", defaultValue = "PT1S") Duration tick,
+            RetryStore store, AdvisoryHandler advisoryHandler, MeterRegistry registry) {
+        this.enabled = enabled;
+        this.maxAttempts = maxAttempts;
+        this.initialDelay = initialDelay;
+        this.maxDelay = maxDelay;
+        this.store = store;
+        this.advisoryHandler = advisoryHandler;
+        this.executor = Executors.newFixedThreadPool(parallelism, new NamedThreadFactory("advisory-retry"));
+        this.wheel = new HashedTimerWheel(tick, 512, executor, new NamedThreadFactory("advisory-retry-timer"));
+
+        this.retries = Counter.builder("sbomer.retry.scheduled")
+                .description("Retries of failed advisories scheduled")
+                .register(registry);
+        this.deadLettered = Counter.builder("sbomer.retry.dead-lettered")
+                .description("Advisories which exhausted their retry attempts")
+                .register(registry);
+        Gauge.builder("sbomer.retry.pending", scheduled, Map::size)
+                .description("Advisories waiting to be retried")
+                .register(registry);
+        Gauge.builder("sbomer.retry.dead-letters", this, r -> r.deadLetters().size())
+                .description("Advisories which exhausted their retry attempts and were not replayed")
+                .register(registry);
+
+        if (enabled) {
+            resume();
+        } else {
+            log.info("Retries of failed advisories are disabled");
+        }
+    }
+
+    /**
+     * Records a failed attempt of the advisory and schedules the next one, or
+     * dead-letters the advisory if its attempt budget is exhausted.
+     *
+     * @param status The status reported by the failed trigger, {@code null} if
+     *        none.
+     */
+    public synchronized void failed(String advisoryId, boolean force, String status, Exception failure) {
+        if (!enabled) {
+            return;
+        }
+
+        long now = System.currentTimeMillis();
+        Optional<RetryState> previous = store.find(advisoryId);
+        String retryStatus = status != null ? status : previous.map(RetryState::status).orElse(null);
+        if (previous.isPresent() && previous.get().deadLetter()) {
+            // A new trigger of a dead letter failed too, keep it until replayed
+            store.save(new RetryState(advisoryId, force || previous.get().force(), retryStatus,
+                    previous.get().attempts() + 1, previous.get().firstFailedAt(), now, describe(failure), 0, true));
+            return;
+        }
+
+        int attempts = previous.map(RetryState::attempts).orElse(0) + 1;
+        long firstFailedAt = previous.map(RetryState::firstFailedAt).orElse(now);
+        boolean forced = force || previous.map(RetryState::force).orElse(false);
+
+        if (attempts >= maxAttempts) {
+            log.error("Advisory '{}' failed {} times, giving up and dead-lettering it", advisoryId, attempts);
+            store.save(new RetryState(advisoryId, forced, retryStatus, attempts, firstFailedAt, now,
+                    describe(failure), 0, true));
+            cancel(advisoryId);
+            deadLettered.increment();
+            return;
+        }
+
+        Duration delay = backoff(attempts);
+        log.warn("Advisory '{}' failed (attempt {} of {}), retrying in {}", advisoryId, attempts, maxAttempts, delay);
+        store.save(new RetryState(advisoryId, forced, retryStatus, attempts, firstFailedAt, now, describe(failure),
+                now + delay.toMillis(), false));
+        schedule(advisoryId, delay);
+        retries.increment();
+    }
+
+    /**
+     * Schedules another attempt of an advisory claimed by another replica,
+     * after the initial delay, without counting it as a failed attempt.
+     *
+     * @param status The status reported by the trigger, {@code null} if none.
+     */
+    public synchronized void postpone(String advisoryId, boolean force, String status, Exception failure) {
+        if (!enabled) {
+            return;
+        }
+
+        long now = System.currentTimeMillis();
+        Optional<RetryState> previous = store.find(advisoryId);
+        if (previous.isPresent() && previous.get().deadLetter()) {
+            // Kept until replayed, the other replica handles this trigger
+            return;
+        }
+
+        Duration delay = backoff(1);
+        log.info("Advisory '{}' is claimed by another replica, trying again in {}", advisoryId, delay);
+        store.save(new RetryState(advisoryId, force || previous.map(RetryState::force).orElse(false),
+                status != null ? status : previous.map(RetryState::status).orElse(null),
+                previous.map(RetryState::attempts).orElse(0), previous.map(RetryState::firstFailedAt).orElse(now),
+                now, describe(failure), now + delay.toMillis(), false));
+        schedule(advisoryId, delay);
+        retries.increment();
+    }
+
+    /**
+     * Clears the retry state of an advisory which was handled successfully.
+     */
+    public void succeeded(String advisoryId) {
+        if (!enabled || store.find(advisoryId).isEmpty()) {
+            return;
+        }
+
+        synchronized (this) {
+            if (store.find(advisoryId).isEmpty()) {
+                return;
+            }
+
+            log.info("Advisory '{}' handled successfully after failures", advisoryId);
+            cancel(advisoryId);
+            store.remove(advisoryId);
+        }
+    }
+
+    @Override
+    public List<RetryState> deadLetters() {
+        List<RetryState> deadLetters = new ArrayList<>();
+        for (RetryState state : store.findAll()) {
+            if (state.deadLetter()) {
+                deadLetters.add(state);
+            }
+        }
+        deadLetters.sort(Comparator.comparingLong(RetryState::lastFailedAt).reversed());
+        return deadLetters;
+    }
+
+    /**
+     * Schedules the dead-lettered advisories to be handled again with a fresh
+     * attempt budget. The attempts are spread over the initial delay, so that a
+     * bulk replay does not hit Errata Tool at once.
+     */
+    @Override
+    public synchronized List<String> replay(Collection<String> advisoryIds) {
+        List<String> replayed = new ArrayList<>();
+        if (!enabled) {
+            return replayed;
+        }
+
+        long now = System.currentTimeMillis();
+        for (RetryState state : deadLetters()) {
+            if (!advisoryIds.isEmpty() && !advisoryIds.contains(state.advisoryId())) {
+                continue;
+            }
+
+            Duration delay = spread(initialDelay);
+            store.save(new RetryState(state.advisoryId(), state.force(), state.status(), 0, now, now,
+                    state.lastError(), now + delay.toMillis(), false));
+            schedule(state.advisoryId(), delay);
+            replayed.add(state.advisoryId());
+        }
+
+        log.info("Replaying {} dead-lettered advisories", replayed.size());
+        return replayed;
+    }
+
+    @PreDestroy
+    void shutdown() {
+        wheel.close();
+        executor.shutdownNow();
+    }
+
+    /**
+     * Schedules the pending retries of the store, e.g. after a restart.
+     */
+    private void resume() {
+        long now = System.currentTimeMillis();
+        int resumed = 0;
+
+        for (RetryState state : store.findAll()) {
+            if (state.deadLetter()) {
+                continue;
+            }
+
+            long remaining = state.nextAttemptAt() - now;
+            // Do not retry everything that got overdue while down at once
+            Duration delay = remaining > 0 ? Duration.ofMillis(remaining) : spread(initialDelay);
+            schedule(state.advisoryId(), delay);
+            resumed++;
+        }
+
+        if (resumed > 0) {
+            log.info("Resumed {} pending retries of failed advisories", resumed);
+        }
+    }
+
+    /**
+     * @return The delay before the given attempt: {@code initial * 2^(attempt - 1)},
+     *         capped at the maximum, of which a random half is added.
+     */
+    Duration backoff(int attempt) {
+        long max = maxDelay.toMillis();
+        long delay = Math.min(initialDelay.toMillis(), max);
+        for (int i = 1; i < attempt && delay < max; i++) {
+            delay = Math.min(delay * 2, max);
+        }
+        return Duration.ofMillis(delay / 2 + ThreadLocalRandom.current().nextLong(delay / 2 + 1));
+    }
+
+    private static String describe(Exception failure) {
+        // The processing exception only names the advisory, the cause tells what failed
+        Throwable cause = failure instanceof AdvisoryProcessingException && failure.getCause() != null
+                ? failure.getCause()
+                : failure;
+        return cause.getClass().getSimpleName() + ": " + cause.getMessage();
+    }
+
+    private static Duration spread(Duration window) {
+        return Duration.ofMillis(ThreadLocalRandom.current().nextLong(window.toMillis() + 1));
+    }
+
+    private void schedule(String advisoryId, Duration delay) {
+        Timeout timeout = wheel.schedule(() -> retry(advisoryId), delay);
+        Timeout previous = scheduled.put(advisoryId, timeout);
+        if (previous != null) {
+            previous.cancel();
+        }
+    }
+
+    private void cancel(String advisoryId) {
+        Timeout timeout = scheduled.remove(advisoryId);
+        if (timeout != null) {
+            timeout.cancel();
+        }
+    }
+
+    private void retry(String advisoryId) {
+        Optional<RetryState> state = store.find(advisoryId);
+        scheduled.remove(advisoryId);
+        if (state.isEmpty() || state.get().deadLetter()) {
+            // Succeeded or dead-lettered in the meantime
+            return;
+        }
+
+        log.info("Retrying advisory '{}' (attempt {})", advisoryId, state.get().attempts() + 1);
+        try {
+            advisoryHandler.requestGenerations(advisoryId, state.get().force(), Trigger.retry(state.get().status()));
+        } catch (RuntimeException e) {
+            // Already recorded as a failure, which scheduled the next attempt
+            log.debug("Retry of advisory '{}' failed", advisoryId, e);
+        }
+    }
+}
@@ -0,0 +1,254 @@
+package org.jboss.sbomer.handler.et.core.service;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.jboss.sbomer.handler.et.core.domain.advisory.Trigger;
+import org.jboss.sbomer.handler.et.core.domain.exception.AdmissionRejectedException;
+import org.jboss.sbomer.handler.et.core.domain.exception.AdvisoryProcessingException;
+import org.jboss.sbomer.handler.et.core.utility.DecayingRate;
+import org.jboss.sbomer.handler.et.core.utility.WeightedFairGate;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * <p>
+ * Schedules the handling of advisories by priority class.
+ * </p>
+ *
+ * <p>
+ * At most {@code max-concurrent} advisories are handled at once. When more are
+ * triggered, they wait and are let in by weighted fair sharing between the
+ * classes, with aging so that no class starves (see {@link WeightedFairGate}).
+ * The class of an advisory is chosen by the routes, from the trigger source and
+ * the reported status, e.g. {@code umb:SHIPPED_LIVE=release}.
+ * </p>
+ *
+ * <p>
+ * The queue is bounded: triggers of rejecting sources are refused with an
+ * {@link AdmissionRejectedException} when too many advisories are waiting.
+ * </p>
+ */
+@ApplicationScoped
+@Slf4j
+public class AdvisoryScheduler {
+
+    private final boolean enabled;
+    private final String defaultClass;
+    private final Map<String, String> routes = new HashMap<>();
+    private final Map<String, Timer> queueTimes = new HashMap<>();
+    private final WeightedFairGate gate;
+    private final int maxConcurrent;
+    private final int maxQueued;
+    private final Duration maxWait;
+    private final Duration defaultServiceTime;
+    private final Set<String> rejectingSources;
+    // Rate at which advisories finish, used to estimate waiting times
+    private final DecayingRate drainRate = new DecayingRate(TimeUnit.SECONDS.toNanos(30));
+    private final Counter rejected;
+    // Advisories being handled, whether the scheduler is enabled or not
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    @Inject
+    public AdvisoryScheduler(
+            @ConfigProperty(name = "sbomer.scheduler.enabled", defaultValue = "true") boolean enabled,
+            @ConfigProperty(name = "sbomer.scheduler.max-concurrent", defaultValue = "8") int maxConcurrent,
+            @ConfigProperty(name = "sbomer.scheduler.aging", defaultValue = "PT30S") Duration aging,
+            @ConfigProperty(name = "sbomer.scheduler.classes", defaultValue = "release:8,qe:2,manual:1") List<String> classes,
+            @ConfigProperty(name = "sbomer.scheduler.default-class", defaultValue = "manual") String defaultClass,
+            @ConfigProperty(name = "sbomer.scheduler.routes", defaultValue = "umb:SHIPPED_LIVE=release,umb:QE=qe,retry:SHIPPED_LIVE=release,retry:QE=qe") List<String> routes,
+            @ConfigProperty(name = "sbomer.scheduler.admission.max-queued", defaultValue = "100") int maxQueued,
+            @ConfigProperty(name = "sbomer.scheduler.admission.max-wait", defaultValue = "PT1M") Duration maxWait,
+            @ConfigProperty(name = "sbomer.scheduler.admission.default-service-time", defaultValue = "PT10S") Duration defaultServiceTime,
+            @ConfigProperty(name = "sbomer.scheduler.admission.rejecting-sources", defaultValue = Trigger.SOURCE_REST) List<String> rejectingSources,
+            MeterRegistry registry) {
+        this.enabled = enabled;
+        this.defaultClass = defaultClass;
+        this.maxConcurrent = maxConcurrent;
+        this.maxQueued = maxQueued;
+        this.maxWait = maxWait;
+        this.defaultServiceTime = defaultServiceTime;
+        this.rejectingSources = Set.copyOf(rejectingSources);
+
+        Map<String, Double> weights = new LinkedHashMap<>();
+        for (String entry : classes) {
+            String[] parts = entry.trim().split(":");
+            if (parts.length != 2) {
+                throw new IllegalArgumentException("Invalid scheduler class '" + entry + "', expected <name>:<weight>");
+            }
+            weights.put(parts[0], Double.parseDouble(parts[1]));
+        }
+        if (!weights.containsKey(defaultClass)) {
+            throw new IllegalArgumentException("Default scheduler class '" + defaultClass + "' is not defined");
+        }
+
+        for (String entry : routes) {
+            String[] parts = entry.trim().split("=");
+            if (parts.length != 2 || !weights.containsKey(parts[1])) {
+                throw new IllegalArgumentException(
+                        "Invalid scheduler route '" + entry + "', expected <source>[:<status>]=<class>");
+            }
+            this.routes.put(parts[0], parts[1]);
+        }
+
+        this.gate = new WeightedFairGate(maxConcurrent, aging, weights);
+
+        for (String className : weights.keySet()) {
+            queueTimes.put(className, Timer.builder("sbomer.scheduler.queue-time")
+                    .description("Time advisories waited to be handled")
+                    .tag("class", className)
+                    .register(registry));
+            Gauge.builder("sbomer.scheduler.waiting", gate, g -> g.waiting(className))
+                    .description("Advisories waiting to be handled")
+                    .tag("class", className)
+                    .register(registry);
+        }
+
+        // Work-based signals for the autoscaler, see the chart's autoscaling values
+        Gauge.builder("sbomer.advisories.in-flight", inFlight, AtomicInteger::get)
+                .description("Advisories being handled")
+                .register(registry);
+        Gauge.builder("sbomer.advisories.queued", gate, WeightedFairGate::waiting)
+                .description("Advisories waiting to be handled, in all classes")
+                .register(registry);
+
+        this.rejected = Counter.builder("sbomer.scheduler.rejected")
+                .description("Triggers rejected because too many advisories were waiting")
+                .register(registry);
+
+        log.info("Advisory scheduler enabled: {}, max concurrent: {}, classes: {}, routes: {}", enabled,
+                maxConcurrent, weights, this.routes);
+    }
+
+    /**
+     * Runs the task once a slot is available for the class of the trigger.
+     *
+     * @param trigger What triggered the task.
+     * @param task The task.
+     * @return The result of the task.
+     */
+    public <T> T run(Trigger trigger, Supplier<T> task) {
+        if (!enabled) {
+            return handle(task);
+        }
+
+        String className = classify(trigger);
+        if (rejectingSources.contains(trigger.source())) {
+            reject(trigger, 0);
+        }
+
+        try {
+            long waited = gate.acquire(className);
+            queueTimes.get(className).record(waited, TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new AdvisoryProcessingException("Interrupted while waiting to be scheduled", e);
+        }
+
+        try {
+            return handle(task);
+        } finally {
+            gate.release();
+            drainRate.record();
+        }
+    }
+
+    private <T> T handle(Supplier<T> task) {
+        inFlight.incrementAndGet();
+        try {
+            return task.get();
+        } finally {
+            inFlight.decrementAndGet();
+        }
+    }
+
+    /**
+     * <p>
+     * Rejects the trigger if the queue is over the depth threshold, or if the
+     * trigger would wait longer than the wait threshold at the current drain
+     * rate.
+     * </p>
+     *
+     * <p>
+     * Only triggers of sources which can retry later (e.g. REST clients) are
+     * rejected, other triggers (e.g. UMB) wait, which stops the intake of
+     * messages.
+     * </p>
+     */
+    private void reject(Trigger trigger, int waiting) {
+        int queued = gate.waiting() + waiting;
+        if (queued == 0) {
+            return;
+        }
+
+        Duration estimatedWait = estimateWait(queued + 1);
+        if (queued < maxQueued && estimatedWait.compareTo(maxWait) <= 0) {
+            return;
+        }
+
+        rejected.increment();
+        log.warn("Rejecting {} trigger, {} advisories waiting, estimated wait {}", trigger.source(), queued,
+                estimatedWait);
+        throw new AdmissionRejectedException("Too many advisories are waiting to be handled, retry later",
+                estimatedWait);
+    }
+
+    /**
+     * Rejects the trigger like a trigger of a rejecting source, for adapters
+     * which accept triggers to handle them later, before they reach the
+     * scheduler.
+     *
+     * @param trigger What will trigger the task.
+     * @param waiting Triggers accepted by the caller but not run yet, counted as
+     *        waiting.
+     * @throws AdmissionRejectedException If too many advisories are waiting.
+     */
+    public void admit(Trigger trigger, int waiting) {
+        if (enabled) {
+            reject(trigger, waiting);
+        }
+    }
+
+    /**
+     * @return The time until the given number of waiting advisories are let in
+     *         at the current drain rate. Without a recent drain sample, e.g.
+     *         after start or an idle period, each round of {@code max-concurrent}
+     *         advisories is assumed to take the default service time.
+     */
+    Duration estimateWait(int queued) {
+        double perSecond = drainRate.perSecond();
+        if (!drainRate.isRecent() || perSecond <= 0) {
+            long rounds = (queued + maxConcurrent - 1) / maxConcurrent;
+            return defaultServiceTime.multipliedBy(rounds);
+        }
+        return Duration.ofMillis((long) Math.ceil(queued / perSecond * 1000));
+    }
+
+    /**
+     * @return The class of the trigger, given by the most specific matching
+     *         route, or the default class.
+     */
+    String classify(Trigger trigger) {
+        for (String key : trigger.keys()) {
+            String className = routes.get(key);
+            if (className != null) {
+                return className;
+            }
+        }
+        return defaultClass;
+    }
+}
@@ -1,24 +1,45 @@
 package org.jboss.sbomer.handler.et.core.service;
 
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import org.eclipse.microprofile.config.inject.ConfigProperty;
 import org.jboss.sbomer.events.common.FailureSpec;
 import org.jboss.sbomer.handler.et.core.domain.advisory.Advisory;
+import org.jboss.sbomer.handler.et.core.domain.advisory.AdvisoryState;
 import org.jboss.sbomer.handler.et.core.domain.advisory.Build;
+import org.jboss.sbomer.handler.et.core.domain.advisory.BuildSetHash;
+import org.jboss.sbomer.handler.et.core.domain.advisory.Trigger;
 import org.jboss.sbomer.handler.et.core.domain.exception.AdvisoryProcessingException;
+import org.jboss.sbomer.handler.et.core.domain.exception.AdvisoryClaimedException;
+import org.jboss.sbomer.handler.et.core.domain.exception.StaleAdvisoryException;
 import org.jboss.sbomer.handler.et.core.domain.generation.Generation;
 import org.jboss.sbomer.handler.et.core.domain.generation.GenerationRequest;
+import org.jboss.sbomer.handler.et.core.domain.generation.GenerationTarget;
 import org.jboss.sbomer.handler.et.core.domain.publish.Publisher;
 import org.jboss.sbomer.handler.et.core.port.api.AdvisoryHandler;
+import org.jboss.sbomer.handler.et.core.port.spi.AdvisoryStateStore;
+import org.jboss.sbomer.handler.et.core.port.spi.ClusterAdvisoryView;
 import org.jboss.sbomer.handler.et.core.port.spi.ErrataTool;
 import org.jboss.sbomer.handler.et.core.port.spi.FailureNotifier;
 import org.jboss.sbomer.handler.et.core.port.spi.GenerationRequestService;
 import org.jboss.sbomer.handler.et.core.port.spi.Koji;
+import org.jboss.sbomer.handler.et.core.utility.FailFastScope;
+import org.jboss.sbomer.handler.et.core.utility.FailFastScope.Subtask;
 import org.jboss.sbomer.handler.et.core.utility.FailureUtility;
+import org.jboss.sbomer.handler.et.core.utility.NamedThreadFactory;
+import org.jboss.sbomer.handler.et.core.utility.SingleFlight;
+import org.jboss.sbomer.handler.et.core.utility.StageContext;
+import org.jboss.sbomer.handler.et.core.utility.StageEvents;
 import org.jboss.sbomer.handler.et.core.utility.TsidUtility;
 
+import jakarta.annotation.PreDestroy;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
 import lombok.extern.slf4j.Slf4j;
@@ -26,10 +47,36 @@ import lombok.extern.slf4j.Slf4j;
 @ApplicationScoped
 @Slf4j
 public class AdvisoryService implements AdvisoryHandler {
+    /**
+     * Concurrent triggers for the same advisory (e.g. a UMB event delivered twice,
+     * or a UMB and a REST trigger) share one processing and its result.
+     */
+    private record Flight(String advisoryId, boolean force) {
+    }
+
+    /**
+     * The result of a processing, with the status the advisory was processed in.
+     */
+    private record Outcome(GenerationRequest generationRequest, String status) {
+    }
+
+    private final SingleFlight<Flight, Outcome> inFlight = new SingleFlight<>();
+
+    /**
+     * Runs the independent Errata Tool lookups of an advisory concurrently, in
+     * the stage context of the advisory.
+     */
+    private final ExecutorService fanOutExecutor = StageContext
+            .propagating(Executors.newCachedThreadPool(new NamedThreadFactory("advisory-fan-out")));
+
     ErrataTool errataTool;
     GenerationRequestService generationRequestService;
     Koji koji;
     FailureNotifier failureNotifier;
+    AdvisoryStateStore stateStore;
+    GenerationDeduplicator deduplicator;
+    GenerationTargetResolvers resolvers;
+    ClusterAdvisoryView clusterView;
 
     @ConfigProperty(name = "sbomer.publisher.atlas.build.name")
     public String ATLAS_BUILD_PUBLISHER_NAME;
@@ -39,64 +86,453 @@ public class AdvisoryService implements AdvisoryHandler {
     public String ATLAS_RELEASE_PUBLISHER_NAME;
     @ConfigProperty(name = "sbomer.publisher.atlas.release.version")
     public String ATLAS_RELEASE_PUBLISHER_VERSION;
+    /**
+     * Advisories with more builds are requested in chunks of this size, 0 disables
+     * chunking.
+     */
+    @ConfigProperty(name = "sbomer.generation.chunk-size", defaultValue = "500")
+    public int GENERATION_CHUNK_SIZE;
+    /**
+     * The longest a trigger waits for the processing of the same advisory it
+     * joined, before it fails and is retried.
+     */
+    @ConfigProperty(name = "sbomer.advisory.join-max-wait", defaultValue = "PT5M")
+    public Duration JOIN_MAX_WAIT = Duration.ofMinutes(5);
+
+    // Created on first use, racing threads create equal lists
+    private List<Publisher> buildPublishers;
+    private List<Publisher> releasePublishers;
+
+    public AdvisoryService(ErrataTool errataTool, GenerationRequestService generationRequestService, Koji koji,
+            FailureNotifier failureNotifier, AdvisoryStateStore stateStore, GenerationDeduplicator deduplicator,
+            GenerationTargetResolvers resolvers) {
+        this(errataTool, generationRequestService, koji, failureNotifier, stateStore, deduplicator, resolvers,
+                ClusterAdvisoryView.none());
+    }
 
     @Inject
-    public AdvisoryService(ErrataTool errataTool, GenerationRequestService generationRequestService, Koji koji, FailureNotifier failureNotifier) {
+    public AdvisoryService(ErrataTool errataTool, GenerationRequestService generationRequestService, Koji koji,
+            FailureNotifier failureNotifier, AdvisoryStateStore stateStore, GenerationDeduplicator deduplicator,
+            GenerationTargetResolvers resolvers, ClusterAdvisoryView clusterView) {
         this.errataTool = errataTool;
         this.generationRequestService = generationRequestService;
         this.koji = koji;
         this.failureNotifier = failureNotifier;
+        this.stateStore = stateStore;
+        this.deduplicator = deduplicator;
+        this.resolvers = resolvers;
+        this.clusterView = clusterView;
     }
 
     @Override
-    public GenerationRequest requestGenerations(String advisoryId) {
-        log.info("Handling advisory: {}...", advisoryId);
+    public GenerationRequest requestGenerations(String advisoryId, boolean force) {
+        return requestGenerations(advisoryId, force, Trigger.UNKNOWN);
+    }
+
+    @Override
+    public GenerationRequest requestGenerations(String advisoryId, boolean force, Trigger trigger) {
+        // Scheduling by trigger happened before, only its status is still of use
+        Flight flight = new Flight(advisoryId, force);
+        AtomicBoolean processed = new AtomicBoolean();
+        Outcome outcome = inFlight.execute(flight, JOIN_MAX_WAIT, () -> {
+            processed.set(true);
+            return process(advisoryId, force, trigger);
+        });
+
+        // The joined processing may have read the advisory before the change this
+        // trigger reports, a processing started after it completed did not
+        if (!processed.get() && trigger.status() != null && !trigger.status().equals(outcome.status())) {
+            log.debug("Advisory '{}' was processed in status {}, processing it again for status {}", advisoryId,
+                    outcome.status(), trigger.status());
+            outcome = inFlight.execute(flight, JOIN_MAX_WAIT, () -> process(advisoryId, force, trigger));
+        }
+        return outcome.generationRequest();
+    }
+
+    @Override
+    public CompletionStage<Void> flush() {
+        return generationRequestService.flush();
+    }
+
+    private Outcome process(String advisoryId, boolean force, Trigger trigger) {
+        log.info("Handling advisory: {}{}...", advisoryId, force ? " (forced)" : "");
+
+        // Created upfront so that a failure can be correlated with the request. Stages
+        // are attributed to it only once it is known to be used, unchanged advisories
+        // are answered with a previous request.
+        String requestId = TsidUtility.createUniqueGenerationRequestId();
+        StageContext.Scope stageContext = StageContext.open(advisoryId, null);
 
         try {
-            Advisory advisory = errataTool.getInfo(advisoryId);
+            // Other replicas may be handling the same advisory, wait for them
+            clusterView.claim(advisoryId);
+
+            // A status change which was already processed (e.g. delivered to several
+            // replicas) is answered without asking Errata Tool
+            Optional<AdvisoryState> processed = findProcessedTransition(advisoryId, trigger, force);
+            if (processed.isPresent()) {
+                StageContext.setRequestId(processed.get().generationRequest().requestId());
+                return new Outcome(processed.get().generationRequest(), processed.get().status());
+            }
+
+            // The advisory info and the attached builds are independent, fetch them
+            // concurrently and fail as soon as the info lookup fails. The builds are
+            // not needed by text-only advisories, so their lookup fails the advisory
+            // only once it is known to need them; for text-only advisories their lookup
+            // is one read of an empty page, cheaper than waiting for the info before
+            // starting it. Only the first pages of builds are read, the rest is read
+            // later if needed.
+            Advisory advisory;
+            BuildCursor builds;
+            try (FailFastScope scope = new FailFastScope(fanOutExecutor)) {
+                Subtask<Advisory> info = scope.fork(() -> errataTool.getInfo(advisoryId));
+                Subtask<BuildCursor> cursor = scope.forkLenient(() -> BuildCursor
+                        .open((offset, limit) -> errataTool.fetchBuildsPage(advisoryId, offset, limit), pageSize()));
+                scope.join();
+                scope.throwIfFailed();
+
+                advisory = info.get();
+                builds = advisory.isTextOnly() ? null : cursor.getOrThrow();
+            }
 
             log.debug("Advisory '{}' current status: {}", advisory.id(), advisory.status());
-            List<Publisher> publishers = new ArrayList<>();
-            if (advisory.status().equals("QE")) {
-                publishers.add(new Publisher(ATLAS_BUILD_PUBLISHER_NAME, ATLAS_BUILD_PUBLISHER_VERSION));
-                log.debug("Advisory '{}' is QE, adding {} publisher", advisory.id(), ATLAS_BUILD_PUBLISHER_NAME + "-" + ATLAS_BUILD_PUBLISHER_VERSION);
-            } else if (advisory.status().equals("SHIPPED_LIVE")) {
-                publishers.add(new Publisher(ATLAS_RELEASE_PUBLISHER_NAME, ATLAS_RELEASE_PUBLISHER_VERSION));
-                log.debug("Advisory '{}' is SHIPPED_LIVE, adding {} publisher", advisory.id(), ATLAS_RELEASE_PUBLISHER_NAME + "-" + ATLAS_RELEASE_PUBLISHER_VERSION);
+            if (advisory.stale()) {
+                // The last known status decides the publishers, so it is only used when the
+                // trigger confirms it, otherwise the advisory is retried later
+                if (!advisory.status().equals(trigger.status())) {
+                    throw new StaleAdvisoryException("Errata Tool is unavailable and the last known status "
+                            + advisory.status() + " of advisory '" + advisory.id()
+                            + "' is not confirmed by the trigger");
+                }
+                log.warn("Errata Tool is unavailable, using last known information of advisory '{}'",
+                        advisory.id());
             }
+            List<Publisher> publishers = publishers(advisory);
 
-            List<Generation> generations = new ArrayList<>();
+            GenerationRequest generationRequest;
 
             if (advisory.isTextOnly()) {
                 log.info("Advisory '{}' type: text-only", advisory.id());
                 // TODO: Handle text-only advisories properly
-            } else {
+                generationRequest = requestAll(requestId, advisory, publishers, List.of(), force);
+            } else if (builds.isExhausted()) {
                 log.info("Advisory '{}' type: standard", advisory.id());
-                generations.addAll(attachedBuildsToGenerationRequests(advisory.id()));
+                log.debug("Advisory '{}' has {} build(s) attached", advisory.id(), builds.head().size());
+                if (builds.isStale()) {
+                    log.warn("Errata Tool is unavailable, using last known builds of advisory '{}'", advisory.id());
+                }
+                generationRequest = requestAll(requestId, advisory, publishers, builds.head(), force);
+            } else {
+                log.info("Advisory '{}' type: standard, more than {} builds attached, requesting in chunks",
+                        advisory.id(), GENERATION_CHUNK_SIZE);
+                generationRequest = requestInChunks(requestId, advisory, publishers, builds, force);
             }
 
-            GenerationRequest generationRequest = new GenerationRequest(
-                    TsidUtility.createUniqueGenerationRequestId(),
-                    publishers,
-                    generations);
-            // request the generations
-            generationRequestService.requestGenerations(generationRequest);
-
             log.info("Advisory '{}' handled successfully", advisoryId);
-            return generationRequest;
+            return new Outcome(generationRequest, advisory.status());
 
+        } catch (AdvisoryClaimedException e) {
+            // Not a failure, the other replica handles the advisory
+            log.info("Advisory '{}' not handled: {}", advisoryId, e.getMessage());
+            throw e;
         } catch (Exception e) {
+            if (e instanceof InterruptedException) {
+                Thread.currentThread().interrupt();
+            }
             log.error("Failed to handle advisory '{}' due to an unexpected error: {}", advisoryId, e.getMessage(), e);
+            if (StageContext.current().requestId() == null) {
+                StageContext.setRequestId(requestId);
+            }
             FailureSpec failure = FailureUtility.buildFailureSpecFromException(e);
             // Notify the failure (the source is null, no source event).
-            failureNotifier.notify(failure, null, null);
+            failureNotifier.notify(failure, requestId, null);
             throw new AdvisoryProcessingException("Failed to process advisory " + advisoryId, e);
+        } finally {
+            clusterView.release(advisoryId);
+            stageContext.close();
+        }
+    }
+
+    /**
+     * @return The publishers of the generations of the advisory, given by its
+     *         status. The lists are immutable and shared by all requests.
+     */
+    private List<Publisher> publishers(Advisory advisory) {
+        switch (advisory.status()) {
+            case "QE":
+                if (buildPublishers == null) {
+                    buildPublishers = List.of(new Publisher(ATLAS_BUILD_PUBLISHER_NAME, ATLAS_BUILD_PUBLISHER_VERSION));
+                }
+                log.debug("Advisory '{}' is QE, adding {}-{} publisher", advisory.id(), ATLAS_BUILD_PUBLISHER_NAME,
+                        ATLAS_BUILD_PUBLISHER_VERSION);
+                return buildPublishers;
+            case "SHIPPED_LIVE":
+                if (releasePublishers == null) {
+                    releasePublishers = List
+                            .of(new Publisher(ATLAS_RELEASE_PUBLISHER_NAME, ATLAS_RELEASE_PUBLISHER_VERSION));
+                }
+                log.debug("Advisory '{}' is SHIPPED_LIVE, adding {}-{} publisher", advisory.id(),
+                        ATLAS_RELEASE_PUBLISHER_NAME, ATLAS_RELEASE_PUBLISHER_VERSION);
+                return releasePublishers;
+            default:
+                return List.of();
+        }
+    }
+
+    /**
+     * Requests generations for all attached builds in a single request.
+     */
+    private GenerationRequest requestAll(String requestId, Advisory advisory, List<Publisher> publishers,
+            List<Build> attachedBuilds, boolean force) {
+        // Answer unchanged re-triggers from the store, nothing to generate again
+        String buildSetHash = BuildSetHash.of(attachedBuilds).value();
+        Optional<AdvisoryState> previous = findUnchanged(advisory, buildSetHash, force);
+        if (previous.isPresent()) {
+            StageContext.setRequestId(previous.get().generationRequest().requestId());
+            return previous.get().generationRequest();
+        }
+        StageContext.setRequestId(requestId);
+
+        List<Generation> generations = new ArrayList<>();
+        GenerationRequest generationRequest = assemble(requestId, advisory, publishers, attachedBuilds, force,
+                generations);
+        // request the generations
+        generationRequestService.requestGenerations(generationRequest);
+        deduplicator.register(generations, publishers);
+        save(new AdvisoryState(advisory.id(), advisory.status(), buildSetHash, generationRequest,
+                System.currentTimeMillis()));
+
+        return generationRequest;
+    }
+
+    /**
+     * <p>
+     * Requests generations for a large advisory in chunks of
+     * {@link #GENERATION_CHUNK_SIZE} builds, one per page read from Errata Tool,
+     * all sharing the request ID. Memory use does not grow with the number of
+     * attached builds.
+     * </p>
+     *
+     * <p>
+     * The hash of every chunk is compared with the chunks of the last request in
+     * the same status, and the progress is stored after every chunk:
+     * </p>
+     * <ul>
+     * <li>chunks of an unchanged advisory all match, nothing is requested and the
+     * last request is returned, without a second read;</li>
+     * <li>a request that failed half-way (e.g. a page could not be read) is
+     * resumed under its request ID, the chunks it requested are skipped. If one
+     * of them changed in the meantime, or was removed, the request is replaced
+     * by a new one instead, so that no request mixes two sets of builds;</li>
+     * <li>once a chunk of a changed advisory differs, all chunks are requested
+     * under the new request ID, reading the matching chunks again.</li>
+     * </ul>
+     *
+     * <p>
+     * The returned (and stored) request holds no generations, as they were never
+     * collected in one place.
+     * </p>
+     */
+    private GenerationRequest requestInChunks(String requestId, Advisory advisory, List<Publisher> publishers,
+            BuildCursor builds, boolean force) {
+        Optional<AdvisoryState> last = force ? Optional.empty()
+                : lastState(advisory.id())
+                        .filter(state -> state.status().equals(advisory.status()) && !state.chunkHashes().isEmpty());
+        List<String> lastChunks = last.map(AdvisoryState::chunkHashes).orElse(List.of());
+        boolean resuming = last.isPresent() && !last.get().complete();
+        String chunkRequestId = resuming ? last.get().generationRequest().requestId() : requestId;
+        // Until a chunk differs, the last request may turn out to be the answer
+        StageContext.setRequestId(resuming || last.isEmpty() ? chunkRequestId
+                : last.get().generationRequest().requestId());
+
+        BuildSetHash hash = new BuildSetHash();
+        List<String> chunkHashes = new ArrayList<>();
+        // Leading chunks equal to those of the last request, not requested unless a later one differs
+        boolean differs = false;
+
+        for (List<Build> chunk = builds.next(); !chunk.isEmpty(); chunk = builds.next()) {
+            BuildSetHash chunkHash = BuildSetHash.of(chunk);
+            hash.add(chunkHash);
+            chunkHashes.add(chunkHash.value());
+
+            int index = chunkHashes.size() - 1;
+            if (!differs && index < lastChunks.size() && lastChunks.get(index).equals(chunkHash.value())) {
+                continue;
+            }
+            if (!differs) {
+                differs = true;
+                if (resuming && index < lastChunks.size()) {
+                    log.info("Advisory '{}' changed since request '{}' was interrupted, requesting it again",
+                            advisory.id(), chunkRequestId);
+                    resuming = false;
+                    chunkRequestId = requestId;
+                }
+                StageContext.setRequestId(chunkRequestId);
+                if (!resuming) {
+                    requestAgain(chunkRequestId, advisory, publishers, builds, chunkHashes, index, force);
+                }
+            }
+            requestChunk(chunkRequestId, advisory, publishers, chunk, force);
+            saveProgress(chunkRequestId, advisory, publishers, chunkHashes);
+        }
+
+        if (!differs && resuming && chunkHashes.size() < lastChunks.size()) {
+            // Builds were removed from the chunks requested before the interruption
+            log.info("Advisory '{}' changed since request '{}' was interrupted, requesting it again",
+                    advisory.id(), chunkRequestId);
+            chunkRequestId = requestId;
+            StageContext.setRequestId(chunkRequestId);
+            requestAgain(chunkRequestId, advisory, publishers, builds, chunkHashes, chunkHashes.size(), force);
+        } else if (!differs && !resuming) {
+            if (chunkHashes.size() == lastChunks.size()) {
+                log.info("Advisory '{}' unchanged since request '{}', skipping generations", advisory.id(),
+                        last.get().generationRequest().requestId());
+                return last.get().generationRequest();
+            }
+            // Builds were only removed, request the remaining ones
+            StageContext.setRequestId(chunkRequestId);
+            requestAgain(chunkRequestId, advisory, publishers, builds, chunkHashes, chunkHashes.size(), force);
+        }
+
+        log.info("Requested generations of {} build(s) of advisory '{}' in {} chunks", hash.count(), advisory.id(),
+                chunkHashes.size());
+
+        GenerationRequest generationRequest = new GenerationRequest(chunkRequestId, advisory.id(), publishers,
+                List.of(), List.of());
+        save(new AdvisoryState(advisory.id(), advisory.status(), hash.value(), generationRequest,
+                System.currentTimeMillis(), chunkHashes));
+
+        return generationRequest;
+    }
+
+    /**
+     * Reads the first chunks again and requests them, as part of a new request.
+     *
+     * @param count The number of chunks to request.
+     */
+    private void requestAgain(String requestId, Advisory advisory, List<Publisher> publishers, BuildCursor builds,
+            List<String> chunkHashes, int count, boolean force) {
+        for (int index = 0; index < count; index++) {
+            requestChunk(requestId, advisory, publishers, builds.page(index), force);
+            saveProgress(requestId, advisory, publishers, chunkHashes.subList(0, index + 1));
+        }
+    }
+
+    /**
+     * Stores the chunks requested so far, locally only: other replicas must not
+     * take an incomplete request for a processed advisory.
+     */
+    private void saveProgress(String requestId, Advisory advisory, List<Publisher> publishers,
+            List<String> chunkHashes) {
+        stateStore.save(new AdvisoryState(advisory.id(), advisory.status(), null,
+                new GenerationRequest(requestId, advisory.id(), publishers, List.of(), List.of()),
+                System.currentTimeMillis(), chunkHashes));
+    }
+
+    private void requestChunk(String requestId, Advisory advisory, List<Publisher> publishers, List<Build> chunk,
+            boolean force) {
+        List<Generation> generations = new ArrayList<>(chunk.size());
+        generationRequestService
+                .requestGenerations(assemble(requestId, advisory, publishers, chunk, force, generations));
+        deduplicator.register(generations, publishers);
+    }
+
+    /**
+     * Maps the builds to the generations of a request, see
+     * {@link #toGenerations(List, List, boolean, List, List)}.
+     *
+     * @param generations Receives the new generations of the request.
+     */
+    private GenerationRequest assemble(String requestId, Advisory advisory, List<Publisher> publishers,
+            List<Build> builds, boolean force, List<Generation> generations) {
+        StageEvents.GenerationRequestAssembly event = new StageEvents.GenerationRequestAssembly();
+        return StageEvents.timed(event, () -> {
+            List<Generation> reusedGenerations = new ArrayList<>();
+            toGenerations(builds, publishers, force, generations, reusedGenerations);
+            event.generations = generations.size() + reusedGenerations.size();
+            return new GenerationRequest(requestId, advisory.id(), publishers, generations, reusedGenerations);
+        });
+    }
+
+    private Optional<AdvisoryState> findUnchanged(Advisory advisory, String buildSetHash, boolean force) {
+        if (force) {
+            return Optional.empty();
+        }
+
+        Optional<AdvisoryState> previous = lastState(advisory.id())
+                .filter(state -> state.matches(advisory.status(), buildSetHash));
+        previous.ifPresent(state -> log.info("Advisory '{}' unchanged since request '{}', skipping generations",
+                advisory.id(), state.generationRequest().requestId()));
+        return previous;
+    }
+
+    private Optional<AdvisoryState> findProcessedTransition(String advisoryId, Trigger trigger, boolean force) {
+        // Without the time of the change, a respin back to the same status could not
+        // be told apart from another delivery of the processed change
+        if (force || trigger.status() == null || trigger.occurredAt() <= 0) {
+            return Optional.empty();
+        }
+
+        Optional<AdvisoryState> processed = clusterView.find(advisoryId)
+                .filter(state -> state.status().equals(trigger.status())
+                        && state.processedAt() >= trigger.occurredAt());
+        processed.ifPresent(state -> log.info(
+                "Advisory '{}' already processed in status {} by request '{}', skipping", advisoryId,
+                state.status(), state.generationRequest().requestId()));
+        return processed;
+    }
+
+    /**
+     * @return The most recent state of the advisory processed by this or another
+     *         replica.
+     */
+    private Optional<AdvisoryState> lastState(String advisoryId) {
+        Optional<AdvisoryState> local = stateStore.find(advisoryId);
+        Optional<AdvisoryState> shared = clusterView.find(advisoryId);
+        if (local.isEmpty() || shared.isEmpty()) {
+            return local.isPresent() ? local : shared;
+        }
+        return local.get().processedAt() >= shared.get().processedAt() ? local : shared;
+    }
+
+    private void save(AdvisoryState state) {
+        stateStore.save(state);
+        clusterView.processed(state);
+    }
+
+    /**
+     * Number of builds per page read from Errata Tool, advisories with more
+     * builds are requested in chunks of a page.
+     */
+    private int pageSize() {
+        return GENERATION_CHUNK_SIZE > 0 ? GENERATION_CHUNK_SIZE : Integer.MAX_VALUE;
+    }
+
+    /**
+     * Maps attached builds to generations, resolving their targets with the
+     * resolvers of their types. Targets which were requested recently for the
+     * same publishers (by any advisory) reference the existing generation,
+     * unless forced.
+     */
+    void toGenerations(List<Build> attachedBuilds, List<Publisher> publishers, boolean force,
+            List<Generation> generations, List<Generation> reusedGenerations) {
+        List<GenerationTarget> targets = resolvers.resolve(attachedBuilds, fanOutExecutor);
+
+        for (GenerationTarget target : targets) {
+            Optional<Generation> existing = force ? Optional.empty() : deduplicator.findExisting(target, publishers);
+
+            if (existing.isPresent()) {
+                log.debug("Target '{}' was already requested in generation '{}', reusing it", target.identifier(),
+                        existing.get().id());
+                reusedGenerations.add(existing.get());
+            } else {
+                generations.add(Generation.forTarget(target));
+            }
         }
     }
 
-    List<Generation> attachedBuildsToGenerationRequests(String advisoryId) {
-        List<Build> attachedBuilds = errataTool.fetchBuilds(advisoryId);
-        log.debug("Advisory '{}' has {} build(s) attached", advisoryId, attachedBuilds.size());
-        return attachedBuilds.stream().map(Generation::fromBuild).toList();
+    @PreDestroy
+    void shutdown() {
+        fanOutExecutor.shutdownNow();
     }
 }
@@ -0,0 +1,138 @@
+package org.jboss.sbomer.handler.et.core.service;
+
+import java.util.List;
+
+import org.jboss.sbomer.handler.et.core.domain.advisory.Build;
+import org.jboss.sbomer.handler.et.core.domain.advisory.BuildPage;
+import org.jboss.sbomer.handler.et.core.domain.exception.StaleAdvisoryException;
+
+/**
+ * <p>
+ * Cursor over the builds of an advisory, read page by page.
+ * </p>
+ *
+ * <p>
+ * The first page is read when the cursor is opened. When it is full, the second
+ * page is read as well, so that advisories whose builds fit in one page are
+ * known to be complete and can be handled in memory, while larger advisories
+ * are consumed one page at a time. Any page can be read again by its index.
+ * </p>
+ *
+ * <p>
+ * Stale pages (served while Errata Tool is unavailable) are only accepted for
+ * advisories whose builds fit in the head. Pages of larger advisories may have
+ * been stored at different times and could make up a set of builds that never
+ * existed, reading a stale one fails with {@link StaleAdvisoryException}.
+ * </p>
+ */
+public class BuildCursor {
+
+    /**
+     * Source of the pages, e.g. {@code ErrataTool#fetchBuildsPage}.
+     */
+    @FunctionalInterface
+    public interface Pages {
+        /**
+         * @return At most {@code limit} builds starting at {@code offset}, fewer
+         *         once the last build was returned.
+         */
+        BuildPage fetch(int offset, int limit);
+    }
+
+    private final Pages pages;
+    private final int pageSize;
+
+    private final List<Build> head;
+    // Second page, read ahead to tell whether the head holds all builds
+    private final List<Build> second;
+    private final boolean stale;
+    private int nextIndex;
+    private boolean ended;
+
+    private BuildCursor(Pages pages, int pageSize) {
+        if (pageSize <= 0) {
+            throw new IllegalArgumentException("pageSize must be positive");
+        }
+        this.pages = pages;
+        this.pageSize = pageSize;
+
+        BuildPage first = pages.fetch(0, pageSize);
+        BuildPage next = first.builds().size() < pageSize ? new BuildPage(List.of(), first.stale())
+                : pages.fetch(pageSize, pageSize);
+        this.head = first.builds();
+        this.second = next.builds();
+        this.stale = first.stale() || next.stale();
+        if (stale && !second.isEmpty()) {
+            throw staleFailure();
+        }
+    }
+
+    /**
+     * Opens the cursor, reading the first page (and the second one when the
+     * first is full).
+     */
+    public static BuildCursor open(Pages pages, int pageSize) {
+        return new BuildCursor(pages, pageSize);
+    }
+
+    /**
+     * @return {@code true} if all builds fit in the head.
+     */
+    public boolean isExhausted() {
+        return second.isEmpty();
+    }
+
+    /**
+     * @return {@code true} if the builds are the last known ones, possibly
+     *         outdated, as Errata Tool could not be reached.
+     */
+    public boolean isStale() {
+        return stale;
+    }
+
+    /**
+     * @return The first page, all builds if {@link #isExhausted()}.
+     */
+    public List<Build> head() {
+        return head;
+    }
+
+    /**
+     * @return The next page, starting with the head, or an empty list once all
+     *         pages were returned.
+     * @throws StaleAdvisoryException If only a stale page could be read.
+     */
+    public List<Build> next() {
+        if (ended) {
+            return List.of();
+        }
+
+        List<Build> page = switch (nextIndex) {
+            case 0 -> head;
+            case 1 -> second;
+            default -> page(nextIndex);
+        };
+        nextIndex++;
+        ended = page.size() < pageSize;
+        return page;
+    }
+
+    /**
+     * Reads a page again.
+     *
+     * @param index The index of the page, from 0.
+     * @throws StaleAdvisoryException If only a stale page could be read.
+     */
+    public List<Build> page(int index) {
+        BuildPage page = pages.fetch(Math.multiplyExact(index, pageSize), pageSize);
+        if (page.stale()) {
+            throw staleFailure();
+        }
+        return page.builds();
+    }
+
+    private StaleAdvisoryException staleFailure() {
+        return new StaleAdvisoryException("Errata Tool is unavailable and the builds span several pages, "
+                + "whose last known versions may not be of the same time");
+    }
+}
@@ -0,0 +1,83 @@
+package org.jboss.sbomer.handler.et.core.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.jboss.sbomer.handler.et.core.domain.advisory.Build;
+import org.jboss.sbomer.handler.et.core.domain.generation.GenerationTarget;
+import org.jboss.sbomer.handler.et.core.port.spi.Koji;
+
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * <p>
+ * Resolves container image builds to pullable image references pinned by
+ * digest.
+ * </p>
+ *
+ * <p>
+ * Builds whose identifier is already a digest reference are used as they are.
+ * The image names of the others are looked up in Koji with one call for all of
+ * them. Builds Koji does not know keep their identifier.
+ * </p>
+ */
+@ApplicationScoped
+@Slf4j
+public class ContainerImageTargetResolver implements GenerationTargetResolver {
+
+    public static final String TYPE = "CONTAINER_IMAGE";
+
+    private final Koji koji;
+    private final boolean kojiLookupEnabled;
+
+    @Inject
+    public ContainerImageTargetResolver(Koji koji,
+            @ConfigProperty(name = "sbomer.resolver.container-image.koji-lookup.enabled", defaultValue = "false") boolean kojiLookupEnabled) {
+        this.koji = koji;
+        this.kojiLookupEnabled = kojiLookupEnabled;
+    }
+
+    @Override
+    public String type() {
+        return TYPE;
+    }
+
+    @Override
+    public List<GenerationTarget> resolve(List<Build> builds) {
+        List<Long> unpinned = new ArrayList<>();
+        for (Build build : builds) {
+            if (!isPinned(build.identifier()) && build.id() != null) {
+                unpinned.add(build.id());
+            }
+        }
+
+        Map<Long, String> imageNames = Map.of();
+        if (kojiLookupEnabled && !unpinned.isEmpty()) {
+            log.debug("Looking up image names of {} container image build(s) in Koji", unpinned.size());
+            imageNames = koji.getImageNames(unpinned);
+        }
+
+        List<GenerationTarget> targets = new ArrayList<>(builds.size());
+        for (Build build : builds) {
+            String identifier = build.identifier();
+            if (!isPinned(identifier)) {
+                String imageName = imageNames.get(build.id());
+                if (imageName != null) {
+                    identifier = imageName;
+                } else if (kojiLookupEnabled) {
+                    log.warn("No image name found in Koji for build '{}', using '{}'", build.nvr(), identifier);
+                }
+            }
+            targets.add(new GenerationTarget(TYPE, identifier));
+        }
+        return targets;
+    }
+
+    private static boolean isPinned(String identifier) {
+        return identifier != null && identifier.contains("@sha256:");
+    }
+}
@@ -0,0 +1,135 @@
+package org.jboss.sbomer.handler.et.core.service;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.OptionalLong;
+import java.util.Set;
+
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.jboss.sbomer.handler.et.core.domain.generation.Generation;
+import org.jboss.sbomer.handler.et.core.domain.generation.GenerationTarget;
+import org.jboss.sbomer.handler.et.core.domain.publish.Publisher;
+import org.jboss.sbomer.handler.et.core.utility.GenerationTargetIndex;
+import org.jboss.sbomer.handler.et.core.utility.TsidUtility;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * <p>
+ * Deduplicates generation targets across advisories.
+ * </p>
+ *
+ * <p>
+ * The same content (e.g. a container image digest) is often attached to
+ * several advisories. Targets requested within the retention period are
+ * remembered in a {@link GenerationTargetIndex}, so that a later advisory can
+ * reference the existing generation instead of requesting the same SBOM again.
+ * </p>
+ *
+ * <p>
+ * Reused generations are not published again, so targets are scoped by the
+ * set of publishers they were requested for: an advisory only reuses the
+ * generations already delivered to all of its publishers.
+ * </p>
+ */
+@ApplicationScoped
+@Slf4j
+public class GenerationDeduplicator {
+
+    /**
+     * A target and the set of publishers it was requested for, compared on lookup.
+     */
+    private record ScopedTarget(GenerationTarget target, Set<Publisher> publishers) {
+    }
+
+    private final boolean enabled;
+    private final GenerationTargetIndex<ScopedTarget> index;
+    private final Counter hits;
+    private final Counter misses;
+
+    @Inject
+    public GenerationDeduplicator(
+            @ConfigProperty(name = "sbomer.generation-dedup.enabled", defaultValue = "false") boolean enabled,
+            @ConfigProperty(name = "sbomer.generation-dedup.max-entries", defaultValue = "50000") int maxEntries,
+            @ConfigProperty(name = "sbomer.generation-dedup.retention", defaultValue = "P1D") Duration retention,
+            MeterRegistry registry) {
+        this.enabled = enabled;
+        this.index = new GenerationTargetIndex<>(maxEntries, retention.toMillis());
+        this.hits = Counter.builder("sbomer.generation.dedup.lookups")
+                .description("Lookups of generation targets in the deduplication index")
+                .tag("result", "hit")
+                .register(registry);
+        this.misses = Counter.builder("sbomer.generation.dedup.lookups")
+                .description("Lookups of generation targets in the deduplication index")
+                .tag("result", "miss")
+                .register(registry);
+        Gauge.builder("sbomer.generation.dedup.entries", index, GenerationTargetIndex::size)
+                .description("Number of generation targets in the deduplication index")
+                .register(registry);
+    }
+
+    /**
+     * Finds a generation that was recently requested for the same target.
+     *
+     * @param target The generation target.
+     * @param publishers The publishers the generation is requested for.
+     * @return The existing generation or empty if the target was not requested
+     *         for the same publishers within the retention period, or if
+     *         deduplication is disabled.
+     */
+    public Optional<Generation> findExisting(GenerationTarget target, List<Publisher> publishers) {
+        if (!enabled) {
+            return Optional.empty();
+        }
+
+        OptionalLong existing = index.get(
+                GenerationTargetIndex.key(target.type(), target.identifier(), scope(publishers)),
+                new ScopedTarget(target, Set.copyOf(publishers)), System.currentTimeMillis());
+
+        if (existing.isEmpty()) {
+            misses.increment();
+            return Optional.empty();
+        }
+
+        hits.increment();
+        return Optional.of(new Generation(TsidUtility.generationIdFromLong(existing.getAsLong()), target));
+    }
+
+    /**
+     * Remembers the targets of generations that were requested.
+     *
+     * @param generations The requested generations.
+     * @param publishers The publishers the generations were requested for.
+     */
+    public void register(List<Generation> generations, List<Publisher> publishers) {
+        if (!enabled) {
+            return;
+        }
+
+        long scope = scope(publishers);
+        Set<Publisher> publisherSet = Set.copyOf(publishers);
+        long now = System.currentTimeMillis();
+        for (Generation generation : generations) {
+            index.put(GenerationTargetIndex.key(generation.target().type(), generation.target().identifier(), scope),
+                    new ScopedTarget(generation.target(), publisherSet), TsidUtility.generationIdToLong(generation.id()),
+                    now);
+        }
+    }
+
+    /**
+     * @return A hash of the set of publishers, independent of their order.
+     */
+    private static long scope(List<Publisher> publishers) {
+        long scope = 0L;
+        for (Publisher publisher : publishers) {
+            scope += GenerationTargetIndex.key(publisher.name(), publisher.version());
+        }
+        return scope;
+    }
+}
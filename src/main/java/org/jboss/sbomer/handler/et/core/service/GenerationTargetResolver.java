@@ -0,0 +1,33 @@
+package org.jboss.sbomer.handler.et.core.service;
+
+import java.util.List;
+
+import org.jboss.sbomer.handler.et.core.domain.advisory.Build;
+import org.jboss.sbomer.handler.et.core.domain.generation.GenerationTarget;
+
+/**
+ * <p>
+ * Resolves the generation targets of attached builds of one type.
+ * </p>
+ *
+ * <p>
+ * Implementations are CDI beans picked up by {@link GenerationTargetResolvers}.
+ * A resolver receives all builds of its type of an advisory (or chunk) at
+ * once, so that lookups in other systems can be made in bulk rather than per
+ * build. Builds of types without a resolver are used as they are.
+ * </p>
+ */
+public interface GenerationTargetResolver {
+
+    /**
+     * @return The build type handled by the resolver, e.g.
+     *         {@code CONTAINER_IMAGE}.
+     */
+    String type();
+
+    /**
+     * @param builds The builds to resolve, all of {@link #type()}.
+     * @return The generation targets, in the order of the builds.
+     */
+    List<GenerationTarget> resolve(List<Build> builds);
+}
@@ -0,0 +1,107 @@
+package org.jboss.sbomer.handler.et.core.service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+
+import org.jboss.sbomer.handler.et.core.domain.advisory.Build;
+import org.jboss.sbomer.handler.et.core.domain.exception.AdvisoryProcessingException;
+import org.jboss.sbomer.handler.et.core.domain.generation.GenerationTarget;
+import org.jboss.sbomer.handler.et.core.utility.FailFastScope;
+
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.inject.Any;
+import jakarta.enterprise.inject.Instance;
+import jakarta.inject.Inject;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Registry of the {@link GenerationTargetResolver}s by build type. Builds are
+ * grouped by type and the resolvers of the groups run concurrently.
+ */
+@ApplicationScoped
+@Slf4j
+public class GenerationTargetResolvers {
+
+    private final Map<String, GenerationTargetResolver> resolvers = new HashMap<>();
+
+    @Inject
+    public GenerationTargetResolvers(@Any Instance<GenerationTargetResolver> resolvers) {
+        this((Iterable<GenerationTargetResolver>) resolvers);
+    }
+
+    public GenerationTargetResolvers(Iterable<GenerationTargetResolver> resolvers) {
+        for (GenerationTargetResolver resolver : resolvers) {
+            GenerationTargetResolver previous = this.resolvers.put(resolver.type(), resolver);
+            if (previous != null) {
+                throw new IllegalStateException("Multiple generation target resolvers for build type '"
+                        + resolver.type() + "': " + previous.getClass().getName() + ", "
+                        + resolver.getClass().getName());
+            }
+        }
+        log.info("Generation target resolvers registered for build types: {}", this.resolvers.keySet());
+    }
+
+    /**
+     * Resolves the generation targets of the builds.
+     *
+     * @param builds The builds, of any types.
+     * @param executor Runs the resolvers when builds of several types need one.
+     * @return The generation targets, in the order of the builds.
+     */
+    public List<GenerationTarget> resolve(List<Build> builds, ExecutorService executor) {
+        GenerationTarget[] targets = new GenerationTarget[builds.size()];
+
+        // Positions of the builds of each type which has a resolver
+        Map<String, List<Integer>> byType = new LinkedHashMap<>();
+        for (int i = 0; i < builds.size(); i++) {
+            Build build = builds.get(i);
+            if (resolvers.containsKey(build.type())) {
+                byType.computeIfAbsent(build.type(), type -> new ArrayList<>()).add(i);
+            } else {
+                targets[i] = new GenerationTarget(build.type(), build.identifier());
+            }
+        }
+
+        if (byType.size() == 1) {
+            byType.forEach((type, positions) -> resolveType(type, positions, builds, targets));
+        } else if (byType.size() > 1) {
+            try (FailFastScope scope = new FailFastScope(executor)) {
+                byType.forEach((type, positions) -> scope.fork(() -> {
+                    resolveType(type, positions, builds, targets);
+                    return null;
+                }));
+                scope.join();
+                scope.throwIfFailed();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new AdvisoryProcessingException("Interrupted while resolving generation targets", e);
+            } catch (RuntimeException e) {
+                throw e;
+            } catch (Exception e) {
+                throw new AdvisoryProcessingException("Failed to resolve generation targets", e);
+            }
+        }
+
+        return List.of(targets);
+    }
+
+    private void resolveType(String type, List<Integer> positions, List<Build> builds, GenerationTarget[] targets) {
+        List<Build> ofType = new ArrayList<>(positions.size());
+        positions.forEach(i -> ofType.add(builds.get(i)));
+
+        List<GenerationTarget> resolved = resolvers.get(type).resolve(ofType);
+        if (resolved.size() != ofType.size()) {
+            throw new IllegalStateException("Resolver of build type '" + type + "' returned " + resolved.size()
+                    + " targets for " + ofType.size() + " builds");
+        }
+
+        // Each type writes its own positions only
+        for (int i = 0; i < positions.size(); i++) {
+            targets[positions.get(i)] = resolved.get(i);
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package org.jboss.sbomer.handler.et.core.service;
+
+import java.util.concurrent.CompletionStage;
+
+import org.jboss.sbomer.handler.et.core.domain.advisory.Trigger;
+import org.jboss.sbomer.handler.et.core.domain.exception.AdvisoryClaimedException;
+import org.jboss.sbomer.handler.et.core.domain.generation.GenerationRequest;
+import org.jboss.sbomer.handler.et.core.port.api.AdvisoryHandler;
+
+import jakarta.annotation.Priority;
+import jakarta.decorator.Decorator;
+import jakarta.decorator.Delegate;
+import jakarta.inject.Inject;
+import jakarta.interceptor.Interceptor;
+
+/**
+ * Reports the outcome of handling an advisory to the {@link AdvisoryRetrier},
+ * which schedules a retry of failed advisories and of advisories claimed by
+ * another replica. Runs inside the
+ * {@link ScheduledAdvisoryHandler}, so that triggers rejected by the scheduler
+ * are left to their callers.
+ */
+@Decorator
+@Priority(Interceptor.Priority.APPLICATION + 100)
+public class RetryingAdvisoryHandler implements AdvisoryHandler {
+
+    @Inject
+    @Delegate
+    AdvisoryHandler delegate;
+
+    @Inject
+    AdvisoryRetrier retrier;
+
+    @Override
+    public GenerationRequest requestGenerations(String advisoryId) {
+        return requestGenerations(advisoryId, false, Trigger.UNKNOWN);
+    }
+
+    @Override
+    public GenerationRequest requestGenerations(String advisoryId, boolean force) {
+        return requestGenerations(advisoryId, force, Trigger.UNKNOWN);
+    }
+
+    @Override
+    public GenerationRequest requestGenerations(String advisoryId, boolean force, Trigger trigger) {
+        GenerationRequest generationRequest;
+        try {
+            generationRequest = delegate.requestGenerations(advisoryId, force, trigger);
+        } catch (AdvisoryClaimedException e) {
+            // Not a failure, the other replica handles it
+            retrier.postpone(advisoryId, force, trigger.status(), e);
+            throw e;
+        } catch (RuntimeException e) {
+            retrier.failed(advisoryId, force, trigger.status(), e);
+            throw e;
+        }
+
+        retrier.succeeded(advisoryId);
+        return generationRequest;
+    }
+
+    @Override
+    public void admit(Trigger trigger, int waiting) {
+        delegate.admit(trigger, waiting);
+    }
+
+    @Override
+    public CompletionStage<Void> flush() {
+        return delegate.flush();
+    }
+}
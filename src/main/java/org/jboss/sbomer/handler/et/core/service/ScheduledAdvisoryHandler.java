@@ -0,0 +1,55 @@
+package org.jboss.sbomer.handler.et.core.service;
+
+import java.util.concurrent.CompletionStage;
+
+import org.jboss.sbomer.handler.et.core.domain.advisory.Trigger;
+import org.jboss.sbomer.handler.et.core.domain.generation.GenerationRequest;
+import org.jboss.sbomer.handler.et.core.port.api.AdvisoryHandler;
+
+import jakarta.annotation.Priority;
+import jakarta.decorator.Decorator;
+import jakarta.decorator.Delegate;
+import jakarta.inject.Inject;
+import jakarta.interceptor.Interceptor;
+
+/**
+ * Lets the triggers of all adapters through the {@link AdvisoryScheduler}
+ * before the advisory is handled. Callers which do not pass a {@link Trigger}
+ * are scheduled in the default class.
+ */
+@Decorator
+@Priority(Interceptor.Priority.APPLICATION)
+public class ScheduledAdvisoryHandler implements AdvisoryHandler {
+
+    @Inject
+    @Delegate
+    AdvisoryHandler delegate;
+
+    @Inject
+    AdvisoryScheduler scheduler;
+
+    @Override
+    public GenerationRequest requestGenerations(String advisoryId) {
+        return requestGenerations(advisoryId, false, Trigger.UNKNOWN);
+    }
+
+    @Override
+    public GenerationRequest requestGenerations(String advisoryId, boolean force) {
+        return requestGenerations(advisoryId, force, Trigger.UNKNOWN);
+    }
+
+    @Override
+    public GenerationRequest requestGenerations(String advisoryId, boolean force, Trigger trigger) {
+        return scheduler.run(trigger, () -> delegate.requestGenerations(advisoryId, force, trigger));
+    }
+
+    @Override
+    public void admit(Trigger trigger, int waiting) {
+        scheduler.admit(trigger, waiting);
+    }
+
+    @Override
+    public CompletionStage<Void> flush() {
+        return delegate.flush();
+    }
+}
@@ -0,0 +1,58 @@
+package org.jboss.sbomer.handler.et.core.utility;
+
+/**
+ * <p>
+ * Exponentially decaying estimate of an event rate, in events per second.
+ * </p>
+ *
+ * <p>
+ * Recent events weigh more than older ones, the weight of an event halves
+ * after roughly {@code 0.7 * tau}. The estimate decays towards zero when no
+ * events occur. The class is thread-safe.
+ * </p>
+ */
+public final class DecayingRate {
+
+    private final double tauNanos;
+    private double rate;
+    private long updatedAt;
+    private boolean recorded;
+
+    /**
+     * @param tauNanos Time constant of the decay in nanoseconds.
+     */
+    public DecayingRate(long tauNanos) {
+        this.tauNanos = tauNanos;
+        this.updatedAt = System.nanoTime();
+    }
+
+    /**
+     * Records an event.
+     */
+    public synchronized void record() {
+        long now = System.nanoTime();
+        rate = decayed(now) + 1_000_000_000d / tauNanos;
+        updatedAt = now;
+        recorded = true;
+    }
+
+    /**
+     * @return {@code true} if an event was recorded within the time constant,
+     *         i.e. the estimate is backed by recent events rather than decayed
+     *         towards zero.
+     */
+    public synchronized boolean isRecent() {
+        return recorded && System.nanoTime() - updatedAt <= tauNanos;
+    }
+
+    /**
+     * @return The current rate in events per second.
+     */
+    public synchronized double perSecond() {
+        return decayed(System.nanoTime());
+    }
+
+    private double decayed(long now) {
+        return rate * Math.exp(-(now - updatedAt) / tauNanos);
+    }
+}
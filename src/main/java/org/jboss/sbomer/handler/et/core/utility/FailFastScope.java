@@ -0,0 +1,219 @@
+package org.jboss.sbomer.handler.et.core.utility;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * <p>
+ * Runs a group of subtasks concurrently and fails as soon as any of them fails,
+ * cancelling the others.
+ * </p>
+ *
+ * <p>
+ * It mirrors {@code StructuredTaskScope.ShutdownOnFailure}, which is not
+ * available in Java 17: subtasks are forked in a try-with-resources block,
+ * {@link #join()} waits for all of them (or the first failure) and
+ * {@link #throwIfFailed()} rethrows the failure. Closing the scope cancels
+ * subtasks that are still running and waits for them to complete, so that no
+ * subtask outlives the scope.
+ * </p>
+ *
+ * <p>
+ * Subtasks whose result may turn out to be unneeded are forked with
+ * {@link #forkLenient(Callable)}: their failure does not fail the scope, it is
+ * kept in the subtask and rethrown by {@link Subtask#getOrThrow()}.
+ * </p>
+ *
+ * <pre>
+ * try (FailFastScope scope = new FailFastScope(executor)) {
+ *     Subtask&lt;Advisory&gt; info = scope.fork(() -&gt; errataTool.getInfo(id));
+ *     Subtask&lt;BuildPage&gt; builds = scope.fork(() -&gt; errataTool.fetchBuildsPage(id, 0, 100));
+ *     scope.join();
+ *     scope.throwIfFailed();
+ *     ...
+ * }
+ * </pre>
+ */
+public final class FailFastScope implements AutoCloseable {
+
+    /**
+     * Result of a forked subtask, available after {@link FailFastScope#join()}.
+     */
+    public static final class Subtask<T> {
+        private volatile T value;
+        private volatile Throwable failure;
+        // Set by whichever comes first: the subtask starting, or being cancelled
+        private final AtomicBoolean started = new AtomicBoolean();
+        private final CountDownLatch completed = new CountDownLatch(1);
+        private Future<?> future;
+
+        /**
+         * @return The result, {@code null} if the subtask failed.
+         */
+        public T get() {
+            return value;
+        }
+
+        /**
+         * @return The result.
+         * @throws Exception The failure of a leniently forked subtask.
+         */
+        public T getOrThrow() throws Exception {
+            Throwable t = failure;
+            if (t == null) {
+                return value;
+            }
+            if (t instanceof Exception e) {
+                throw e;
+            }
+            throw (Error) t;
+        }
+    }
+
+    private final ExecutorService executor;
+    private final List<Subtask<?>> subtasks = new ArrayList<>();
+    // One extra count is held until join(), so that subtasks completing while
+    // others are still being forked do not release the scope early
+    private final AtomicInteger running = new AtomicInteger(1);
+    private final AtomicReference<Throwable> failure = new AtomicReference<>();
+    private final CountDownLatch done = new CountDownLatch(1);
+    private boolean joined;
+
+    public FailFastScope(ExecutorService executor) {
+        this.executor = executor;
+    }
+
+    public <T> Subtask<T> fork(Callable<T> task) {
+        return fork(task, false);
+    }
+
+    /**
+     * Forks a subtask whose failure does not fail the scope, see
+     * {@link Subtask#getOrThrow()}. It is still cancelled when another subtask
+     * fails.
+     */
+    public <T> Subtask<T> forkLenient(Callable<T> task) {
+        return fork(task, true);
+    }
+
+    private <T> Subtask<T> fork(Callable<T> task, boolean lenient) {
+        if (joined) {
+            throw new IllegalStateException("Cannot fork after join");
+        }
+
+        Subtask<T> subtask = new Subtask<>();
+        running.incrementAndGet();
+        synchronized (subtasks) {
+            try {
+                subtask.future = executor.submit(() -> {
+                    if (!subtask.started.compareAndSet(false, true)) {
+                        // Cancelled before it started
+                        return;
+                    }
+                    try {
+                        subtask.value = task.call();
+                    } catch (Throwable t) {
+                        subtask.failure = t;
+                        if (!lenient && failure.compareAndSet(null, t)) {
+                            cancelAll();
+                            done.countDown();
+                        }
+                    } finally {
+                        complete(subtask);
+                    }
+                });
+            } catch (RejectedExecutionException e) {
+                running.decrementAndGet();
+                throw e;
+            }
+            subtasks.add(subtask);
+        }
+        return subtask;
+    }
+
+    private void complete(Subtask<?> subtask) {
+        subtask.completed.countDown();
+        if (running.decrementAndGet() == 0) {
+            done.countDown();
+        }
+    }
+
+    /**
+     * Waits until all subtasks completed or one of them failed.
+     */
+    public void join() throws InterruptedException {
+        if (!joined) {
+            joined = true;
+            if (running.decrementAndGet() == 0) {
+                done.countDown();
+            }
+        }
+        done.await();
+    }
+
+    /**
+     * Rethrows the failure of the first failed subtask, if any.
+     */
+    public void throwIfFailed() throws Exception {
+        Throwable t = failure.get();
+        if (t == null) {
+            return;
+        }
+        if (t instanceof Exception e) {
+            throw e;
+        }
+        throw (Error) t;
+    }
+
+    /**
+     * Cancels the subtasks that are still running and waits until they
+     * completed.
+     */
+    @Override
+    public void close() {
+        cancelAll();
+
+        List<Subtask<?>> forked;
+        synchronized (subtasks) {
+            forked = List.copyOf(subtasks);
+        }
+        boolean interrupted = false;
+        for (Subtask<?> subtask : forked) {
+            while (true) {
+                try {
+                    subtask.completed.await();
+                    break;
+                } catch (InterruptedException e) {
+                    // Keep waiting, no subtask may outlive the scope
+                    interrupted = true;
+                }
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void cancelAll() {
+        synchronized (subtasks) {
+            for (Subtask<?> subtask : subtasks) {
+                if (subtask.started.compareAndSet(false, true)) {
+                    // Never runs, it is complete
+                    subtask.failure = new CancellationException("Subtask cancelled before it started");
+                    complete(subtask);
+                } else {
+                    subtask.future.cancel(true);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,238 @@
+package org.jboss.sbomer.handler.et.core.utility;
+
+import java.util.OptionalLong;
+
+/**
+ * <p>
+ * Bounded, primitive-keyed index of recently requested generation targets.
+ * </p>
+ *
+ * <p>
+ * Maps a 64-bit hash of a target (see {@link #key(String, String, long)}) to the
+ * numerical value of the generation ID that was requested for it. Entries are
+ * kept in open-addressing arrays, the index creates no object per entry. The
+ * target itself is stored along with its hash and compared on lookup, so two
+ * targets sharing a hash are never taken for one another. Entries expire after
+ * the retention period and the oldest entries are evicted once the maximum
+ * number of entries is reached.
+ * </p>
+ *
+ * <p>
+ * The index is thread-safe.
+ * </p>
+ */
+public final class GenerationTargetIndex<T> {
+
+    private static final long EMPTY = 0L;
+
+    private final int maxEntries;
+    private final long retentionMillis;
+    private final int mask;
+
+    // Hash table, linear probing
+    private final long[] keys;
+    private final Object[] targets;
+    private final long[] values;
+    private final long[] insertedAt;
+    private int size;
+
+    // Insertion order, used for eviction and expiration
+    private final long[] orderKeys;
+    private final long[] orderInsertedAt;
+    private int orderHead;
+    private int orderSize;
+
+    public GenerationTargetIndex(int maxEntries, long retentionMillis) {
+        if (maxEntries <= 0) {
+            throw new IllegalArgumentException("maxEntries must be positive");
+        }
+
+        this.maxEntries = maxEntries;
+        this.retentionMillis = retentionMillis;
+
+        // Keep the load factor under 0.5
+        int capacity = Integer.highestOneBit(Math.max(2, maxEntries) * 2 - 1) << 1;
+        this.mask = capacity - 1;
+        this.keys = new long[capacity];
+        this.targets = new Object[capacity];
+        this.values = new long[capacity];
+        this.insertedAt = new long[capacity];
+        this.orderKeys = new long[maxEntries];
+        this.orderInsertedAt = new long[maxEntries];
+    }
+
+    /**
+     * Computes the key of a generation target.
+     *
+     * @param type The target type.
+     * @param identifier The target identifier, e.g. image digest.
+     * @return A non-zero 64-bit hash of the target.
+     */
+    public static long key(String type, String identifier) {
+        return key(type, identifier, 0L);
+    }
+
+    /**
+     * Computes the key of a generation target within a scope, the same target
+     * has a different key in each scope.
+     *
+     * @param type The target type.
+     * @param identifier The target identifier, e.g. image digest.
+     * @param scope The scope of the target, e.g. a hash of its publishers, 0 for
+     *        none.
+     * @return A non-zero 64-bit hash of the target and scope.
+     */
+    public static long key(String type, String identifier, long scope) {
+        // FNV-1a over both strings and the scope, finished with the SplitMix64 mixer
+        long hash = 0xcbf29ce484222325L;
+        hash = fnv(hash, type);
+        hash = (hash ^ 0xff) * 0x100000001b3L;
+        hash = fnv(hash, identifier);
+        hash = (hash ^ scope) * 0x100000001b3L;
+
+        hash = (hash ^ (hash >>> 30)) * 0xbf58476d1ce4e5b9L;
+        hash = (hash ^ (hash >>> 27)) * 0x94d049bb133111ebL;
+        hash = hash ^ (hash >>> 31);
+
+        return hash == EMPTY ? 1L : hash;
+    }
+
+    /**
+     * Finds the value recorded for the target, if it did not expire yet.
+     *
+     * @param key The target key.
+     * @param target The target, compared with the recorded one.
+     * @param now Current time in epoch milliseconds.
+     * @return The recorded value or empty.
+     */
+    public synchronized OptionalLong get(long key, T target, long now) {
+        int slot = find(key);
+        if (slot < 0 || isExpired(insertedAt[slot], now) || !targets[slot].equals(target)) {
+            return OptionalLong.empty();
+        }
+        return OptionalLong.of(values[slot]);
+    }
+
+    /**
+     * Records a value for the target, replacing any previous value of the key.
+     *
+     * @param key The target key.
+     * @param target The target.
+     * @param value The value to record.
+     * @param now Current time in epoch milliseconds.
+     */
+    public synchronized void put(long key, T target, long value, long now) {
+        expire(now);
+
+        if (orderSize == maxEntries) {
+            evictOldest();
+        }
+
+        int slot = find(key);
+        if (slot < 0) {
+            slot = freeSlot(key);
+            keys[slot] = key;
+            size++;
+        }
+        targets[slot] = target;
+        values[slot] = value;
+        insertedAt[slot] = now;
+
+        int tail = (orderHead + orderSize) % maxEntries;
+        orderKeys[tail] = key;
+        orderInsertedAt[tail] = now;
+        orderSize++;
+    }
+
+    /**
+     * @return The number of entries in the index, including expired entries
+     *         which were not evicted yet.
+     */
+    public synchronized int size() {
+        return size;
+    }
+
+    private boolean isExpired(long timestamp, long now) {
+        return now - timestamp > retentionMillis;
+    }
+
+    private void expire(long now) {
+        while (orderSize > 0 && isExpired(orderInsertedAt[orderHead], now)) {
+            evictOldest();
+        }
+    }
+
+    private void evictOldest() {
+        long key = orderKeys[orderHead];
+        long timestamp = orderInsertedAt[orderHead];
+        orderHead = (orderHead + 1) % maxEntries;
+        orderSize--;
+
+        // The key may have been recorded again later, it is then evicted with
+        // its newer insertion
+        int slot = find(key);
+        if (slot >= 0 && insertedAt[slot] == timestamp) {
+            remove(slot);
+        }
+    }
+
+    private int find(long key) {
+        int slot = slot(key);
+        while (keys[slot] != EMPTY) {
+            if (keys[slot] == key) {
+                return slot;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return -1;
+    }
+
+    private int freeSlot(long key) {
+        int slot = slot(key);
+        while (keys[slot] != EMPTY) {
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+    /**
+     * Removes the entry at the slot, shifting back the following entries of the
+     * probe sequence so that no tombstones are needed.
+     */
+    private void remove(int slot) {
+        int hole = slot;
+        int next = slot;
+
+        while (true) {
+            next = (next + 1) & mask;
+            if (keys[next] == EMPTY) {
+                break;
+            }
+
+            int home = slot(keys[next]);
+            boolean movable = hole <= next ? (home <= hole || home > next) : (home <= hole && home > next);
+            if (movable) {
+                keys[hole] = keys[next];
+                targets[hole] = targets[next];
+                values[hole] = values[next];
+                insertedAt[hole] = insertedAt[next];
+                hole = next;
+            }
+        }
+
+        keys[hole] = EMPTY;
+        targets[hole] = null;
+        size--;
+    }
+
+    private int slot(long key) {
+        return (int) (key ^ (key >>> 32)) & mask;
+    }
+
+    private static long fnv(long hash, String value) {
+        for (int i = 0; i < value.length(); i++) {
+            hash = (hash ^ value.charAt(i)) * 0x100000001b3L;
+        }
+        return hash;
+    }
+}
@@ -0,0 +1,191 @@
+package org.jboss.sbomer.handler.et.core.utility;
+
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.LinkedList;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * <p>
+ * Hashed timer wheel for large numbers of delayed tasks with coarse timing.
+ * </p>
+ *
+ * <p>
+ * Time is divided into ticks and the wheel has a fixed number of buckets, a
+ * task is put into the bucket of the tick it is due at (modulo the wheel size)
+ * together with the number of remaining rounds of the wheel. Scheduling and
+ * cancelling are constant time, regardless of how many tasks are pending, and
+ * a single thread advances the wheel once per tick. Due tasks are run on the
+ * given executor, so that slow tasks do not delay the wheel. Tasks run up to
+ * one tick late.
+ * </p>
+ */
+@Slf4j
+public final class HashedTimerWheel implements AutoCloseable {
+
+    /**
+     * A scheduled task.
+     */
+    public static final class Timeout {
+        private final Runnable task;
+        private final long deadline;
+        private long remainingRounds;
+        private volatile boolean cancelled;
+
+        private Timeout(Runnable task, long deadline) {
+            this.task = task;
+            this.deadline = deadline;
+        }
+
+        /**
+         * Cancels the task if it did not run yet.
+         */
+        public void cancel() {
+            cancelled = true;
+        }
+
+        public boolean isCancelled() {
+            return cancelled;
+        }
+    }
+
+    private final long tickNanos;
+    private final Executor executor;
+    private final Thread worker;
+    private final long startTime = System.nanoTime();
+    // Only touched by the worker thread
+    private final LinkedList<Timeout>[] buckets;
+    private final Queue<Timeout> added = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger pending = new AtomicInteger();
+
+    private long tick;
+    private volatile boolean closed;
+
+    /**
+     * @param tick Duration of a tick, the timing resolution.
+     * @param wheelSize Number of buckets, rounded up to a power of two.
+     * @param executor Runs the due tasks.
+     * @param threadFactory Creates the thread advancing the wheel.
+     */
+    @SuppressWarnings("unchecked")
+    public HashedTimerWheel(Duration tick, int wheelSize, Executor executor, ThreadFactory threadFactory) {
+        if (tick.isZero() || tick.isNegative()) {
+            throw new IllegalArgumentException("tick must be positive");
+        }
+        if (wheelSize <= 0 || wheelSize > (1 << 30)) {
+            throw new IllegalArgumentException("wheelSize must be between 1 and 2^30");
+        }
+
+        this.tickNanos = tick.toNanos();
+        this.executor = executor;
+        int size = 1;
+        while (size < wheelSize) {
+            size <<= 1;
+        }
+        this.buckets = new LinkedList[size];
+        for (int i = 0; i < buckets.length; i++) {
+            buckets[i] = new LinkedList<>();
+        }
+
+        this.worker = threadFactory.newThread(this::run);
+        this.worker.start();
+    }
+
+    /**
+     * Schedules the task to run after the delay.
+     *
+     * @param task The task.
+     * @param delay The delay, negative delays are treated as zero.
+     * @return The scheduled task, which can be cancelled.
+     */
+    public Timeout schedule(Runnable task, Duration delay) {
+        if (closed) {
+            throw new RejectedExecutionException("Timer wheel is closed");
+        }
+
+        long deadline = System.nanoTime() - startTime + Math.max(0, delay.toNanos());
+        Timeout timeout = new Timeout(task, deadline);
+        pending.incrementAndGet();
+        added.add(timeout);
+        return timeout;
+    }
+
+    /**
+     * @return The number of scheduled tasks which did not run yet, including
+     *         cancelled tasks not discarded yet.
+     */
+    public int pending() {
+        return pending.get();
+    }
+
+    @Override
+    public void close() {
+        closed = true;
+        worker.interrupt();
+    }
+
+    private void run() {
+        while (!closed) {
+            long tickDeadline = tickNanos * (tick + 1);
+            long sleepNanos = tickDeadline - (System.nanoTime() - startTime);
+            if (sleepNanos > 0) {
+                try {
+                    TimeUnit.NANOSECONDS.sleep(sleepNanos);
+                } catch (InterruptedException e) {
+                    if (closed) {
+                        return;
+                    }
+                    continue;
+                }
+            }
+
+            transferAdded();
+            expire(buckets[(int) (tick & (buckets.length - 1))]);
+            tick++;
+        }
+    }
+
+    private void transferAdded() {
+        Timeout timeout;
+        while ((timeout = added.poll()) != null) {
+            if (timeout.cancelled) {
+                pending.decrementAndGet();
+                continue;
+            }
+
+            // Tasks due in the past go into the current bucket
+            long dueTick = Math.max(timeout.deadline / tickNanos, tick);
+            timeout.remainingRounds = (dueTick - tick) / buckets.length;
+            buckets[(int) (dueTick & (buckets.length - 1))].add(timeout);
+        }
+    }
+
+    private void expire(LinkedList<Timeout> bucket) {
+        Iterator<Timeout> iterator = bucket.iterator();
+        while (iterator.hasNext()) {
+            Timeout timeout = iterator.next();
+            if (timeout.cancelled) {
+                iterator.remove();
+                pending.decrementAndGet();
+            } else if (timeout.remainingRounds <= 0) {
+                iterator.remove();
+                pending.decrementAndGet();
+                try {
+                    executor.execute(timeout.task);
+                } catch (RejectedExecutionException e) {
+                    log.warn("Unable to run a due task, the executor rejected it", e);
+                }
+            } else {
+                timeout.remainingRounds--;
+            }
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package org.jboss.sbomer.handler.et.core.utility;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * <p>
+ * Collapses concurrent calls for the same key into a single execution.
+ * </p>
+ *
+ * <p>
+ * The first caller for a key executes the call, callers arriving while it is
+ * in flight wait for it and share its result, or its exception. The key is
+ * released as soon as the call completes (successfully or not), so a caller
+ * arriving afterwards executes the call again. Waiting callers give up after
+ * the given maximum wait, the call they waited for goes on.
+ * </p>
+ */
+@Slf4j
+public class SingleFlight<K, V> {
+
+    private final ConcurrentMap<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+
+    /**
+     * Executes the call, or joins the call in flight for the key.
+     *
+     * @param key The key.
+     * @param maxWait The maximum time to wait for a call in flight.
+     * @param call The call.
+     * @return The result of the call.
+     * @throws IllegalStateException If the call in flight did not complete within
+     *         the maximum wait, or the wait was interrupted.
+     */
+    public V execute(K key, Duration maxWait, Supplier<V> call) {
+        CompletableFuture<V> flight = new CompletableFuture<>();
+        CompletableFuture<V> existing = inFlight.putIfAbsent(key, flight);
+
+        if (existing != null) {
+            log.debug("Joining in-flight call for '{}'", key);
+            try {
+                return existing.get(maxWait.toNanos(), TimeUnit.NANOSECONDS);
+            } catch (ExecutionException e) {
+                throw e.getCause() instanceof RuntimeException runtime ? runtime
+                        : new IllegalStateException("In-flight call for '" + key + "' failed", e.getCause());
+            } catch (TimeoutException e) {
+                throw new IllegalStateException(
+                        "In-flight call for '" + key + "' did not complete within " + maxWait, e);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while waiting for in-flight call for '" + key + "'",
+                        e);
+            }
+        }
+
+        V value;
+        try {
+            value = call.get();
+        } catch (RuntimeException | Error e) {
+            inFlight.remove(key, flight);
+            flight.completeExceptionally(e);
+            throw e;
+        }
+
+        inFlight.remove(key, flight);
+        flight.complete(value);
+        return value;
+    }
+
+    /**
+     * @return Number of keys with a call in flight.
+     */
+    public int size() {
+        return inFlight.size();
+    }
+}
@@ -0,0 +1,120 @@
+package org.jboss.sbomer.handler.et.core.utility;
+
+import java.util.List;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * <p>
+ * The advisory and request handled by the current thread, so that the stages
+ * which do not know them (e.g. Koji calls) can be attributed in the
+ * {@link StageEvents}.
+ * </p>
+ *
+ * <p>
+ * The context is set while an advisory is handled and follows the tasks
+ * submitted to the executors wrapped with {@link #propagating(ExecutorService)}.
+ * </p>
+ *
+ * @param advisoryId The advisory ID.
+ * @param requestId The generation request ID, {@code null} if not known yet.
+ */
+public record StageContext(String advisoryId, String requestId) {
+
+    private static final ThreadLocal<StageContext> CURRENT = new ThreadLocal<>();
+
+    /**
+     * Restores the previous context when closed.
+     */
+    public interface Scope extends AutoCloseable {
+        @Override
+        void close();
+    }
+
+    /**
+     * @return The context of the current thread, {@code null} if none.
+     */
+    public static StageContext current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * Sets the context of the current thread until the returned scope is closed.
+     */
+    public static Scope open(String advisoryId, String requestId) {
+        return open(new StageContext(advisoryId, requestId));
+    }
+
+    /**
+     * Sets the request ID of the context of the current thread once it is
+     * known, e.g. the ID of a previous request answering an unchanged advisory.
+     * Tasks submitted before keep the context they were submitted in. Does
+     * nothing if the thread has no context.
+     */
+    public static void setRequestId(String requestId) {
+        StageContext context = CURRENT.get();
+        if (context != null) {
+            CURRENT.set(new StageContext(context.advisoryId(), requestId));
+        }
+    }
+
+    private static Scope open(StageContext context) {
+        StageContext previous = CURRENT.get();
+        CURRENT.set(context);
+        return () -> {
+            if (previous == null) {
+                CURRENT.remove();
+            } else {
+                CURRENT.set(previous);
+            }
+        };
+    }
+
+    /**
+     * @return The executor running the tasks in the context of the thread which
+     *         submitted them.
+     */
+    public static ExecutorService propagating(ExecutorService executor) {
+        return new AbstractExecutorService() {
+            @Override
+            public void execute(Runnable command) {
+                StageContext context = current();
+                if (context == null) {
+                    executor.execute(command);
+                    return;
+                }
+                executor.execute(() -> {
+                    try (Scope scope = open(context)) {
+                        command.run();
+                    }
+                });
+            }
+
+            @Override
+            public void shutdown() {
+                executor.shutdown();
+            }
+
+            @Override
+            public List<Runnable> shutdownNow() {
+                return executor.shutdownNow();
+            }
+
+            @Override
+            public boolean isShutdown() {
+                return executor.isShutdown();
+            }
+
+            @Override
+            public boolean isTerminated() {
+                return executor.isTerminated();
+            }
+
+            @Override
+            public boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException {
+                return executor.awaitTermination(timeout, unit);
+            }
+        };
+    }
+}
@@ -0,0 +1,148 @@
+package org.jboss.sbomer.handler.et.core.utility;
+
+import java.util.List;
+import java.util.function.Supplier;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * <p>
+ * JDK Flight Recorder events of the stages an advisory goes through, from the
+ * UMB message to the Kafka events.
+ * </p>
+ *
+ * <p>
+ * Every event carries the advisory ID and the request ID, taken from the
+ * {@link StageContext} when the stage does not know them. Events which are
+ * not enabled in any recording cost a check of a flag, so the stages are
+ * always instrumented.
+ * </p>
+ */
+public final class StageEvents {
+
+    /**
+     * Events of all stages, in the order an advisory goes through them.
+     */
+    public static final List<Class<? extends AdvisoryStage>> ALL = List.of(UmbFilter.class, ErrataToolCall.class,
+            KojiCall.class, GenerationRequestAssembly.class, KafkaPublish.class, FailureNotification.class);
+
+    @Category({ "SBOMer", "Errata Tool Handler" })
+    @StackTrace(false)
+    public abstract static class AdvisoryStage extends Event {
+        @Label("Advisory ID")
+        public String advisoryId;
+
+        @Label("Request ID")
+        public String requestId;
+
+        @Label("Failed")
+        public boolean failed;
+    }
+
+    @Name("org.jboss.sbomer.et.UmbFilter")
+    @Label("UMB Receive and Filter")
+    @Description("Parsing of a UMB message and deciding whether it triggers generations")
+    public static final class UmbFilter extends AdvisoryStage {
+        @Label("Relevant")
+        public boolean relevant;
+    }
+
+    @Name("org.jboss.sbomer.et.ErrataToolCall")
+    @Label("Errata Tool Call")
+    @Description("Call to Errata Tool, including the time spent batching, hedging and waiting for the limiter")
+    public static final class ErrataToolCall extends AdvisoryStage {
+        @Label("Operation")
+        public String operation;
+    }
+
+    @Name("org.jboss.sbomer.et.KojiCall")
+    @Label("Koji Call")
+    @Description("Call to Koji, including the time spent waiting for the limiter")
+    public static final class KojiCall extends AdvisoryStage {
+        @Label("Builds")
+        public int builds;
+    }
+
+    @Name("org.jboss.sbomer.et.GenerationRequestAssembly")
+    @Label("Generation Request Assembly")
+    @Description("Mapping of the attached builds to the generations of a request")
+    public static final class GenerationRequestAssembly extends AdvisoryStage {
+        @Label("Generations")
+        public int generations;
+    }
+
+    @Name("org.jboss.sbomer.et.KafkaPublish")
+    @Label("Kafka Publish")
+    @Description("Avro mapping and sending of a 'RequestsCreated' event, including the wait for an in-flight slot")
+    public static final class KafkaPublish extends AdvisoryStage {
+        @Label("Generations")
+        public int generations;
+    }
+
+    @Name("org.jboss.sbomer.et.FailureNotification")
+    @Label("Failure Notification")
+    @Description("Sending of a 'ProcessingFailed' event")
+    public static final class FailureNotification extends AdvisoryStage {
+        @Label("Reason")
+        public String reason;
+    }
+
+    private StageEvents() {
+    }
+
+    /**
+     * Runs the task as the stage of the event: the event is committed once the
+     * task finished, marked as failed if it threw.
+     *
+     * @param event A new event of the stage, with its specific fields set.
+     * @param task The task.
+     * @return The result of the task.
+     */
+    public static <T> T timed(AdvisoryStage event, Supplier<T> task) {
+        event.begin();
+        boolean failed = true;
+        try {
+            T result = task.get();
+            failed = false;
+            return result;
+        } finally {
+            event.end();
+            if (event.shouldCommit()) {
+                complete(event);
+                event.failed = failed;
+                event.commit();
+            }
+        }
+    }
+
+    /**
+     * Runs the task as the stage of the event, see {@link #timed(AdvisoryStage, Supplier)}.
+     */
+    public static void timed(AdvisoryStage event, Runnable task) {
+        timed(event, () -> {
+            task.run();
+            return null;
+        });
+    }
+
+    /**
+     * Fills the IDs the stage did not know from the {@link StageContext}.
+     */
+    static void complete(AdvisoryStage event) {
+        StageContext context = StageContext.current();
+        if (context == null) {
+            return;
+        }
+        if (event.advisoryId == null) {
+            event.advisoryId = context.advisoryId();
+        }
+        if (event.requestId == null) {
+            event.requestId = context.requestId();
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package org.jboss.sbomer.handler.et.core.utility;
 
+import com.github.f4b6a3.tsid.Tsid;
 import com.github.f4b6a3.tsid.TsidCreator;
 
 // TODO to consider during deployment
@@ -39,4 +40,35 @@ public class TsidUtility {
         return "R" + TsidCreator.getTsid1024().toString();
     }
 
+    /**
+     * Utility method to create an ID of an asynchronous REST submission using
+     * Tsid, starting with S
+     *
+     * @return Tsid of submission
+     */
+    public static String createUniqueSubmissionId() {
+        return "S" + TsidCreator.getTsid1024().toString();
+    }
+
+    /**
+     * Utility method to convert a generation ID to its numerical Tsid value,
+     * for compact storage
+     *
+     * @param generationId Generation ID created by {@link #createUniqueGenerationId()}
+     * @return Numerical value of the Tsid
+     */
+    public static long generationIdToLong(String generationId) {
+        return Tsid.from(generationId.substring(1)).toLong();
+    }
+
+    /**
+     * Utility method to convert a numerical Tsid value back to a generation ID
+     *
+     * @param value Numerical value obtained by {@link #generationIdToLong(String)}
+     * @return Generation ID, starting with G
+     */
+    public static String generationIdFromLong(long value) {
+        return "G" + Tsid.from(value).toString();
+    }
+
 }
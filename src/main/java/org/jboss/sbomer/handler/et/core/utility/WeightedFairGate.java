@@ -0,0 +1,229 @@
+package org.jboss.sbomer.handler.et.core.utility;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * <p>
+ * Limits the number of concurrently running tasks and, when the limit is
+ * reached, lets waiting tasks in by weighted fair sharing between classes.
+ * </p>
+ *
+ * <p>
+ * Each class has a weight and a pass (stride scheduling): admitting a task
+ * advances the pass of its class by {@code 1 / weight}, and the waiting class
+ * with the lowest pass is admitted next, so that classes get slots in
+ * proportion to their weights. To prevent starvation the pass of a class is
+ * lowered by one for every aging period its oldest task has been waiting.
+ * Within a class, tasks are admitted in FIFO order.
+ * </p>
+ */
+public final class WeightedFairGate {
+
+    private static final class Waiter {
+        final long enqueuedAt;
+        boolean admitted;
+
+        Waiter(long enqueuedAt) {
+            this.enqueuedAt = enqueuedAt;
+        }
+    }
+
+    private static final class Lane {
+        final double stride;
+        final ArrayDeque<Waiter> waiters = new ArrayDeque<>();
+        double pass;
+
+        Lane(double weight) {
+            this.stride = 1.0 / weight;
+        }
+    }
+
+    private final int maxConcurrent;
+    private final long agingNanos;
+    private final Map<String, Lane> lanes = new LinkedHashMap<>();
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition admitted = lock.newCondition();
+
+    private int running;
+    private double virtualTime;
+
+    /**
+     * @param maxConcurrent Maximum number of tasks running at once.
+     * @param aging Waiting time after which the pass of a class is lowered by
+     *        one, zero disables aging.
+     * @param weights Weights of the classes.
+     */
+    public WeightedFairGate(int maxConcurrent, Duration aging, Map<String, Double> weights) {
+        if (maxConcurrent <= 0) {
+            throw new IllegalArgumentException("maxConcurrent must be positive");
+        }
+        if (weights.isEmpty()) {
+            throw new IllegalArgumentException("At least one class is required");
+        }
+
+        this.maxConcurrent = maxConcurrent;
+        this.agingNanos = aging.toNanos();
+        weights.forEach((name, weight) -> {
+            if (weight <= 0) {
+                throw new IllegalArgumentException("Weight of class '" + name + "' must be positive");
+            }
+            lanes.put(name, new Lane(weight));
+        });
+    }
+
+    /**
+     * Waits until a task of the class may run. Every successful call must be
+     * followed by {@link #release()}.
+     *
+     * @param className The class of the task.
+     * @return Nanoseconds spent waiting.
+     */
+    public long acquire(String className) throws InterruptedException {
+        Lane lane = lane(className);
+        long start = System.nanoTime();
+
+        lock.lock();
+        try {
+            if (running < maxConcurrent && !hasWaiters()) {
+                admit(lane);
+                return 0;
+            }
+
+            if (lane.waiters.isEmpty()) {
+                // A class becoming active does not get credit for the time it was idle
+                lane.pass = Math.max(lane.pass, virtualTime);
+            }
+
+            Waiter waiter = new Waiter(start);
+            lane.waiters.addLast(waiter);
+
+            try {
+                while (!waiter.admitted) {
+                    admitted.await();
+                }
+            } catch (InterruptedException e) {
+                if (waiter.admitted) {
+                    // Admitted concurrently, hand the slot over
+                    running--;
+                    admitNext();
+                } else {
+                    lane.waiters.remove(waiter);
+                }
+                throw e;
+            }
+
+            return System.nanoTime() - start;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Frees the slot of a finished task and admits the next waiting task.
+     */
+    public void release() {
+        lock.lock();
+        try {
+            running--;
+            admitNext();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * @return The number of tasks of the class waiting to run.
+     */
+    public int waiting(String className) {
+        lock.lock();
+        try {
+            return lane(className).waiters.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * @return The number of tasks of all classes waiting to run.
+     */
+    public int waiting() {
+        lock.lock();
+        try {
+            int waiting = 0;
+            for (Lane lane : lanes.values()) {
+                waiting += lane.waiters.size();
+            }
+            return waiting;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * @return The names of the classes.
+     */
+    public Iterable<String> classNames() {
+        return lanes.keySet();
+    }
+
+    private Lane lane(String className) {
+        Lane lane = lanes.get(className);
+        if (lane == null) {
+            throw new IllegalArgumentException("Unknown class '" + className + "'");
+        }
+        return lane;
+    }
+
+    private boolean hasWaiters() {
+        for (Lane lane : lanes.values()) {
+            if (!lane.waiters.isEmpty()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void admitNext() {
+        if (running >= maxConcurrent) {
+            return;
+        }
+
+        long now = System.nanoTime();
+        Lane next = null;
+        double best = Double.MAX_VALUE;
+
+        for (Lane lane : lanes.values()) {
+            Waiter head = lane.waiters.peekFirst();
+            if (head == null) {
+                continue;
+            }
+
+            double score = lane.pass - (agingNanos > 0 ? (double) (now - head.enqueuedAt) / agingNanos : 0);
+            if (score < best) {
+                best = score;
+                next = lane;
+            }
+        }
+
+        if (next == null) {
+            return;
+        }
+
+        Waiter waiter = next.waiters.pollFirst();
+        waiter.admitted = true;
+        admit(next);
+        admitted.signalAll();
+    }
+
+    private void admit(Lane lane) {
+        running++;
+        lane.pass = Math.max(lane.pass, virtualTime);
+        virtualTime = lane.pass;
+        lane.pass += lane.stride;
+    }
+}
@@ -0,0 +1,32 @@
+package org.jboss.sbomer.test.unit.et.adapter.in;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.time.Duration;
+
+import org.jboss.sbomer.handler.et.adapter.in.AdmissionRejectedExceptionMapper;
+import org.jboss.sbomer.handler.et.core.domain.exception.AdmissionRejectedException;
+import org.junit.jupiter.api.Test;
+
+import jakarta.ws.rs.core.HttpHeaders;
+import jakarta.ws.rs.core.Response;
+
+class AdmissionRejectedExceptionMapperTest {
+
+    private final AdmissionRejectedExceptionMapper mapper = new AdmissionRejectedExceptionMapper();
+
+    @Test
+    void shouldAnswerTooManyRequestsWithRetryAfter() {
+        Response response = mapper.toResponse(new AdmissionRejectedException("busy", Duration.ofMillis(12_300)));
+
+        assertEquals(429, response.getStatus());
+        assertEquals("13", response.getHeaderString(HttpHeaders.RETRY_AFTER));
+    }
+
+    @Test
+    void shouldRetryAfterAtLeastOneSecond() {
+        Response response = mapper.toResponse(new AdmissionRejectedException("busy", Duration.ZERO));
+
+        assertEquals("1", response.getHeaderString(HttpHeaders.RETRY_AFTER));
+    }
+}
@@ -0,0 +1,83 @@
+package org.jboss.sbomer.test.unit.et.adapter.in;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+
+import org.jboss.sbomer.handler.et.adapter.in.JfrRecordings;
+import org.jboss.sbomer.handler.et.adapter.in.dto.RecordingRequest;
+import org.jboss.sbomer.handler.et.adapter.in.dto.RecordingStatus;
+import org.jboss.sbomer.handler.et.core.utility.StageEvents;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import jakarta.ws.rs.BadRequestException;
+import jakarta.ws.rs.ClientErrorException;
+import jakarta.ws.rs.NotFoundException;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+
+class JfrRecordingsTest {
+
+    private final JfrRecordings recordings = new JfrRecordings(Duration.ofMinutes(10), 10 * 1024 * 1024, 2);
+
+    @AfterEach
+    void close() {
+        recordings.list().forEach(status -> recordings.delete(status.id()));
+    }
+
+    @Test
+    void shouldRecordStagesOfAdvisories() throws Exception {
+        RecordingStatus started = recordings.start(new RecordingRequest("default", Duration.ofMinutes(1)));
+        assertEquals("RUNNING", started.state());
+        assertEquals("default", started.settings());
+
+        StageEvents.ErrataToolCall call = new StageEvents.ErrataToolCall();
+        call.advisoryId = "12345";
+        call.operation = "getInfo";
+        StageEvents.timed(call, () -> {
+        });
+
+        assertEquals("STOPPED", recordings.stop(started.id()).state());
+
+        Path file = recordings.dump(started.id());
+        try {
+            List<RecordedEvent> events = RecordingFile.readAllEvents(file).stream()
+                    .filter(event -> event.getEventType().getName().equals("org.jboss.sbomer.et.ErrataToolCall"))
+                    .toList();
+            assertEquals(1, events.size());
+            assertEquals("12345", events.get(0).getString("advisoryId"));
+            assertEquals("getInfo", events.get(0).getString("operation"));
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    @Test
+    void shouldRejectInvalidRecordings() {
+        assertThrows(BadRequestException.class,
+                () -> recordings.start(new RecordingRequest("default", Duration.ofMinutes(11))));
+        assertThrows(BadRequestException.class, () -> recordings.start(new RecordingRequest("default", Duration.ZERO)));
+        assertThrows(BadRequestException.class,
+                () -> recordings.start(new RecordingRequest("../../etc/passwd", Duration.ofMinutes(1))));
+        assertThrows(NotFoundException.class, () -> recordings.stop(-1));
+        assertTrue(recordings.list().isEmpty());
+    }
+
+    @Test
+    void shouldReplaceStoppedRecordingsButNotRunningOnes() {
+        RecordingStatus first = recordings.start(new RecordingRequest(null, null));
+        RecordingStatus second = recordings.start(new RecordingRequest(null, null));
+        assertThrows(ClientErrorException.class, () -> recordings.start(new RecordingRequest(null, null)));
+
+        recordings.stop(first.id());
+        RecordingStatus third = recordings.start(new RecordingRequest(null, null));
+
+        assertEquals(List.of(second.id(), third.id()), recordings.list().stream().map(RecordingStatus::id).toList());
+    }
+}
@@ -3,6 +3,7 @@ package org.jboss.sbomer.test.unit.et.adapter.in;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyBoolean;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
@@ -16,6 +17,7 @@ import java.util.Collections;
 import org.jboss.sbomer.handler.et.adapter.in.RestAdvisoryHandler;
 import org.jboss.sbomer.handler.et.adapter.in.dto.AdvisoryRequest;
 import org.jboss.sbomer.handler.et.adapter.in.dto.AdvisoryRequestResponse;
+import org.jboss.sbomer.handler.et.core.domain.advisory.Trigger;
 import org.jboss.sbomer.handler.et.core.domain.generation.GenerationRequest;
 import org.jboss.sbomer.handler.et.core.port.api.AdvisoryHandler;
 import org.junit.jupiter.api.BeforeEach;
@@ -51,15 +53,15 @@ class RestAdvisoryHandlerTest {
         String advisoryId = "12345";
         AdvisoryRequest requestDto = new AdvisoryRequest(advisoryId);
 
-        GenerationRequest mockDomainResponse = new GenerationRequest("REQ-123", Collections.emptyList(), Collections.emptyList());
-        when(advisoryHandler.requestGenerations(advisoryId)).thenReturn(mockDomainResponse);
+        GenerationRequest mockDomainResponse = new GenerationRequest("REQ-123", advisoryId, Collections.emptyList(), Collections.emptyList());
+        when(advisoryHandler.requestGenerations(advisoryId, false, Trigger.rest())).thenReturn(mockDomainResponse);
 
         AdvisoryRequestResponse response = restAdvisoryHandler.requestAdvisory(requestDto);
 
         assertNotNull(response);
         assertEquals(mockDomainResponse, response.generationRequest());
 
-        verify(advisoryHandler).requestGenerations(advisoryId);
+        verify(advisoryHandler).requestGenerations(advisoryId, false, Trigger.rest());
     }
 
     @Test
@@ -73,6 +75,6 @@ class RestAdvisoryHandlerTest {
         AdvisoryRequestResponse response = restAdvisoryHandler.requestAdvisory(requestDto);
 
         assertNull(response);
-        verify(advisoryHandler, never()).requestGenerations(anyString());
+        verify(advisoryHandler, never()).requestGenerations(anyString(), anyBoolean(), any());
     }
 }
\ No newline at end of file
@@ -0,0 +1,61 @@
+package org.jboss.sbomer.test.unit.et.adapter.in;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+
+import org.jboss.sbomer.handler.et.adapter.in.JfrRecordings;
+import org.jboss.sbomer.handler.et.adapter.in.RestProfilingHandler;
+import org.jboss.sbomer.handler.et.adapter.in.StageTimings;
+import org.jboss.sbomer.handler.et.adapter.in.dto.StageTiming;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import jakarta.ws.rs.NotAuthorizedException;
+import jakarta.ws.rs.NotFoundException;
+
+@ExtendWith(MockitoExtension.class)
+class RestProfilingHandlerTest {
+
+    @Mock
+    StageTimings stageTimings;
+
+    @Mock
+    JfrRecordings recordings;
+
+    @Test
+    void shouldBeDisabledWithoutToken() {
+        RestProfilingHandler handler = new RestProfilingHandler(stageTimings, recordings, Optional.empty());
+
+        assertThrows(NotFoundException.class, () -> handler.recordings("Bearer "));
+        verifyNoInteractions(recordings);
+    }
+
+    @Test
+    void shouldRejectInvalidToken() {
+        RestProfilingHandler handler = new RestProfilingHandler(stageTimings, recordings, Optional.of("secret"));
+
+        assertThrows(NotAuthorizedException.class, () -> handler.stages(null, null, 10));
+        assertThrows(NotAuthorizedException.class, () -> handler.stages("Bearer wrong", null, 10));
+        assertThrows(NotAuthorizedException.class, () -> handler.delete("secret", 1));
+        verifyNoInteractions(stageTimings, recordings);
+    }
+
+    @Test
+    void shouldServeStagesWithValidToken() {
+        RestProfilingHandler handler = new RestProfilingHandler(stageTimings, recordings, Optional.of("secret"));
+        List<StageTiming> stages = List
+                .of(new StageTiming("Koji Call", "12345", "R1", Instant.now(), Duration.ofMillis(20), false));
+        when(stageTimings.recent("12345", 10)).thenReturn(stages);
+
+        assertEquals(stages, handler.stages("Bearer secret", "12345", 10));
+    }
+}
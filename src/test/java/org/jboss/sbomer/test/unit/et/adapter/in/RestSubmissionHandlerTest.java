@@ -0,0 +1,131 @@
+package org.jboss.sbomer.test.unit.et.adapter.in;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.jboss.sbomer.handler.et.adapter.in.RestSubmissionHandler;
+import org.jboss.sbomer.handler.et.adapter.in.SubmissionStore;
+import org.jboss.sbomer.handler.et.adapter.in.dto.AdvisoryRequest;
+import org.jboss.sbomer.handler.et.adapter.in.dto.SubmissionStatus;
+import org.jboss.sbomer.handler.et.adapter.in.dto.SubmissionStatus.State;
+import org.jboss.sbomer.handler.et.core.domain.advisory.Trigger;
+import org.jboss.sbomer.handler.et.core.domain.exception.AdmissionRejectedException;
+import org.jboss.sbomer.handler.et.core.domain.generation.GenerationRequest;
+import org.jboss.sbomer.handler.et.core.port.api.AdvisoryHandler;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import dev.openfeature.sdk.Client;
+import jakarta.ws.rs.NotFoundException;
+import jakarta.ws.rs.core.Response;
+
+@ExtendWith(MockitoExtension.class)
+class RestSubmissionHandlerTest {
+
+    @Mock
+    AdvisoryHandler advisoryHandler;
+
+    @Mock
+    Client featureClient;
+
+    @TempDir
+    Path directory;
+
+    RestSubmissionHandler handler;
+
+    @BeforeEach
+    void setup() {
+        lenient().when(featureClient.getBooleanValue(eq("rest.handler.enabled"), anyBoolean()))
+                .thenReturn(true);
+        handler = new RestSubmissionHandler(advisoryHandler, featureClient,
+                new SubmissionStore(100, directory.toString(), Duration.ofDays(1)), true, 1, 1, Duration.ofSeconds(5));
+    }
+
+    @Test
+    void shouldAcceptAndCompleteInBackground() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        GenerationRequest generationRequest = new GenerationRequest("REQ-123", "12345", Collections.emptyList(),
+                Collections.emptyList());
+        when(advisoryHandler.requestGenerations("12345", false, Trigger.restAsync())).thenAnswer(invocation -> {
+            release.await(5, TimeUnit.SECONDS);
+            return generationRequest;
+        });
+
+        Response response = handler.submit(new AdvisoryRequest("12345"));
+
+        assertEquals(202, response.getStatus());
+        SubmissionStatus accepted = (SubmissionStatus) response.getEntity();
+        assertEquals(State.ACCEPTED, accepted.state());
+        assertEquals("/v1/errata-tool/submissions/" + accepted.submissionId(), response.getLocation().toString());
+
+        // Only one submission may be pending
+        assertThrows(AdmissionRejectedException.class, () -> handler.submit(new AdvisoryRequest("67890")));
+
+        release.countDown();
+        SubmissionStatus status = awaitFinished(accepted.submissionId());
+        assertEquals(State.COMPLETED, status.state());
+        assertEquals(generationRequest, status.generationRequest());
+    }
+
+    @Test
+    void shouldReportFailure() throws Exception {
+        when(advisoryHandler.requestGenerations("12345", false, Trigger.restAsync()))
+                .thenThrow(new IllegalStateException("ET is down"));
+
+        SubmissionStatus accepted = (SubmissionStatus) handler.submit(new AdvisoryRequest("12345")).getEntity();
+
+        SubmissionStatus status = awaitFinished(accepted.submissionId());
+        assertEquals(State.FAILED, status.state());
+        assertEquals("ET is down", status.error());
+    }
+
+    @Test
+    void shouldRejectSubmissionNotAdmittedByScheduler() throws Exception {
+        doThrow(new AdmissionRejectedException("Too many advisories are waiting", Duration.ofSeconds(70)))
+                .doNothing()
+                .when(advisoryHandler)
+                .admit(Trigger.restAsync(), 0);
+
+        AdmissionRejectedException rejected = assertThrows(AdmissionRejectedException.class,
+                () -> handler.submit(new AdvisoryRequest("12345")));
+        assertEquals(Duration.ofSeconds(70), rejected.getRetryAfter());
+        verify(advisoryHandler, never()).requestGenerations(any(), anyBoolean(), any());
+
+        // The rejected submission is not pending
+        SubmissionStatus accepted = (SubmissionStatus) handler.submit(new AdvisoryRequest("12345")).getEntity();
+        awaitFinished(accepted.submissionId());
+    }
+
+    @Test
+    void shouldNotFindUnknownSubmission() {
+        assertThrows(NotFoundException.class, () -> handler.status("S0000000000000"));
+    }
+
+    private SubmissionStatus awaitFinished(String submissionId) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        SubmissionStatus status = handler.status(submissionId);
+        while (!status.isFinished() && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+            status = handler.status(submissionId);
+        }
+        return status;
+    }
+}
@@ -0,0 +1,100 @@
+package org.jboss.sbomer.test.unit.et.adapter.in;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+import org.jboss.sbomer.handler.et.adapter.in.StageTimings;
+import org.jboss.sbomer.handler.et.adapter.in.dto.StageTiming;
+import org.jboss.sbomer.handler.et.core.utility.StageContext;
+import org.jboss.sbomer.handler.et.core.utility.StageEvents;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+class StageTimingsTest {
+
+    private StageTimings timings;
+
+    @AfterEach
+    void close() {
+        if (timings != null) {
+            timings.close();
+        }
+    }
+
+    private static void await(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (!condition.getAsBoolean()) {
+            assertTrue(System.nanoTime() < deadline, "Condition not met in time");
+            Thread.sleep(50);
+        }
+    }
+
+    private static void kojiCall(String advisoryId, boolean fail) {
+        try (StageContext.Scope scope = StageContext.open(advisoryId, "R" + advisoryId)) {
+            StageEvents.timed(new StageEvents.KojiCall(), () -> {
+                if (fail) {
+                    throw new IllegalStateException("Koji is down");
+                }
+            });
+        } catch (IllegalStateException e) {
+            // Recorded as failed
+        }
+    }
+
+    @Test
+    void shouldKeepRecentStagesOfAdvisoriesFromTheirContext() throws Exception {
+        timings = new StageTimings(true, 16);
+
+        kojiCall("1", false);
+        kojiCall("2", true);
+        kojiCall("1", false);
+
+        await(() -> timings.recent(null, 10).size() == 3);
+
+        List<StageTiming> first = timings.recent("1", 10);
+        assertEquals(2, first.size());
+        assertEquals("Koji Call", first.get(0).stage());
+        assertEquals("R1", first.get(0).requestId());
+        assertFalse(first.get(0).failed());
+        assertFalse(first.get(0).startedAt().isBefore(first.get(1).startedAt()));
+
+        List<StageTiming> second = timings.recent("2", 10);
+        assertEquals(1, second.size());
+        assertTrue(second.get(0).failed());
+    }
+
+    @Test
+    void shouldOverwriteOldestStagesOverCapacity() throws Exception {
+        timings = new StageTimings(true, 4);
+
+        for (int i = 0; i < 10; i++) {
+            StageEvents.UmbFilter event = new StageEvents.UmbFilter();
+            event.advisoryId = String.valueOf(i);
+            StageEvents.timed(event, () -> {
+            });
+        }
+
+        await(() -> timings.recent("9", 1).size() == 1);
+        List<StageTiming> recent = timings.recent(null, 10);
+        assertEquals(4, recent.size());
+        assertEquals(List.of("9", "8", "7", "6"), recent.stream().map(StageTiming::advisoryId).toList());
+        assertEquals(2, timings.recent(null, 2).size());
+    }
+
+    @Test
+    void shouldKeepNothingWhenDisabled() throws Exception {
+        timings = new StageTimings(false, 16);
+
+        kojiCall("1", false);
+
+        Thread.sleep(1500);
+        assertTrue(timings.recent(null, 10).isEmpty());
+        assertThrows(IllegalArgumentException.class, () -> new StageTimings(false, 0));
+    }
+}
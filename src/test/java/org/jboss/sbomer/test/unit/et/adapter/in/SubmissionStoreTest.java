@@ -0,0 +1,67 @@
+package org.jboss.sbomer.test.unit.et.adapter.in;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+
+import org.jboss.sbomer.handler.et.adapter.in.SubmissionStore;
+import org.jboss.sbomer.handler.et.adapter.in.dto.SubmissionStatus;
+import org.jboss.sbomer.handler.et.core.domain.generation.GenerationRequest;
+import org.jboss.sbomer.handler.et.core.domain.publish.Publisher;
+import org.jboss.sbomer.handler.et.core.utility.TsidUtility;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class SubmissionStoreTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void shouldSpillLeastRecentlyUsedStatusesToDisk() throws IOException {
+        SubmissionStore store = new SubmissionStore(2, directory.toString(), Duration.ofDays(1));
+
+        SubmissionStatus first = completed("1");
+        SubmissionStatus second = completed("2");
+        SubmissionStatus third = completed("3");
+        store.put(first);
+        store.put(second);
+        store.put(third);
+
+        // Only the oldest one left the memory
+        try (var files = Files.list(directory)) {
+            assertEquals(List.of(directory.resolve(first.submissionId() + ".json")), files.toList());
+        }
+
+        assertEquals(first, store.find(first.submissionId()).orElseThrow());
+        assertEquals(second, store.find(second.submissionId()).orElseThrow());
+        assertEquals(third, store.find(third.submissionId()).orElseThrow());
+        assertTrue(store.find(TsidUtility.createUniqueSubmissionId()).isEmpty());
+        assertTrue(store.find("../state/snapshot").isEmpty());
+    }
+
+    @Test
+    void shouldPurgeExpiredStatusesOnStartup() throws IOException {
+        SubmissionStore store = new SubmissionStore(1, directory.toString(), Duration.ofDays(1));
+        SubmissionStatus first = completed("1");
+        store.put(first);
+        store.put(completed("2"));
+        assertTrue(store.find(first.submissionId()).isPresent());
+
+        SubmissionStore reopened = new SubmissionStore(1, directory.toString(), Duration.ZERO);
+
+        assertFalse(reopened.find(first.submissionId()).isPresent());
+    }
+
+    private static SubmissionStatus completed(String advisoryId) {
+        return SubmissionStatus.accepted(TsidUtility.createUniqueSubmissionId(), advisoryId, false)
+                .completed(new GenerationRequest(TsidUtility.createUniqueGenerationRequestId(), advisoryId,
+                        List.of(new Publisher("atlas-build", "1.0")), List.of()));
+    }
+}
@@ -1,23 +1,32 @@
 package org.jboss.sbomer.test.unit.et.adapter.in;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.*;
 
 import java.nio.charset.StandardCharsets;
 import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
 
 import org.eclipse.microprofile.reactive.messaging.Message;
 import org.jboss.sbomer.handler.et.adapter.in.UmbAdvisoryHandler;
+import org.jboss.sbomer.handler.et.adapter.in.UmbTrafficCapture;
+import org.jboss.sbomer.handler.et.core.domain.advisory.Trigger;
 import org.jboss.sbomer.handler.et.core.port.api.AdvisoryHandler;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import dev.openfeature.sdk.Client;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import io.smallrye.reactive.messaging.amqp.IncomingAmqpMetadata;
 import io.vertx.core.json.JsonObject;
 
@@ -30,6 +39,12 @@ class UmbAdvisoryHandlerTest {
     @Mock
     Client featureClient;
 
+    @Mock
+    UmbTrafficCapture capture;
+
+    @Spy
+    SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
 
     @InjectMocks
     UmbAdvisoryHandler umbAdvisoryHandler;
@@ -57,7 +72,7 @@ class UmbAdvisoryHandlerTest {
         umbAdvisoryHandler.process(message);
 
         // Then the domain handler should be called with the ID
-        verify(advisoryHandler).requestGenerations("12345");
+        verify(advisoryHandler).requestGenerations("12345", false, Trigger.umb("QE"));
         verify(message).ack();
     }
 
@@ -75,7 +90,7 @@ class UmbAdvisoryHandlerTest {
         umbAdvisoryHandler.process(message);
 
         // Then the domain handler should be called
-        verify(advisoryHandler).requestGenerations("99999");
+        verify(advisoryHandler).requestGenerations("99999", false, Trigger.umb("SHIPPED_LIVE"));
         verify(message).ack();
     }
 
@@ -93,7 +108,7 @@ class UmbAdvisoryHandlerTest {
         umbAdvisoryHandler.process(message);
 
         // Then the domain handler should NOT be called, but message should be acked
-        verify(advisoryHandler, never()).requestGenerations(anyString());
+        verify(advisoryHandler, never()).requestGenerations(anyString(), anyBoolean(), any());
         verify(message).ack();
     }
 
@@ -111,7 +126,7 @@ class UmbAdvisoryHandlerTest {
         umbAdvisoryHandler.process(message);
 
         // Then ignored
-        verify(advisoryHandler, never()).requestGenerations(anyString());
+        verify(advisoryHandler, never()).requestGenerations(anyString(), anyBoolean(), any());
         verify(message).ack();
     }
 
@@ -125,7 +140,7 @@ class UmbAdvisoryHandlerTest {
         umbAdvisoryHandler.process(message);
 
         // Then it should assume it's garbage and Ack it to remove from queue
-        verify(advisoryHandler, never()).requestGenerations(anyString());
+        verify(advisoryHandler, never()).requestGenerations(anyString(), anyBoolean(), any());
         verify(message).ack();
     }
 
@@ -146,10 +161,33 @@ class UmbAdvisoryHandlerTest {
         umbAdvisoryHandler.process(message);
 
         // Then business logic should be skipped, but message acked
-        verify(advisoryHandler, never()).requestGenerations(anyString());
+        verify(advisoryHandler, never()).requestGenerations(anyString(), anyBoolean(), any());
         verify(message).ack();
     }
 
+    @Test
+    void shouldRecordAgeOfMessage() {
+        String payload = new JsonObject().put("errata_id", 12345).put("errata_status", "QE").encode();
+        Message<byte[]> message = mockMessage(payload, "errata.activity.status");
+        IncomingAmqpMetadata metadata = message.getMetadata(IncomingAmqpMetadata.class).get();
+        when(metadata.getCreationTime()).thenReturn(System.currentTimeMillis() - 5000);
+
+        umbAdvisoryHandler.process(message);
+
+        Timer age = registry.get("sbomer.umb.message-age").timer();
+        assertEquals(1, age.count());
+        assertTrue(age.max(TimeUnit.MILLISECONDS) >= 5000);
+    }
+
+    @Test
+    void shouldNotRecordAgeOfMessageWithoutCreationTime() {
+        String payload = new JsonObject().put("errata_id", 12345).put("errata_status", "QE").encode();
+
+        umbAdvisoryHandler.process(mockMessage(payload, "errata.activity.status"));
+
+        assertEquals(0, registry.get("sbomer.umb.message-age").timer().count());
+    }
+
     private Message<byte[]> mockMessage(String payload, String subject) {
         Message<byte[]> message = mock(Message.class);
 
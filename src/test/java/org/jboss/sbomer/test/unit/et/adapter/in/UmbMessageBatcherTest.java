@@ -0,0 +1,96 @@
+package org.jboss.sbomer.test.unit.et.adapter.in;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.microprofile.reactive.messaging.Message;
+import org.jboss.sbomer.handler.et.adapter.in.ErrataStatusChange;
+import org.jboss.sbomer.handler.et.adapter.in.UmbMessageBatcher;
+import org.jboss.sbomer.handler.et.core.domain.advisory.Trigger;
+import org.jboss.sbomer.handler.et.core.port.api.AdvisoryHandler;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+class UmbMessageBatcherTest {
+
+    private final AdvisoryHandler advisoryHandler = mock(AdvisoryHandler.class);
+    private UmbMessageBatcher batcher;
+
+    @AfterEach
+    void shutdown() {
+        batcher.close();
+    }
+
+    @Test
+    void shouldHandleDuplicateAdvisoriesOnceAndAckAfterFlush() throws Exception {
+        CompletableFuture<Void> flushed = new CompletableFuture<>();
+        when(advisoryHandler.flush()).thenReturn(flushed);
+        batcher = new UmbMessageBatcher(3, Duration.ofSeconds(10), 2, UmbMessageBatcherTest::advisoryId,
+                advisoryHandler);
+
+        Message<byte[]> first = message("1");
+        Message<byte[]> duplicate = message("1");
+        Message<byte[]> irrelevant = message("");
+
+        List<CompletableFuture<Void>> done = List.of(
+                batcher.submit(first).toCompletableFuture(),
+                batcher.submit(duplicate).toCompletableFuture(),
+                batcher.submit(irrelevant).toCompletableFuture());
+
+        // The irrelevant message does not wait for the flush
+        done.get(2).get(5, TimeUnit.SECONDS);
+        verify(irrelevant).ack();
+        verify(first, never()).ack();
+
+        flushed.complete(null);
+        CompletableFuture.allOf(done.toArray(CompletableFuture[]::new)).get(5, TimeUnit.SECONDS);
+
+        verify(advisoryHandler, times(1)).requestGenerations("1", false, Trigger.umb("QE"));
+        verify(first).ack();
+        verify(duplicate).ack();
+    }
+
+    @Test
+    void shouldNackMessagesOfFailedAdvisory() throws Exception {
+        when(advisoryHandler.flush()).thenReturn(CompletableFuture.completedFuture(null));
+        when(advisoryHandler.requestGenerations("2", false, Trigger.umb("QE")))
+                .thenThrow(new IllegalStateException("ET is down"));
+        batcher = new UmbMessageBatcher(100, Duration.ofMillis(10), 2, UmbMessageBatcherTest::advisoryId,
+                advisoryHandler);
+
+        Message<byte[]> ok = message("1");
+        Message<byte[]> failing = message("2");
+
+        CompletableFuture.allOf(
+                batcher.submit(ok).toCompletableFuture(),
+                batcher.submit(failing).toCompletableFuture()).get(5, TimeUnit.SECONDS);
+
+        verify(ok).ack();
+        verify(failing).nack(any(IllegalStateException.class));
+    }
+
+    private static Optional<ErrataStatusChange> advisoryId(Message<byte[]> message) {
+        String payload = new String(message.getPayload(), StandardCharsets.UTF_8);
+        return payload.isEmpty() ? Optional.empty() : Optional.of(new ErrataStatusChange(payload, "QE"));
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Message<byte[]> message(String advisoryId) {
+        Message<byte[]> message = mock(Message.class);
+        when(message.getPayload()).thenReturn(advisoryId.getBytes(StandardCharsets.UTF_8));
+        when(message.ack()).thenReturn(CompletableFuture.completedFuture(null));
+        when(message.nack(any())).thenReturn(CompletableFuture.completedFuture(null));
+        return message;
+    }
+}
@@ -0,0 +1,119 @@
+package org.jboss.sbomer.test.unit.et.adapter.in;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.jboss.sbomer.handler.et.adapter.in.UmbAdvisoryHandler;
+import org.jboss.sbomer.handler.et.adapter.in.UmbCaptureFile;
+import org.jboss.sbomer.handler.et.adapter.in.UmbReplayer;
+import org.jboss.sbomer.handler.et.core.domain.advisory.Trigger;
+import org.jboss.sbomer.handler.et.core.domain.generation.GenerationRequest;
+import org.jboss.sbomer.handler.et.core.port.api.AdvisoryHandler;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import dev.openfeature.sdk.Client;
+import io.vertx.core.json.JsonObject;
+
+class UmbReplayerTest {
+
+    @TempDir
+    Path directory;
+
+    /**
+     * Writes a capture of messages arriving every {@code gapMillis}.
+     */
+    private Path capture(String name, int messages, long gapMillis) throws IOException {
+        Path file = directory.resolve(name);
+        try (UmbCaptureFile.Writer writer = new UmbCaptureFile.Writer(file)) {
+            for (int i = 0; i < messages; i++) {
+                byte[] payload = new JsonObject()
+                        .put("errata_id", i)
+                        .put("errata_status", i % 2 == 0 ? "QE" : "SHIPPED_LIVE")
+                        .encode()
+                        .getBytes(StandardCharsets.UTF_8);
+                writer.append(new UmbCaptureFile.Entry(1_000_000 + i * gapMillis,
+                        new JsonObject().put("subject", "errata.activity.status"), payload));
+            }
+        }
+        return file;
+    }
+
+    @Test
+    void shouldReplayThroughHandlerAtMaximumSpeed() throws Exception {
+        Set<String> handled = ConcurrentHashMap.newKeySet();
+        AdvisoryHandler advisoryHandler = new AdvisoryHandler() {
+            @Override
+            public GenerationRequest requestGenerations(String advisoryId, boolean force) {
+                return null;
+            }
+
+            @Override
+            public GenerationRequest requestGenerations(String advisoryId, boolean force, Trigger trigger) {
+                handled.add(advisoryId);
+                return null;
+            }
+        };
+        Client featureClient = mock(Client.class);
+        when(featureClient.getBooleanValue(eq("umb.handler.enabled"), anyBoolean()))
+                .thenReturn(true);
+        UmbAdvisoryHandler umbAdvisoryHandler = new UmbAdvisoryHandler(advisoryHandler, featureClient);
+
+        // An hour of traffic
+        List<Path> files = List.of(capture("umb-1.capture", 60, 30_000), capture("umb-2.capture", 60, 30_000));
+        UmbReplayer.Report report = new UmbReplayer(umbAdvisoryHandler::handle, 0, 4).replay(files);
+
+        assertEquals(120, report.messages());
+        assertEquals(0, report.failed());
+        assertEquals(60, handled.size());
+        assertTrue(report.elapsed().compareTo(Duration.ofSeconds(10)) < 0);
+        assertTrue(report.throughput() > 0);
+    }
+
+    @Test
+    void shouldScaleArrivalTimesAndReportLatency() throws Exception {
+        // 10 messages over 900 ms, replayed 3x faster
+        List<Path> files = List.of(capture("umb-1.capture", 10, 100));
+
+        UmbReplayer.Report report = new UmbReplayer(message -> {
+            try {
+                Thread.sleep(20);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return message.getPayload().length > 0 ? CompletableFuture.completedFuture(null)
+                    : CompletableFuture.failedFuture(new IllegalStateException());
+        }, 3, 2).replay(files);
+
+        assertEquals(10, report.messages());
+        assertTrue(report.elapsed().compareTo(Duration.ofMillis(300)) >= 0, report::toString);
+        assertTrue(report.elapsed().compareTo(Duration.ofMillis(900)) < 0, report::toString);
+        assertTrue(report.latencyP50().compareTo(Duration.ofMillis(20)) >= 0, report::toString);
+        assertTrue(report.latencyMax().compareTo(report.latencyP95()) >= 0, report::toString);
+    }
+
+    @Test
+    void shouldCountFailedMessages() throws Exception {
+        List<Path> files = List.of(capture("umb-1.capture", 5, 0));
+
+        UmbReplayer.Report report = new UmbReplayer(message -> {
+            throw new IllegalStateException("boom");
+        }, 0, 1).replay(files);
+
+        assertEquals(5, report.messages());
+        assertEquals(5, report.failed());
+    }
+}
@@ -0,0 +1,47 @@
+package org.jboss.sbomer.test.unit.et.adapter.in;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Optional;
+
+import org.jboss.sbomer.handler.et.adapter.in.UmbShard;
+import org.junit.jupiter.api.Test;
+
+class UmbShardTest {
+
+    @Test
+    void shouldAssignEveryAdvisoryToExactlyOneShard() {
+        int count = 3;
+        int[] perShard = new int[count];
+
+        for (long errataId = 100_000; errataId < 103_000; errataId++) {
+            int accepted = 0;
+            for (int index = 0; index < count; index++) {
+                if (new UmbShard(count, index).accepts(errataId)) {
+                    accepted++;
+                    perShard[index]++;
+                }
+            }
+            assertEquals(1, accepted);
+        }
+
+        // Sequential IDs are spread evenly
+        for (int shard : perShard) {
+            assertTrue(shard > 800, "Unbalanced shards");
+        }
+    }
+
+    @Test
+    void shouldDeriveIndexFromStatefulSetOrdinal() {
+        assertEquals(Optional.of(2), UmbShard.ordinalOf("errata-tool-handler-2"));
+        assertEquals(Optional.empty(), UmbShard.ordinalOf("errata-tool-handler-7d9f8b6c5-x2x4z"));
+        assertEquals(Optional.empty(), UmbShard.ordinalOf(null));
+    }
+
+    @Test
+    void shouldRejectIndexOutOfRange() {
+        assertThrows(IllegalArgumentException.class, () -> new UmbShard(2, 2));
+    }
+}
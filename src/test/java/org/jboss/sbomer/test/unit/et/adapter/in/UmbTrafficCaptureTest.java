@@ -0,0 +1,110 @@
+package org.jboss.sbomer.test.unit.et.adapter.in;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.eclipse.microprofile.reactive.messaging.Message;
+import org.jboss.sbomer.handler.et.adapter.in.UmbCaptureFile;
+import org.jboss.sbomer.handler.et.adapter.in.UmbTrafficCapture;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import io.smallrye.reactive.messaging.amqp.IncomingAmqpMetadata;
+import io.vertx.core.json.JsonObject;
+
+class UmbTrafficCaptureTest {
+
+    @TempDir
+    Path directory;
+
+    private static Message<byte[]> message(long errataId) {
+        byte[] payload = new JsonObject()
+                .put("errata_id", errataId)
+                .put("errata_status", "QE")
+                .encode()
+                .getBytes(StandardCharsets.UTF_8);
+        return new UmbCaptureFile.Entry(0, new JsonObject().put("subject", "errata.activity.status"), payload)
+                .toMessage();
+    }
+
+    private static List<UmbCaptureFile.Entry> read(List<Path> files) throws IOException {
+        List<UmbCaptureFile.Entry> entries = new ArrayList<>();
+        for (Path file : files) {
+            try (UmbCaptureFile.Reader reader = new UmbCaptureFile.Reader(file)) {
+                reader.forEachRemaining(entries::add);
+            }
+        }
+        return entries;
+    }
+
+    @Test
+    void shouldCaptureMessagesWithProperties() throws IOException {
+        UmbTrafficCapture capture = new UmbTrafficCapture(true, directory.toString(), 1024 * 1024, 10);
+        long before = System.currentTimeMillis();
+
+        capture.record(message(1));
+        capture.record(message(2));
+
+        List<UmbCaptureFile.Entry> entries = read(capture.files());
+        assertEquals(2, entries.size());
+        assertTrue(entries.get(0).arrivedAt() >= before);
+        assertEquals("errata.activity.status", entries.get(1).properties().getString("subject"));
+        assertArrayEquals(message(2).getPayload(), entries.get(1).payload());
+
+        // The replayed message looks like a received one
+        Message<byte[]> replayed = entries.get(0).toMessage();
+        assertEquals("errata.activity.status",
+                replayed.getMetadata(IncomingAmqpMetadata.class).orElseThrow().getProperties().getString("subject"));
+    }
+
+    @Test
+    void shouldRotateAndKeepNewestFiles() throws IOException {
+        // Every file is over the size after one message
+        UmbTrafficCapture capture = new UmbTrafficCapture(true, directory.toString(), 1, 3);
+
+        for (int i = 0; i < 5; i++) {
+            capture.record(message(i));
+        }
+
+        List<Path> files = capture.files();
+        assertEquals(3, files.size());
+        List<UmbCaptureFile.Entry> entries = read(files);
+        assertEquals(3, entries.size());
+        for (int i = 0; i < 3; i++) {
+            assertArrayEquals(message(i + 2).getPayload(), entries.get(i).payload());
+        }
+    }
+
+    @Test
+    void shouldIgnoreTruncatedLastEntry() throws IOException {
+        UmbTrafficCapture capture = new UmbTrafficCapture(true, directory.toString(), 1024 * 1024, 10);
+        capture.record(message(1));
+        capture.record(message(2));
+
+        Path file = capture.files().get(0);
+        byte[] content = Files.readAllBytes(file);
+        Files.write(file, Arrays.copyOf(content, content.length - 5));
+
+        assertEquals(1, read(List.of(file)).size());
+    }
+
+    @Test
+    void shouldNotCaptureWhenDisabled() throws IOException {
+        UmbTrafficCapture capture = new UmbTrafficCapture(false, directory.toString(), 1024 * 1024, 10);
+
+        capture.record(message(1));
+
+        assertFalse(capture.isEnabled());
+        assertTrue(capture.files().isEmpty());
+    }
+}
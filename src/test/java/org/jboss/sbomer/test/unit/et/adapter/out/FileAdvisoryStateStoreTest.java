@@ -0,0 +1,70 @@
+package org.jboss.sbomer.test.unit.et.adapter.out;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import org.jboss.sbomer.handler.et.adapter.out.FileAdvisoryStateStore;
+import org.jboss.sbomer.handler.et.core.domain.advisory.AdvisoryState;
+import org.jboss.sbomer.handler.et.core.domain.generation.Generation;
+import org.jboss.sbomer.handler.et.core.domain.generation.GenerationRequest;
+import org.jboss.sbomer.handler.et.core.domain.generation.GenerationTarget;
+import org.jboss.sbomer.handler.et.core.domain.publish.Publisher;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class FileAdvisoryStateStoreTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void shouldRestoreStatesFromJournal() {
+        FileAdvisoryStateStore store = new FileAdvisoryStateStore(true, directory.toString(), 100);
+        store.save(state("1", "QE"));
+        store.save(state("1", "SHIPPED_LIVE"));
+        store.save(state("2", "QE"));
+
+        FileAdvisoryStateStore reopened = new FileAdvisoryStateStore(true, directory.toString(), 100);
+
+        assertEquals(state("1", "SHIPPED_LIVE"), reopened.find("1").orElseThrow());
+        assertEquals(state("2", "QE"), reopened.find("2").orElseThrow());
+        assertTrue(reopened.find("3").isEmpty());
+    }
+
+    @Test
+    void shouldCompactJournalIntoSnapshot() throws IOException {
+        FileAdvisoryStateStore store = new FileAdvisoryStateStore(true, directory.toString(), 3);
+        for (int i = 0; i < 7; i++) {
+            store.save(state(String.valueOf(i % 2), "QE-" + i));
+        }
+
+        // 7 saves with a threshold of 3: two compactions, one entry left in the journal
+        assertEquals(1, Files.readAllLines(directory.resolve("journal.jsonl")).size());
+        assertEquals(2, Files.readAllLines(directory.resolve("snapshot.jsonl")).size());
+
+        FileAdvisoryStateStore reopened = new FileAdvisoryStateStore(true, directory.toString(), 3);
+        assertEquals("QE-6", reopened.find("0").orElseThrow().status());
+        assertEquals("QE-5", reopened.find("1").orElseThrow().status());
+    }
+
+    @Test
+    void shouldNotPersistWhenDisabled() {
+        FileAdvisoryStateStore store = new FileAdvisoryStateStore(false, directory.toString(), 100);
+        store.save(state("1", "QE"));
+
+        assertTrue(store.find("1").isEmpty());
+        assertTrue(Files.notExists(directory.resolve("journal.jsonl")));
+    }
+
+    private static AdvisoryState state(String advisoryId, String status) {
+        GenerationRequest request = new GenerationRequest("R" + advisoryId, advisoryId,
+                List.of(new Publisher("atlas-build", "1.0")),
+                List.of(new Generation("G" + advisoryId, new GenerationTarget("RPM", "123"))));
+        return new AdvisoryState(advisoryId, status, "hash", request, 42L);
+    }
+}
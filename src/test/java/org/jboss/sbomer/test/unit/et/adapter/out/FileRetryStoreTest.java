@@ -0,0 +1,73 @@
+package org.jboss.sbomer.test.unit.et.adapter.out;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import org.jboss.sbomer.handler.et.adapter.out.FileRetryStore;
+import org.jboss.sbomer.handler.et.core.domain.advisory.RetryState;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class FileRetryStoreTest {
+
+    private static final long NOW = 1_700_000_000_000L;
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void shouldRestoreStatesAndRemovalsFromJournal() {
+        FileRetryStore store = new FileRetryStore(directory.toString(), 100);
+        store.save(state("1", 1, false));
+        store.save(state("1", 2, false));
+        store.save(state("2", 6, true));
+        store.save(state("3", 1, false));
+        store.remove("3");
+
+        FileRetryStore reopened = new FileRetryStore(directory.toString(), 100);
+
+        assertEquals(state("1", 2, false), reopened.find("1").orElseThrow());
+        assertEquals(state("2", 6, true), reopened.find("2").orElseThrow());
+        assertTrue(reopened.find("3").isEmpty());
+        assertEquals(2, reopened.findAll().size());
+    }
+
+    @Test
+    void shouldCompactJournalIntoSnapshot() throws IOException {
+        FileRetryStore store = new FileRetryStore(directory.toString(), 3);
+        for (int i = 1; i <= 7; i++) {
+            store.save(state(String.valueOf(i % 2), i, false));
+        }
+
+        // 7 saves with a threshold of 3: two compactions, one entry left in the journal
+        assertEquals(1, Files.readAllLines(directory.resolve("journal.jsonl")).size());
+        assertEquals(2, Files.readAllLines(directory.resolve("snapshot.jsonl")).size());
+
+        FileRetryStore reopened = new FileRetryStore(directory.toString(), 3);
+        assertEquals(6, reopened.find("0").orElseThrow().attempts());
+        assertEquals(7, reopened.find("1").orElseThrow().attempts());
+    }
+
+    @Test
+    void shouldSkipPartiallyWrittenEntry() throws IOException {
+        FileRetryStore store = new FileRetryStore(directory.toString(), 100);
+        store.save(state("1", 1, false));
+        Files.writeString(directory.resolve("journal.jsonl"), "{\"advisoryId\":\"2\",\"sta",
+                StandardOpenOption.APPEND);
+
+        FileRetryStore reopened = new FileRetryStore(directory.toString(), 100);
+
+        assertEquals(state("1", 1, false), reopened.find("1").orElseThrow());
+        assertTrue(reopened.find("2").isEmpty());
+    }
+
+    private static RetryState state(String advisoryId, int attempts, boolean deadLetter) {
+        return new RetryState(advisoryId, false, "QE", attempts, NOW, NOW, "failed", deadLetter ? 0 : NOW + 60000,
+                deadLetter);
+    }
+}
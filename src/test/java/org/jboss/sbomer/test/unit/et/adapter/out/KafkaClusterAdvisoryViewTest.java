@@ -0,0 +1,255 @@
+package org.jboss.sbomer.test.unit.et.adapter.out;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.MockConsumer;
+import org.apache.kafka.clients.producer.Callback;
+import org.apache.kafka.clients.producer.MockProducer;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.clients.producer.RecordMetadata;
+import org.apache.kafka.common.PartitionInfo;
+import org.apache.kafka.common.TopicPartition;
+import org.apache.kafka.common.header.internals.RecordHeaders;
+import org.apache.kafka.common.record.TimestampType;
+import org.apache.kafka.common.serialization.StringSerializer;
+import org.jboss.sbomer.handler.et.adapter.out.KafkaClusterAdvisoryView;
+import org.jboss.sbomer.handler.et.core.domain.advisory.AdvisoryState;
+import org.jboss.sbomer.handler.et.core.domain.exception.AdvisoryClaimedException;
+import org.jboss.sbomer.handler.et.core.domain.generation.GenerationRequest;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class KafkaClusterAdvisoryViewTest {
+
+    private static final String TOPIC = "advisory-state";
+    private static final int PARTITIONS = 3;
+
+    /**
+     * In-memory topic shared by the replicas: every sent record is appended to
+     * its partition and delivered to the consumer of every replica.
+     */
+    static class Broker {
+        private final Map<Integer, List<ConsumerRecord<String, String>>> log = new HashMap<>();
+        private final List<MockConsumer<String, String>> consumers = new ArrayList<>();
+
+        synchronized RecordMetadata append(ProducerRecord<String, String> record) {
+            List<ConsumerRecord<String, String>> partition = log.computeIfAbsent(record.partition(),
+                    p -> new ArrayList<>());
+            ConsumerRecord<String, String> consumed = new ConsumerRecord<>(TOPIC, record.partition(),
+                    partition.size(), System.currentTimeMillis(), TimestampType.CREATE_TIME, 0, 0, record.key(),
+                    record.value(), new RecordHeaders(), Optional.empty());
+            partition.add(consumed);
+            consumers.forEach(consumer -> consumer.addRecord(consumed));
+            return new RecordMetadata(new TopicPartition(TOPIC, record.partition()), consumed.offset(), 0,
+                    consumed.timestamp(), 0, 0);
+        }
+
+        MockProducer<String, String> producer() {
+            return new MockProducer<>(true, null, new StringSerializer(), new StringSerializer()) {
+                @Override
+                public synchronized Future<RecordMetadata> send(ProducerRecord<String, String> record,
+                        Callback callback) {
+                    RecordMetadata metadata = append(record);
+                    if (callback != null) {
+                        callback.onCompletion(metadata, null);
+                    }
+                    return CompletableFuture.completedFuture(metadata);
+                }
+            };
+        }
+
+        MockConsumer<String, String> consumer() {
+            MockConsumer<String, String> consumer = new MockConsumer<>("earliest");
+            List<PartitionInfo> infos = new ArrayList<>();
+            Map<TopicPartition, Long> beginning = new HashMap<>();
+            for (int i = 0; i < PARTITIONS; i++) {
+                infos.add(new PartitionInfo(TOPIC, i, null, null, null));
+                beginning.put(new TopicPartition(TOPIC, i), 0L);
+            }
+            consumer.updatePartitions(TOPIC, infos);
+            consumer.updateBeginningOffsets(beginning);
+            return consumer;
+        }
+
+        /**
+         * Connects a consumer which was assigned the partitions, replaying the
+         * records sent so far.
+         */
+        synchronized void connect(MockConsumer<String, String> consumer) {
+            log.values().forEach(records -> records.forEach(consumer::addRecord));
+            consumers.add(consumer);
+        }
+
+        synchronized Map<TopicPartition, Long> endOffsets() {
+            Map<TopicPartition, Long> end = new HashMap<>();
+            for (int i = 0; i < PARTITIONS; i++) {
+                end.put(new TopicPartition(TOPIC, i), (long) log.getOrDefault(i, List.of()).size());
+            }
+            return end;
+        }
+    }
+
+    private final Broker broker = new Broker();
+    private final List<KafkaClusterAdvisoryView> replicas = new ArrayList<>();
+    private final ExecutorService executor = Executors.newCachedThreadPool();
+
+    @AfterEach
+    void close() {
+        executor.shutdownNow();
+        replicas.forEach(KafkaClusterAdvisoryView::close);
+    }
+
+    private KafkaClusterAdvisoryView replica(String replicaId, Duration claimTtl) {
+        return replica(replicaId, claimTtl, Duration.ofSeconds(10));
+    }
+
+    private KafkaClusterAdvisoryView replica(String replicaId, Duration claimTtl, Duration claimWait) {
+        MockConsumer<String, String> consumer = broker.consumer();
+        consumer.updateEndOffsets(broker.endOffsets());
+        KafkaClusterAdvisoryView view = new KafkaClusterAdvisoryView(broker.producer(), consumer, TOPIC, replicaId,
+                claimTtl, claimWait, new SimpleMeterRegistry());
+        broker.connect(consumer);
+        view.start();
+        replicas.add(view);
+        return view;
+    }
+
+    private static AdvisoryState state(String advisoryId, String status, String requestId) {
+        return new AdvisoryState(advisoryId, status, "hash-" + status,
+                new GenerationRequest(requestId, advisoryId, List.of(), List.of()), System.currentTimeMillis());
+    }
+
+    private static void await(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (!condition.getAsBoolean()) {
+            assertTrue(System.nanoTime() < deadline, "Condition not met in time");
+            Thread.sleep(10);
+        }
+    }
+
+    @Test
+    void shouldShareProcessedStateBetweenReplicas() throws Exception {
+        KafkaClusterAdvisoryView first = replica("first", Duration.ofMinutes(10));
+        KafkaClusterAdvisoryView second = replica("second", Duration.ofMinutes(10));
+
+        first.claim("1234");
+        first.processed(state("1234", "QE", "R1"));
+        first.release("1234");
+
+        await(() -> second.find("1234").isPresent());
+        AdvisoryState shared = second.find("1234").get();
+        assertEquals("QE", shared.status());
+        assertEquals("hash-QE", shared.buildSetHash());
+        assertEquals("R1", shared.generationRequest().requestId());
+    }
+
+    @Test
+    void shouldLetOneReplicaProcessAdvisoryAtATime() throws Exception {
+        KafkaClusterAdvisoryView first = replica("first", Duration.ofMinutes(10));
+        KafkaClusterAdvisoryView second = replica("second", Duration.ofMinutes(10));
+
+        first.claim("1234");
+        Future<Optional<AdvisoryState>> claimed = executor.submit(() -> {
+            second.claim("1234");
+            return second.find("1234");
+        });
+
+        Thread.sleep(300);
+        assertFalse(claimed.isDone());
+
+        first.processed(state("1234", "QE", "R1"));
+        first.release("1234");
+
+        // The second replica sees what the first one processed
+        Optional<AdvisoryState> seen = claimed.get(10, TimeUnit.SECONDS);
+        assertEquals("R1", seen.get().generationRequest().requestId());
+    }
+
+    @Test
+    void shouldGiveUpOnAdvisoryClaimedForLongerThanClaimWait() throws Exception {
+        KafkaClusterAdvisoryView first = replica("first", Duration.ofMinutes(10));
+        KafkaClusterAdvisoryView second = replica("second", Duration.ofMinutes(10), Duration.ofMillis(200));
+
+        first.claim("1234");
+
+        assertThrows(AdvisoryClaimedException.class, () -> second.claim("1234"));
+
+        // Nothing to release, the claim of the first replica still holds
+        second.release("1234");
+        KafkaClusterAdvisoryView third = replica("third", Duration.ofMinutes(10), Duration.ofMillis(200));
+        assertThrows(AdvisoryClaimedException.class, () -> third.claim("1234"));
+    }
+
+    @Test
+    void shouldAbortClaimWhenInterrupted() throws Exception {
+        KafkaClusterAdvisoryView first = replica("first", Duration.ofMinutes(10));
+        KafkaClusterAdvisoryView second = replica("second", Duration.ofMinutes(10));
+
+        first.claim("1234");
+        CompletableFuture<Throwable> failure = new CompletableFuture<>();
+        Thread claiming = new Thread(() -> {
+            try {
+                second.claim("1234");
+                failure.complete(null);
+            } catch (Throwable e) {
+                failure.complete(e);
+            }
+        });
+        claiming.start();
+        Thread.sleep(100);
+        claiming.interrupt();
+
+        // Not processed without a claim
+        assertTrue(failure.get(10, TimeUnit.SECONDS) instanceof InterruptedException);
+    }
+
+    @Test
+    void shouldMaterializeExistingStatesBeforeClaiming() throws Exception {
+        KafkaClusterAdvisoryView first = replica("first", Duration.ofMinutes(10));
+        for (int i = 0; i < 50; i++) {
+            first.processed(state(String.valueOf(i), "QE", "R" + i));
+        }
+        first.processed(state("7", "SHIPPED_LIVE", "R7b"));
+
+        // Started later, reads the topic from the beginning
+        KafkaClusterAdvisoryView late = replica("late", Duration.ofMinutes(10));
+        late.claim("7");
+
+        assertEquals("SHIPPED_LIVE", late.find("7").get().status());
+        assertEquals("R7b", late.find("7").get().generationRequest().requestId());
+        assertTrue(late.find("49").isPresent());
+    }
+
+    @Test
+    void shouldTakeOverExpiredClaim() throws Exception {
+        KafkaClusterAdvisoryView crashed = replica("crashed", Duration.ofMillis(200));
+        KafkaClusterAdvisoryView second = replica("second", Duration.ofMinutes(10));
+
+        // Never released, as if the replica died while processing
+        crashed.claim("1234");
+
+        long start = System.nanoTime();
+        second.claim("1234");
+
+        assertTrue(Duration.ofNanos(System.nanoTime() - start).toMillis() >= 100);
+    }
+}
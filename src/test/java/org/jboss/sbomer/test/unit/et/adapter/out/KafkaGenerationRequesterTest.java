@@ -0,0 +1,90 @@
+package org.jboss.sbomer.test.unit.et.adapter.out;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.mockito.Mockito.verify;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import org.apache.kafka.common.header.Header;
+import org.apache.kafka.common.header.Headers;
+import org.eclipse.microprofile.reactive.messaging.Emitter;
+import org.eclipse.microprofile.reactive.messaging.Message;
+import org.jboss.sbomer.events.common.GenerationRequestSpec;
+import org.jboss.sbomer.events.request.RequestsCreated;
+import org.jboss.sbomer.handler.et.adapter.out.KafkaGenerationRequester;
+import org.jboss.sbomer.handler.et.core.domain.generation.Generation;
+import org.jboss.sbomer.handler.et.core.domain.generation.GenerationRequest;
+import org.jboss.sbomer.handler.et.core.domain.generation.GenerationTarget;
+import org.jboss.sbomer.handler.et.core.domain.publish.Publisher;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import io.smallrye.reactive.messaging.kafka.api.OutgoingKafkaRecordMetadata;
+
+@ExtendWith(MockitoExtension.class)
+class KafkaGenerationRequesterTest {
+
+    @Mock
+    Emitter<RequestsCreated> emitter;
+
+    @Captor
+    ArgumentCaptor<Message<RequestsCreated>> messageCaptor;
+
+    @InjectMocks
+    KafkaGenerationRequester requester;
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void shouldKeyRecordByAdvisoryAndWriteCloudEventsHeaders() {
+        GenerationRequest request = new GenerationRequest("R123", "12345",
+                List.of(new Publisher("atlas-build", "1.0")),
+                List.of(new Generation("G123", new GenerationTarget("CONTAINER_IMAGE", "quay.io/org/repo@sha256:abc"))));
+
+        requester.requestGenerations(request);
+
+        verify(emitter).send(messageCaptor.capture());
+        Message<RequestsCreated> message = messageCaptor.getValue();
+        RequestsCreated event = message.getPayload();
+
+        OutgoingKafkaRecordMetadata<String> metadata = message.getMetadata(OutgoingKafkaRecordMetadata.class)
+                .orElseThrow();
+        assertEquals("12345", metadata.getKey());
+
+        Headers headers = metadata.getHeaders();
+        assertEquals("1.0", header(headers, "ce_specversion"));
+        assertEquals(event.getContext().getEventId(), header(headers, "ce_id"));
+        assertEquals("RequestsCreated", header(headers, "ce_type"));
+        assertEquals("errata-tool-handler", header(headers, "ce_source"));
+        assertEquals("12345", header(headers, "ce_subject"));
+        assertEquals("R123", header(headers, "ce_correlationid"));
+        assertNotNull(header(headers, "ce_time"));
+    }
+
+    @Test
+    void shouldReferenceReusedGenerationsInEvent() {
+        GenerationRequest request = new GenerationRequest("R123", "12345",
+                List.of(new Publisher("atlas-build", "1.0")),
+                List.of(new Generation("G123", new GenerationTarget("CONTAINER_IMAGE", "quay.io/org/repo@sha256:abc"))),
+                List.of(new Generation("G456", new GenerationTarget("CONTAINER_IMAGE", "quay.io/org/repo@sha256:def"))));
+
+        requester.requestGenerations(request);
+
+        verify(emitter).send(messageCaptor.capture());
+        List<GenerationRequestSpec> specs = messageCaptor.getValue().getPayload().getData().getGenerationRequests();
+
+        assertEquals(List.of("G123", "G456"), specs.stream().map(GenerationRequestSpec::getGenerationId).toList());
+        assertEquals("quay.io/org/repo@sha256:def", specs.get(1).getTarget().getIdentifier());
+    }
+
+    private static String header(Headers headers, String name) {
+        Header header = headers.lastHeader(name);
+        return header == null ? null : new String(header.value(), StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,90 @@
+package org.jboss.sbomer.test.unit.et.adapter.out;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.ByteBuffer;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.apache.kafka.common.header.Header;
+import org.apache.kafka.common.header.internals.RecordHeaders;
+import org.jboss.sbomer.events.common.ContextSpec;
+import org.jboss.sbomer.events.error.ErrorData;
+import org.jboss.sbomer.events.error.ProcessingFailed;
+import org.jboss.sbomer.events.request.RequestsCreated;
+import org.jboss.sbomer.handler.et.adapter.out.PreResolvedSchemaResolver;
+import org.jboss.sbomer.handler.et.core.utility.FailureUtility;
+import org.junit.jupiter.api.Test;
+
+import io.apicurio.registry.serde.SerdeConfig;
+import io.apicurio.registry.serde.SerdeHeaders;
+import io.apicurio.registry.serde.avro.AvroKafkaSerializer;
+
+class PreResolvedSchemaResolverTest {
+
+    private static Map<String, Object> offlineConfig() {
+        Map<String, Object> config = new HashMap<>();
+        config.put(SerdeConfig.SCHEMA_RESOLVER, PreResolvedSchemaResolver.class.getName());
+        config.put(PreResolvedSchemaResolver.RECORD_CLASS, ProcessingFailed.class.getName());
+        config.put(PreResolvedSchemaResolver.OFFLINE, "true");
+        config.put("topic", "sbomer.errors");
+        return config;
+    }
+
+    private static ProcessingFailed processingFailed() {
+        return ProcessingFailed.newBuilder()
+                .setContext(ContextSpec.newBuilder()
+                        .setEventId("event-1")
+                        .setType("ProcessingFailed")
+                        .setSource("test")
+                        .setCorrelationId("R1")
+                        .setTimestamp(Instant.now())
+                        .build())
+                .setErrorData(ErrorData.newBuilder()
+                        .setFailure(FailureUtility.buildFailureSpecFromException(new IllegalStateException("boom")))
+                        .build())
+                .build();
+    }
+
+    @Test
+    void shouldSerializeWithConfiguredSchemaIdWithoutRegistry() {
+        Map<String, Object> config = offlineConfig();
+        config.put(PreResolvedSchemaResolver.GLOBAL_ID, "42");
+
+        // No registry URL, any registry call would fail
+        try (AvroKafkaSerializer<ProcessingFailed> serializer = new AvroKafkaSerializer<>()) {
+            serializer.configure(config, false);
+
+            RecordHeaders headers = new RecordHeaders();
+            byte[] payload = serializer.serialize("sbomer.errors", headers, processingFailed());
+
+            assertTrue(payload.length > 0);
+            Header globalId = headers.lastHeader(SerdeHeaders.HEADER_VALUE_GLOBAL_ID);
+            assertEquals(42L, ByteBuffer.wrap(globalId.value()).getLong());
+        }
+    }
+
+    @Test
+    void shouldFailToStartOfflineWithoutSchemaId() {
+        // The bundled IDs are empty until filled in for a registry
+        try (AvroKafkaSerializer<ProcessingFailed> serializer = new AvroKafkaSerializer<>()) {
+            assertThrows(IllegalStateException.class, () -> serializer.configure(offlineConfig(), false));
+        }
+    }
+
+    @Test
+    void shouldRejectOtherRecordsOffline() {
+        Map<String, Object> config = offlineConfig();
+        config.put(PreResolvedSchemaResolver.GLOBAL_ID, "42");
+
+        try (AvroKafkaSerializer<Object> serializer = new AvroKafkaSerializer<>()) {
+            serializer.configure(config, false);
+
+            assertThrows(IllegalStateException.class,
+                    () -> serializer.serialize("sbomer.errors", new RecordHeaders(), new RequestsCreated()));
+        }
+    }
+}
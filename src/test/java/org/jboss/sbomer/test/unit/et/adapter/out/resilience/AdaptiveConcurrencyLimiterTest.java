@@ -0,0 +1,148 @@
+package org.jboss.sbomer.test.unit.et.adapter.out.resilience;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.jboss.sbomer.handler.et.adapter.out.resilience.AdaptiveConcurrencyLimiter;
+import org.jboss.sbomer.handler.et.core.domain.exception.ConcurrencyLimitExceededException;
+import org.junit.jupiter.api.Test;
+
+import jakarta.ws.rs.NotFoundException;
+import jakarta.ws.rs.WebApplicationException;
+import jakarta.ws.rs.core.Response;
+
+class AdaptiveConcurrencyLimiterTest {
+
+    @Test
+    void shouldIncreaseLimitOnFastSuccessfulCalls() {
+        AdaptiveConcurrencyLimiter limiter = limiter(2, 0, Duration.ofSeconds(1));
+
+        for (int i = 0; i < 20; i++) {
+            limiter.execute(() -> "ok");
+        }
+
+        assertTrue(limiter.getLimit() > 2);
+    }
+
+    @Test
+    void shouldDecreaseLimitOnCongestion() {
+        AdaptiveConcurrencyLimiter limiter = limiter(8, 0, Duration.ofSeconds(1));
+
+        for (int i = 0; i < 5; i++) {
+            assertThrows(WebApplicationException.class, () -> limiter.execute(() -> {
+                throw new WebApplicationException("ET is down", Response.Status.SERVICE_UNAVAILABLE);
+            }));
+        }
+
+        assertEquals(4, limiter.getLimit());
+        assertEquals(0, limiter.getInFlight());
+    }
+
+    @Test
+    void shouldKeepLimitOnOtherFailures() {
+        AdaptiveConcurrencyLimiter limiter = limiter(8, 0, Duration.ofSeconds(1));
+
+        for (int i = 0; i < 5; i++) {
+            assertThrows(NotFoundException.class, () -> limiter.execute(() -> {
+                throw new NotFoundException("Unknown advisory");
+            }));
+            assertThrows(IllegalStateException.class, () -> limiter.execute(() -> {
+                throw new IllegalStateException("Unexpected payload");
+            }));
+        }
+
+        assertEquals(8, limiter.getLimit());
+    }
+
+    @Test
+    void shouldDecreaseLimitOncePerRoundTrip() throws InterruptedException {
+        AdaptiveConcurrencyLimiter limiter = limiter(8, 0, Duration.ofSeconds(1));
+        CountDownLatch started = new CountDownLatch(4);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+
+        try {
+            for (int i = 0; i < 4; i++) {
+                executor.submit(() -> limiter.execute(() -> {
+                    started.countDown();
+                    await(release);
+                    throw new WebApplicationException("Too many requests", Response.Status.TOO_MANY_REQUESTS);
+                }));
+            }
+            started.await(5, TimeUnit.SECONDS);
+            release.countDown();
+        } finally {
+            executor.shutdown();
+            executor.awaitTermination(5, TimeUnit.SECONDS);
+        }
+
+        // All four were sent at the same limit, only the first one decreases it
+        assertEquals(7, limiter.getLimit());
+        assertEquals(0, limiter.getInFlight());
+    }
+
+    @Test
+    void shouldRejectWhenQueueIsFull() throws InterruptedException {
+        AdaptiveConcurrencyLimiter limiter = limiter(1, 0, Duration.ofSeconds(1));
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+
+        try {
+            executor.submit(() -> limiter.execute(() -> {
+                started.countDown();
+                await(release);
+                return null;
+            }));
+            started.await(5, TimeUnit.SECONDS);
+
+            assertThrows(ConcurrencyLimitExceededException.class, () -> limiter.execute(() -> "too many"));
+        } finally {
+            release.countDown();
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    void shouldTimeOutWaitingForPermit() throws InterruptedException {
+        AdaptiveConcurrencyLimiter limiter = limiter(1, 1, Duration.ofMillis(50));
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+
+        try {
+            executor.submit(() -> limiter.execute(() -> {
+                started.countDown();
+                await(release);
+                return null;
+            }));
+            started.await(5, TimeUnit.SECONDS);
+
+            assertThrows(ConcurrencyLimitExceededException.class, () -> limiter.execute(() -> "waited too long"));
+            assertEquals(0, limiter.getWaiting());
+        } finally {
+            release.countDown();
+            executor.shutdown();
+        }
+    }
+
+    private static AdaptiveConcurrencyLimiter limiter(int initialLimit, int queueSize, Duration maxWait) {
+        return new AdaptiveConcurrencyLimiter("test", true, initialLimit, 1, 50, 0.9, Duration.ofSeconds(1), queueSize,
+                maxWait);
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,102 @@
+package org.jboss.sbomer.test.unit.et.adapter.out.resilience;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.jboss.sbomer.handler.et.adapter.out.resilience.HedgedRequester;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+class HedgedRequesterTest {
+
+    ExecutorService executor = Executors.newCachedThreadPool();
+
+    @AfterEach
+    void shutdown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void shouldUseHedgeWhenPrimaryIsSlow() {
+        HedgedRequester requester = requester(1.0);
+        AtomicInteger calls = new AtomicInteger();
+
+        long start = System.nanoTime();
+        String result = requester.call(() -> {
+            if (calls.incrementAndGet() == 1) {
+                sleep(5000);
+                return "primary";
+            }
+            return "hedge";
+        });
+
+        assertEquals("hedge", result);
+        assertEquals(2, calls.get());
+        assertTrue(Duration.ofNanos(System.nanoTime() - start).toMillis() < 5000);
+    }
+
+    @Test
+    void shouldRunPrimaryOnCallerThreadAndNotLeakItsInterruption() {
+        HedgedRequester requester = requester(1.0);
+        Thread caller = Thread.currentThread();
+        AtomicInteger calls = new AtomicInteger();
+
+        String result = requester.call(() -> {
+            if (Thread.currentThread() == caller) {
+                calls.incrementAndGet();
+                sleep(5000);
+                return "primary";
+            }
+            return "hedge";
+        });
+
+        assertEquals("hedge", result);
+        assertEquals(1, calls.get());
+        assertFalse(Thread.currentThread().isInterrupted());
+    }
+
+    @Test
+    void shouldNotHedgeWithoutBudget() {
+        HedgedRequester requester = requester(0.0);
+        AtomicInteger calls = new AtomicInteger();
+
+        String result = requester.call(() -> {
+            calls.incrementAndGet();
+            sleep(200);
+            return "primary";
+        });
+
+        assertEquals("primary", result);
+        assertEquals(1, calls.get());
+    }
+
+    @Test
+    void shouldFailWhenAllAttemptsFail() {
+        HedgedRequester requester = requester(1.0);
+
+        assertThrows(IllegalStateException.class, () -> requester.call(() -> {
+            sleep(100);
+            throw new IllegalStateException("ET is down");
+        }));
+    }
+
+    private HedgedRequester requester(double budgetRatio) {
+        return new HedgedRequester("test", true, 95, Duration.ofMillis(10), Duration.ofMillis(50), budgetRatio,
+                executor);
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,146 @@
+package org.jboss.sbomer.test.unit.et.adapter.out.resilience;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import org.jboss.sbomer.handler.et.adapter.out.resilience.RequestBatcher;
+import org.jboss.sbomer.handler.et.core.domain.advisory.Advisory;
+import org.jboss.sbomer.handler.et.core.domain.advisory.AdvisoryLookup;
+import org.jboss.sbomer.handler.et.core.domain.advisory.Build;
+import org.jboss.sbomer.handler.et.core.domain.advisory.BuildPage;
+import org.jboss.sbomer.handler.et.core.port.spi.ErrataTool;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+class RequestBatcherTest {
+
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor();
+    private final ExecutorService executor = Executors.newCachedThreadPool();
+
+    @AfterEach
+    void shutdown() {
+        scheduler.shutdownNow();
+        executor.shutdownNow();
+    }
+
+    @Test
+    void shouldLoadConcurrentKeysInOneBulkLoad() throws Exception {
+        List<Set<String>> bulkLoads = new ArrayList<>();
+        Function<Set<String>, Map<String, String>> bulkLoader = keys -> {
+            synchronized (bulkLoads) {
+                bulkLoads.add(Set.copyOf(keys));
+            }
+            Map<String, String> values = new HashMap<>();
+            keys.forEach(key -> values.put(key, "value-" + key));
+            return values;
+        };
+        RequestBatcher<String, String> batcher = new RequestBatcher<>("test", true, 3, Duration.ofSeconds(5),
+                scheduler, executor);
+
+        List<CompletableFuture<String>> results = new ArrayList<>();
+        for (String key : List.of("1", "2", "3")) {
+            results.add(CompletableFuture.supplyAsync(() -> batcher.load(key, bulkLoader, k -> "single"), executor));
+        }
+
+        for (int i = 0; i < results.size(); i++) {
+            assertEquals("value-" + (i + 1), results.get(i).get(5, TimeUnit.SECONDS));
+        }
+        // The batch got full, it did not wait for the window
+        assertEquals(List.of(Set.of("1", "2", "3")), bulkLoads);
+    }
+
+    @Test
+    void shouldDispatchBatchWhenWindowElapses() {
+        RequestBatcher<String, String> batcher = new RequestBatcher<>("test", true, 50, Duration.ofMillis(10),
+                scheduler, executor);
+
+        assertEquals("value", batcher.load("1", keys -> Map.of("1", "value"), k -> "single"));
+    }
+
+    @Test
+    void shouldLoadSingleKeyWhenMissingFromBulkResult() {
+        RequestBatcher<String, String> batcher = new RequestBatcher<>("test", true, 50, Duration.ofMillis(10),
+                scheduler, executor);
+
+        assertEquals("single", batcher.load("1", keys -> Map.of(), k -> "single"));
+    }
+
+    @Test
+    void shouldFailCallersWithoutSingleLoadsWhenBulkLoadFails() {
+        AtomicInteger singleLoads = new AtomicInteger();
+        RequestBatcher<String, String> batcher = new RequestBatcher<>("test", true, 50, Duration.ofMillis(10),
+                scheduler, executor);
+
+        Exception failure = assertThrows(IllegalStateException.class, () -> batcher.load("1", keys -> {
+            throw new IllegalStateException("Bulk query failed");
+        }, k -> "single-" + singleLoads.incrementAndGet()));
+        assertEquals("Bulk query failed", failure.getMessage());
+        // Whatever the bulk loader threw, callers are not left waiting
+        assertThrows(IllegalStateException.class, () -> batcher.load("1", keys -> {
+            throw new AssertionError("Bulk query failed");
+        }, k -> "single-" + singleLoads.incrementAndGet()));
+        assertEquals(0, singleLoads.get());
+    }
+
+    @Test
+    void shouldNotFailBatchOnOneBadKey() throws Exception {
+        AtomicInteger queries = new AtomicInteger();
+        ErrataTool errataTool = new ErrataTool() {
+            @Override
+            public Advisory getInfo(String advisoryId) {
+                queries.incrementAndGet();
+                throw new IllegalStateException("Advisories are queried in bulk");
+            }
+
+            @Override
+            public Map<String, AdvisoryLookup> getInfoBatch(Set<String> advisoryIds) {
+                queries.incrementAndGet();
+                Map<String, AdvisoryLookup> lookups = new HashMap<>();
+                advisoryIds.forEach(advisoryId -> lookups.put(advisoryId, advisoryId.equals("2")
+                        ? AdvisoryLookup.failed(new IllegalStateException("Advisory 2 is broken"))
+                        : AdvisoryLookup.found(new Advisory(advisoryId, "QE", false))));
+                return lookups;
+            }
+
+            @Override
+            public List<Build> fetchBuilds(String advisoryId) {
+                return List.of();
+            }
+
+            @Override
+            public BuildPage fetchBuildsPage(String advisoryId, int offset, int limit) {
+                return new BuildPage(List.of());
+            }
+        };
+        RequestBatcher<String, AdvisoryLookup> batcher = new RequestBatcher<>("test", true, 3, Duration.ofSeconds(5),
+                scheduler, executor);
+
+        List<CompletableFuture<Advisory>> results = new ArrayList<>();
+        for (String key : List.of("1", "2", "3")) {
+            results.add(CompletableFuture.supplyAsync(() -> batcher
+                    .load(key, errataTool::getInfoBatch, id -> AdvisoryLookup.found(errataTool.getInfo(id)))
+                    .advisoryOrThrow(), executor));
+        }
+
+        assertEquals("1", results.get(0).get(5, TimeUnit.SECONDS).id());
+        assertEquals("3", results.get(2).get(5, TimeUnit.SECONDS).id());
+        Exception failure = assertThrows(Exception.class, () -> results.get(1).get(5, TimeUnit.SECONDS));
+        assertEquals("Advisory 2 is broken", failure.getCause().getMessage());
+        // The bad advisory fails with its own failure, without being queried again
+        assertEquals(1, queries.get());
+    }
+}
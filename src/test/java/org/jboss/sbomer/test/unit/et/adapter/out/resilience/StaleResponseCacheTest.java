@@ -0,0 +1,61 @@
+package org.jboss.sbomer.test.unit.et.adapter.out.resilience;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.jboss.sbomer.handler.et.adapter.out.resilience.StaleResponseCache;
+import org.jboss.sbomer.handler.et.core.domain.advisory.Advisory;
+import org.junit.jupiter.api.Test;
+
+class StaleResponseCacheTest {
+
+    @Test
+    void shouldServeStaleResponseAndRevalidateWhenLoadFails() {
+        List<Runnable> revalidations = new ArrayList<>();
+        StaleResponseCache<String, Advisory> cache = new StaleResponseCache<>("test", true, 10, Duration.ofHours(1),
+                revalidations::add);
+
+        Advisory fresh = cache.get("1", () -> new Advisory("1", "QE", false), Advisory::asStale);
+        assertFalse(fresh.stale());
+
+        Advisory stale = cache.get("1", () -> {
+            throw new IllegalStateException("ET is down");
+        }, Advisory::asStale);
+
+        assertTrue(stale.stale());
+        assertEquals("QE", stale.status());
+        assertEquals(1, revalidations.size());
+    }
+
+    @Test
+    void shouldFailWhenNoResponseIsKnown() {
+        StaleResponseCache<String, Advisory> cache = new StaleResponseCache<>("test", true, 10, Duration.ofHours(1),
+                Runnable::run);
+
+        assertThrows(IllegalStateException.class, () -> cache.get("1", () -> {
+            throw new IllegalStateException("ET is down");
+        }, Advisory::asStale));
+    }
+
+    @Test
+    void shouldServeStaleResponseAfterFailedBulkLoad() {
+        List<Runnable> revalidations = new ArrayList<>();
+        StaleResponseCache<String, Advisory> cache = new StaleResponseCache<>("test", true, 10, Duration.ofHours(1),
+                revalidations::add);
+        cache.put("1", new Advisory("1", "QE", false));
+        IllegalStateException failure = new IllegalStateException("ET is down");
+
+        Advisory stale = cache.fallback("1", failure, () -> new Advisory("1", "QE", false), Advisory::asStale);
+
+        assertTrue(stale.stale());
+        assertEquals(1, revalidations.size());
+        assertEquals(failure, assertThrows(IllegalStateException.class,
+                () -> cache.fallback("2", failure, () -> new Advisory("2", "QE", false), Advisory::asStale)));
+    }
+}
@@ -0,0 +1,89 @@
+package org.jboss.sbomer.test.unit.et.adapter.out.standin;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.SplittableRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.jboss.sbomer.handler.et.adapter.out.standin.Distribution;
+import org.jboss.sbomer.handler.et.adapter.out.standin.FaultProfile;
+import org.jboss.sbomer.handler.et.adapter.out.standin.StandInFailureException;
+import org.junit.jupiter.api.Test;
+
+class FaultProfileTest {
+
+    @Test
+    void shouldParseDistributions() {
+        assertEquals(new Distribution.Fixed(5), Distribution.parse("fixed:5"));
+        assertEquals(new Distribution.Uniform(10, 20), Distribution.parse("uniform:10-20"));
+        assertInstanceOf(Distribution.LogNormal.class, Distribution.parse("lognormal:40:0.8"));
+        assertEquals(new Distribution.LogNormal(40, 0.8, 500), Distribution.parse("lognormal:40:0.8:500"));
+
+        for (String invalid : new String[] { "", "fixed", "fixed:-1", "uniform:20-10", "lognormal:40", "pareto:1" }) {
+            assertThrows(IllegalArgumentException.class, () -> Distribution.parse(invalid), invalid);
+        }
+    }
+
+    @Test
+    void shouldHaveLongTailWithLogNormal() {
+        Distribution distribution = Distribution.parse("lognormal:40:0.8");
+        SplittableRandom random = new SplittableRandom(1);
+
+        double[] samples = new double[10_000];
+        Arrays.setAll(samples, i -> distribution.sample(random));
+        Arrays.sort(samples);
+
+        double median = samples[samples.length / 2];
+        double p99 = samples[samples.length * 99 / 100];
+        assertTrue(median > 35 && median < 45, "median: " + median);
+        assertTrue(p99 > 4 * median, "p99: " + p99);
+    }
+
+    @Test
+    void shouldFailWithErrorRate() {
+        FaultProfile.Injector always = new FaultProfile("koji", new Distribution.Fixed(0), 0,
+                new Distribution.Fixed(0), 1, null, Duration.ZERO, 1, 1).start();
+        FaultProfile.Injector never = FaultProfile.none("koji").start();
+
+        StandInFailureException e = assertThrows(StandInFailureException.class,
+                () -> always.call("getImageNames"));
+        assertTrue(e.getMessage().contains("koji getImageNames"));
+        never.call("getImageNames");
+    }
+
+    @Test
+    void shouldSlowDownDuringWindow() {
+        AtomicLong now = new AtomicLong();
+        FaultProfile profile = new FaultProfile("errata-tool", new Distribution.Fixed(0), 0,
+                new Distribution.Fixed(0), 0, Duration.ofMinutes(5), Duration.ofMinutes(2), 10, 1);
+        FaultProfile.Injector injector = profile.start(now::get);
+
+        assertFalse(injector.isSlowedDown());
+        injector.call("getInfo");
+
+        now.set(Duration.ofMinutes(6).toNanos());
+        assertTrue(injector.isSlowedDown());
+        assertThrows(StandInFailureException.class, () -> injector.call("getInfo"));
+
+        now.set(Duration.ofMinutes(7).toNanos());
+        assertFalse(injector.isSlowedDown());
+        injector.call("getInfo");
+    }
+
+    @Test
+    void shouldApplyLatency() {
+        FaultProfile.Injector injector = new FaultProfile("errata-tool", new Distribution.Fixed(50), 0,
+                new Distribution.Fixed(0), 0, null, Duration.ZERO, 1, 0).start();
+
+        long start = System.nanoTime();
+        injector.call("getInfo");
+
+        assertTrue(Duration.ofNanos(System.nanoTime() - start).toMillis() >= 50);
+    }
+}
@@ -0,0 +1,148 @@
+package org.jboss.sbomer.test.unit.et.adapter.out.standin;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+import org.jboss.sbomer.handler.et.adapter.out.standin.Distribution;
+import org.jboss.sbomer.handler.et.adapter.out.standin.FaultProfile;
+import org.jboss.sbomer.handler.et.adapter.out.standin.StandInErrataTool;
+import org.jboss.sbomer.handler.et.adapter.out.standin.StandInKoji;
+import org.jboss.sbomer.handler.et.adapter.out.standin.SyntheticAdvisories;
+import org.jboss.sbomer.handler.et.core.domain.advisory.Advisory;
+import org.jboss.sbomer.handler.et.core.domain.advisory.AdvisoryLookup;
+import org.jboss.sbomer.handler.et.core.domain.advisory.AdvisoryChange;
+import org.jboss.sbomer.handler.et.core.domain.advisory.Build;
+import org.jboss.sbomer.handler.et.core.domain.advisory.ChangeCursor;
+import org.junit.jupiter.api.Test;
+
+class StandInErrataToolTest {
+
+    private static SyntheticAdvisories advisories(long seed, String buildCount) {
+        return new SyntheticAdvisories(seed, Distribution.parse(buildCount),
+                SyntheticAdvisories.parseWeights("CONTAINER_IMAGE:1,RPM:1"),
+                SyntheticAdvisories.parseWeights("QE:1,SHIPPED_LIVE:1"), 0, Distribution.parse("uniform:8-32"));
+    }
+
+    @Test
+    void shouldGenerateSameAdvisoriesForSameSeed() {
+        StandInErrataTool first = new StandInErrataTool(advisories(7, "uniform:1-50"),
+                FaultProfile.none("errata-tool").start(), 10);
+        StandInErrataTool second = new StandInErrataTool(advisories(7, "uniform:1-50"),
+                FaultProfile.none("errata-tool").start(), 10);
+
+        for (String advisoryId : List.of("1", "1234", "98765")) {
+            assertEquals(first.getInfo(advisoryId), second.getInfo(advisoryId));
+            assertEquals(first.fetchBuilds(advisoryId), second.fetchBuilds(advisoryId));
+        }
+    }
+
+    @Test
+    void shouldFetchSameBuildsPageByPage() {
+        StandInErrataTool errataTool = new StandInErrataTool(advisories(1, "fixed:25"),
+                FaultProfile.none("errata-tool").start(), 10);
+
+        List<Build> fetched = errataTool.fetchBuilds("1234");
+        List<Build> paged = new ArrayList<>();
+        for (int offset = 0; offset < 40; offset += 10) {
+            paged.addAll(errataTool.fetchBuildsPage("1234", offset, 10).builds());
+        }
+
+        assertEquals(25, fetched.size());
+        assertEquals(fetched, paged);
+        assertEquals(5, errataTool.fetchBuildsPage("1234", 20, 10).builds().size());
+        assertTrue(errataTool.fetchBuildsPage("1234", 30, 10).builds().isEmpty());
+    }
+
+    @Test
+    void shouldPayOneLatencyPerPageAndBatch() {
+        AtomicInteger calls = new AtomicInteger();
+        FaultProfile profile = new FaultProfile("errata-tool", new Distribution.Fixed(0), 0,
+                new Distribution.Fixed(0), 0, Duration.ofDays(1), Duration.ZERO, 1, 0);
+        // The slowdown check reads the clock once per call
+        StandInErrataTool errataTool = new StandInErrataTool(advisories(1, "fixed:25"), profile.start(() -> {
+            calls.incrementAndGet();
+            return 0;
+        }), 10);
+        calls.set(0);
+
+        // Larger pages than the API serves take several requests
+        assertEquals(25, errataTool.fetchBuildsPage("1234", 0, 100).builds().size());
+        assertEquals(3, calls.get());
+
+        calls.set(0);
+        Map<String, AdvisoryLookup> infos = errataTool.getInfoBatch(Set.of("1", "2", "3"));
+        assertEquals(3, infos.size());
+        assertEquals(1, calls.get());
+    }
+
+    @Test
+    void shouldFollowConfiguredWeights() {
+        SyntheticAdvisories advisories = new SyntheticAdvisories(3, Distribution.parse("fixed:10"),
+                SyntheticAdvisories.parseWeights("CONTAINER_IMAGE:3,RPM:1"), SyntheticAdvisories.parseWeights("QE"),
+                0.5, Distribution.parse("fixed:12"));
+
+        int textOnly = 0;
+        int images = 0;
+        int builds = 0;
+        for (int i = 0; i < 1000; i++) {
+            String advisoryId = String.valueOf(i);
+            Advisory advisory = advisories.advisory(advisoryId);
+            assertEquals("QE", advisory.status());
+            if (advisory.isTextOnly()) {
+                textOnly++;
+                assertTrue(advisories.builds(advisoryId).isEmpty());
+                continue;
+            }
+            for (Build build : advisories.builds(advisoryId)) {
+                builds++;
+                if ("CONTAINER_IMAGE".equals(build.type())) {
+                    images++;
+                    assertTrue(build.identifier().startsWith("quay.io/standin/"));
+                }
+            }
+        }
+
+        assertTrue(textOnly > 400 && textOnly < 600, "text-only: " + textOnly);
+        double imageRatio = (double) images / builds;
+        assertTrue(imageRatio > 0.7 && imageRatio < 0.8, "images: " + imageRatio);
+    }
+
+    @Test
+    void shouldReturnImageNamesOfBuilds() {
+        SyntheticAdvisories advisories = advisories(1, "fixed:3");
+        StandInKoji koji = new StandInKoji(advisories, FaultProfile.none("koji").start());
+        List<Long> buildIds = advisories.builds("1234").stream().map(Build::id).toList();
+
+        Map<Long, String> names = koji.getImageNames(buildIds);
+
+        assertEquals(buildIds, List.copyOf(names.keySet()));
+        names.values().forEach(name -> assertTrue(name.matches("quay\\.io/standin/[a-z]+@sha256:[0-9a-f]{64}")));
+        assertEquals(names, koji.getImageNames(buildIds));
+    }
+
+    @Test
+    void shouldPageChangesAfterCursor() {
+        StandInErrataTool errataTool = new StandInErrataTool(advisories(1, "fixed:1"),
+                FaultProfile.none("errata-tool").start(), 10, Duration.ofSeconds(1));
+        ChangeCursor start = ChangeCursor.at(System.currentTimeMillis() - 10500);
+
+        List<AdvisoryChange> first = errataTool.fetchChanges(start, 4);
+        List<AdvisoryChange> second = errataTool.fetchChanges(ChangeCursor.after(first.get(3)), 100);
+
+        assertEquals(4, first.size());
+        assertTrue(second.size() >= 6);
+        Stream.concat(first.stream(), second.stream()).reduce((previous, change) -> {
+            assertEquals(1000, change.updatedAt() - previous.updatedAt());
+            assertEquals(errataTool.getInfo(change.advisoryId()).status(), change.status());
+            return change;
+        });
+    }
+}
@@ -0,0 +1,280 @@
+package org.jboss.sbomer.test.unit.et.allocation;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+import java.lang.management.ManagementFactory;
+import java.lang.reflect.Field;
+import java.lang.reflect.Proxy;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import org.eclipse.microprofile.reactive.messaging.Emitter;
+import org.eclipse.microprofile.reactive.messaging.Message;
+import org.eclipse.microprofile.reactive.messaging.Metadata;
+import org.jboss.sbomer.events.request.RequestsCreated;
+import org.jboss.sbomer.handler.et.adapter.in.UmbAdvisoryHandler;
+import org.jboss.sbomer.handler.et.adapter.out.FileAdvisoryStateStore;
+import org.jboss.sbomer.handler.et.adapter.out.KafkaGenerationRequester;
+import org.jboss.sbomer.handler.et.core.domain.advisory.Advisory;
+import org.jboss.sbomer.handler.et.core.domain.advisory.AdvisoryLookup;
+import org.jboss.sbomer.handler.et.core.domain.advisory.Build;
+import org.jboss.sbomer.handler.et.core.domain.advisory.BuildPage;
+import org.jboss.sbomer.handler.et.core.port.spi.ErrataTool;
+import org.jboss.sbomer.handler.et.core.service.AdvisoryService;
+import org.jboss.sbomer.handler.et.core.service.GenerationDeduplicator;
+import org.jboss.sbomer.handler.et.core.service.GenerationTargetResolvers;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.sun.management.ThreadMXBean;
+
+import dev.openfeature.sdk.Client;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.smallrye.reactive.messaging.amqp.IncomingAmqpMetadata;
+import io.vertx.amqp.AmqpMessage;
+import io.vertx.core.json.JsonObject;
+
+/**
+ * <p>
+ * Allocation budgets of the per-message path, in bytes allocated per processed
+ * UMB message (or per build of a large advisory), by the thread processing it
+ * and by the fan-out threads {@link AdvisoryService} forks its work onto.
+ * </p>
+ *
+ * <p>
+ * Dependencies are plain stubs, mocks would allocate on every call. Logging is
+ * limited to warnings, so that the budgets do not depend on the log output. A
+ * change exceeding a budget fails the build: either avoid the allocations, or
+ * raise the budget in the same change and say why.
+ * </p>
+ */
+class AllocationBudgetTest {
+
+    // Budgets, about a third over the measured values (~1.1 KiB, ~10.5 KiB and
+    // ~500 bytes, fan-out threads included) to absorb differences between JVMs
+    static final long SKIPPED_STATUS_BUDGET = 1_500;
+    static final long RELEVANT_QE_BUDGET = 14_000;
+    static final long LARGE_ADVISORY_PER_BUILD_BUDGET = 768;
+
+    static final int LARGE_ADVISORY_BUILDS = 2_000;
+
+    static final String FAN_OUT_THREAD_PREFIX = "advisory-fan-out-";
+
+    static final ThreadMXBean THREADS = (ThreadMXBean) ManagementFactory.getThreadMXBean();
+    static final Logger LOGGER = Logger.getLogger("org.jboss.sbomer");
+    static Level previousLevel;
+
+    @TempDir
+    Path directory;
+
+    List<Build> builds = List.of();
+
+    UmbAdvisoryHandler handler;
+
+    @BeforeAll
+    static void quietLogs() {
+        previousLevel = LOGGER.getLevel();
+        LOGGER.setLevel(Level.WARNING);
+    }
+
+    @AfterAll
+    static void restoreLogs() {
+        LOGGER.setLevel(previousLevel);
+    }
+
+    @BeforeEach
+    void setup() throws ReflectiveOperationException {
+        assumeTrue(THREADS.isThreadAllocatedMemorySupported(), "Thread allocation counters are not supported");
+        THREADS.setThreadAllocatedMemoryEnabled(true);
+
+        ErrataTool errataTool = new ErrataTool() {
+            @Override
+            public Advisory getInfo(String advisoryId) {
+                return new Advisory(advisoryId, "QE", false);
+            }
+
+            @Override
+            public Map<String, AdvisoryLookup> getInfoBatch(Set<String> advisoryIds) {
+                throw new UnsupportedOperationException("Batching is disabled");
+            }
+
+            @Override
+            public List<Build> fetchBuilds(String advisoryId) {
+                return builds;
+            }
+
+            @Override
+            public BuildPage fetchBuildsPage(String advisoryId, int offset, int limit) {
+                int from = Math.min(offset, builds.size());
+                return new BuildPage(builds.subList(from, Math.min(builds.size(), from + limit)));
+            }
+        };
+
+        KafkaGenerationRequester requester = new KafkaGenerationRequester();
+        inject(requester, "emitter", new AckingEmitter());
+
+        AdvisoryService advisoryService = new AdvisoryService(errataTool, requester, null,
+                (failure, correlationId, sourceEvent) -> {
+                },
+                new FileAdvisoryStateStore(false, directory.toString(), 1000),
+                new GenerationDeduplicator(false, 1000, Duration.ofDays(1), new SimpleMeterRegistry()),
+                new GenerationTargetResolvers(List.of()));
+        advisoryService.ATLAS_BUILD_PUBLISHER_NAME = "atlas-build";
+        advisoryService.ATLAS_BUILD_PUBLISHER_VERSION = "1.0";
+        advisoryService.ATLAS_RELEASE_PUBLISHER_NAME = "atlas-release";
+        advisoryService.ATLAS_RELEASE_PUBLISHER_VERSION = "1.0";
+        advisoryService.GENERATION_CHUNK_SIZE = 500;
+
+        // Enabled, without allocating on each call like a mock would
+        Client featureClient = (Client) Proxy.newProxyInstance(Client.class.getClassLoader(),
+                new Class<?>[] { Client.class }, (proxy, method, args) -> Boolean.TRUE);
+
+        handler = new UmbAdvisoryHandler(advisoryService, featureClient);
+    }
+
+    @Test
+    void skippedStatus() {
+        Message<byte[]> message = message(12345, "NEW_FILES");
+
+        assertWithinBudget("skipped status", SKIPPED_STATUS_BUDGET, measure(10_000, 2_000, () -> handler.process(message)));
+    }
+
+    @Test
+    void relevantQe() {
+        builds = List.of(new Build(1L, "image-1.0-1", "CONTAINER_IMAGE", "quay.io/org/image@sha256:abc"),
+                new Build(2L, "a-1.0-1", "RPM", "2"));
+        Message<byte[]> message = message(12345, "QE");
+
+        assertWithinBudget("relevant QE", RELEVANT_QE_BUDGET, measure(5_000, 1_000, () -> handler.process(message)));
+    }
+
+    @Test
+    void largeAdvisory() {
+        List<Build> large = new ArrayList<>(LARGE_ADVISORY_BUILDS);
+        for (long i = 0; i < LARGE_ADVISORY_BUILDS; i++) {
+            large.add(new Build(i, "rpm-" + i + "-1.0-1", "RPM", String.valueOf(i)));
+        }
+        builds = List.copyOf(large);
+        Message<byte[]> message = message(12345, "QE");
+
+        long perMessage = measure(50, 20, () -> handler.process(message));
+
+        assertWithinBudget("large advisory (per build)", LARGE_ADVISORY_PER_BUILD_BUDGET,
+                perMessage / LARGE_ADVISORY_BUILDS);
+    }
+
+    private static void assertWithinBudget(String scenario, long budget, long allocated) {
+        assertTrue(allocated <= budget, () -> "'" + scenario + "' allocated " + allocated
+                + " bytes, over its budget of " + budget + " bytes");
+    }
+
+    /**
+     * @return The lowest average number of bytes allocated per run, over a few
+     *         rounds after a warmup.
+     */
+    private static long measure(int warmup, int iterations, Runnable task) {
+        for (int i = 0; i < warmup; i++) {
+            task.run();
+        }
+
+        long threadId = Thread.currentThread().getId();
+        long lowest = Long.MAX_VALUE;
+        for (int round = 0; round < 5; round++) {
+            // Reading the fan-out counters allocates, so the calling thread is
+            // read last before the runs and first after them
+            Map<Long, Long> fanOutBefore = fanOutAllocatedBytes();
+            long before = THREADS.getThreadAllocatedBytes(threadId);
+            for (int i = 0; i < iterations; i++) {
+                task.run();
+            }
+            long allocated = THREADS.getThreadAllocatedBytes(threadId) - before;
+            for (Map.Entry<Long, Long> fanOut : fanOutAllocatedBytes().entrySet()) {
+                allocated += fanOut.getValue() - fanOutBefore.getOrDefault(fanOut.getKey(), 0L);
+            }
+            lowest = Math.min(lowest, allocated / iterations);
+        }
+        return lowest;
+    }
+
+    /**
+     * @return The bytes allocated so far by each live fan-out thread, by thread
+     *         ID. The pool keeps idle threads for a minute, longer than a round.
+     */
+    private static Map<Long, Long> fanOutAllocatedBytes() {
+        Map<Long, Long> allocated = new HashMap<>();
+        for (Thread thread : Thread.getAllStackTraces().keySet()) {
+            if (thread.getName().startsWith(FAN_OUT_THREAD_PREFIX)) {
+                allocated.put(thread.getId(), THREADS.getThreadAllocatedBytes(thread.getId()));
+            }
+        }
+        return allocated;
+    }
+
+    private static Message<byte[]> message(long errataId, String status) {
+        byte[] payload = new JsonObject()
+                .put("errata_id", errataId)
+                .put("errata_status", status)
+                .put("fulladvisory", "RHBA-2023:" + errataId)
+                .put("synopsis", "Updated packages")
+                .encode()
+                .getBytes(StandardCharsets.UTF_8);
+        AmqpMessage amqpMessage = AmqpMessage.create()
+                .applicationProperties(new JsonObject().put("subject", "errata.activity.status"))
+                .build();
+        return Message.of(payload, Metadata.of(new IncomingAmqpMetadata(amqpMessage)));
+    }
+
+    private static void inject(Object target, String name, Object value) throws ReflectiveOperationException {
+        Field field = target.getClass().getDeclaredField(name);
+        field.setAccessible(true);
+        field.set(target, value);
+    }
+
+    /**
+     * Acknowledges every event right away, as Kafka would.
+     */
+    private static class AckingEmitter implements Emitter<RequestsCreated> {
+
+        @Override
+        public CompletionStage<Void> send(RequestsCreated payload) {
+            return CompletableFuture.completedFuture(null);
+        }
+
+        @Override
+        public <M extends Message<? extends RequestsCreated>> void send(M message) {
+            message.ack();
+        }
+
+        @Override
+        public void complete() {
+        }
+
+        @Override
+        public void error(Exception e) {
+        }
+
+        @Override
+        public boolean isCancelled() {
+            return false;
+        }
+
+        @Override
+        public boolean hasRequests() {
+            return true;
+        }
+    }
+}
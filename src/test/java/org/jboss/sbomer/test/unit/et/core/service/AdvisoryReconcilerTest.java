@@ -0,0 +1,180 @@
+package org.jboss.sbomer.test.unit.et.core.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+
+import org.jboss.sbomer.handler.et.adapter.out.FileChangeCursorStore;
+import org.jboss.sbomer.handler.et.adapter.out.FileRetryStore;
+import org.jboss.sbomer.handler.et.core.domain.advisory.AdvisoryChange;
+import org.jboss.sbomer.handler.et.core.domain.advisory.AdvisoryState;
+import org.jboss.sbomer.handler.et.core.domain.advisory.ChangeCursor;
+import org.jboss.sbomer.handler.et.core.domain.advisory.RetryState;
+import org.jboss.sbomer.handler.et.core.domain.advisory.Trigger;
+import org.jboss.sbomer.handler.et.core.port.api.AdvisoryHandler;
+import org.jboss.sbomer.handler.et.core.port.spi.AdvisoryStateStore;
+import org.jboss.sbomer.handler.et.core.port.spi.ClusterAdvisoryView;
+import org.jboss.sbomer.handler.et.core.port.spi.ErrataTool;
+import org.jboss.sbomer.handler.et.core.service.AdvisoryReconciler;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class AdvisoryReconcilerTest {
+
+    private static final long NOW = System.currentTimeMillis();
+
+    @TempDir
+    Path directory;
+
+    private ErrataTool errataTool;
+    private AdvisoryStateStore stateStore;
+    private ClusterAdvisoryView clusterView;
+    private FileRetryStore retryStore;
+    private FileChangeCursorStore cursorStore;
+    private AdvisoryHandler advisoryHandler;
+    private SimpleMeterRegistry registry;
+
+    @BeforeEach
+    void setUp() {
+        errataTool = mock(ErrataTool.class);
+        stateStore = mock(AdvisoryStateStore.class);
+        clusterView = mock(ClusterAdvisoryView.class);
+        retryStore = new FileRetryStore(directory.resolve("retries").toString(), 1000);
+        cursorStore = new FileChangeCursorStore(directory.resolve("reconciler").toString());
+        advisoryHandler = mock(AdvisoryHandler.class);
+        registry = new SimpleMeterRegistry();
+
+        when(stateStore.find(anyString())).thenReturn(Optional.empty());
+        when(clusterView.find(anyString())).thenReturn(Optional.empty());
+    }
+
+    private AdvisoryReconciler reconciler(int pageSize) {
+        return reconciler(false, pageSize);
+    }
+
+    private AdvisoryReconciler reconciler(boolean enabled, int pageSize) {
+        return new AdvisoryReconciler(enabled, Duration.ofMinutes(5), pageSize, 20, 1000, Duration.ofHours(24),
+                Duration.ofMinutes(2), List.of("QE", "SHIPPED_LIVE"), errataTool, stateStore, clusterView,
+                retryStore, cursorStore, advisoryHandler, registry);
+    }
+
+    private static AdvisoryState state(String advisoryId, String status, long processedAt) {
+        return new AdvisoryState(advisoryId, status, "hash", null, processedAt);
+    }
+
+    @Test
+    void shouldHandleOnlyMissedStatusChanges() throws InterruptedException {
+        when(errataTool.fetchChanges(any(), anyInt())).thenReturn(List.of(
+                new AdvisoryChange("1", "QE", NOW - 4000),
+                new AdvisoryChange("2", "QE", NOW - 3000),
+                new AdvisoryChange("3", "NEW_FILES", NOW - 2000),
+                new AdvisoryChange("4", "SHIPPED_LIVE", NOW - 1000),
+                new AdvisoryChange("5", "SHIPPED_LIVE", NOW),
+                new AdvisoryChange("6", "QE", NOW)));
+        // Processed by this replica, resp. by another one after an older local state
+        when(stateStore.find("2")).thenReturn(Optional.of(state("2", "QE", NOW - 3000)));
+        when(stateStore.find("4")).thenReturn(Optional.of(state("4", "SHIPPED_LIVE", NOW - 9000)));
+        when(clusterView.find("4")).thenReturn(Optional.of(state("4", "QE", NOW - 8000)));
+        // Left to the retrier
+        retryStore.save(new RetryState("5", false, null, 1, NOW, NOW, "failed", NOW + 60000, false));
+        // Processed in QE before a respin back to QE
+        when(clusterView.find("6")).thenReturn(Optional.of(state("6", "QE", NOW - 5000)));
+
+        int handled = reconciler(100).reconcile();
+
+        assertEquals(3, handled);
+        verify(advisoryHandler).requestGenerations("1", false, Trigger.reconcile("QE", NOW - 4000));
+        verify(advisoryHandler).requestGenerations("4", false, Trigger.reconcile("SHIPPED_LIVE", NOW - 1000));
+        verify(advisoryHandler).requestGenerations("6", false, Trigger.reconcile("QE", NOW));
+        verify(advisoryHandler, never()).requestGenerations(anyStringOf("2", "3", "5"), anyBoolean(), any());
+        assertEquals(6, registry.counter("sbomer.reconciler.changes").count());
+        assertEquals(3, registry.counter("sbomer.reconciler.missed").count());
+    }
+
+    @Test
+    void shouldPageAndStoreCursor() throws InterruptedException {
+        AdvisoryChange first = new AdvisoryChange("1", "QE", NOW - 2000);
+        AdvisoryChange second = new AdvisoryChange("2", "QE", NOW - 2000);
+        AdvisoryChange third = new AdvisoryChange("3", "QE", NOW - 1000);
+        cursorStore.save(ChangeCursor.at(NOW - 60000));
+        ChangeCursor start = ChangeCursor.at(NOW - 60000 - Duration.ofMinutes(2).toMillis());
+        when(errataTool.fetchChanges(start, 2)).thenReturn(List.of(first, second));
+        when(errataTool.fetchChanges(ChangeCursor.after(second), 2)).thenReturn(List.of(third));
+
+        AdvisoryReconciler reconciler = reconciler(2);
+
+        assertEquals(3, reconciler.reconcile());
+        assertEquals(ChangeCursor.after(third), reconciler.cursor());
+        assertEquals(Optional.of(ChangeCursor.after(third)), cursorStore.load());
+    }
+
+    @Test
+    void shouldNotMoveCursorBackOnOverlap() throws InterruptedException {
+        AdvisoryChange change = new AdvisoryChange("1", "QE", NOW - 1000);
+        ChangeCursor stored = ChangeCursor.at(NOW);
+        cursorStore.save(stored);
+        // Only the overlap before the cursor changed, already reconciled
+        when(errataTool.fetchChanges(any(), anyInt())).thenReturn(List.of(change));
+        when(stateStore.find("1")).thenReturn(Optional.of(state("1", "QE", NOW - 1000)));
+
+        AdvisoryReconciler reconciler = reconciler(100);
+
+        assertEquals(0, reconciler.reconcile());
+        assertEquals(stored, reconciler.cursor());
+        assertEquals(Optional.of(stored), cursorStore.load());
+    }
+
+    @Test
+    void shouldKeepCursorWhenErrataToolFails() throws InterruptedException {
+        AdvisoryChange first = new AdvisoryChange("1", "QE", NOW - 2000);
+        when(errataTool.fetchChanges(any(), anyInt())).thenReturn(List.of(first))
+                .thenThrow(new IllegalStateException("Errata Tool unavailable"));
+
+        AdvisoryReconciler reconciler = reconciler(1);
+
+        assertThrows(IllegalStateException.class, reconciler::reconcile);
+
+        // The next run continues after the first page
+        assertEquals(ChangeCursor.after(first), reconciler.cursor());
+        assertEquals(Optional.of(ChangeCursor.after(first)), cursorStore.load());
+        verify(advisoryHandler).requestGenerations("1", false, Trigger.reconcile("QE", NOW - 2000));
+    }
+
+    @Test
+    void shouldNotStartWithoutSharedClusterView() {
+        when(errataTool.supportsChanges()).thenReturn(true);
+        assertThrows(IllegalStateException.class, () -> reconciler(true, 100));
+
+        when(clusterView.isShared()).thenReturn(true);
+        reconciler(true, 100);
+    }
+
+    @Test
+    void shouldNotStartWithoutChangesOfErrataTool() {
+        when(clusterView.isShared()).thenReturn(true);
+        assertThrows(IllegalStateException.class, () -> reconciler(true, 100));
+
+        when(errataTool.supportsChanges()).thenReturn(true);
+        reconciler(true, 100);
+    }
+
+    private static String anyStringOf(String... values) {
+        return argThat(value -> List.of(values).contains(value));
+    }
+}
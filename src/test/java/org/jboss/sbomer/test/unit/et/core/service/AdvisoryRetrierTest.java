@@ -0,0 +1,177 @@
+package org.jboss.sbomer.test.unit.et.core.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.after;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.jboss.sbomer.handler.et.adapter.out.FileRetryStore;
+import org.jboss.sbomer.handler.et.core.domain.advisory.RetryState;
+import org.jboss.sbomer.handler.et.core.domain.advisory.Trigger;
+import org.jboss.sbomer.handler.et.core.domain.exception.AdvisoryClaimedException;
+import org.jboss.sbomer.handler.et.core.domain.exception.AdvisoryProcessingException;
+import org.jboss.sbomer.handler.et.core.port.api.AdvisoryHandler;
+import org.jboss.sbomer.handler.et.core.service.AdvisoryRetrier;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class AdvisoryRetrierTest {
+
+    private static final Exception FAILURE = new AdvisoryProcessingException("Failed to process advisory 123",
+            new IllegalStateException("Errata Tool unavailable"));
+
+    @TempDir
+    Path directory;
+
+    private FileRetryStore store;
+    private AdvisoryHandler advisoryHandler;
+
+    @BeforeEach
+    void setUp() {
+        store = new FileRetryStore(directory.toString(), 1000);
+        advisoryHandler = mock(AdvisoryHandler.class);
+    }
+
+    private AdvisoryRetrier retrier(int maxAttempts, Duration initialDelay) {
+        return new AdvisoryRetrier(true, maxAttempts, initialDelay, Duration.ofMinutes(1), 1, Duration.ofMillis(5),
+                store, advisoryHandler, new SimpleMeterRegistry());
+    }
+
+    @Test
+    void shouldRetryFailedAdvisory() {
+        AdvisoryRetrier retrier = retrier(3, Duration.ofMillis(20));
+
+        retrier.failed("123", true, "SHIPPED_LIVE", FAILURE);
+
+        verify(advisoryHandler, timeout(5000)).requestGenerations("123", true, Trigger.retry("SHIPPED_LIVE"));
+        RetryState state = store.find("123").orElseThrow();
+        assertEquals(1, state.attempts());
+        assertFalse(state.deadLetter());
+        assertEquals("IllegalStateException: Errata Tool unavailable", state.lastError());
+    }
+
+    @Test
+    void shouldKeepReportedStatusForLaterFailures() {
+        AdvisoryRetrier retrier = retrier(3, Duration.ofMinutes(1));
+
+        retrier.failed("123", false, "SHIPPED_LIVE", FAILURE);
+        retrier.failed("123", false, null, FAILURE);
+
+        assertEquals("SHIPPED_LIVE", store.find("123").orElseThrow().status());
+    }
+
+    @Test
+    void shouldPostponeClaimedAdvisoryWithoutUsingAttempts() {
+        AdvisoryRetrier retrier = retrier(1, Duration.ofMillis(20));
+
+        retrier.postpone("123", false, "QE", new AdvisoryClaimedException("Advisory '123' is claimed"));
+
+        verify(advisoryHandler, timeout(5000)).requestGenerations("123", false, Trigger.retry("QE"));
+        RetryState state = store.find("123").orElseThrow();
+        assertEquals(0, state.attempts());
+        assertFalse(state.deadLetter());
+    }
+
+    @Test
+    void shouldDeadLetterAfterAttemptsAreExhausted() {
+        AdvisoryRetrier retrier = retrier(2, Duration.ofMinutes(1));
+
+        retrier.failed("123", false, null, FAILURE);
+        retrier.failed("123", false, null, FAILURE);
+
+        RetryState state = store.find("123").orElseThrow();
+        assertTrue(state.deadLetter());
+        assertEquals(2, state.attempts());
+        assertEquals(List.of(state), retrier.deadLetters());
+
+        // No retry left scheduled
+        verify(advisoryHandler, after(200).never()).requestGenerations(anyString(), anyBoolean(), eq(Trigger.retry(null)));
+    }
+
+    @Test
+    void shouldReplayDeadLetters() {
+        AdvisoryRetrier retrier = retrier(1, Duration.ofMillis(20));
+
+        retrier.failed("123", false, null, FAILURE);
+        retrier.failed("456", false, null, FAILURE);
+        assertEquals(2, retrier.deadLetters().size());
+
+        assertEquals(List.of("456"), retrier.replay(List.of("456", "789")));
+
+        verify(advisoryHandler, timeout(5000)).requestGenerations("456", false, Trigger.retry(null));
+        verify(advisoryHandler, never()).requestGenerations(eq("123"), anyBoolean(), eq(Trigger.retry(null)));
+        assertFalse(store.find("456").orElseThrow().deadLetter());
+        assertEquals(0, store.find("456").orElseThrow().attempts());
+        assertEquals(List.of("123"), retrier.deadLetters().stream().map(RetryState::advisoryId).toList());
+    }
+
+    @Test
+    void shouldForgetAdvisoryOnceItSucceeds() {
+        AdvisoryRetrier retrier = retrier(3, Duration.ofMinutes(1));
+
+        retrier.failed("123", false, null, FAILURE);
+        retrier.succeeded("123");
+
+        assertTrue(store.find("123").isEmpty());
+        assertTrue(store.findAll().isEmpty());
+    }
+
+    @Test
+    void shouldResumePendingRetriesAfterRestart() {
+        long now = System.currentTimeMillis();
+        store.save(new RetryState("123", false, "QE", 2, now - 60_000, now - 30_000, "Timeout", now - 1_000, false));
+        store.save(new RetryState("456", false, null, 6, now - 60_000, now - 30_000, "Timeout", 0, true));
+
+        retrier(6, Duration.ofMillis(20));
+
+        verify(advisoryHandler, timeout(5000)).requestGenerations("123", false, Trigger.retry("QE"));
+        verify(advisoryHandler, after(100).never()).requestGenerations(eq("456"), anyBoolean(), eq(Trigger.retry(null)));
+    }
+
+    @Test
+    void shouldCountConcurrentFailures() throws Exception {
+        AdvisoryRetrier retrier = retrier(100, Duration.ofMinutes(1));
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        CountDownLatch start = new CountDownLatch(1);
+
+        try {
+            List<CompletableFuture<Void>> failures = new ArrayList<>();
+            for (int i = 0; i < 50; i++) {
+                failures.add(CompletableFuture.runAsync(() -> {
+                    try {
+                        start.await();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                    retrier.failed("123", false, null, FAILURE);
+                }, executor));
+            }
+            start.countDown();
+            CompletableFuture.allOf(failures.toArray(CompletableFuture[]::new)).get(5, TimeUnit.SECONDS);
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertEquals(50, store.find("123").orElseThrow().attempts());
+    }
+}
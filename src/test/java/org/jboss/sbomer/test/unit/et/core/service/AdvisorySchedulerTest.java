@@ -0,0 +1,119 @@
+package org.jboss.sbomer.test.unit.et.core.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.function.DoubleSupplier;
+
+import org.jboss.sbomer.handler.et.core.domain.advisory.Trigger;
+import org.jboss.sbomer.handler.et.core.domain.exception.AdmissionRejectedException;
+import org.jboss.sbomer.handler.et.core.service.AdvisoryScheduler;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class AdvisorySchedulerTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final ExecutorService executor = Executors.newCachedThreadPool();
+
+    @AfterEach
+    void close() {
+        executor.shutdownNow();
+    }
+
+    private AdvisoryScheduler scheduler(boolean enabled, int maxConcurrent) {
+        return new AdvisoryScheduler(enabled, maxConcurrent, Duration.ofSeconds(30), List.of("release:8", "manual:1"),
+                "manual", List.of("umb:SHIPPED_LIVE=release"), 100, Duration.ofMinutes(1), Duration.ofSeconds(10), List.of("rest"), registry);
+    }
+
+    private double gauge(String name) {
+        return registry.get(name).gauge().value();
+    }
+
+    private static Void block(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return null;
+    }
+
+    private static void await(DoubleSupplier value, double expected) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (value.getAsDouble() != expected) {
+            assertTrue(System.nanoTime() < deadline, "Expected " + expected + " but was " + value.getAsDouble());
+            Thread.sleep(10);
+        }
+    }
+
+    @Test
+    void shouldPublishInFlightAndQueuedAdvisories() throws Exception {
+        AdvisoryScheduler scheduler = scheduler(true, 2);
+        CountDownLatch finish = new CountDownLatch(1);
+
+        for (int i = 0; i < 5; i++) {
+            executor.submit(() -> scheduler.run(Trigger.umb("SHIPPED_LIVE"), () -> block(finish)));
+        }
+
+        await(() -> gauge("sbomer.advisories.in-flight"), 2);
+        await(() -> gauge("sbomer.advisories.queued"), 3);
+
+        finish.countDown();
+        await(() -> gauge("sbomer.advisories.in-flight"), 0);
+        assertEquals(0, gauge("sbomer.advisories.queued"));
+    }
+
+    @Test
+    void shouldCountInFlightAdvisoriesWhenDisabled() throws Exception {
+        AdvisoryScheduler scheduler = scheduler(false, 1);
+        CountDownLatch finish = new CountDownLatch(1);
+
+        for (int i = 0; i < 3; i++) {
+            executor.submit(() -> scheduler.run(Trigger.UNKNOWN, () -> block(finish)));
+        }
+
+        await(() -> gauge("sbomer.advisories.in-flight"), 3);
+        assertEquals(0, gauge("sbomer.advisories.queued"));
+
+        finish.countDown();
+        await(() -> gauge("sbomer.advisories.in-flight"), 0);
+    }
+
+    @Test
+    void shouldEstimateWaitFromDefaultServiceTimeWithoutDrainSample() throws Exception {
+        AdvisoryScheduler scheduler = scheduler(true, 1);
+        CountDownLatch finish = new CountDownLatch(1);
+
+        for (int i = 0; i < 3; i++) {
+            executor.submit(() -> scheduler.run(Trigger.umb("SHIPPED_LIVE"), () -> block(finish)));
+        }
+        await(() -> gauge("sbomer.advisories.queued"), 2);
+
+        // Nothing finished yet: 3 rounds of 10 seconds, within the maximum wait
+        executor.submit(() -> scheduler.run(Trigger.rest(), () -> block(finish)));
+        await(() -> gauge("sbomer.advisories.queued"), 3);
+
+        for (int i = 0; i < 3; i++) {
+            executor.submit(() -> scheduler.run(Trigger.umb("SHIPPED_LIVE"), () -> block(finish)));
+        }
+        await(() -> gauge("sbomer.advisories.queued"), 6);
+
+        // 7 rounds of 10 seconds exceed it
+        AdmissionRejectedException rejected = assertThrows(AdmissionRejectedException.class,
+                () -> scheduler.run(Trigger.rest(), () -> null));
+        assertEquals(Duration.ofSeconds(70), rejected.getRetryAfter());
+
+        finish.countDown();
+        await(() -> gauge("sbomer.advisories.in-flight"), 0);
+    }
+}
@@ -1,21 +1,59 @@
 package org.jboss.sbomer.test.unit.et.core.service;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
 
 import org.jboss.sbomer.handler.et.core.domain.advisory.Advisory;
+import org.jboss.sbomer.handler.et.core.domain.advisory.AdvisoryState;
 import org.jboss.sbomer.handler.et.core.domain.advisory.Build;
+import org.jboss.sbomer.handler.et.core.domain.advisory.BuildPage;
+import org.jboss.sbomer.handler.et.core.domain.advisory.BuildSetHash;
+import org.jboss.sbomer.handler.et.core.domain.advisory.Trigger;
+import org.jboss.sbomer.handler.et.core.domain.exception.AdvisoryClaimedException;
+import org.jboss.sbomer.handler.et.core.domain.exception.AdvisoryProcessingException;
+import org.jboss.sbomer.handler.et.core.domain.generation.Generation;
+import org.jboss.sbomer.handler.et.core.domain.generation.GenerationRequest;
+import org.jboss.sbomer.handler.et.core.domain.generation.GenerationTarget;
+import org.jboss.sbomer.handler.et.core.port.spi.AdvisoryStateStore;
+import org.jboss.sbomer.handler.et.core.port.spi.ClusterAdvisoryView;
 import org.jboss.sbomer.handler.et.core.port.spi.ErrataTool;
+import org.jboss.sbomer.handler.et.core.port.spi.FailureNotifier;
 import org.jboss.sbomer.handler.et.core.port.spi.GenerationRequestService;
 import org.jboss.sbomer.handler.et.core.service.AdvisoryService;
+import org.jboss.sbomer.handler.et.core.service.GenerationDeduplicator;
+import org.jboss.sbomer.handler.et.core.service.GenerationTargetResolvers;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.stubbing.Answer;
 
 @ExtendWith(MockitoExtension.class)
 public class AdvisoryServiceTest {
@@ -28,20 +66,507 @@ public class AdvisoryServiceTest {
     @Mock
     private GenerationRequestService generationRequestService;
 
+    @Mock
+    private AdvisoryStateStore stateStore;
+
+    @Mock
+    private GenerationDeduplicator deduplicator;
+
+    @Mock
+    private FailureNotifier failureNotifier;
+
+    @Mock
+    private ClusterAdvisoryView clusterView;
+
+    // No resolvers, targets are taken from the builds as they are
+    @Spy
+    private GenerationTargetResolvers resolvers = new GenerationTargetResolvers(List.of());
+
     @Test
     void shouldFetchBuildList() {
         final String advisoryId = "12345";
 
         // Mock the behavior of errataTool to return a predefined list of builds
-        when(errataTool.fetchBuilds(advisoryId))
-                .thenReturn(List.of(new Build(3366231l, "cdi-api-2.0.2-15.el10", "RPM", "3366231")));
+        givenBuilds(advisoryId, List.of(new Build(3366231l, "cdi-api-2.0.2-15.el10", "RPM", "3366231")));
 
         when(errataTool.getInfo(advisoryId)).thenReturn(new Advisory(advisoryId, "QE", false));
 
         advisoryService.requestGenerations(advisoryId);
 
-        // Ensure the fetchBuildsAttached method was called once with the correct
-        // advisoryId
-        verify(errataTool, times(1)).fetchBuilds(advisoryId);
+        // Ensure the builds were read in a single page for the correct advisoryId
+        verify(errataTool, times(1)).fetchBuildsPage(eq(advisoryId), eq(0), anyInt());
+    }
+
+    @Test
+    void shouldReturnPreviousRequestForUnchangedAdvisory() {
+        final String advisoryId = "12345";
+        List<Build> builds = List.of(new Build(3366231l, "cdi-api-2.0.2-15.el10", "RPM", "3366231"));
+        GenerationRequest previous = new GenerationRequest("R1", advisoryId, List.of(), List.of());
+
+        when(errataTool.getInfo(advisoryId)).thenReturn(new Advisory(advisoryId, "QE", false));
+        givenBuilds(advisoryId, builds);
+        when(stateStore.find(advisoryId)).thenReturn(Optional
+                .of(new AdvisoryState(advisoryId, "QE", BuildSetHash.of(builds).value(), previous, 0L)));
+
+        GenerationRequest result = advisoryService.requestGenerations(advisoryId);
+
+        assertEquals(previous, result);
+        verify(generationRequestService, never()).requestGenerations(any());
+    }
+
+    @Test
+    void shouldSkipStatusChangeProcessedByAnotherReplica() throws InterruptedException {
+        final String advisoryId = "12345";
+        GenerationRequest previous = new GenerationRequest("R1", advisoryId, List.of(), List.of());
+        when(clusterView.find(advisoryId))
+                .thenReturn(Optional.of(new AdvisoryState(advisoryId, "QE", "hash", previous, 2000L)));
+
+        // The same change delivered to this replica too
+        GenerationRequest result = advisoryService.requestGenerations(advisoryId, false, Trigger.umb("QE", 1000L));
+
+        assertEquals(previous, result);
+        verify(clusterView).claim(advisoryId);
+        verify(clusterView).release(advisoryId);
+        verify(errataTool, never()).getInfo(any());
+        verify(generationRequestService, never()).requestGenerations(any());
+    }
+
+    @Test
+    void shouldHandleRespinToProcessedStatus() {
+        final String advisoryId = "12345";
+        GenerationRequest previous = new GenerationRequest("R1", advisoryId, List.of(), List.of());
+        when(clusterView.find(advisoryId))
+                .thenReturn(Optional.of(new AdvisoryState(advisoryId, "QE", "hash", previous, 1000L)));
+        when(errataTool.getInfo(advisoryId)).thenReturn(new Advisory(advisoryId, "QE", false));
+        givenBuilds(advisoryId, List.of(new Build(3366231l, "cdi-api-2.0.2-16.el10", "RPM", "3366231")));
+
+        // Back to QE after the processed change, e.g. after NEW_FILES
+        advisoryService.requestGenerations(advisoryId, false, Trigger.umb("QE", 2000L));
+
+        verify(errataTool).getInfo(advisoryId);
+        verify(generationRequestService).requestGenerations(any());
+    }
+
+    @Test
+    void shouldLeaveAdvisoryClaimedByAnotherReplica() throws InterruptedException {
+        final String advisoryId = "12345";
+        doThrow(new AdvisoryClaimedException("Advisory '12345' is still being processed")).when(clusterView)
+                .claim(advisoryId);
+
+        assertThrows(AdvisoryClaimedException.class,
+                () -> advisoryService.requestGenerations(advisoryId, false, Trigger.umb("QE", 1000L)));
+
+        verify(errataTool, never()).getInfo(any());
+        verify(failureNotifier, never()).notify(any(), any(), any());
+    }
+
+    @Test
+    void shouldFailOnStaleAdvisoryNotConfirmedByTrigger() {
+        final String advisoryId = "12345";
+        when(errataTool.getInfo(advisoryId)).thenReturn(new Advisory(advisoryId, "QE", false).asStale());
+        givenBuilds(advisoryId, List.of());
+
+        assertThrows(AdvisoryProcessingException.class,
+                () -> advisoryService.requestGenerations(advisoryId, false, Trigger.umb("SHIPPED_LIVE")));
+        assertThrows(AdvisoryProcessingException.class, () -> advisoryService.requestGenerations(advisoryId));
+
+        verify(generationRequestService, never()).requestGenerations(any());
+    }
+
+    @Test
+    void shouldHandleStaleAdvisoryConfirmedByTrigger() {
+        final String advisoryId = "12345";
+        when(errataTool.getInfo(advisoryId)).thenReturn(new Advisory(advisoryId, "QE", false).asStale());
+        givenBuilds(advisoryId, List.of(new Build(3366231l, "cdi-api-2.0.2-15.el10", "RPM", "3366231")));
+
+        advisoryService.requestGenerations(advisoryId, false, Trigger.umb("QE"));
+
+        verify(generationRequestService).requestGenerations(any());
+    }
+
+    @Test
+    void shouldReturnRequestOfAnotherReplicaForUnchangedAdvisory() {
+        final String advisoryId = "12345";
+        List<Build> builds = List.of(new Build(3366231l, "cdi-api-2.0.2-15.el10", "RPM", "3366231"));
+        GenerationRequest previous = new GenerationRequest("R1", advisoryId, List.of(), List.of());
+
+        when(errataTool.getInfo(advisoryId)).thenReturn(new Advisory(advisoryId, "QE", false));
+        givenBuilds(advisoryId, builds);
+        when(clusterView.find(advisoryId)).thenReturn(Optional
+                .of(new AdvisoryState(advisoryId, "QE", BuildSetHash.of(builds).value(), previous, 0L)));
+
+        // A REST trigger has no status, Errata Tool is asked
+        GenerationRequest result = advisoryService.requestGenerations(advisoryId, false, Trigger.rest());
+
+        assertEquals(previous, result);
+        verify(generationRequestService, never()).requestGenerations(any());
+    }
+
+    @Test
+    void shouldShareProcessedStateWithOtherReplicas() {
+        final String advisoryId = "12345";
+        when(errataTool.getInfo(advisoryId)).thenReturn(new Advisory(advisoryId, "QE", false));
+        givenBuilds(advisoryId, List.of(new Build(3366231l, "cdi-api-2.0.2-15.el10", "RPM", "3366231")));
+
+        GenerationRequest result = advisoryService.requestGenerations(advisoryId);
+
+        ArgumentCaptor<AdvisoryState> state = ArgumentCaptor.forClass(AdvisoryState.class);
+        verify(clusterView).processed(state.capture());
+        assertEquals(result, state.getValue().generationRequest());
+        verify(clusterView).release(advisoryId);
+    }
+
+    @Test
+    void shouldRequestGenerationsForUnchangedAdvisoryWhenForced() {
+        final String advisoryId = "12345";
+        List<Build> builds = List.of(new Build(3366231l, "cdi-api-2.0.2-15.el10", "RPM", "3366231"));
+        GenerationRequest previous = new GenerationRequest("R1", advisoryId, List.of(), List.of());
+
+        when(errataTool.getInfo(advisoryId)).thenReturn(new Advisory(advisoryId, "QE", false));
+        givenBuilds(advisoryId, builds);
+        lenient().when(stateStore.find(advisoryId)).thenReturn(Optional
+                .of(new AdvisoryState(advisoryId, "QE", BuildSetHash.of(builds).value(), previous, 0L)));
+
+        advisoryService.requestGenerations(advisoryId, true);
+
+        verify(generationRequestService).requestGenerations(any());
+        verify(stateStore).save(any());
+    }
+
+    @Test
+    void shouldReuseRecentlyRequestedGeneration() {
+        final String advisoryId = "12345";
+        Build build = new Build(1L, "image-1.0-1", "CONTAINER_IMAGE", "quay.io/org/image@sha256:abc");
+        Generation existing = new Generation("G0ABCDEFGHJKM", new GenerationTarget(build.type(), build.identifier()));
+
+        when(errataTool.getInfo(advisoryId)).thenReturn(new Advisory(advisoryId, "QE", false));
+        givenBuilds(advisoryId, List.of(build));
+        when(deduplicator.findExisting(eq(existing.target()), any())).thenReturn(Optional.of(existing));
+
+        GenerationRequest result = advisoryService.requestGenerations(advisoryId);
+
+        assertEquals(List.of(), result.generations());
+        assertEquals(List.of(existing), result.reusedGenerations());
+    }
+
+    @Test
+    void shouldFailFastAndCancelBuildsLookupWhenAdvisoryLookupFails() {
+        final String advisoryId = "12345";
+        CountDownLatch buildsStarted = new CountDownLatch(1);
+        CountDownLatch buildsInterrupted = new CountDownLatch(1);
+
+        when(errataTool.getInfo(advisoryId)).thenAnswer(invocation -> {
+            await(buildsStarted);
+            throw new IllegalStateException("ET is down");
+        });
+        when(errataTool.fetchBuildsPage(eq(advisoryId), anyInt(), anyInt())).thenAnswer(invocation -> {
+            buildsStarted.countDown();
+            try {
+                Thread.sleep(10_000);
+            } catch (InterruptedException e) {
+                buildsInterrupted.countDown();
+            }
+            return new BuildPage(List.of());
+        });
+
+        assertThrows(AdvisoryProcessingException.class, () -> advisoryService.requestGenerations(advisoryId));
+        assertTrue(await(buildsInterrupted));
+        verify(failureNotifier).notify(any(), any(), isNull());
+        verify(generationRequestService, never()).requestGenerations(any());
+    }
+
+    @Test
+    void shouldShareProcessingOfConcurrentTriggers() throws Exception {
+        final String advisoryId = "12345";
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        when(errataTool.getInfo(advisoryId)).thenAnswer(invocation -> {
+            started.countDown();
+            await(release);
+            return new Advisory(advisoryId, "QE", false);
+        });
+        givenBuilds(advisoryId, List.of());
+
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Future<GenerationRequest> umb = executor
+                    .submit(() -> advisoryService.requestGenerations(advisoryId, false, Trigger.umb("QE")));
+            await(started);
+            // A REST trigger has no status, the shared processing answers it
+            GenerationRequest rest = join(() -> advisoryService.requestGenerations(advisoryId, false, Trigger.rest()),
+                    release);
+
+            assertEquals(umb.get(5, TimeUnit.SECONDS), rest);
+        } finally {
+            executor.shutdownNow();
+        }
+
+        verify(errataTool, times(1)).getInfo(advisoryId);
+        verify(clusterView, times(1)).claim(advisoryId);
+    }
+
+    @Test
+    void shouldProcessAgainForStatusNotSeenBySharedProcessing() throws Exception {
+        final String advisoryId = "12345";
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        when(errataTool.getInfo(advisoryId)).thenAnswer(invocation -> {
+            started.countDown();
+            await(release);
+            return new Advisory(advisoryId, "QE", false);
+        }).thenReturn(new Advisory(advisoryId, "SHIPPED_LIVE", false));
+        givenBuilds(advisoryId, List.of(new Build(3366231l, "cdi-api-2.0.2-15.el10", "RPM", "3366231")));
+
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Future<GenerationRequest> rest = executor
+                    .submit(() -> advisoryService.requestGenerations(advisoryId, false, Trigger.rest()));
+            await(started);
+            // Sent after the advisory moved on, while the shared processing still saw QE
+            GenerationRequest shipped = join(
+                    () -> advisoryService.requestGenerations(advisoryId, false, Trigger.umb("SHIPPED_LIVE")),
+                    release);
+
+            assertNotEquals(rest.get(5, TimeUnit.SECONDS), shipped);
+        } finally {
+            executor.shutdownNow();
+        }
+
+        verify(errataTool, times(2)).getInfo(advisoryId);
+        verify(generationRequestService, times(2)).requestGenerations(any());
+    }
+
+    @Test
+    void shouldHandleTextOnlyAdvisoryWhenBuildsLookupFails() {
+        final String advisoryId = "12345";
+        when(errataTool.getInfo(advisoryId)).thenReturn(new Advisory(advisoryId, "QE", true));
+        lenient().when(errataTool.fetchBuildsPage(eq(advisoryId), anyInt(), anyInt())).thenThrow(new IllegalStateException("ET is down"));
+
+        GenerationRequest result = advisoryService.requestGenerations(advisoryId);
+
+        assertEquals(List.of(), result.generations());
+        verify(generationRequestService).requestGenerations(any());
+    }
+
+    @Test
+    void shouldFailStandardAdvisoryWhenBuildsLookupFails() {
+        final String advisoryId = "12345";
+        when(errataTool.getInfo(advisoryId)).thenReturn(new Advisory(advisoryId, "QE", false));
+        when(errataTool.fetchBuildsPage(eq(advisoryId), anyInt(), anyInt())).thenThrow(new IllegalStateException("ET is down"));
+
+        assertThrows(AdvisoryProcessingException.class, () -> advisoryService.requestGenerations(advisoryId));
+        verify(generationRequestService, never()).requestGenerations(any());
+    }
+
+    @Test
+    void shouldRequestLargeAdvisoryInChunks() {
+        final String advisoryId = "12345";
+        List<Build> builds = builds(1, 5);
+        advisoryService.GENERATION_CHUNK_SIZE = 2;
+
+        when(errataTool.getInfo(advisoryId)).thenReturn(new Advisory(advisoryId, "QE", false));
+        givenBuilds(advisoryId, builds);
+
+        GenerationRequest result = advisoryService.requestGenerations(advisoryId);
+
+        ArgumentCaptor<GenerationRequest> chunks = ArgumentCaptor.forClass(GenerationRequest.class);
+        verify(generationRequestService, times(3)).requestGenerations(chunks.capture());
+        assertEquals(List.of(2, 2, 1), chunks.getAllValues().stream().map(r -> r.generations().size()).toList());
+        assertTrue(chunks.getAllValues().stream().allMatch(r -> r.requestId().equals(result.requestId())));
+
+        // The progress after every chunk, then the complete state
+        ArgumentCaptor<AdvisoryState> states = ArgumentCaptor.forClass(AdvisoryState.class);
+        verify(stateStore, times(4)).save(states.capture());
+        assertEquals(List.of(1, 2, 3), states.getAllValues().subList(0, 3).stream()
+                .map(state -> state.chunkHashes().size()).toList());
+        assertTrue(states.getAllValues().subList(0, 3).stream().noneMatch(AdvisoryState::complete));
+        AdvisoryState complete = states.getValue();
+        assertEquals(BuildSetHash.of(builds).value(), complete.buildSetHash());
+        assertEquals(chunkHashes(builds, 2), complete.chunkHashes());
+        verify(clusterView).processed(complete);
+    }
+
+    @Test
+    void shouldRequestAdvisoryOfOneFullChunkAtOnce() {
+        final String advisoryId = "12345";
+        advisoryService.GENERATION_CHUNK_SIZE = 2;
+
+        when(errataTool.getInfo(advisoryId)).thenReturn(new Advisory(advisoryId, "QE", false));
+        givenBuilds(advisoryId, builds(1, 2));
+
+        GenerationRequest result = advisoryService.requestGenerations(advisoryId);
+
+        assertEquals(2, result.generations().size());
+        verify(generationRequestService).requestGenerations(result);
+    }
+
+    @Test
+    void shouldReturnPreviousRequestForUnchangedLargeAdvisory() {
+        final String advisoryId = "12345";
+        List<Build> builds = builds(1, 3);
+        GenerationRequest previous = new GenerationRequest("R1", advisoryId, List.of(), List.of());
+        advisoryService.GENERATION_CHUNK_SIZE = 2;
+
+        when(errataTool.getInfo(advisoryId)).thenReturn(new Advisory(advisoryId, "QE", false));
+        givenBuilds(advisoryId, builds);
+        when(stateStore.find(advisoryId)).thenReturn(Optional.of(new AdvisoryState(advisoryId, "QE",
+                BuildSetHash.of(builds).value(), previous, 0L, chunkHashes(builds, 2))));
+
+        GenerationRequest result = advisoryService.requestGenerations(advisoryId);
+
+        assertEquals(previous, result);
+        verify(generationRequestService, never()).requestGenerations(any());
+        // Every page read once
+        verify(errataTool, times(2)).fetchBuildsPage(eq(advisoryId), anyInt(), eq(2));
+    }
+
+    @Test
+    void shouldRequestAllChunksOfChangedLargeAdvisory() {
+        final String advisoryId = "12345";
+        List<Build> before = builds(1, 5);
+        List<Build> after = List.of(before.get(0), before.get(1), before.get(2), before.get(3),
+                new Build(6L, "rpm-6-1.0-1", "RPM", "6"));
+        GenerationRequest previous = new GenerationRequest("R1", advisoryId, List.of(), List.of());
+        advisoryService.GENERATION_CHUNK_SIZE = 2;
+
+        when(errataTool.getInfo(advisoryId)).thenReturn(new Advisory(advisoryId, "QE", false));
+        givenBuilds(advisoryId, after);
+        when(stateStore.find(advisoryId)).thenReturn(Optional.of(new AdvisoryState(advisoryId, "QE",
+                BuildSetHash.of(before).value(), previous, 0L, chunkHashes(before, 2))));
+
+        GenerationRequest result = advisoryService.requestGenerations(advisoryId);
+
+        ArgumentCaptor<GenerationRequest> chunks = ArgumentCaptor.forClass(GenerationRequest.class);
+        verify(generationRequestService, times(3)).requestGenerations(chunks.capture());
+        assertEquals(List.of(2, 2, 1), chunks.getAllValues().stream().map(r -> r.generations().size()).toList());
+        assertTrue(chunks.getAllValues().stream().allMatch(r -> r.requestId().equals(result.requestId())));
+        assertNotEquals("R1", result.requestId());
+    }
+
+    @Test
+    void shouldResumeLargeAdvisoryAfterFailedPage() {
+        final String advisoryId = "12345";
+        List<Build> builds = builds(1, 5);
+        advisoryService.GENERATION_CHUNK_SIZE = 2;
+        AtomicReference<AdvisoryState> stored = new AtomicReference<>();
+
+        when(errataTool.getInfo(advisoryId)).thenReturn(new Advisory(advisoryId, "QE", false));
+        givenBuilds(advisoryId, builds);
+        // The last page fails once
+        lenient().doThrow(new IllegalStateException("ET is down")).doAnswer(page(builds)).when(errataTool)
+                .fetchBuildsPage(advisoryId, 4, 2);
+        when(stateStore.find(advisoryId)).thenAnswer(invocation -> Optional.ofNullable(stored.get()));
+        doAnswer(invocation -> {
+            stored.set(invocation.getArgument(0));
+            return null;
+        }).when(stateStore).save(any());
+
+        assertThrows(AdvisoryProcessingException.class, () -> advisoryService.requestGenerations(advisoryId));
+        GenerationRequest result = advisoryService.requestGenerations(advisoryId);
+
+        // The chunks requested before the failure are not requested again
+        ArgumentCaptor<GenerationRequest> chunks = ArgumentCaptor.forClass(GenerationRequest.class);
+        verify(generationRequestService, times(3)).requestGenerations(chunks.capture());
+        assertEquals(List.of(2, 2, 1), chunks.getAllValues().stream().map(r -> r.generations().size()).toList());
+        assertTrue(chunks.getAllValues().stream().allMatch(r -> r.requestId().equals(result.requestId())));
+        assertTrue(stored.get().complete());
+        assertEquals(BuildSetHash.of(builds).value(), stored.get().buildSetHash());
+    }
+
+    @Test
+    void shouldReplaceInterruptedRequestOfChangedLargeAdvisory() {
+        final String advisoryId = "12345";
+        List<Build> before = builds(1, 5);
+        List<Build> after = new ArrayList<>(before);
+        after.set(0, new Build(6L, "rpm-6-1.0-1", "RPM", "6"));
+        AtomicReference<List<Build>> attached = new AtomicReference<>(before);
+        advisoryService.GENERATION_CHUNK_SIZE = 2;
+        AtomicReference<AdvisoryState> stored = new AtomicReference<>();
+
+        when(errataTool.getInfo(advisoryId)).thenReturn(new Advisory(advisoryId, "QE", false));
+        when(errataTool.fetchBuildsPage(eq(advisoryId), anyInt(), anyInt()))
+                .thenAnswer(invocation -> page(attached.get()).answer(invocation));
+        // The last page fails once, the first build is replaced in the meantime
+        lenient().doAnswer(invocation -> {
+            attached.set(after);
+            throw new IllegalStateException("ET is down");
+        }).doAnswer(invocation -> page(attached.get()).answer(invocation)).when(errataTool)
+                .fetchBuildsPage(advisoryId, 4, 2);
+        when(stateStore.find(advisoryId)).thenAnswer(invocation -> Optional.ofNullable(stored.get()));
+        doAnswer(invocation -> {
+            stored.set(invocation.getArgument(0));
+            return null;
+        }).when(stateStore).save(any());
+
+        assertThrows(AdvisoryProcessingException.class, () -> advisoryService.requestGenerations(advisoryId));
+        GenerationRequest result = advisoryService.requestGenerations(advisoryId);
+
+        // The interrupted request is not continued with the changed builds
+        ArgumentCaptor<GenerationRequest> chunks = ArgumentCaptor.forClass(GenerationRequest.class);
+        verify(generationRequestService, times(5)).requestGenerations(chunks.capture());
+        List<String> requestIds = chunks.getAllValues().stream().map(GenerationRequest::requestId).toList();
+        assertNotEquals(requestIds.get(0), result.requestId());
+        assertEquals(List.of(requestIds.get(0), requestIds.get(0), result.requestId(), result.requestId(),
+                result.requestId()), requestIds);
+        assertEquals(BuildSetHash.of(after).value(), stored.get().buildSetHash());
+    }
+
+    /**
+     * Answers the pages of the builds of the advisory from the given list.
+     */
+    private void givenBuilds(String advisoryId, List<Build> builds) {
+        when(errataTool.fetchBuildsPage(eq(advisoryId), anyInt(), anyInt())).thenAnswer(page(builds));
+    }
+
+    private static Answer<BuildPage> page(List<Build> builds) {
+        return invocation -> {
+            int offset = Math.min(invocation.<Integer> getArgument(1), builds.size());
+            return new BuildPage(
+                    builds.subList(offset, Math.min(builds.size(), offset + invocation.<Integer> getArgument(2))));
+        };
+    }
+
+    private static List<Build> builds(int from, int to) {
+        List<Build> builds = new ArrayList<>();
+        for (long i = from; i <= to; i++) {
+            builds.add(new Build(i, "rpm-" + i + "-1.0-1", "RPM", String.valueOf(i)));
+        }
+        return builds;
+    }
+
+    private static List<String> chunkHashes(List<Build> builds, int chunkSize) {
+        List<String> hashes = new ArrayList<>();
+        for (int i = 0; i < builds.size(); i += chunkSize) {
+            hashes.add(BuildSetHash.of(builds.subList(i, Math.min(builds.size(), i + chunkSize))).value());
+        }
+        return hashes;
+    }
+
+    /**
+     * Joins the processing in flight on another thread, then lets it complete.
+     */
+    private static GenerationRequest join(Supplier<GenerationRequest> trigger, CountDownLatch release)
+            throws Exception {
+        AtomicReference<GenerationRequest> result = new AtomicReference<>();
+        Thread joining = new Thread(() -> result.set(trigger.get()));
+        joining.start();
+        // Waiting for the shared processing
+        while (joining.getState() != Thread.State.TIMED_WAITING) {
+            Thread.onSpinWait();
+        }
+        release.countDown();
+        joining.join(5000);
+        return result.get();
+    }
+
+    private static boolean await(CountDownLatch latch) {
+        try {
+            return latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
     }
 }
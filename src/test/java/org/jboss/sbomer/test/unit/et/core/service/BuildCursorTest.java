@@ -0,0 +1,118 @@
+package org.jboss.sbomer.test.unit.et.core.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.jboss.sbomer.handler.et.core.domain.advisory.Build;
+import org.jboss.sbomer.handler.et.core.domain.advisory.BuildPage;
+import org.jboss.sbomer.handler.et.core.domain.exception.StaleAdvisoryException;
+import org.jboss.sbomer.handler.et.core.service.BuildCursor;
+import org.junit.jupiter.api.Test;
+
+class BuildCursorTest {
+
+    private final List<String> fetched = new ArrayList<>();
+
+    private BuildCursor.Pages pages(int count) {
+        List<Build> builds = new ArrayList<>();
+        for (long i = 0; i < count; i++) {
+            builds.add(new Build(i, "rpm-" + i + "-1.0-1", "RPM", String.valueOf(i)));
+        }
+        return (offset, limit) -> {
+            fetched.add(offset + "+" + limit);
+            int from = Math.min(offset, count);
+            return new BuildPage(builds.subList(from, Math.min(count, from + limit)));
+        };
+    }
+
+    @Test
+    void shouldHoldSmallAdvisoryInHead() {
+        BuildCursor cursor = BuildCursor.open(pages(3), 5);
+
+        assertTrue(cursor.isExhausted());
+        assertEquals(3, cursor.head().size());
+        assertEquals(List.of("0+5"), fetched);
+    }
+
+    @Test
+    void shouldHoldOneFullPageInHead() {
+        BuildCursor cursor = BuildCursor.open(pages(5), 5);
+
+        assertTrue(cursor.isExhausted());
+        assertEquals(5, cursor.head().size());
+        assertEquals(List.of("0+5", "5+5"), fetched);
+    }
+
+    @Test
+    void shouldNotHoldOneBuildOverPageInHead() {
+        BuildCursor cursor = BuildCursor.open(pages(6), 5);
+
+        assertFalse(cursor.isExhausted());
+        assertEquals(5, cursor.head().size());
+    }
+
+    @Test
+    void shouldReadEveryPageOnce() {
+        BuildCursor cursor = BuildCursor.open(pages(12), 5);
+
+        List<Integer> sizes = new ArrayList<>();
+        for (List<Build> page = cursor.next(); !page.isEmpty(); page = cursor.next()) {
+            sizes.add(page.size());
+        }
+
+        assertEquals(List.of(5, 5, 2), sizes);
+        assertEquals(List.of("0+5", "5+5", "10+5"), fetched);
+        assertTrue(cursor.next().isEmpty());
+    }
+
+    @Test
+    void shouldStopAfterLastFullPage() {
+        BuildCursor cursor = BuildCursor.open(pages(10), 5);
+
+        assertFalse(cursor.isExhausted());
+        assertEquals(5, cursor.next().size());
+        assertEquals(5, cursor.next().size());
+        assertTrue(cursor.next().isEmpty());
+        assertEquals(List.of("0+5", "5+5", "10+5"), fetched);
+    }
+
+    @Test
+    void shouldReadPageAgain() {
+        BuildCursor cursor = BuildCursor.open(pages(12), 5);
+
+        List<Build> page = cursor.page(1);
+
+        assertEquals(5, page.size());
+        assertEquals(5L, page.get(0).id());
+    }
+
+    @Test
+    void shouldAcceptStaleHeadHoldingAllBuilds() {
+        BuildCursor.Pages pages = pages(3);
+        BuildCursor cursor = BuildCursor.open((offset, limit) -> pages.fetch(offset, limit).asStale(), 5);
+
+        assertTrue(cursor.isStale());
+        assertTrue(cursor.isExhausted());
+        assertEquals(3, cursor.head().size());
+    }
+
+    @Test
+    void shouldRejectStalePagesOfLargeAdvisory() {
+        BuildCursor.Pages pages = pages(12);
+
+        assertThrows(StaleAdvisoryException.class,
+                () -> BuildCursor.open((offset, limit) -> pages.fetch(offset, limit).asStale(), 5));
+
+        BuildCursor cursor = BuildCursor.open(
+                (offset, limit) -> offset < 10 ? pages.fetch(offset, limit) : pages.fetch(offset, limit).asStale(), 5);
+        assertFalse(cursor.isStale());
+        cursor.next();
+        cursor.next();
+        assertThrows(StaleAdvisoryException.class, cursor::next);
+    }
+}
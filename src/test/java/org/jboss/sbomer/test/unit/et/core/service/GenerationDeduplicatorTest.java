@@ -0,0 +1,44 @@
+package org.jboss.sbomer.test.unit.et.core.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+
+import org.jboss.sbomer.handler.et.core.domain.generation.Generation;
+import org.jboss.sbomer.handler.et.core.domain.generation.GenerationTarget;
+import org.jboss.sbomer.handler.et.core.domain.publish.Publisher;
+import org.jboss.sbomer.handler.et.core.service.GenerationDeduplicator;
+import org.jboss.sbomer.handler.et.core.utility.TsidUtility;
+import org.junit.jupiter.api.Test;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class GenerationDeduplicatorTest {
+
+    private static final Publisher BUILD = new Publisher("atlas-build", "1.0");
+    private static final Publisher RELEASE = new Publisher("atlas-release", "1.0");
+
+    private final GenerationDeduplicator deduplicator = new GenerationDeduplicator(true, 100, Duration.ofDays(1),
+            new SimpleMeterRegistry());
+
+    private final Generation generation = new Generation(TsidUtility.createUniqueGenerationId(),
+            new GenerationTarget("CONTAINER_IMAGE", "quay.io/org/image@sha256:abc"));
+
+    @Test
+    void shouldReuseGenerationForSamePublishers() {
+        deduplicator.register(List.of(generation), List.of(BUILD, RELEASE));
+
+        assertEquals(Optional.of(generation), deduplicator.findExisting(generation.target(), List.of(RELEASE, BUILD)));
+    }
+
+    @Test
+    void shouldNotReuseGenerationForOtherPublishers() {
+        deduplicator.register(List.of(generation), List.of(BUILD));
+
+        assertTrue(deduplicator.findExisting(generation.target(), List.of(BUILD, RELEASE)).isEmpty());
+        assertTrue(deduplicator.findExisting(generation.target(), List.of(RELEASE)).isEmpty());
+    }
+}
@@ -0,0 +1,94 @@
+package org.jboss.sbomer.test.unit.et.core.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.jboss.sbomer.handler.et.core.domain.advisory.Build;
+import org.jboss.sbomer.handler.et.core.domain.generation.GenerationTarget;
+import org.jboss.sbomer.handler.et.core.port.spi.Koji;
+import org.jboss.sbomer.handler.et.core.service.ContainerImageTargetResolver;
+import org.jboss.sbomer.handler.et.core.service.GenerationTargetResolver;
+import org.jboss.sbomer.handler.et.core.service.GenerationTargetResolvers;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class GenerationTargetResolversTest {
+
+    @Mock
+    Koji koji;
+
+    private final ExecutorService executor = Executors.newCachedThreadPool();
+
+    @AfterEach
+    void shutdown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void shouldResolveEachTypeWithOneBulkLookup() {
+        GenerationTargetResolver rpms = new GenerationTargetResolver() {
+            @Override
+            public String type() {
+                return "RPM";
+            }
+
+            @Override
+            public List<GenerationTarget> resolve(List<Build> builds) {
+                return builds.stream().map(build -> new GenerationTarget("RPM", build.nvr())).toList();
+            }
+        };
+        GenerationTargetResolvers resolvers = new GenerationTargetResolvers(
+                List.of(new ContainerImageTargetResolver(koji, true), rpms));
+
+        when(koji.getImageNames(List.of(1L, 3L))).thenReturn(Map.of(
+                1L, "quay.io/org/a@sha256:aaa",
+                3L, "quay.io/org/c@sha256:ccc"));
+
+        List<GenerationTarget> targets = resolvers.resolve(List.of(
+                new Build(1L, "a-1.0-1", "CONTAINER_IMAGE", "quay.io/org/a:1.0"),
+                new Build(2L, "b-1.0-1", "RPM", "2"),
+                new Build(3L, "c-1.0-1", "CONTAINER_IMAGE", "quay.io/org/c:1.0"),
+                new Build(4L, "d-1.0-1", "CONTAINER_IMAGE", "quay.io/org/d@sha256:ddd"),
+                new Build(5L, "e-1.0-1", "MAVEN", "org.example:e:1.0")), executor);
+
+        assertEquals(List.of(
+                new GenerationTarget("CONTAINER_IMAGE", "quay.io/org/a@sha256:aaa"),
+                new GenerationTarget("RPM", "b-1.0-1"),
+                new GenerationTarget("CONTAINER_IMAGE", "quay.io/org/c@sha256:ccc"),
+                new GenerationTarget("CONTAINER_IMAGE", "quay.io/org/d@sha256:ddd"),
+                new GenerationTarget("MAVEN", "org.example:e:1.0")), targets);
+        verify(koji).getImageNames(List.of(1L, 3L));
+    }
+
+    @Test
+    void shouldKeepIdentifiersWhenKojiLookupIsDisabled() {
+        GenerationTargetResolvers resolvers = new GenerationTargetResolvers(
+                List.of(new ContainerImageTargetResolver(koji, false)));
+
+        List<GenerationTarget> targets = resolvers.resolve(
+                List.of(new Build(1L, "a-1.0-1", "CONTAINER_IMAGE", "quay.io/org/a:1.0")), executor);
+
+        assertEquals(List.of(new GenerationTarget("CONTAINER_IMAGE", "quay.io/org/a:1.0")), targets);
+        verifyNoInteractions(koji);
+    }
+
+    @Test
+    void shouldRejectSeveralResolversOfOneType() {
+        List<GenerationTargetResolver> duplicates = List.of(new ContainerImageTargetResolver(koji, false),
+                new ContainerImageTargetResolver(koji, true));
+
+        assertThrows(IllegalStateException.class, () -> new GenerationTargetResolvers(duplicates));
+    }
+}
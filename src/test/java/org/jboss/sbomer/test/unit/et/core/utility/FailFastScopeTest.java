@@ -0,0 +1,150 @@
+package org.jboss.sbomer.test.unit.et.core.utility;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.jboss.sbomer.handler.et.core.utility.FailFastScope;
+import org.jboss.sbomer.handler.et.core.utility.FailFastScope.Subtask;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+class FailFastScopeTest {
+
+    private final ExecutorService executor = Executors.newFixedThreadPool(4);
+
+    @AfterEach
+    void shutdown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void shouldJoinAllSubtasks() throws Exception {
+        try (FailFastScope scope = new FailFastScope(executor)) {
+            Subtask<String> first = scope.fork(() -> "first");
+            Subtask<Integer> second = scope.fork(() -> 2);
+
+            scope.join();
+            scope.throwIfFailed();
+
+            assertEquals("first", first.get());
+            assertEquals(2, second.get());
+        }
+    }
+
+    @Test
+    void shouldFailFastAndCancelOtherSubtasks() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch interrupted = new CountDownLatch(1);
+        IllegalStateException failure = new IllegalStateException("ET is down");
+
+        try (FailFastScope scope = new FailFastScope(executor)) {
+            scope.fork(() -> {
+                started.countDown();
+                try {
+                    Thread.sleep(10_000);
+                } catch (InterruptedException e) {
+                    interrupted.countDown();
+                }
+                return null;
+            });
+            scope.fork(() -> {
+                started.await(5, TimeUnit.SECONDS);
+                throw failure;
+            });
+
+            scope.join();
+
+            assertSame(failure, assertThrows(IllegalStateException.class, scope::throwIfFailed));
+            assertTrue(interrupted.await(5, TimeUnit.SECONDS));
+        }
+    }
+
+    @Test
+    void shouldWaitForCancelledSubtasksOnClose() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        AtomicBoolean running = new AtomicBoolean();
+
+        try (FailFastScope scope = new FailFastScope(executor)) {
+            scope.fork(() -> {
+                running.set(true);
+                started.countDown();
+                try {
+                    Thread.sleep(10_000);
+                } catch (InterruptedException e) {
+                    // Slow to stop once cancelled
+                    Thread.sleep(200);
+                } finally {
+                    running.set(false);
+                }
+                return null;
+            });
+            assertTrue(started.await(5, TimeUnit.SECONDS));
+        }
+
+        assertFalse(running.get());
+    }
+
+    @Test
+    void shouldNotRunSubtaskCancelledBeforeItStarted() throws Exception {
+        ExecutorService single = Executors.newSingleThreadExecutor();
+        CountDownLatch started = new CountDownLatch(1);
+        AtomicBoolean ran = new AtomicBoolean();
+
+        try {
+            try (FailFastScope scope = new FailFastScope(single)) {
+                scope.fork(() -> {
+                    started.countDown();
+                    Thread.sleep(10_000);
+                    return null;
+                });
+                // Queued behind the first subtask when the scope is closed
+                scope.fork(() -> ran.getAndSet(true));
+                assertTrue(started.await(5, TimeUnit.SECONDS));
+            }
+            single.submit(() -> null).get(5, TimeUnit.SECONDS);
+        } finally {
+            single.shutdownNow();
+        }
+
+        assertFalse(ran.get());
+    }
+
+    @Test
+    void shouldKeepFailureOfLenientSubtask() throws Exception {
+        IllegalStateException failure = new IllegalStateException("Builds unavailable");
+
+        try (FailFastScope scope = new FailFastScope(executor)) {
+            Subtask<String> info = scope.fork(() -> "info");
+            Subtask<String> builds = scope.forkLenient(() -> {
+                throw failure;
+            });
+
+            scope.join();
+            scope.throwIfFailed();
+
+            assertEquals("info", info.get());
+            assertEquals("info", info.getOrThrow());
+            assertNull(builds.get());
+            assertSame(failure, assertThrows(IllegalStateException.class, builds::getOrThrow));
+        }
+    }
+
+    @Test
+    void shouldNotForkAfterJoin() throws Exception {
+        try (FailFastScope scope = new FailFastScope(executor)) {
+            scope.join();
+
+            assertThrows(IllegalStateException.class, () -> scope.fork(() -> "late"));
+        }
+    }
+}
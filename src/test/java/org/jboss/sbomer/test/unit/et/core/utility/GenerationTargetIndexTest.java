@@ -0,0 +1,77 @@
+package org.jboss.sbomer.test.unit.et.core.utility;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.jboss.sbomer.handler.et.core.utility.GenerationTargetIndex;
+import org.jboss.sbomer.handler.et.core.utility.TsidUtility;
+import org.junit.jupiter.api.Test;
+
+class GenerationTargetIndexTest {
+
+    @Test
+    void shouldFindRecordedTarget() {
+        GenerationTargetIndex<String> index = new GenerationTargetIndex<>(10, 1000);
+        long key = GenerationTargetIndex.key("CONTAINER_IMAGE", "quay.io/org/repo@sha256:abc");
+
+        index.put(key, "quay.io/org/repo@sha256:abc", 42L, 0);
+
+        assertEquals(42L, index.get(key, "quay.io/org/repo@sha256:abc", 500).getAsLong());
+        assertTrue(index.get(GenerationTargetIndex.key("RPM", "quay.io/org/repo@sha256:abc"),
+                "quay.io/org/repo@sha256:abc", 500).isEmpty());
+    }
+
+    @Test
+    void shouldExpireEntriesAfterRetention() {
+        GenerationTargetIndex<String> index = new GenerationTargetIndex<>(10, 1000);
+        long key = GenerationTargetIndex.key("CONTAINER_IMAGE", "a");
+
+        index.put(key, "a", 1L, 0);
+
+        assertTrue(index.get(key, "a", 1001).isEmpty());
+
+        // Expired entries are dropped on the next insertion
+        index.put(GenerationTargetIndex.key("CONTAINER_IMAGE", "b"), "b", 2L, 1001);
+        assertEquals(1, index.size());
+    }
+
+    @Test
+    void shouldEvictOldestEntriesWhenFull() {
+        GenerationTargetIndex<String> index = new GenerationTargetIndex<>(100, Long.MAX_VALUE);
+
+        for (int i = 0; i < 1000; i++) {
+            index.put(GenerationTargetIndex.key("CONTAINER_IMAGE", "image-" + i), "image-" + i, i, i);
+        }
+
+        assertEquals(100, index.size());
+        for (int i = 0; i < 900; i++) {
+            assertTrue(index.get(GenerationTargetIndex.key("CONTAINER_IMAGE", "image-" + i), "image-" + i, 1000)
+                    .isEmpty());
+        }
+        for (int i = 900; i < 1000; i++) {
+            assertEquals(i, index.get(GenerationTargetIndex.key("CONTAINER_IMAGE", "image-" + i), "image-" + i, 1000)
+                    .getAsLong());
+        }
+    }
+
+    @Test
+    void shouldNotConfuseTargetsSharingKey() {
+        GenerationTargetIndex<String> index = new GenerationTargetIndex<>(10, 1000);
+        long key = GenerationTargetIndex.key("CONTAINER_IMAGE", "a");
+
+        index.put(key, "a", 1L, 0);
+
+        // Another target whose hash collides with the recorded one
+        assertTrue(index.get(key, "b", 500).isEmpty());
+        assertEquals(1L, index.get(key, "a", 500).getAsLong());
+    }
+
+    @Test
+    void shouldRoundTripGenerationIds() {
+        String generationId = TsidUtility.createUniqueGenerationId();
+
+        assertEquals(generationId, TsidUtility.generationIdFromLong(TsidUtility.generationIdToLong(generationId)));
+        assertNotEquals(0L, GenerationTargetIndex.key("", ""));
+    }
+}
@@ -0,0 +1,65 @@
+package org.jboss.sbomer.test.unit.et.core.utility;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.jboss.sbomer.handler.et.core.utility.HashedTimerWheel;
+import org.jboss.sbomer.handler.et.core.utility.HashedTimerWheel.Timeout;
+import org.jboss.sbomer.handler.et.core.utility.NamedThreadFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+class HashedTimerWheelTest {
+
+    private final HashedTimerWheel wheel = new HashedTimerWheel(Duration.ofMillis(5), 4, Runnable::run,
+            new NamedThreadFactory("test-wheel"));
+
+    @AfterEach
+    void close() {
+        wheel.close();
+    }
+
+    @Test
+    void shouldRunTaskAfterDelay() throws InterruptedException {
+        CountDownLatch ran = new CountDownLatch(1);
+        long start = System.nanoTime();
+
+        wheel.schedule(ran::countDown, Duration.ofMillis(50));
+
+        assertTrue(ran.await(5, TimeUnit.SECONDS));
+        assertTrue(System.nanoTime() - start >= TimeUnit.MILLISECONDS.toNanos(50));
+    }
+
+    @Test
+    void shouldRunTasksDueInLaterRounds() throws InterruptedException {
+        // The wheel covers 20 ms, the tasks are due several rounds later
+        CountDownLatch ran = new CountDownLatch(20);
+
+        for (int i = 0; i < 20; i++) {
+            wheel.schedule(ran::countDown, Duration.ofMillis(30 + i * 7));
+        }
+
+        assertTrue(ran.await(5, TimeUnit.SECONDS));
+        assertEquals(0, wheel.pending());
+    }
+
+    @Test
+    void shouldNotRunCancelledTask() throws InterruptedException {
+        AtomicBoolean cancelledRan = new AtomicBoolean();
+        CountDownLatch ran = new CountDownLatch(1);
+
+        Timeout timeout = wheel.schedule(() -> cancelledRan.set(true), Duration.ofMillis(20));
+        timeout.cancel();
+        wheel.schedule(ran::countDown, Duration.ofMillis(40));
+
+        assertTrue(ran.await(5, TimeUnit.SECONDS));
+        assertTrue(timeout.isCancelled());
+        assertFalse(cancelledRan.get());
+    }
+}
@@ -0,0 +1,102 @@
+package org.jboss.sbomer.test.unit.et.core.utility;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.jboss.sbomer.handler.et.core.utility.SingleFlight;
+import org.junit.jupiter.api.Test;
+
+class SingleFlightTest {
+
+    private static final Duration MAX_WAIT = Duration.ofSeconds(5);
+
+    @Test
+    void shouldShareInFlightCall() throws Exception {
+        SingleFlight<String, String> singleFlight = new SingleFlight<>();
+        AtomicInteger executions = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+
+        try {
+            List<Future<String>> results = new ArrayList<>();
+            for (int i = 0; i < 4; i++) {
+                results.add(executor.submit(() -> singleFlight.execute("12345", MAX_WAIT, () -> {
+                    executions.incrementAndGet();
+                    await(release);
+                    return "R1";
+                })));
+            }
+
+            // Let all callers join before the call completes
+            while (executions.get() == 0) {
+                Thread.onSpinWait();
+            }
+            Thread.sleep(100);
+            release.countDown();
+
+            for (Future<String> result : results) {
+                assertEquals("R1", result.get(5, TimeUnit.SECONDS));
+            }
+            assertEquals(1, executions.get());
+            assertEquals(0, singleFlight.size());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void shouldReleaseKeyOnFailure() {
+        SingleFlight<String, String> singleFlight = new SingleFlight<>();
+
+        assertThrows(IllegalStateException.class, () -> singleFlight.execute("12345", MAX_WAIT, () -> {
+            throw new IllegalStateException("ET is down");
+        }));
+
+        assertEquals(0, singleFlight.size());
+        assertEquals("R2", singleFlight.execute("12345", MAX_WAIT, () -> "R2"));
+    }
+
+    @Test
+    void shouldStopWaitingForSlowCallAfterMaxWait() throws Exception {
+        SingleFlight<String, String> singleFlight = new SingleFlight<>();
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+
+        try {
+            Future<String> first = executor.submit(() -> singleFlight.execute("12345", MAX_WAIT, () -> {
+                started.countDown();
+                await(release);
+                return "R1";
+            }));
+            await(started);
+
+            assertThrows(IllegalStateException.class,
+                    () -> singleFlight.execute("12345", Duration.ofMillis(50), () -> "R2"));
+
+            // The call in flight is not affected
+            release.countDown();
+            assertEquals("R1", first.get(5, TimeUnit.SECONDS));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package org.jboss.sbomer.test.unit.et.core.utility;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.jboss.sbomer.handler.et.core.utility.StageContext;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+class StageContextTest {
+
+    private final ExecutorService executor = StageContext.propagating(Executors.newSingleThreadExecutor());
+
+    @AfterEach
+    void close() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void shouldRestorePreviousContext() {
+        try (StageContext.Scope outer = StageContext.open("1", "R1")) {
+            try (StageContext.Scope inner = StageContext.open("2", "R2")) {
+                assertEquals(new StageContext("2", "R2"), StageContext.current());
+            }
+            assertEquals(new StageContext("1", "R1"), StageContext.current());
+        }
+        assertNull(StageContext.current());
+    }
+
+    @Test
+    void shouldPropagateContextToSubmittedTasks() throws Exception {
+        try (StageContext.Scope scope = StageContext.open("1", "R1")) {
+            assertEquals(new StageContext("1", "R1"), executor.submit(StageContext::current).get(5, TimeUnit.SECONDS));
+        }
+
+        // Not left behind on the worker thread
+        assertNull(executor.submit(StageContext::current).get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void shouldSetRequestIdOnceKnown() throws Exception {
+        StageContext.setRequestId("R0");
+        assertNull(StageContext.current());
+
+        try (StageContext.Scope outer = StageContext.open("1", "R1")) {
+            try (StageContext.Scope inner = StageContext.open("2", null)) {
+                StageContext.setRequestId("R2");
+                assertEquals(new StageContext("2", "R2"), StageContext.current());
+                assertEquals(new StageContext("2", "R2"),
+                        executor.submit(StageContext::current).get(5, TimeUnit.SECONDS));
+            }
+            assertEquals(new StageContext("1", "R1"), StageContext.current());
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package org.jboss.sbomer.test.unit.et.core.utility;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.jboss.sbomer.handler.et.core.utility.WeightedFairGate;
+import org.junit.jupiter.api.Test;
+
+class WeightedFairGateTest {
+
+    @Test
+    void shouldAdmitClassesInProportionToTheirWeights() throws Exception {
+        WeightedFairGate gate = new WeightedFairGate(1, Duration.ZERO, weights(3, 1));
+        gate.acquire("release");
+
+        List<String> admitted = Collections.synchronizedList(new ArrayList<>());
+        List<Thread> threads = new ArrayList<>();
+        threads.addAll(waiters(gate, "manual", 4, admitted));
+        threads.addAll(waiters(gate, "release", 4, admitted));
+
+        // Releasing the first slot lets the waiters in one at a time
+        gate.release();
+        for (Thread thread : threads) {
+            thread.join(5000);
+        }
+
+        // Manual had no slot yet so it goes first, then 3 release tasks per manual
+        // task while both classes are waiting
+        assertEquals(List.of("manual", "release", "release", "release", "manual", "release", "manual", "manual"),
+                admitted);
+    }
+
+    @Test
+    void shouldAgeWaitingClassesSoTheyDoNotStarve() throws Exception {
+        WeightedFairGate gate = new WeightedFairGate(1, Duration.ofMillis(10), weights(1000, 1));
+        gate.acquire("release");
+
+        List<String> admitted = Collections.synchronizedList(new ArrayList<>());
+        List<Thread> threads = new ArrayList<>(waiters(gate, "manual", 1, admitted));
+        TimeUnit.MILLISECONDS.sleep(100);
+        threads.addAll(waiters(gate, "release", 3, admitted));
+
+        gate.release();
+        for (Thread thread : threads) {
+            thread.join(5000);
+        }
+
+        // The manual task waited 10 aging periods, far more than the stride of release
+        assertEquals("manual", admitted.get(0));
+        assertEquals(4, admitted.size());
+    }
+
+    private static Map<String, Double> weights(double release, double manual) {
+        Map<String, Double> weights = new LinkedHashMap<>();
+        weights.put("release", release);
+        weights.put("manual", manual);
+        return weights;
+    }
+
+    /**
+     * Starts waiters which record their class once admitted and release the slot
+     * right away. Returns once all of them are waiting.
+     */
+    private static List<Thread> waiters(WeightedFairGate gate, String className, int count, List<String> admitted)
+            throws InterruptedException {
+        List<Thread> threads = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            Thread thread = new Thread(() -> {
+                try {
+                    gate.acquire(className);
+                    admitted.add(className);
+                    gate.release();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+            thread.start();
+            threads.add(thread);
+        }
+        while (gate.waiting(className) < count) {
+            Thread.sleep(1);
+        }
+        return threads;
+    }
+}